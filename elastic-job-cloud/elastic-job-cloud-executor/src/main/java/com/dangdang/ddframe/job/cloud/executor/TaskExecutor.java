@@ -67,7 +67,9 @@ public final class TaskExecutor implements Executor {
             dataSource.setUrl(data.get("event_trace_rdb_url"));
             dataSource.setPassword(data.get("event_trace_rdb_password"));
             dataSource.setUsername(data.get("event_trace_rdb_username"));
+            JobEventBus previousJobEventBus = jobEventBus;
             jobEventBus = new JobEventBus(new JobEventRdbConfiguration(dataSource));
+            previousJobEventBus.shutdown();
         }
     }
     
@@ -100,6 +102,7 @@ public final class TaskExecutor implements Executor {
     
     @Override
     public void shutdown(final ExecutorDriver executorDriver) {
+        jobEventBus.shutdown();
     }
     
     @Override
@@ -45,6 +45,27 @@ public class JobConfigurationContextTest {
         assertTrue(new JobConfigurationContext(buildJobConfigurationContextMap(JobType.DATAFLOW)).getTypeConfig() instanceof DataflowJobConfiguration);
     }
     
+    @Test
+    public void assertDataflowJobConfigurationContextWithPrefetchDepthAndProcessParallelism() throws JobExecutionEnvironmentException {
+        Map<String, String> context = buildJobConfigurationContextMap(JobType.DATAFLOW);
+        assertThat(((DataflowJobConfiguration) new JobConfigurationContext(context).getTypeConfig()).getPrefetchDepth(), is(0));
+        assertThat(((DataflowJobConfiguration) new JobConfigurationContext(context).getTypeConfig()).getProcessParallelism(), is(0));
+        context.put("prefetchDepth", "2");
+        context.put("processParallelism", "4");
+        assertThat(((DataflowJobConfiguration) new JobConfigurationContext(context).getTypeConfig()).getPrefetchDepth(), is(2));
+        assertThat(((DataflowJobConfiguration) new JobConfigurationContext(context).getTypeConfig()).getProcessParallelism(), is(4));
+    }
+    
+    @Test
+    public void assertDataflowJobConfigurationContextWithAdaptiveBatchSize() throws JobExecutionEnvironmentException {
+        Map<String, String> context = buildJobConfigurationContextMap(JobType.DATAFLOW);
+        context.put("targetProcessLatencyMillis", "500");
+        context.put("maxBatchSize", "1000");
+        DataflowJobConfiguration actual = (DataflowJobConfiguration) new JobConfigurationContext(context).getTypeConfig();
+        assertThat(actual.getTargetProcessLatencyMillis(), is(500));
+        assertThat(actual.getMaxBatchSize(), is(1000));
+    }
+    
     @Test
     public void assertScriptJobConfigurationContext() throws JobExecutionEnvironmentException {
         assertTrue(new JobConfigurationContext(buildJobConfigurationContextMap(JobType.SCRIPT)).getTypeConfig() instanceof ScriptJobConfiguration);
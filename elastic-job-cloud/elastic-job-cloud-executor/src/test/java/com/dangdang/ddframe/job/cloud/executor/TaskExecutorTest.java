@@ -17,6 +17,7 @@
 
 package com.dangdang.ddframe.job.cloud.executor;
 
+import com.dangdang.ddframe.job.event.JobEventBus;
 import com.google.protobuf.ByteString;
 import org.apache.commons.lang3.SerializationUtils;
 import org.apache.mesos.ExecutorDriver;
@@ -36,6 +37,7 @@ import org.unitils.util.ReflectionUtils;
 import java.util.HashMap;
 import java.util.concurrent.ExecutorService;
 
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -110,8 +112,11 @@ public final class TaskExecutorTest {
     }
     
     @Test
-    public void assertShutdown() {
+    public void assertShutdown() throws NoSuchFieldException {
+        JobEventBus jobEventBus = mock(JobEventBus.class);
+        ReflectionUtils.setFieldValue(taskExecutor, "jobEventBus", jobEventBus);
         taskExecutor.shutdown(executorDriver);
+        verify(jobEventBus).shutdown();
     }
     
     @Test
@@ -33,6 +33,8 @@ public final class FrameworkConfiguration {
     
     private final int reconcileIntervalMinutes;
     
+    private final String transientTriggerEngine;
+    
     /**
      * 是否启用协调服务.
      * 
@@ -41,4 +43,13 @@ public final class FrameworkConfiguration {
     public boolean isEnabledReconcile() {
         return reconcileIntervalMinutes > 0;
     }
+    
+    /**
+     * 瞬时作业是否使用时间轮触发.
+     * 
+     * @return true 使用时间轮 false 使用Quartz
+     */
+    public boolean isHashedWheelTransientTrigger() {
+        return "hashed_wheel".equalsIgnoreCase(transientTriggerEngine);
+    }
 }
@@ -71,12 +71,14 @@ public final class SchedulerService {
     
     private final ReconcileService reconcileService;
     
+    private final JobEventBus jobEventBus;
+    
     public SchedulerService(final CoordinatorRegistryCenter regCenter) {
         env = BootstrapEnvironment.getInstance();
         facadeService = new FacadeService(regCenter);
         statisticManager = StatisticManager.getInstance(regCenter, env.getJobEventRdbConfiguration());
         TaskScheduler taskScheduler = getTaskScheduler();
-        JobEventBus jobEventBus = getJobEventBus();
+        jobEventBus = getJobEventBus();
         schedulerDriver = getSchedulerDriver(taskScheduler, jobEventBus, new FrameworkIDService(regCenter));
         producerManager = new ProducerManager(schedulerDriver, regCenter);
         cloudJobConfigurationListener =  new CloudJobConfigurationListener(regCenter, producerManager);
@@ -151,6 +153,7 @@ public final class SchedulerService {
         statisticManager.shutdown();
         producerManager.shutdown();
         schedulerDriver.stop(true);
+        jobEventBus.shutdown();
         facadeService.stop();
         if (env.getFrameworkConfiguration().isEnabledReconcile()) {
             reconcileService.stopAsync();
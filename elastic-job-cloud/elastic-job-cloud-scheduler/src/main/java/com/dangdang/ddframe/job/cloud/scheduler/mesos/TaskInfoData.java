@@ -63,6 +63,10 @@ public final class TaskInfoData {
         result.put("executorServiceHandler", jobConfig.getTypeConfig().getCoreConfig().getJobProperties().get(JobProperties.JobPropertiesEnum.EXECUTOR_SERVICE_HANDLER));
         if (jobConfig.getTypeConfig() instanceof DataflowJobConfiguration) {
             result.put("streamingProcess", Boolean.toString(((DataflowJobConfiguration) jobConfig.getTypeConfig()).isStreamingProcess()));
+            result.put("prefetchDepth", Integer.toString(((DataflowJobConfiguration) jobConfig.getTypeConfig()).getPrefetchDepth()));
+            result.put("processParallelism", Integer.toString(((DataflowJobConfiguration) jobConfig.getTypeConfig()).getProcessParallelism()));
+            result.put("targetProcessLatencyMillis", Integer.toString(((DataflowJobConfiguration) jobConfig.getTypeConfig()).getTargetProcessLatencyMillis()));
+            result.put("maxBatchSize", Integer.toString(((DataflowJobConfiguration) jobConfig.getTypeConfig()).getMaxBatchSize()));
         } else if (jobConfig.getTypeConfig() instanceof ScriptJobConfiguration) {
             result.put("scriptCommandLine", ((ScriptJobConfiguration) jobConfig.getTypeConfig()).getScriptCommandLine());
         }
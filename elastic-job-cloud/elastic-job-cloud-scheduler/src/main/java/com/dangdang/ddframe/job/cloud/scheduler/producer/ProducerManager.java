@@ -22,6 +22,7 @@ import com.dangdang.ddframe.job.cloud.scheduler.config.app.CloudAppConfiguration
 import com.dangdang.ddframe.job.cloud.scheduler.config.job.CloudJobConfiguration;
 import com.dangdang.ddframe.job.cloud.scheduler.config.job.CloudJobConfigurationService;
 import com.dangdang.ddframe.job.cloud.scheduler.config.job.CloudJobExecutionType;
+import com.dangdang.ddframe.job.cloud.scheduler.env.BootstrapEnvironment;
 import com.dangdang.ddframe.job.cloud.scheduler.state.disable.job.DisableJobService;
 import com.dangdang.ddframe.job.cloud.scheduler.state.ready.ReadyService;
 import com.dangdang.ddframe.job.cloud.scheduler.state.running.RunningService;
@@ -67,7 +68,7 @@ public final class ProducerManager {
         readyService = new ReadyService(regCenter);
         runningService = new RunningService(regCenter);
         disableJobService = new DisableJobService(regCenter);
-        transientProducerScheduler = new TransientProducerScheduler(readyService);
+        transientProducerScheduler = new TransientProducerScheduler(readyService, BootstrapEnvironment.getInstance().getFrameworkConfiguration().isHashedWheelTransientTrigger());
     }
     
     /**
@@ -20,6 +20,8 @@ package com.dangdang.ddframe.job.cloud.scheduler.producer;
 import com.dangdang.ddframe.job.cloud.scheduler.config.job.CloudJobConfiguration;
 import com.dangdang.ddframe.job.cloud.scheduler.state.ready.ReadyService;
 import com.dangdang.ddframe.job.exception.JobSystemException;
+import com.dangdang.ddframe.job.util.concurrent.CronTask;
+import com.dangdang.ddframe.job.util.concurrent.HashedWheelCronScheduler;
 import lombok.Setter;
 import org.quartz.CronScheduleBuilder;
 import org.quartz.Job;
@@ -42,23 +44,47 @@ import java.util.Properties;
 
 /**
  * 发布瞬时作业任务的调度器.
+ * 
+ * <p>
+ * 相同CRON表达式的瞬时作业共用一个触发器, 触发引擎可选Quartz或分层时间轮.
+ * </p>
  *
  * @author caohao
  */
 final class TransientProducerScheduler {
     
+    private static final String SCHEDULER_NAME = "ELASTIC_JOB_CLOUD_TRANSIENT_PRODUCER";
+    
+    private static final long WHEEL_TICK_MILLIS = 10L;
+    
+    private static final int WHEEL_SIZE = 512;
+    
     private final TransientProducerRepository repository;
     
     private final ReadyService readyService;
     
+    private final boolean hashedWheelEnabled;
+    
     private Scheduler scheduler;
     
+    private HashedWheelCronScheduler cronScheduler;
+    
     TransientProducerScheduler(final ReadyService readyService) {
+        this(readyService, false);
+    }
+    
+    TransientProducerScheduler(final ReadyService readyService, final boolean hashedWheelEnabled) {
         repository = new TransientProducerRepository();
         this.readyService = readyService;
+        this.hashedWheelEnabled = hashedWheelEnabled;
     }
     
     void start() {
+        if (hashedWheelEnabled) {
+            cronScheduler = new HashedWheelCronScheduler(SCHEDULER_NAME, WHEEL_TICK_MILLIS, WHEEL_SIZE, Runtime.getRuntime().availableProcessors() * 2);
+            cronScheduler.start();
+            return;
+        }
         scheduler = getScheduler();
         try {
             scheduler.start();
@@ -81,7 +107,7 @@ final class TransientProducerScheduler {
         Properties result = new Properties();
         result.put("org.quartz.threadPool.class", SimpleThreadPool.class.getName());
         result.put("org.quartz.threadPool.threadCount", Integer.toString(Runtime.getRuntime().availableProcessors() * 2));
-        result.put("org.quartz.scheduler.instanceName", "ELASTIC_JOB_CLOUD_TRANSIENT_PRODUCER");
+        result.put("org.quartz.scheduler.instanceName", SCHEDULER_NAME);
         result.put("org.quartz.plugin.shutdownhook.class", ShutdownHookPlugin.class.getName());
         result.put("org.quartz.plugin.shutdownhook.cleanShutdown", Boolean.TRUE.toString());
         return result;
@@ -92,6 +118,10 @@ final class TransientProducerScheduler {
         String cron = jobConfig.getTypeConfig().getCoreConfig().getCron();
         JobKey jobKey = buildJobKey(cron);
         repository.put(jobKey, jobConfig.getJobName());
+        if (null != cronScheduler) {
+            cronScheduler.schedule(cron, cron, new ProducerCronTask(jobKey, repository, readyService));
+            return;
+        }
         try {
             if (!scheduler.checkExists(jobKey)) {
                 scheduler.scheduleJob(buildJobDetail(jobKey), buildTrigger(jobKey.getName()));
@@ -116,6 +146,10 @@ final class TransientProducerScheduler {
         repository.remove(jobConfig.getJobName());
         String cron = jobConfig.getTypeConfig().getCoreConfig().getCron();
         if (!repository.containsKey(buildJobKey(cron))) {
+            if (null != cronScheduler) {
+                cronScheduler.unschedule(cron);
+                return;
+            }
             try {
                 scheduler.unscheduleJob(TriggerKey.triggerKey(cron));
             } catch (final SchedulerException ex) {
@@ -129,6 +163,9 @@ final class TransientProducerScheduler {
     }
     
     void shutdown() {
+        if (null != cronScheduler) {
+            cronScheduler.shutdown();
+        }
         try {
             if (null != scheduler && !scheduler.isShutdown()) {
                 scheduler.shutdown();
@@ -154,4 +191,38 @@ final class TransientProducerScheduler {
             }
         }
     }
+    
+    /**
+     * 时间轮触发的瞬时作业发布任务.
+     * 
+     * <p>
+     * Quartz触发引擎允许发布任务并发执行, 不会跳过任何触发. 为保持一致, 上次发布尚未结束时仍然发布本次触发的瞬时作业.
+     * </p>
+     */
+    private static final class ProducerCronTask implements CronTask {
+        
+        private final JobKey jobKey;
+        
+        private final TransientProducerRepository repository;
+        
+        private final ReadyService readyService;
+        
+        ProducerCronTask(final JobKey jobKey, final TransientProducerRepository repository, final ReadyService readyService) {
+            this.jobKey = jobKey;
+            this.repository = repository;
+            this.readyService = readyService;
+        }
+        
+        @Override
+        public void execute() {
+            for (String each : repository.get(jobKey)) {
+                readyService.addTransient(each);
+            }
+        }
+        
+        @Override
+        public void misfired() {
+            execute();
+        }
+    }
 }
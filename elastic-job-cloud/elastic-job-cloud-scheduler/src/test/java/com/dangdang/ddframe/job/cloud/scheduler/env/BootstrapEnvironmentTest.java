@@ -67,6 +67,15 @@ public final class BootstrapEnvironmentTest {
     public void assertGetFrameworkConfiguration() {
         FrameworkConfiguration frameworkConfig = bootstrapEnvironment.getFrameworkConfiguration();
         assertThat(frameworkConfig.getJobStateQueueSize(), is(10000));
+        assertFalse(frameworkConfig.isHashedWheelTransientTrigger());
+    }
+    
+    @Test
+    public void assertGetFrameworkConfigurationWithHashedWheelTransientTrigger() throws NoSuchFieldException {
+        Properties properties = new Properties();
+        properties.setProperty(EnvironmentArgument.TRANSIENT_TRIGGER_ENGINE.getKey(), "hashed_wheel");
+        ReflectionUtils.setFieldValue(bootstrapEnvironment, "properties", properties);
+        assertTrue(bootstrapEnvironment.getFrameworkConfiguration().isHashedWheelTransientTrigger());
     }
     
     @Test
@@ -23,6 +23,7 @@ import com.dangdang.ddframe.job.cloud.scheduler.env.FrameworkConfiguration;
 import com.dangdang.ddframe.job.cloud.scheduler.producer.ProducerManager;
 import com.dangdang.ddframe.job.cloud.scheduler.restful.RestfulService;
 import com.dangdang.ddframe.job.cloud.scheduler.statistics.StatisticManager;
+import com.dangdang.ddframe.job.event.JobEventBus;
 import com.google.common.util.concurrent.Service;
 import org.apache.mesos.SchedulerDriver;
 import org.junit.Before;
@@ -67,13 +68,16 @@ public class SchedulerServiceTest {
     @Mock
     private ReconcileService reconcileService;
     
+    @Mock
+    private JobEventBus jobEventBus;
+    
     private SchedulerService schedulerService;
     
     @Before
     public void setUp() throws Exception {
         schedulerService = new SchedulerService(env, facadeService, schedulerDriver,  
                 producerManager, statisticManager, cloudJobConfigurationListener, 
-                taskLaunchScheduledService, restfulService, reconcileService);
+                taskLaunchScheduledService, restfulService, reconcileService, jobEventBus);
     }
     
     @Test
@@ -117,6 +121,7 @@ public class SchedulerServiceTest {
         inOrder.verify(statisticManager).shutdown();
         inOrder.verify(producerManager).shutdown();
         inOrder.verify(schedulerDriver).stop(true);
+        inOrder.verify(jobEventBus).shutdown();
         inOrder.verify(facadeService).stop();
         inOrder.verify(reconcileService).stopAsync();
     }
@@ -132,6 +137,7 @@ public class SchedulerServiceTest {
         inOrder.verify(statisticManager).shutdown();
         inOrder.verify(producerManager).shutdown();
         inOrder.verify(schedulerDriver).stop(true);
+        inOrder.verify(jobEventBus).shutdown();
         inOrder.verify(facadeService).stop();
         inOrder.verify(reconcileService, never()).stopAsync();
     }
@@ -139,7 +145,7 @@ public class SchedulerServiceTest {
     private InOrder getInOrder() {
         return Mockito.inOrder(facadeService, schedulerDriver,
                 producerManager, statisticManager, cloudJobConfigurationListener,
-                taskLaunchScheduledService, restfulService, reconcileService);
+                taskLaunchScheduledService, restfulService, reconcileService, jobEventBus);
     }
     
     private void setReconcileEnabled(final boolean isEnabled) {
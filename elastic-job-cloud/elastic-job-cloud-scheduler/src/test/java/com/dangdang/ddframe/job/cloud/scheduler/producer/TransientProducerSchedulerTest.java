@@ -20,9 +20,12 @@ package com.dangdang.ddframe.job.cloud.scheduler.producer;
 import com.dangdang.ddframe.job.cloud.scheduler.config.job.CloudJobConfiguration;
 import com.dangdang.ddframe.job.cloud.scheduler.fixture.CloudJobConfigurationBuilder;
 import com.dangdang.ddframe.job.cloud.scheduler.state.ready.ReadyService;
+import com.dangdang.ddframe.job.util.concurrent.CronTask;
+import com.dangdang.ddframe.job.util.concurrent.HashedWheelCronScheduler;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.quartz.CronScheduleBuilder;
@@ -35,6 +38,9 @@ import org.quartz.TriggerBuilder;
 import org.quartz.TriggerKey;
 import org.unitils.util.ReflectionUtils;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -78,6 +84,33 @@ public final class TransientProducerSchedulerTest {
         verify(scheduler).unscheduleJob(TriggerKey.triggerKey(jobConfig.getTypeConfig().getCoreConfig().getCron()));
     }
     
+    @Test
+    public void assertRegisterAndDeregisterWithHashedWheel() throws NoSuchFieldException {
+        HashedWheelCronScheduler cronScheduler = mock(HashedWheelCronScheduler.class);
+        TransientProducerScheduler hashedWheelScheduler = new TransientProducerScheduler(readyService, true);
+        ReflectionUtils.setFieldValue(hashedWheelScheduler, "cronScheduler", cronScheduler);
+        String cron = jobConfig.getTypeConfig().getCoreConfig().getCron();
+        hashedWheelScheduler.register(jobConfig);
+        verify(cronScheduler).schedule(eq(cron), eq(cron), any(CronTask.class));
+        hashedWheelScheduler.deregister(jobConfig);
+        verify(cronScheduler).unschedule(cron);
+        hashedWheelScheduler.shutdown();
+        verify(cronScheduler).shutdown();
+    }
+    
+    @Test
+    public void assertProduceWhenMisfiredWithHashedWheel() throws NoSuchFieldException {
+        HashedWheelCronScheduler cronScheduler = mock(HashedWheelCronScheduler.class);
+        TransientProducerScheduler hashedWheelScheduler = new TransientProducerScheduler(readyService, true);
+        ReflectionUtils.setFieldValue(hashedWheelScheduler, "cronScheduler", cronScheduler);
+        String cron = jobConfig.getTypeConfig().getCoreConfig().getCron();
+        hashedWheelScheduler.register(jobConfig);
+        ArgumentCaptor<CronTask> cronTaskCaptor = ArgumentCaptor.forClass(CronTask.class);
+        verify(cronScheduler).schedule(eq(cron), eq(cron), cronTaskCaptor.capture());
+        cronTaskCaptor.getValue().misfired();
+        verify(readyService).addTransient("test_job");
+    }
+    
     @Test
     public void assertShutdown() throws SchedulerException {
         transientProducerScheduler.shutdown();
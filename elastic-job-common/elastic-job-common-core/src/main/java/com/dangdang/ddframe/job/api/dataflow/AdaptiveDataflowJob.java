@@ -0,0 +1,47 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.api.dataflow;
+
+import com.dangdang.ddframe.job.api.ShardingContext;
+
+import java.util.List;
+
+/**
+ * 自适应批量大小的数据流分布式作业接口.
+ * 
+ * <p>
+ * 配置处理数据的目标耗时后, 作业将根据各分片项近期处理数据的耗时和失败率推荐每次获取数据的批量大小:
+ * 处理较快时增大批量以提升吞吐量, 处理变慢或失败时减小批量.
+ * 未配置目标耗时时仍调用{@link DataflowJob#fetchData(ShardingContext)}获取数据.
+ * </p>
+ * 
+ * @author zhangliang
+ * 
+ * @param <T> 数据类型
+ */
+public interface AdaptiveDataflowJob<T> extends DataflowJob<T> {
+    
+    /**
+     * 按推荐的批量大小获取待处理数据.
+     *
+     * @param shardingContext 分片上下文
+     * @param batchSize 推荐的批量大小
+     * @return 待处理的数据集合
+     */
+    List<T> fetchData(ShardingContext shardingContext, int batchSize);
+}
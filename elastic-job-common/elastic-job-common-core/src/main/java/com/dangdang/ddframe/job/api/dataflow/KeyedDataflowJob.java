@@ -0,0 +1,41 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.api.dataflow;
+
+/**
+ * 按键保序的数据流分布式作业接口.
+ * 
+ * <p>
+ * 开启并行处理数据时, 键相同的数据将被分配至同一子批次, 并按抓取顺序处理.
+ * 未实现该接口的数据流作业将按顺序切分为连续的子批次.
+ * </p>
+ * 
+ * @author zhangliang
+ * 
+ * @param <T> 数据类型
+ */
+public interface KeyedDataflowJob<T> extends DataflowJob<T> {
+    
+    /**
+     * 获取数据的保序键.
+     * 
+     * @param data 待处理数据
+     * @return 保序键, 为null的数据将被分配至同一子批次
+     */
+    Object getOrderingKey(T data);
+}
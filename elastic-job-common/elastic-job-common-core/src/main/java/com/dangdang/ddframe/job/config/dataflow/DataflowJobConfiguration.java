@@ -21,7 +21,6 @@ import com.dangdang.ddframe.job.api.JobType;
 import com.dangdang.ddframe.job.config.JobCoreConfiguration;
 import com.dangdang.ddframe.job.config.JobTypeConfiguration;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 
 /**
  * 数据流作业配置信息.
@@ -29,7 +28,6 @@ import lombok.RequiredArgsConstructor;
  * @author caohao
  * @author zhangliang
  */
-@RequiredArgsConstructor
 @Getter
 public final class DataflowJobConfiguration implements JobTypeConfiguration {
     
@@ -40,4 +38,36 @@ public final class DataflowJobConfiguration implements JobTypeConfiguration {
     private final String jobClass;
     
     private final boolean streamingProcess;
+    
+    private final int prefetchDepth;
+    
+    private final int processParallelism;
+    
+    private final int targetProcessLatencyMillis;
+    
+    private final int maxBatchSize;
+    
+    public DataflowJobConfiguration(final JobCoreConfiguration coreConfig, final String jobClass, final boolean streamingProcess) {
+        this(coreConfig, jobClass, streamingProcess, 0);
+    }
+    
+    public DataflowJobConfiguration(final JobCoreConfiguration coreConfig, final String jobClass, final boolean streamingProcess, final int prefetchDepth) {
+        this(coreConfig, jobClass, streamingProcess, prefetchDepth, 0);
+    }
+    
+    public DataflowJobConfiguration(
+            final JobCoreConfiguration coreConfig, final String jobClass, final boolean streamingProcess, final int prefetchDepth, final int processParallelism) {
+        this(coreConfig, jobClass, streamingProcess, prefetchDepth, processParallelism, 0, 0);
+    }
+    
+    public DataflowJobConfiguration(final JobCoreConfiguration coreConfig, final String jobClass, final boolean streamingProcess, final int prefetchDepth, 
+                                    final int processParallelism, final int targetProcessLatencyMillis, final int maxBatchSize) {
+        this.coreConfig = coreConfig;
+        this.jobClass = jobClass;
+        this.streamingProcess = streamingProcess;
+        this.prefetchDepth = prefetchDepth;
+        this.processParallelism = processParallelism;
+        this.targetProcessLatencyMillis = targetProcessLatencyMillis;
+        this.maxBatchSize = maxBatchSize;
+    }
 }
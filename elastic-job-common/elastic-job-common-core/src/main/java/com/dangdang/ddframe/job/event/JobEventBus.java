@@ -17,58 +17,198 @@
 
 package com.dangdang.ddframe.job.event;
 
-import com.dangdang.ddframe.job.util.concurrent.ExecutorServiceObject;
-import com.google.common.eventbus.AsyncEventBus;
 import com.google.common.eventbus.EventBus;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * 运行痕迹事件总线.
  * 
+ * <p>
+ * 事件先进入有界队列, 再由单个分发线程交给监听器处理. 队列已满时按处理策略阻塞或丢弃事件.
+ * 关闭时先分发队列中剩余的事件, 再关闭实现了{@link Closeable}的监听器.
+ * 关闭通过标志位而非队列中的特殊事件通知分发线程, 因此不会被队列的处理策略丢弃或阻塞.
+ * </p>
+ * 
  * @author zhangliang
  * @author caohao
  */
 @Slf4j
 public final class JobEventBus {
     
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10L;
+    
+    private static final long POLL_INTERVAL_MILLISECONDS = 100L;
+    
     private final JobEventConfiguration jobEventConfig;
     
-    private final ExecutorServiceObject executorServiceObject;
+    private final JobEventQueue queue;
     
     private final EventBus eventBus;
     
+    private final AtomicBoolean shutdown = new AtomicBoolean();
+    
+    private final AtomicLong postedCount = new AtomicLong();
+    
+    private final AtomicLong deliveredCount = new AtomicLong();
+    
+    private final AtomicLong totalListenerLatencyNanos = new AtomicLong();
+    
+    private final AtomicLong maxListenerLatencyNanos = new AtomicLong();
+    
+    private JobEventListener jobEventListener;
+    
+    private ExecutorService dispatcherExecutorService;
+    
     private boolean isRegistered;
     
     public JobEventBus() {
         jobEventConfig = null;
-        executorServiceObject = null;
+        queue = null;
         eventBus = null;
     }
     
     public JobEventBus(final JobEventConfiguration jobEventConfig) {
+        this(jobEventConfig, new JobEventBusConfiguration());
+    }
+    
+    public JobEventBus(final JobEventConfiguration jobEventConfig, final JobEventBusConfiguration jobEventBusConfig) {
         this.jobEventConfig = jobEventConfig;
-        executorServiceObject = new ExecutorServiceObject("job-event", Runtime.getRuntime().availableProcessors() * 2);
-        eventBus = new AsyncEventBus(executorServiceObject.createExecutorService());
+        queue = new JobEventQueue(jobEventBusConfig.getCapacity(), jobEventBusConfig.getOverflowPolicy());
+        eventBus = new EventBus();
         register();
+        if (isRegistered) {
+            startDispatcher();
+        }
     }
     
     private void register() {
         try {
-            eventBus.register(jobEventConfig.createJobEventListener());
+            jobEventListener = jobEventConfig.createJobEventListener();
+            eventBus.register(jobEventListener);
             isRegistered = true;
         } catch (final JobEventListenerConfigurationException ex) {
             log.error("Elastic job: create JobEventListener failure, error is: ", ex);
         }
     }
     
+    private void startDispatcher() {
+        dispatcherExecutorService = Executors.newSingleThreadExecutor(new BasicThreadFactory.Builder().namingPattern("job-event-dispatcher-%s").daemon(true).build());
+        dispatcherExecutorService.submit(new Runnable() {
+            
+            @Override
+            public void run() {
+                dispatchUntilShutdown();
+            }
+        });
+    }
+    
+    private void dispatchUntilShutdown() {
+        while (!shutdown.get() || !queue.isEmpty()) {
+            JobEvent event;
+            try {
+                event = queue.poll(POLL_INTERVAL_MILLISECONDS, TimeUnit.MILLISECONDS);
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (null != event) {
+                dispatch(event);
+            }
+        }
+    }
+    
+    private void dispatch(final JobEvent event) {
+        long startTime = System.nanoTime();
+        eventBus.post(event);
+        long latencyNanos = System.nanoTime() - startTime;
+        deliveredCount.incrementAndGet();
+        totalListenerLatencyNanos.addAndGet(latencyNanos);
+        long maxLatencyNanos = maxListenerLatencyNanos.get();
+        while (latencyNanos > maxLatencyNanos && !maxListenerLatencyNanos.compareAndSet(maxLatencyNanos, latencyNanos)) {
+            maxLatencyNanos = maxListenerLatencyNanos.get();
+        }
+    }
+    
     /**
      * 发布事件.
      *
      * @param event 作业事件
      */
     public void post(final JobEvent event) {
-        if (isRegistered && !executorServiceObject.isShutdown()) {
-            eventBus.post(event);
+        if (isEnabled()) {
+            postedCount.incrementAndGet();
+            queue.offer(event);
+        }
+    }
+    
+    /**
+     * 判断事件总线是否可用.
+     * 
+     * <p>
+     * 未注册监听器或已关闭时发布的事件将被忽略, 调用方可据此跳过事件的创建.
+     * </p>
+     * 
+     * @return 事件总线是否可用
+     */
+    public boolean isEnabled() {
+        return isRegistered && !shutdown.get();
+    }
+    
+    /**
+     * 关闭事件总线.
+     * 
+     * <p>
+     * 关闭后不再接收新事件, 阻塞在队列已满上的发布操作会放弃等待.
+     * 队列中剩余的事件分发完成后关闭分发线程和监听器.
+     * </p>
+     */
+    public void shutdown() {
+        if (!isRegistered || !shutdown.compareAndSet(false, true)) {
+            return;
+        }
+        queue.close();
+        dispatcherExecutorService.shutdown();
+        try {
+            dispatcherExecutorService.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            dispatcherExecutorService.shutdownNow();
+            closeListener();
+        }
+    }
+    
+    private void closeListener() {
+        if (jobEventListener instanceof Closeable) {
+            try {
+                ((Closeable) jobEventListener).close();
+            } catch (final IOException ex) {
+                log.error("Elastic job: close JobEventListener failure, error is: ", ex);
+            }
+        }
+    }
+    
+    /**
+     * 获取事件总线统计.
+     * 
+     * @return 事件总线统计
+     */
+    public JobEventBusStatistics getStatistics() {
+        long delivered = deliveredCount.get();
+        long averageListenerLatencyNanos = 0L == delivered ? 0L : totalListenerLatencyNanos.get() / delivered;
+        if (null == queue) {
+            return new JobEventBusStatistics(postedCount.get(), delivered, 0L, 0, 0, averageListenerLatencyNanos, maxListenerLatencyNanos.get());
         }
+        return new JobEventBusStatistics(
+                postedCount.get(), delivered, queue.getDroppedCount(), queue.size(), queue.getCapacity(), averageListenerLatencyNanos, maxListenerLatencyNanos.get());
     }
 }
@@ -0,0 +1,54 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * 运行痕迹事件总线配置.
+ *
+ * @author zhangliang
+ */
+@RequiredArgsConstructor
+@Getter
+public final class JobEventBusConfiguration implements Serializable {
+    
+    /**
+     * 默认待分发事件队列容量.
+     */
+    public static final int DEFAULT_CAPACITY = 10000;
+    
+    private static final long serialVersionUID = -4526012624734926218L;
+    
+    /**
+     * 待分发事件队列容量.
+     */
+    private final int capacity;
+    
+    /**
+     * 待分发事件队列已满时的处理策略.
+     */
+    private final JobEventOverflowPolicy overflowPolicy;
+    
+    public JobEventBusConfiguration() {
+        this(DEFAULT_CAPACITY, JobEventOverflowPolicy.DROP_NEWEST);
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * 运行痕迹事件总线统计.
+ *
+ * @author zhangliang
+ */
+@RequiredArgsConstructor
+@Getter
+@ToString
+public final class JobEventBusStatistics {
+    
+    /**
+     * 发布的事件数量.
+     */
+    private final long postedCount;
+    
+    /**
+     * 已分发至监听器的事件数量.
+     */
+    private final long deliveredCount;
+    
+    /**
+     * 因队列已满而丢弃的事件数量.
+     */
+    private final long droppedCount;
+    
+    /**
+     * 待分发的事件数量.
+     */
+    private final int queueDepth;
+    
+    /**
+     * 待分发事件队列容量.
+     */
+    private final int queueCapacity;
+    
+    /**
+     * 监听器处理事件的平均耗时纳秒数.
+     */
+    private final long averageListenerLatencyNanos;
+    
+    /**
+     * 监听器处理事件的最长耗时纳秒数.
+     */
+    private final long maxListenerLatencyNanos;
+}
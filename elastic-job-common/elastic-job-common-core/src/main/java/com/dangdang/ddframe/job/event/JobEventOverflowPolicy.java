@@ -0,0 +1,41 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.event;
+
+/**
+ * 作业事件队列已满时的处理策略.
+ *
+ * @author zhangliang
+ */
+public enum JobEventOverflowPolicy {
+    
+    /**
+     * 阻塞发布事件的线程直至队列可用.
+     */
+    BLOCK, 
+    
+    /**
+     * 丢弃队列中最早的事件.
+     */
+    DROP_OLDEST, 
+    
+    /**
+     * 丢弃新发布的事件.
+     */
+    DROP_NEWEST
+}
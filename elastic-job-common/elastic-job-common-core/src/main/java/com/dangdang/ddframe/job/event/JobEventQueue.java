@@ -0,0 +1,188 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.event;
+
+import java.util.Collection;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 有界作业事件队列.
+ * 
+ * <p>
+ * 队列已满时按处理策略阻塞或丢弃事件, 并记录丢弃的事件数量.
+ * 关闭后不再接收新事件, 阻塞等待中的添加操作也会放弃等待.
+ * </p>
+ *
+ * @author zhangliang
+ */
+public final class JobEventQueue {
+    
+    private static final long BLOCK_CHECK_INTERVAL_MILLISECONDS = 100L;
+    
+    private final int capacity;
+    
+    private final JobEventOverflowPolicy overflowPolicy;
+    
+    private final BlockingQueue<JobEvent> queue;
+    
+    private final AtomicLong droppedCount = new AtomicLong();
+    
+    private volatile boolean closed;
+    
+    public JobEventQueue(final int capacity, final JobEventOverflowPolicy overflowPolicy) {
+        this.capacity = capacity;
+        this.overflowPolicy = overflowPolicy;
+        queue = new ArrayBlockingQueue<>(capacity);
+    }
+    
+    /**
+     * 添加事件.
+     * 
+     * @param event 作业事件
+     * @return 事件是否加入队列
+     */
+    public boolean offer(final JobEvent event) {
+        if (closed) {
+            droppedCount.incrementAndGet();
+            return false;
+        }
+        switch (overflowPolicy) {
+            case BLOCK:
+                try {
+                    while (!closed) {
+                        if (queue.offer(event, BLOCK_CHECK_INTERVAL_MILLISECONDS, TimeUnit.MILLISECONDS)) {
+                            return true;
+                        }
+                    }
+                } catch (final InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                droppedCount.incrementAndGet();
+                return false;
+            case DROP_OLDEST:
+                while (!queue.offer(event)) {
+                    if (null != queue.poll()) {
+                        droppedCount.incrementAndGet();
+                    }
+                }
+                return true;
+            default:
+                if (queue.offer(event)) {
+                    return true;
+                }
+                droppedCount.incrementAndGet();
+                return false;
+        }
+    }
+    
+    /**
+     * 在等待时间内添加事件, 不受处理策略影响.
+     * 
+     * @param event 作业事件
+     * @param timeout 等待时间
+     * @param unit 等待时间单位
+     * @return 事件是否加入队列
+     * @throws InterruptedException 等待时被中断
+     */
+    public boolean offer(final JobEvent event, final long timeout, final TimeUnit unit) throws InterruptedException {
+        return queue.offer(event, timeout, unit);
+    }
+    
+    /**
+     * 获取并移除队首事件, 队列为空时等待.
+     * 
+     * @return 队首事件
+     * @throws InterruptedException 等待时被中断
+     */
+    public JobEvent take() throws InterruptedException {
+        return queue.take();
+    }
+    
+    /**
+     * 在等待时间内获取并移除队首事件.
+     * 
+     * @param timeout 等待时间
+     * @param unit 等待时间单位
+     * @return 队首事件, 超时返回null
+     * @throws InterruptedException 等待时被中断
+     */
+    public JobEvent poll(final long timeout, final TimeUnit unit) throws InterruptedException {
+        return queue.poll(timeout, unit);
+    }
+    
+    /**
+     * 移除事件至集合.
+     * 
+     * @param events 接收事件的集合
+     * @param maxElements 最多移除的事件数量
+     * @return 移除的事件数量
+     */
+    public int drainTo(final Collection<? super JobEvent> events, final int maxElements) {
+        return queue.drainTo(events, maxElements);
+    }
+    
+    /**
+     * 关闭队列.
+     * 
+     * <p>
+     * 关闭后添加的事件将被丢弃, 队列中已有的事件仍可取出.
+     * </p>
+     */
+    public void close() {
+        closed = true;
+    }
+    
+    /**
+     * 判断队列是否为空.
+     * 
+     * @return 队列是否为空
+     */
+    public boolean isEmpty() {
+        return queue.isEmpty();
+    }
+    
+    /**
+     * 获取队列中的事件数量.
+     * 
+     * @return 队列中的事件数量
+     */
+    public int size() {
+        return queue.size();
+    }
+    
+    /**
+     * 获取队列容量.
+     * 
+     * @return 队列容量
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+    
+    /**
+     * 获取因队列已满或已关闭而丢弃的事件数量.
+     * 
+     * @return 因队列已满或已关闭而丢弃的事件数量
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+}
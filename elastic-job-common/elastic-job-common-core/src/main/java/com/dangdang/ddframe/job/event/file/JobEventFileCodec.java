@@ -0,0 +1,204 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.event.file;
+
+import com.dangdang.ddframe.job.context.ExecutionType;
+import com.dangdang.ddframe.job.event.JobEvent;
+import com.dangdang.ddframe.job.event.type.JobExecutionEvent;
+import com.dangdang.ddframe.job.event.type.JobExecutionEventThrowable;
+import com.dangdang.ddframe.job.event.type.JobStatusTraceEvent;
+import com.dangdang.ddframe.job.event.type.JobStatusTraceEvent.Source;
+import com.dangdang.ddframe.job.event.type.JobStatusTraceEvent.State;
+import com.google.common.base.Charsets;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Date;
+import java.util.zip.CRC32;
+
+/**
+ * 作业事件二进制编解码器.
+ * 
+ * <p>
+ * 每条记录由4字节数据长度, 4字节数据CRC32校验码和数据组成, 数据首字节为事件类型.
+ * 数据长度为0表示段文件中已写入的记录到此结束.
+ * </p>
+ *
+ * @author zhangliang
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class JobEventFileCodec {
+    
+    /**
+     * 记录头字节数.
+     */
+    static final int HEADER_BYTES = 8;
+    
+    private static final byte JOB_EXECUTION_EVENT_TYPE = 1;
+    
+    private static final byte JOB_STATUS_TRACE_EVENT_TYPE = 2;
+    
+    private static final int NULL_LENGTH = -1;
+    
+    private static final long NULL_TIME = -1L;
+    
+    /**
+     * 编码作业事件.
+     * 
+     * @param event 作业事件
+     * @return 包括记录头的记录字节数组, 不支持的事件类型返回null
+     */
+    static byte[] encode(final JobEvent event) {
+        ByteArrayOutputStream payload = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(payload)) {
+            if (event instanceof JobExecutionEvent) {
+                out.writeByte(JOB_EXECUTION_EVENT_TYPE);
+                encodeJobExecutionEvent((JobExecutionEvent) event, out);
+            } else if (event instanceof JobStatusTraceEvent) {
+                out.writeByte(JOB_STATUS_TRACE_EVENT_TYPE);
+                encodeJobStatusTraceEvent((JobStatusTraceEvent) event, out);
+            } else {
+                return null;
+            }
+        } catch (final IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+        byte[] payloadBytes = payload.toByteArray();
+        ByteBuffer result = ByteBuffer.allocate(HEADER_BYTES + payloadBytes.length);
+        result.putInt(payloadBytes.length);
+        result.putInt(checksum(payloadBytes, 0, payloadBytes.length));
+        result.put(payloadBytes);
+        return result.array();
+    }
+    
+    private static void encodeJobExecutionEvent(final JobExecutionEvent event, final DataOutputStream out) throws IOException {
+        writeString(event.getId(), out);
+        writeString(event.getHostname(), out);
+        writeString(event.getIp(), out);
+        writeString(event.getTaskId(), out);
+        writeString(event.getJobName(), out);
+        writeString(event.getSource().name(), out);
+        out.writeInt(event.getShardingItem());
+        writeDate(event.getStartTime(), out);
+        writeDate(event.getCompleteTime(), out);
+        out.writeBoolean(event.isSuccess());
+        writeString(event.getFailureCause(), out);
+    }
+    
+    private static void encodeJobStatusTraceEvent(final JobStatusTraceEvent event, final DataOutputStream out) throws IOException {
+        writeString(event.getId(), out);
+        writeString(event.getJobName(), out);
+        writeString(event.getOriginalTaskId(), out);
+        writeString(event.getTaskId(), out);
+        writeString(event.getSlaveId(), out);
+        writeString(event.getSource().name(), out);
+        writeString(event.getExecutionType().name(), out);
+        writeString(event.getShardingItems(), out);
+        writeString(event.getState().name(), out);
+        writeString(event.getMessage(), out);
+        writeDate(event.getCreationTime(), out);
+    }
+    
+    private static void writeString(final String value, final DataOutputStream out) throws IOException {
+        if (null == value) {
+            out.writeInt(NULL_LENGTH);
+            return;
+        }
+        byte[] bytes = value.getBytes(Charsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+    
+    private static void writeDate(final Date value, final DataOutputStream out) throws IOException {
+        out.writeLong(null == value ? NULL_TIME : value.getTime());
+    }
+    
+    /**
+     * 解码作业事件.
+     * 
+     * <p>
+     * 解码成功时缓冲区位置移至下一条记录, 否则缓冲区位置不变.
+     * </p>
+     * 
+     * @param buffer 缓冲区
+     * @return 作业事件, 已无记录或记录不完整时返回null
+     */
+    static JobEvent decode(final ByteBuffer buffer) {
+        int start = buffer.position();
+        if (buffer.remaining() < HEADER_BYTES) {
+            return null;
+        }
+        int length = buffer.getInt();
+        int checksum = buffer.getInt();
+        if (length <= 0 || length > buffer.remaining()) {
+            buffer.position(start);
+            return null;
+        }
+        byte[] payload = new byte[length];
+        buffer.get(payload);
+        if (checksum != checksum(payload, 0, length)) {
+            buffer.position(start);
+            return null;
+        }
+        ByteBuffer in = ByteBuffer.wrap(payload);
+        switch (in.get()) {
+            case JOB_EXECUTION_EVENT_TYPE:
+                return decodeJobExecutionEvent(in);
+            case JOB_STATUS_TRACE_EVENT_TYPE:
+                return decodeJobStatusTraceEvent(in);
+            default:
+                buffer.position(start);
+                return null;
+        }
+    }
+    
+    private static JobExecutionEvent decodeJobExecutionEvent(final ByteBuffer in) {
+        return new JobExecutionEvent(readString(in), readString(in), readString(in), readString(in), readString(in), JobExecutionEvent.ExecutionSource.valueOf(readString(in)), 
+                in.getInt(), readDate(in), readDate(in), 1 == in.get(), new JobExecutionEventThrowable(null, readString(in)));
+    }
+    
+    private static JobStatusTraceEvent decodeJobStatusTraceEvent(final ByteBuffer in) {
+        return new JobStatusTraceEvent(readString(in), readString(in), readString(in), readString(in), readString(in), Source.valueOf(readString(in)), 
+                ExecutionType.valueOf(readString(in)), readString(in), State.valueOf(readString(in)), readString(in), readDate(in));
+    }
+    
+    private static String readString(final ByteBuffer in) {
+        int length = in.getInt();
+        if (NULL_LENGTH == length) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, Charsets.UTF_8);
+    }
+    
+    private static Date readDate(final ByteBuffer in) {
+        long time = in.getLong();
+        return NULL_TIME == time ? null : new Date(time);
+    }
+    
+    private static int checksum(final byte[] bytes, final int offset, final int length) {
+        CRC32 crc32 = new CRC32();
+        crc32.update(bytes, offset, length);
+        return (int) crc32.getValue();
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.event.file;
+
+import com.dangdang.ddframe.job.event.JobEvent;
+import com.dangdang.ddframe.job.event.type.JobExecutionEvent;
+import com.dangdang.ddframe.job.event.type.JobStatusTraceEvent;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 段文件作业事件字段.
+ * 
+ * <p>
+ * 字段名称与运行痕迹数据库表的字段名称一致.
+ * </p>
+ *
+ * @author zhangliang
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class JobEventFileColumns {
+    
+    static final List<String> JOB_EXECUTION_LOG = Collections.unmodifiableList(Arrays.asList(
+            "id", "hostname", "ip", "task_id", "job_name", "execution_source", "sharding_item", "start_time", "complete_time", "is_success", "failure_cause"));
+    
+    static final List<String> JOB_STATUS_TRACE_LOG = Collections.unmodifiableList(Arrays.asList(
+            "id", "job_name", "original_task_id", "task_id", "slave_id", "source", "execution_type", "sharding_item", "state", "message", "creation_time"));
+    
+    /**
+     * 获取作业事件对应字段的值.
+     * 
+     * @param event 作业事件
+     * @param column 字段名称
+     * @return 字段的值, 字段不存在时返回null
+     */
+    static Comparable<?> getValue(final JobEvent event, final String column) {
+        if (event instanceof JobExecutionEvent) {
+            return getJobExecutionEventFieldValue((JobExecutionEvent) event, column);
+        }
+        return getJobStatusTraceEventFieldValue((JobStatusTraceEvent) event, column);
+    }
+    
+    private static Comparable<?> getJobExecutionEventFieldValue(final JobExecutionEvent event, final String column) {
+        switch (column) {
+            case "id":
+                return event.getId();
+            case "hostname":
+                return event.getHostname();
+            case "ip":
+                return event.getIp();
+            case "task_id":
+                return event.getTaskId();
+            case "job_name":
+                return event.getJobName();
+            case "execution_source":
+                return getName(event.getSource());
+            case "sharding_item":
+                return event.getShardingItem();
+            case "start_time":
+                return event.getStartTime();
+            case "complete_time":
+                return event.getCompleteTime();
+            case "is_success":
+                return event.isSuccess();
+            case "failure_cause":
+                return event.getFailureCause();
+            default:
+                return null;
+        }
+    }
+    
+    private static String getName(final Enum<?> value) {
+        return null == value ? null : value.name();
+    }
+    
+    private static Comparable<?> getJobStatusTraceEventFieldValue(final JobStatusTraceEvent event, final String column) {
+        switch (column) {
+            case "id":
+                return event.getId();
+            case "job_name":
+                return event.getJobName();
+            case "original_task_id":
+                return event.getOriginalTaskId();
+            case "task_id":
+                return event.getTaskId();
+            case "slave_id":
+                return event.getSlaveId();
+            case "source":
+                return getName(event.getSource());
+            case "execution_type":
+                return getName(event.getExecutionType());
+            case "sharding_item":
+                return event.getShardingItems();
+            case "state":
+                return getName(event.getState());
+            case "message":
+                return event.getMessage();
+            case "creation_time":
+                return event.getCreationTime();
+            default:
+                return null;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.event.file;
+
+import com.dangdang.ddframe.job.event.JobEventConfiguration;
+import com.dangdang.ddframe.job.event.JobEventListener;
+import com.dangdang.ddframe.job.event.JobEventListenerConfigurationException;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.Serializable;
+
+/**
+ * 作业本地文件事件配置.
+ * 
+ * <p>
+ * 事件以二进制格式顺序追加写入目录下的段文件, 段文件写满后滚动创建新的段文件.
+ * </p>
+ *
+ * @author zhangliang
+ */
+@Getter
+public final class JobEventFileConfiguration extends JobEventFileIdentity implements JobEventConfiguration, Serializable {
+    
+    private static final long serialVersionUID = -2546826618391291613L;
+    
+    /**
+     * 默认段文件字节数.
+     */
+    public static final int DEFAULT_SEGMENT_SIZE_BYTES = 64 * 1024 * 1024;
+    
+    /**
+     * 默认刷盘间隔毫秒数.
+     */
+    public static final long DEFAULT_FSYNC_INTERVAL_MILLISECONDS = 1000L;
+    
+    /**
+     * 默认保留的最大段文件数量.
+     */
+    public static final int DEFAULT_MAX_SEGMENT_COUNT = 16;
+    
+    private final String directory;
+    
+    private final int segmentSizeBytes;
+    
+    private final long fsyncIntervalMilliseconds;
+    
+    private final int maxSegmentCount;
+    
+    public JobEventFileConfiguration(final String directory) {
+        this(directory, DEFAULT_SEGMENT_SIZE_BYTES, DEFAULT_FSYNC_INTERVAL_MILLISECONDS, DEFAULT_MAX_SEGMENT_COUNT);
+    }
+    
+    /**
+     * 创建作业本地文件事件配置.
+     * 
+     * @param directory 段文件所在目录
+     * @param segmentSizeBytes 段文件字节数
+     * @param fsyncIntervalMilliseconds 刷盘间隔毫秒数
+     * @param maxSegmentCount 保留的最大段文件数量, 超过时删除最早的段文件, 配置为-1表示不删除, 段文件预先分配全部空间, 不删除时磁盘占用将持续增长
+     */
+    public JobEventFileConfiguration(final String directory, final int segmentSizeBytes, final long fsyncIntervalMilliseconds, final int maxSegmentCount) {
+        this.directory = directory;
+        this.segmentSizeBytes = segmentSizeBytes;
+        this.fsyncIntervalMilliseconds = fsyncIntervalMilliseconds;
+        this.maxSegmentCount = maxSegmentCount;
+    }
+    
+    @Override
+    public JobEventListener createJobEventListener() throws JobEventListenerConfigurationException {
+        try {
+            return new JobEventFileListener(this);
+        } catch (final IOException ex) {
+            throw new JobEventListenerConfigurationException(ex);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.event.file;
+
+import com.dangdang.ddframe.job.event.JobEvent;
+import com.dangdang.ddframe.job.event.type.JobExecutionEvent;
+import com.dangdang.ddframe.job.event.type.JobStatusTraceEvent;
+import com.google.common.base.Joiner;
+import com.google.common.base.Predicates;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 段文件运行痕迹事件导出器.
+ * 
+ * <p>
+ * 以CSV格式导出运行痕迹, 列与运行痕迹数据库表的字段一致, 首行为字段名称.
+ * 导出结果可直接导入数据库表或列式存储进行离线分析.
+ * </p>
+ *
+ * @author zhangliang
+ */
+public final class JobEventFileExporter {
+    
+    private static final String DATE_PATTERN = "yyyy-MM-dd HH:mm:ss.SSS";
+    
+    private static final String LINE_SEPARATOR = "\n";
+    
+    private final JobEventFileReader reader;
+    
+    public JobEventFileExporter(final String directory) {
+        reader = new JobEventFileReader(directory);
+    }
+    
+    /**
+     * 导出作业执行轨迹.
+     * 
+     * @param writer 导出目标
+     * @return 导出的记录数
+     * @throws IOException 读取段文件或写入导出目标异常
+     */
+    public int exportJobExecutionEvents(final Writer writer) throws IOException {
+        JobExecutionEventMergeVisitor visitor = new JobExecutionEventMergeVisitor(Predicates.<JobExecutionEvent>alwaysTrue(), Integer.MAX_VALUE);
+        reader.read(visitor);
+        return export(visitor.getEvents(), JobEventFileColumns.JOB_EXECUTION_LOG, writer);
+    }
+    
+    /**
+     * 导出作业状态轨迹.
+     * 
+     * @param writer 导出目标
+     * @return 导出的记录数
+     * @throws IOException 读取段文件或写入导出目标异常
+     */
+    public int exportJobStatusTraceEvents(final Writer writer) throws IOException {
+        final List<JobStatusTraceEvent> events = new ArrayList<>();
+        reader.read(new JobEventFileVisitor() {
+            
+            @Override
+            public boolean visit(final JobEvent event) {
+                if (event instanceof JobStatusTraceEvent) {
+                    events.add((JobStatusTraceEvent) event);
+                }
+                return true;
+            }
+        });
+        return export(events, JobEventFileColumns.JOB_STATUS_TRACE_LOG, writer);
+    }
+    
+    private int export(final List<? extends JobEvent> events, final List<String> columns, final Writer writer) throws IOException {
+        SimpleDateFormat dateFormat = new SimpleDateFormat(DATE_PATTERN);
+        writer.write(Joiner.on(',').join(columns));
+        writer.write(LINE_SEPARATOR);
+        List<String> values = new ArrayList<>(columns.size());
+        for (JobEvent each : events) {
+            values.clear();
+            for (String column : columns) {
+                values.add(format(JobEventFileColumns.getValue(each, column), dateFormat));
+            }
+            writer.write(Joiner.on(',').join(values));
+            writer.write(LINE_SEPARATOR);
+        }
+        writer.flush();
+        return events.size();
+    }
+    
+    private String format(final Comparable<?> value, final SimpleDateFormat dateFormat) {
+        if (null == value) {
+            return "";
+        }
+        if (value instanceof Date) {
+            return dateFormat.format((Date) value);
+        }
+        if (value instanceof Boolean) {
+            return (Boolean) value ? "1" : "0";
+        }
+        return quote(value.toString());
+    }
+    
+    private String quote(final String value) {
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
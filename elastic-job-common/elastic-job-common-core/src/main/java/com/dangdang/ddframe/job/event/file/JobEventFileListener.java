@@ -0,0 +1,63 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.event.file;
+
+import com.dangdang.ddframe.job.event.JobEventListener;
+import com.dangdang.ddframe.job.event.type.JobExecutionEvent;
+import com.dangdang.ddframe.job.event.type.JobStatusTraceEvent;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 运行痕迹事件本地文件监听器.
+ * 
+ * <p>
+ * 相同目录的监听器共享同一个写入器, 关闭时释放对写入器的引用, 重复关闭只释放一次.
+ * </p>
+ *
+ * @author zhangliang
+ */
+public final class JobEventFileListener extends JobEventFileIdentity implements JobEventListener, Closeable {
+    
+    private final JobEventFileWriter writer;
+    
+    private final AtomicBoolean closed = new AtomicBoolean();
+    
+    public JobEventFileListener(final JobEventFileConfiguration config) throws IOException {
+        writer = JobEventFileWriter.acquire(config);
+    }
+    
+    @Override
+    public void listen(final JobExecutionEvent executionEvent) {
+        writer.append(executionEvent);
+    }
+    
+    @Override
+    public void listen(final JobStatusTraceEvent jobStatusTraceEvent) {
+        writer.append(jobStatusTraceEvent);
+    }
+    
+    @Override
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            writer.release();
+        }
+    }
+}
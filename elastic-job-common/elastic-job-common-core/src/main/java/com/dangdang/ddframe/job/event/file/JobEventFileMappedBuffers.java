@@ -0,0 +1,82 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.event.file;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+
+/**
+ * 段文件内存映射工具类.
+ * 
+ * <p>
+ * 内存映射在垃圾回收前不会释放, 已删除的段文件将一直占用文件句柄和磁盘空间.
+ * 因此不再使用的映射需主动解除, 解除后不能再访问该映射.
+ * 当前JVM不支持主动解除时, 仍由垃圾回收释放.
+ * </p>
+ *
+ * @author zhangliang
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+@Slf4j
+final class JobEventFileMappedBuffers {
+    
+    /**
+     * 解除内存映射.
+     * 
+     * @param buffer 内存映射
+     */
+    static void unmap(final MappedByteBuffer buffer) {
+        if (null == buffer) {
+            return;
+        }
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Method invokeCleaner = getInvokeCleanerMethod(unsafeClass);
+            if (null != invokeCleaner) {
+                Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+                theUnsafe.setAccessible(true);
+                invokeCleaner.invoke(theUnsafe.get(null), buffer);
+                return;
+            }
+            Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+            cleanerMethod.setAccessible(true);
+            Object cleaner = cleanerMethod.invoke(buffer);
+            if (null != cleaner) {
+                cleaner.getClass().getMethod("clean").invoke(cleaner);
+            }
+            //CHECKSTYLE:OFF
+        } catch (final Exception ex) {
+            //CHECKSTYLE:ON
+            log.debug("Elastic job: cannot unmap job event segment file, release by garbage collection.", ex);
+        }
+    }
+    
+    private static Method getInvokeCleanerMethod(final Class<?> unsafeClass) {
+        try {
+            return unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (final NoSuchMethodException ex) {
+            return null;
+        }
+    }
+}
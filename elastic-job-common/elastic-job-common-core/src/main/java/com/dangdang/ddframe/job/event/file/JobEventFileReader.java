@@ -0,0 +1,101 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.event.file;
+
+import com.dangdang.ddframe.job.event.JobEvent;
+import lombok.Getter;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.List;
+
+/**
+ * 作业事件段文件读取器.
+ * 
+ * <p>
+ * 按写入顺序逐条读取段文件中的作业事件, 不将全部事件加载至内存.
+ * 可读取正在写入的段文件, 读取到未写完整的记录时停止读取该段文件.
+ * </p>
+ *
+ * @author zhangliang
+ */
+public final class JobEventFileReader {
+    
+    @Getter
+    private final File directory;
+    
+    public JobEventFileReader(final String directory) {
+        this.directory = new File(directory);
+    }
+    
+    /**
+     * 获取全部段文件.
+     * 
+     * @return 按写入顺序排列的段文件
+     */
+    public List<File> getSegmentFiles() {
+        return JobEventFileWriter.listSegmentFiles(directory);
+    }
+    
+    /**
+     * 读取全部段文件的作业事件.
+     * 
+     * @param visitor 段文件作业事件访问者
+     * @throws IOException 读取段文件异常
+     */
+    public void read(final JobEventFileVisitor visitor) throws IOException {
+        for (File each : getSegmentFiles()) {
+            if (!read(each, visitor)) {
+                return;
+            }
+        }
+    }
+    
+    /**
+     * 读取段文件的作业事件.
+     * 
+     * @param segmentFile 段文件
+     * @param visitor 段文件作业事件访问者
+     * @return 是否继续读取后续的段文件, 访问者要求停止读取时返回false
+     * @throws IOException 读取段文件异常
+     */
+    public boolean read(final File segmentFile, final JobEventFileVisitor visitor) throws IOException {
+        MappedByteBuffer buffer;
+        try (
+                RandomAccessFile file = new RandomAccessFile(segmentFile, "r");
+                FileChannel channel = file.getChannel()
+                ) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        try {
+            JobEvent event = JobEventFileCodec.decode(buffer);
+            while (null != event) {
+                if (!visitor.visit(event)) {
+                    return false;
+                }
+                event = JobEventFileCodec.decode(buffer);
+            }
+            return true;
+        } finally {
+            JobEventFileMappedBuffers.unmap(buffer);
+        }
+    }
+}
@@ -0,0 +1,312 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.event.file;
+
+import com.dangdang.ddframe.job.event.JobEvent;
+import com.dangdang.ddframe.job.event.rdb.JobEventRdbSearch.Condition;
+import com.dangdang.ddframe.job.event.rdb.JobEventRdbSearch.Result;
+import com.dangdang.ddframe.job.event.type.JobExecutionEvent;
+import com.dangdang.ddframe.job.event.type.JobStatusTraceEvent;
+import com.google.common.base.CaseFormat;
+import com.google.common.base.Predicate;
+import com.google.common.base.Strings;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * 段文件运行痕迹事件检索.
+ * 
+ * <p>
+ * 查询条件与{@code JobEventRdbSearch}相同, 字段名称对应数据库表的字段.
+ * 同一次执行的开始和完成事件合并为一条作业执行轨迹.
+ * </p>
+ * 
+ * <p>
+ * 检索时逐条读取段文件并立即过滤, 只在内存中保留当前页需要的记录.
+ * 段文件的最后修改时间早于开始时间的段文件不会被读取.
+ * 不排序且限制了计数上限时, 符合条件的记录数达到上限即停止读取.
+ * </p>
+ *
+ * @author zhangliang
+ */
+@Slf4j
+public final class JobEventFileSearch {
+    
+    private static final int DEFAULT_PAGE_SIZE = 10;
+    
+    private static final long SEGMENT_MODIFIED_TIME_TOLERANCE_MILLISECONDS = 60 * 1000L;
+    
+    private static final List<String> JOB_EXECUTION_COMPLETION_COLUMNS = Arrays.asList("complete_time", "is_success", "failure_cause");
+    
+    private final JobEventFileReader reader;
+    
+    public JobEventFileSearch(final String directory) {
+        reader = new JobEventFileReader(directory);
+    }
+    
+    /**
+     * 检索作业运行执行轨迹.
+     * 
+     * @param condition 查询条件
+     * @return 作业执行轨迹检索结果
+     */
+    public Result<JobExecutionEvent> findJobExecutionEvents(final Condition condition) {
+        final Map<String, Object> startFields = new HashMap<>();
+        Map<String, Object> completionFields = new HashMap<>();
+        if (null != condition.getFields()) {
+            for (Map.Entry<String, Object> entry : condition.getFields().entrySet()) {
+                String lowerUnderscore = CaseFormat.LOWER_CAMEL.to(CaseFormat.LOWER_UNDERSCORE, entry.getKey());
+                (JOB_EXECUTION_COMPLETION_COLUMNS.contains(lowerUnderscore) ? completionFields : startFields).put(entry.getKey(), entry.getValue());
+            }
+        }
+        PageCollector<JobExecutionEvent> collector = new PageCollector<>(condition, JobEventFileSearch.<JobExecutionEvent>getComparator(JobEventFileColumns.JOB_EXECUTION_LOG, condition));
+        int maxRetainedCount = collector.isStopEarly() && completionFields.isEmpty() ? collector.getStopCount() : Integer.MAX_VALUE;
+        JobExecutionEventMergeVisitor visitor = new JobExecutionEventMergeVisitor(new Predicate<JobExecutionEvent>() {
+            
+            @Override
+            public boolean apply(final JobExecutionEvent input) {
+                return isInTimeRange(input.getStartTime(), condition) && isMatched(input, JobEventFileColumns.JOB_EXECUTION_LOG, startFields);
+            }
+        }, maxRetainedCount);
+        read(condition, visitor);
+        for (JobExecutionEvent each : visitor.getEvents()) {
+            if (isMatched(each, JobEventFileColumns.JOB_EXECUTION_LOG, completionFields) && !collector.add(each)) {
+                break;
+            }
+        }
+        return collector.getResult();
+    }
+    
+    /**
+     * 检索作业运行状态轨迹.
+     * 
+     * @param condition 查询条件
+     * @return 作业状态轨迹检索结果
+     */
+    public Result<JobStatusTraceEvent> findJobStatusTraceEvents(final Condition condition) {
+        final PageCollector<JobStatusTraceEvent> collector = new PageCollector<>(
+                condition, JobEventFileSearch.<JobStatusTraceEvent>getComparator(JobEventFileColumns.JOB_STATUS_TRACE_LOG, condition));
+        read(condition, new JobEventFileVisitor() {
+            
+            @Override
+            public boolean visit(final JobEvent event) {
+                if (!(event instanceof JobStatusTraceEvent)) {
+                    return true;
+                }
+                JobStatusTraceEvent jobStatusTraceEvent = (JobStatusTraceEvent) event;
+                return !isInTimeRange(jobStatusTraceEvent.getCreationTime(), condition) 
+                        || !isMatched(jobStatusTraceEvent, JobEventFileColumns.JOB_STATUS_TRACE_LOG, condition.getFields()) || collector.add(jobStatusTraceEvent);
+            }
+        });
+        return collector.getResult();
+    }
+    
+    private void read(final Condition condition, final JobEventFileVisitor visitor) {
+        try {
+            for (File each : reader.getSegmentFiles()) {
+                if (!isBeforeStartTime(each, condition) && !reader.read(each, visitor)) {
+                    return;
+                }
+            }
+        } catch (final IOException ex) {
+            log.error("Fetch job events from segment files error:", ex);
+        }
+    }
+    
+    private boolean isBeforeStartTime(final File segmentFile, final Condition condition) {
+        return null != condition.getStartTime() && segmentFile.lastModified() + SEGMENT_MODIFIED_TIME_TOLERANCE_MILLISECONDS < condition.getStartTime().getTime();
+    }
+    
+    private boolean isInTimeRange(final Date time, final Condition condition) {
+        if (null == time) {
+            return null == condition.getStartTime() && null == condition.getEndTime();
+        }
+        return (null == condition.getStartTime() || !time.before(condition.getStartTime())) && (null == condition.getEndTime() || !time.after(condition.getEndTime()));
+    }
+    
+    private boolean isMatched(final JobEvent event, final List<String> tableFields, final Map<String, Object> fields) {
+        if (null == fields) {
+            return true;
+        }
+        for (Map.Entry<String, Object> entry : fields.entrySet()) {
+            String lowerUnderscore = CaseFormat.LOWER_CAMEL.to(CaseFormat.LOWER_UNDERSCORE, entry.getKey());
+            if (null != entry.getValue() && tableFields.contains(lowerUnderscore) && !isFieldMatched(JobEventFileColumns.getValue(event, lowerUnderscore), String.valueOf(entry.getValue()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private boolean isFieldMatched(final Comparable<?> fieldValue, final String expected) {
+        if (fieldValue instanceof Boolean) {
+            return (Boolean) fieldValue == ("1".equals(expected) || Boolean.parseBoolean(expected));
+        }
+        if (fieldValue instanceof Date) {
+            return ((Date) fieldValue).getTime() == Long.parseLong(expected);
+        }
+        return null != fieldValue && fieldValue.toString().equals(expected);
+    }
+    
+    private static <T extends JobEvent> Comparator<T> getComparator(final List<String> tableFields, final Condition condition) {
+        if (Strings.isNullOrEmpty(condition.getSort())) {
+            return null;
+        }
+        final String lowerUnderscore = CaseFormat.LOWER_CAMEL.to(CaseFormat.LOWER_UNDERSCORE, condition.getSort());
+        if (!tableFields.contains(lowerUnderscore)) {
+            return null;
+        }
+        final int direction = null != condition.getOrder() && "DESC".equalsIgnoreCase(condition.getOrder()) ? -1 : 1;
+        return new Comparator<T>() {
+            
+            @SuppressWarnings("unchecked")
+            @Override
+            public int compare(final T o1, final T o2) {
+                Comparable<Object> value1 = (Comparable<Object>) JobEventFileColumns.getValue(o1, lowerUnderscore);
+                Comparable<Object> value2 = (Comparable<Object>) JobEventFileColumns.getValue(o2, lowerUnderscore);
+                if (null == value1 || null == value2) {
+                    return direction * (null == value1 ? (null == value2 ? 0 : -1) : 1);
+                }
+                return direction * value1.compareTo(value2);
+            }
+        };
+    }
+    
+    /**
+     * 分页收集器.
+     * 
+     * <p>
+     * 不排序时只保留当前页的记录, 排序时只保留排在当前页及之前的记录, 排序结果相同的记录保持写入顺序.
+     * </p>
+     * 
+     * @param <T> 运行痕迹事件类型
+     */
+    private static final class PageCollector<T extends JobEvent> {
+        
+        private final int offset;
+        
+        private final int limit;
+        
+        private final int maxCount;
+        
+        private final Comparator<T> comparator;
+        
+        private final List<T> rows = new ArrayList<>();
+        
+        private final PriorityQueue<SequencedEvent<T>> sortedRows;
+        
+        private int count;
+        
+        PageCollector(final Condition condition, final Comparator<T> comparator) {
+            if (condition.getPage() > 0 && condition.getPerPage() > 0) {
+                offset = (condition.getPage() - 1) * condition.getPerPage();
+                limit = condition.getPerPage();
+            } else {
+                offset = 0;
+                limit = DEFAULT_PAGE_SIZE;
+            }
+            maxCount = Math.max(0, condition.getMaxCount());
+            this.comparator = comparator;
+            sortedRows = null == comparator ? null : new PriorityQueue<>(offset + limit + 1, Collections.reverseOrder(new SequencedEventComparator<T>(comparator)));
+        }
+        
+        /**
+         * 判断是否可以在收集到足够的记录后停止读取.
+         * 
+         * @return 是否可以在收集到足够的记录后停止读取
+         */
+        boolean isStopEarly() {
+            return null == comparator && maxCount > 0;
+        }
+        
+        /**
+         * 获取停止读取时需要收集的记录数.
+         * 
+         * @return 停止读取时需要收集的记录数
+         */
+        int getStopCount() {
+            return Math.max(maxCount, offset + limit);
+        }
+        
+        /**
+         * 收集符合条件的记录.
+         * 
+         * @param event 符合条件的记录
+         * @return 是否需要继续收集
+         */
+        boolean add(final T event) {
+            if (null == comparator) {
+                if (count >= offset && rows.size() < limit) {
+                    rows.add(event);
+                }
+            } else {
+                sortedRows.offer(new SequencedEvent<T>(count, event));
+                if (sortedRows.size() > offset + limit) {
+                    sortedRows.poll();
+                }
+            }
+            count++;
+            return !isStopEarly() || count < getStopCount();
+        }
+        
+        Result<T> getResult() {
+            int total = maxCount > 0 ? Math.min(count, maxCount) : count;
+            if (null == comparator) {
+                return new Result<>(total, rows);
+            }
+            List<SequencedEvent<T>> sorted = new ArrayList<>(sortedRows);
+            Collections.sort(sorted, new SequencedEventComparator<T>(comparator));
+            List<T> result = new ArrayList<>(limit);
+            for (int i = offset; i < sorted.size(); i++) {
+                result.add(sorted.get(i).event);
+            }
+            return new Result<>(total, result);
+        }
+    }
+    
+    @RequiredArgsConstructor
+    private static final class SequencedEvent<T extends JobEvent> {
+        
+        private final int sequence;
+        
+        private final T event;
+    }
+    
+    @RequiredArgsConstructor
+    private static final class SequencedEventComparator<T extends JobEvent> implements Comparator<SequencedEvent<T>> {
+        
+        private final Comparator<T> comparator;
+        
+        @Override
+        public int compare(final SequencedEvent<T> o1, final SequencedEvent<T> o2) {
+            int result = comparator.compare(o1.event, o2.event);
+            return 0 == result ? Integer.compare(o1.sequence, o2.sequence) : result;
+        }
+    }
+}
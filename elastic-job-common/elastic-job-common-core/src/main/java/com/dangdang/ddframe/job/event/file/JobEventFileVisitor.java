@@ -0,0 +1,36 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.event.file;
+
+import com.dangdang.ddframe.job.event.JobEvent;
+
+/**
+ * 段文件作业事件访问者.
+ *
+ * @author zhangliang
+ */
+public interface JobEventFileVisitor {
+    
+    /**
+     * 访问作业事件.
+     * 
+     * @param event 作业事件
+     * @return 是否继续读取后续的作业事件
+     */
+    boolean visit(JobEvent event);
+}
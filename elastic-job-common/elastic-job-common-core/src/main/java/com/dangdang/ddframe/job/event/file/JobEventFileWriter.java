@@ -0,0 +1,248 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.event.file;
+
+import com.dangdang.ddframe.job.event.JobEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 作业事件段文件写入器.
+ * 
+ * <p>
+ * 通过内存映射顺序追加写入当前段文件, 段文件剩余空间不足时滚动创建新的段文件, 并定期刷盘.
+ * 每次启动都创建新的段文件, 不会覆盖已有的段文件. 切换和关闭段文件时解除其内存映射, 删除的段文件可立即释放磁盘空间.
+ * </p>
+ * 
+ * <p>
+ * 同一进程内相同目录的写入器通过{@link #acquire(JobEventFileConfiguration)}按引用计数共享, 段文件的其他配置以第一个获取者为准.
+ * 最后一个引用释放时刷盘并关闭写入器. 同一目录不能被多个进程同时写入.
+ * </p>
+ *
+ * @author zhangliang
+ */
+@Slf4j
+final class JobEventFileWriter {
+    
+    private static final String SEGMENT_FILE_PREFIX = "job-event-";
+    
+    private static final String SEGMENT_FILE_SUFFIX = ".seg";
+    
+    private static final Map<String, JobEventFileWriter> WRITERS = new HashMap<>();
+    
+    private final File directory;
+    
+    private final JobEventFileConfiguration config;
+    
+    private final ScheduledExecutorService fsyncExecutorService;
+    
+    private long nextSequence;
+    
+    private MappedByteBuffer currentSegment;
+    
+    private boolean dirty;
+    
+    private boolean closed;
+    
+    private int referenceCount;
+    
+    JobEventFileWriter(final JobEventFileConfiguration config) throws IOException {
+        this.config = config;
+        directory = new File(config.getDirectory());
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException(String.format("Cannot create job event directory '%s'.", directory.getAbsolutePath()));
+        }
+        List<File> segmentFiles = listSegmentFiles(directory);
+        nextSequence = segmentFiles.isEmpty() ? 0L : getSequence(segmentFiles.get(segmentFiles.size() - 1)) + 1;
+        openSegment();
+        fsyncExecutorService = Executors.newSingleThreadScheduledExecutor(new BasicThreadFactory.Builder().namingPattern("job-event-file-fsync-%s").daemon(true).build());
+        fsyncExecutorService.scheduleWithFixedDelay(new Runnable() {
+            
+            @Override
+            public void run() {
+                force();
+            }
+        }, config.getFsyncIntervalMilliseconds(), config.getFsyncIntervalMilliseconds(), TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * 获取目录对应的写入器, 不存在时创建.
+     * 
+     * @param config 作业事件本地文件配置
+     * @return 作业事件段文件写入器
+     * @throws IOException 创建目录或段文件失败
+     */
+    static JobEventFileWriter acquire(final JobEventFileConfiguration config) throws IOException {
+        String canonicalPath = new File(config.getDirectory()).getCanonicalPath();
+        synchronized (WRITERS) {
+            JobEventFileWriter result = WRITERS.get(canonicalPath);
+            if (null == result) {
+                result = new JobEventFileWriter(config);
+                WRITERS.put(canonicalPath, result);
+            }
+            result.referenceCount++;
+            return result;
+        }
+    }
+    
+    /**
+     * 释放写入器, 最后一个引用释放时刷盘并关闭.
+     * 
+     * <p>
+     * 每个获取者只能释放一次, 已全部释放的写入器再次释放时忽略.
+     * </p>
+     */
+    void release() {
+        synchronized (WRITERS) {
+            if (referenceCount <= 0 || --referenceCount > 0) {
+                return;
+            }
+            WRITERS.values().remove(this);
+        }
+        close();
+    }
+    
+    /**
+     * 获取目录下的全部段文件.
+     * 
+     * @param directory 段文件所在目录
+     * @return 按写入顺序排列的段文件
+     */
+    static List<File> listSegmentFiles(final File directory) {
+        File[] files = directory.listFiles(new FileFilter() {
+            
+            @Override
+            public boolean accept(final File file) {
+                return file.isFile() && file.getName().startsWith(SEGMENT_FILE_PREFIX) && file.getName().endsWith(SEGMENT_FILE_SUFFIX);
+            }
+        });
+        if (null == files) {
+            return Collections.emptyList();
+        }
+        List<File> result = new ArrayList<>(Arrays.asList(files));
+        Collections.sort(result);
+        return result;
+    }
+    
+    private static long getSequence(final File segmentFile) {
+        String name = segmentFile.getName();
+        return Long.parseLong(name.substring(SEGMENT_FILE_PREFIX.length(), name.length() - SEGMENT_FILE_SUFFIX.length()));
+    }
+    
+    private void openSegment() throws IOException {
+        File segmentFile = new File(directory, String.format("%s%020d%s", SEGMENT_FILE_PREFIX, nextSequence++, SEGMENT_FILE_SUFFIX));
+        try (
+                RandomAccessFile file = new RandomAccessFile(segmentFile, "rw");
+                FileChannel channel = file.getChannel()
+                ) {
+            currentSegment = channel.map(FileChannel.MapMode.READ_WRITE, 0, config.getSegmentSizeBytes());
+        }
+    }
+    
+    /**
+     * 追加写入作业事件.
+     * 
+     * @param event 作业事件
+     * @return 是否写入成功
+     */
+    synchronized boolean append(final JobEvent event) {
+        if (closed) {
+            return false;
+        }
+        byte[] record = JobEventFileCodec.encode(event);
+        if (null == record) {
+            return false;
+        }
+        if (record.length > config.getSegmentSizeBytes()) {
+            log.warn("Elastic job: job event of '{}' is {} bytes, larger than segment size, discarded.", event.getJobName(), record.length);
+            return false;
+        }
+        try {
+            if (record.length > currentSegment.remaining()) {
+                rotate();
+            }
+        } catch (final IOException ex) {
+            log.error("Elastic job: rotate job event segment file failure, error is: ", ex);
+            return false;
+        }
+        currentSegment.put(record);
+        dirty = true;
+        return true;
+    }
+    
+    private void rotate() throws IOException {
+        MappedByteBuffer previousSegment = currentSegment;
+        previousSegment.force();
+        dirty = false;
+        openSegment();
+        JobEventFileMappedBuffers.unmap(previousSegment);
+        deleteExpiredSegments();
+    }
+    
+    private void deleteExpiredSegments() {
+        if (config.getMaxSegmentCount() <= 0) {
+            return;
+        }
+        List<File> segmentFiles = listSegmentFiles(directory);
+        for (int i = 0; i < segmentFiles.size() - config.getMaxSegmentCount(); i++) {
+            if (!segmentFiles.get(i).delete()) {
+                log.warn("Elastic job: cannot delete expired job event segment file '{}'.", segmentFiles.get(i).getAbsolutePath());
+            }
+        }
+    }
+    
+    /**
+     * 将已写入的作业事件刷入磁盘.
+     */
+    synchronized void force() {
+        if (dirty && !closed) {
+            currentSegment.force();
+            dirty = false;
+        }
+    }
+    
+    /**
+     * 刷盘并关闭写入器.
+     */
+    synchronized void close() {
+        if (closed) {
+            return;
+        }
+        force();
+        closed = true;
+        fsyncExecutorService.shutdown();
+        JobEventFileMappedBuffers.unmap(currentSegment);
+        currentSegment = null;
+    }
+}
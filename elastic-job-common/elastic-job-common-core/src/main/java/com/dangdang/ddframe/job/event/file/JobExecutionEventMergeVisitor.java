@@ -0,0 +1,84 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.event.file;
+
+import com.dangdang.ddframe.job.event.JobEvent;
+import com.dangdang.ddframe.job.event.type.JobExecutionEvent;
+import com.google.common.base.Predicate;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 合并作业执行事件的段文件访问者.
+ * 
+ * <p>
+ * 同一次执行的开始和完成事件主键相同, 合并后以完成事件为准.
+ * 事件总线可能乱序分发事件, 已合并完成事件后再读取到的开始事件将被忽略.
+ * 只保留符合过滤条件的作业执行, 过滤条件只能使用开始和完成事件相同的字段.
+ * 保留的作业执行达到上限后不再保留新的作业执行, 已保留的作业执行全部完成后停止读取.
+ * </p>
+ *
+ * @author zhangliang
+ */
+@RequiredArgsConstructor
+final class JobExecutionEventMergeVisitor implements JobEventFileVisitor {
+    
+    private final Predicate<JobExecutionEvent> filter;
+    
+    private final int maxRetainedCount;
+    
+    private final Map<String, JobExecutionEvent> events = new LinkedHashMap<>();
+    
+    private int incompleteCount;
+    
+    @Override
+    public boolean visit(final JobEvent event) {
+        if (!(event instanceof JobExecutionEvent) || !filter.apply((JobExecutionEvent) event)) {
+            return true;
+        }
+        JobExecutionEvent jobExecutionEvent = (JobExecutionEvent) event;
+        JobExecutionEvent existed = events.get(jobExecutionEvent.getId());
+        if (null == existed) {
+            if (events.size() < maxRetainedCount) {
+                events.put(jobExecutionEvent.getId(), jobExecutionEvent);
+                if (null == jobExecutionEvent.getCompleteTime()) {
+                    incompleteCount++;
+                }
+            }
+        } else if (null == existed.getCompleteTime()) {
+            events.put(jobExecutionEvent.getId(), jobExecutionEvent);
+            if (null != jobExecutionEvent.getCompleteTime()) {
+                incompleteCount--;
+            }
+        }
+        return events.size() < maxRetainedCount || incompleteCount > 0;
+    }
+    
+    /**
+     * 获取合并后的作业执行事件.
+     * 
+     * @return 按首次写入顺序排列的作业执行事件
+     */
+    List<JobExecutionEvent> getEvents() {
+        return new ArrayList<>(events.values());
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.event.rdb;
+
+import com.dangdang.ddframe.job.event.JobEventOverflowPolicy;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * 作业数据库事件批量写入配置.
+ *
+ * @author caohao
+ */
+@RequiredArgsConstructor
+@Getter
+public final class JobEventRdbBatchConfiguration implements Serializable {
+    
+    private static final long serialVersionUID = -2379465741281379519L;
+    
+    /**
+     * 待写入事件队列容量.
+     */
+    private final int queueCapacity;
+    
+    /**
+     * 每批次最多写入的事件数量.
+     */
+    private final int maxBatchSize;
+    
+    /**
+     * 批量写入的最长间隔毫秒数.
+     */
+    private final long flushIntervalMilliseconds;
+    
+    /**
+     * 待写入事件队列已满时的处理策略.
+     */
+    private final JobEventOverflowPolicy overflowPolicy;
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.event.rdb;
+
+import com.dangdang.ddframe.job.event.JobEvent;
+import com.dangdang.ddframe.job.event.JobEventQueue;
+import com.dangdang.ddframe.job.event.type.JobExecutionEvent;
+import com.dangdang.ddframe.job.event.type.JobStatusTraceEvent;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 运行痕迹事件数据库批量写入器.
+ * 
+ * <p>
+ * 事件先进入有界队列, 由后台线程在达到每批次最多写入的事件数量或最长间隔时批量写入数据库.
+ * </p>
+ *
+ * @author caohao
+ */
+@Slf4j
+final class JobEventRdbBatchWriter {
+    
+    private final JobEventRdbStorage storage;
+    
+    private final JobEventRdbBatchConfiguration batchConfig;
+    
+    private final JobEventQueue queue;
+    
+    private final Thread flushThread;
+    
+    private volatile boolean closed;
+    
+    JobEventRdbBatchWriter(final JobEventRdbStorage storage, final JobEventRdbBatchConfiguration batchConfig) {
+        this.storage = storage;
+        this.batchConfig = batchConfig;
+        queue = new JobEventQueue(batchConfig.getQueueCapacity(), batchConfig.getOverflowPolicy());
+        flushThread = new Thread("job-event-rdb-batch-writer") {
+            
+            @Override
+            public void run() {
+                flushUntilClosed();
+            }
+        };
+        flushThread.setDaemon(true);
+    }
+    
+    /**
+     * 启动批量写入线程.
+     */
+    void start() {
+        flushThread.start();
+    }
+    
+    /**
+     * 添加待写入的事件.
+     * 
+     * @param event 作业事件
+     */
+    void add(final JobEvent event) {
+        queue.offer(event);
+    }
+    
+    /**
+     * 获取因队列已满而丢弃的事件数量.
+     * 
+     * @return 因队列已满而丢弃的事件数量
+     */
+    long getDroppedCount() {
+        return queue.getDroppedCount();
+    }
+    
+    /**
+     * 获取待写入的事件数量.
+     * 
+     * @return 待写入的事件数量
+     */
+    int getPendingCount() {
+        return queue.size();
+    }
+    
+    /**
+     * 写入剩余事件并关闭.
+     */
+    void close() {
+        closed = true;
+        queue.close();
+        flushThread.interrupt();
+        try {
+            flushThread.join(batchConfig.getFlushIntervalMilliseconds() * 2);
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private void flushUntilClosed() {
+        List<JobEvent> batch = new ArrayList<>(batchConfig.getMaxBatchSize());
+        while (!closed || !queue.isEmpty()) {
+            try {
+                collect(batch);
+            } catch (final InterruptedException ex) {
+                closed = true;
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+    
+    private void collect(final List<JobEvent> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(batchConfig.getFlushIntervalMilliseconds());
+        while (batch.size() < batchConfig.getMaxBatchSize()) {
+            queue.drainTo(batch, batchConfig.getMaxBatchSize() - batch.size());
+            long remainingNanos = deadline - System.nanoTime();
+            if (batch.size() >= batchConfig.getMaxBatchSize() || remainingNanos <= 0 || closed) {
+                return;
+            }
+            JobEvent event = queue.poll(remainingNanos, TimeUnit.NANOSECONDS);
+            if (null == event) {
+                return;
+            }
+            batch.add(event);
+        }
+    }
+    
+    /**
+     * 批量写入事件.
+     * 
+     * @param batch 待写入的事件
+     */
+    void flush(final List<JobEvent> batch) {
+        List<JobExecutionEvent> jobExecutionEvents = new ArrayList<>(batch.size());
+        List<JobStatusTraceEvent> jobStatusTraceEvents = new ArrayList<>(batch.size());
+        for (JobEvent each : batch) {
+            if (each instanceof JobExecutionEvent) {
+                jobExecutionEvents.add((JobExecutionEvent) each);
+            } else if (each instanceof JobStatusTraceEvent) {
+                jobStatusTraceEvents.add((JobStatusTraceEvent) each);
+            }
+        }
+        try {
+            if (!jobExecutionEvents.isEmpty()) {
+                storage.addJobExecutionEvents(jobExecutionEvents);
+            }
+            if (!jobStatusTraceEvents.isEmpty()) {
+                storage.addJobStatusTraceEvents(jobStatusTraceEvents);
+            }
+            //CHECKSTYLE:OFF
+        } catch (final RuntimeException ex) {
+            //CHECKSTYLE:ON
+            log.error("Elastic job: flush job events failure, error is: ", ex);
+        }
+    }
+}
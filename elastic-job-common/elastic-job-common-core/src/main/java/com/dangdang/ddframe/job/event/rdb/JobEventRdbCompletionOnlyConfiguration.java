@@ -0,0 +1,50 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.event.rdb;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * 作业数据库事件仅完成时写入配置.
+ * 
+ * <p>
+ * 作业开始执行的事件暂存于内存, 作业完成执行时写入一条完整的执行记录.
+ * 暂存超时, 暂存数量超过上限或作业服务器关闭时, 写入作业开始执行的记录.
+ * </p>
+ *
+ * @author caohao
+ */
+@RequiredArgsConstructor
+@Getter
+public final class JobEventRdbCompletionOnlyConfiguration implements Serializable {
+    
+    private static final long serialVersionUID = 5160489573702948417L;
+    
+    /**
+     * 作业开始执行的事件最长暂存毫秒数.
+     */
+    private final long startEventTimeoutMilliseconds;
+    
+    /**
+     * 最多暂存的作业开始执行的事件数量.
+     */
+    private final int maxPendingStartEvents;
+}
@@ -21,7 +21,6 @@ import com.dangdang.ddframe.job.event.JobEventConfiguration;
 import com.dangdang.ddframe.job.event.JobEventListener;
 import com.dangdang.ddframe.job.event.JobEventListenerConfigurationException;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 
 import javax.sql.DataSource;
 import java.io.Serializable;
@@ -32,7 +31,6 @@ import java.sql.SQLException;
  *
  * @author caohao
  */
-@RequiredArgsConstructor
 @Getter
 public final class JobEventRdbConfiguration extends JobEventRdbIdentity implements JobEventConfiguration, Serializable {
     
@@ -40,10 +38,57 @@ public final class JobEventRdbConfiguration extends JobEventRdbIdentity implemen
     
     private final DataSource dataSource;
     
+    private final JobEventRdbBatchConfiguration batchConfig;
+    
+    private final JobEventRdbCompletionOnlyConfiguration completionOnlyConfig;
+    
+    private final JobEventRdbPartitionConfiguration partitionConfig;
+    
+    public JobEventRdbConfiguration(final DataSource dataSource) {
+        this(dataSource, null, null);
+    }
+    
+    /**
+     * 创建批量写入事件的作业数据库事件配置.
+     * 
+     * @param dataSource 数据源
+     * @param batchConfig 批量写入配置, 为null时逐条同步写入
+     */
+    public JobEventRdbConfiguration(final DataSource dataSource, final JobEventRdbBatchConfiguration batchConfig) {
+        this(dataSource, batchConfig, null);
+    }
+    
+    /**
+     * 创建作业数据库事件配置.
+     * 
+     * @param dataSource 数据源
+     * @param batchConfig 批量写入配置, 为null时逐条同步写入
+     * @param completionOnlyConfig 仅完成时写入配置, 为null时作业开始和完成执行时分别写入
+     */
+    public JobEventRdbConfiguration(final DataSource dataSource, final JobEventRdbBatchConfiguration batchConfig, final JobEventRdbCompletionOnlyConfiguration completionOnlyConfig) {
+        this(dataSource, batchConfig, completionOnlyConfig, null);
+    }
+    
+    /**
+     * 创建按时间分区的作业数据库事件配置.
+     * 
+     * @param dataSource 数据源
+     * @param batchConfig 批量写入配置, 为null时逐条同步写入
+     * @param completionOnlyConfig 仅完成时写入配置, 为null时作业开始和完成执行时分别写入
+     * @param partitionConfig 按时间分区配置, 为null时不分区
+     */
+    public JobEventRdbConfiguration(final DataSource dataSource, final JobEventRdbBatchConfiguration batchConfig, 
+                                    final JobEventRdbCompletionOnlyConfiguration completionOnlyConfig, final JobEventRdbPartitionConfiguration partitionConfig) {
+        this.dataSource = dataSource;
+        this.batchConfig = batchConfig;
+        this.completionOnlyConfig = completionOnlyConfig;
+        this.partitionConfig = partitionConfig;
+    }
+    
     @Override
     public JobEventListener createJobEventListener() throws JobEventListenerConfigurationException {
         try {
-            return new JobEventRdbListener(dataSource);
+            return new JobEventRdbListener(dataSource, batchConfig, completionOnlyConfig, partitionConfig);
         } catch (final SQLException ex) {
             throw new JobEventListenerConfigurationException(ex);
         }
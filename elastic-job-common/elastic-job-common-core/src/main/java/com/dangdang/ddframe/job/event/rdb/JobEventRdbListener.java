@@ -20,30 +20,134 @@ package com.dangdang.ddframe.job.event.rdb;
 import com.dangdang.ddframe.job.event.JobEventListener;
 import com.dangdang.ddframe.job.event.type.JobExecutionEvent;
 import com.dangdang.ddframe.job.event.type.JobStatusTraceEvent;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 
 import javax.sql.DataSource;
+import java.io.Closeable;
 import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 运行痕迹事件数据库监听器.
+ * 
+ * <p>
+ * 关闭时写入暂存的作业开始执行事件和批量写入器中剩余的事件, 并停止后台线程.
+ * </p>
  *
  * @author caohao
  */
-public final class JobEventRdbListener extends JobEventRdbIdentity implements JobEventListener {
+public final class JobEventRdbListener extends JobEventRdbIdentity implements JobEventListener, Closeable {
     
     private final JobEventRdbStorage repository;
     
+    private final JobEventRdbBatchWriter batchWriter;
+    
+    private final JobEventRdbStartEventBuffer startEventBuffer;
+    
+    private final ScheduledExecutorService expirationExecutorService;
+    
     public JobEventRdbListener(final DataSource dataSource) throws SQLException {
-        repository = new JobEventRdbStorage(dataSource);
+        this(dataSource, null, null);
+    }
+    
+    public JobEventRdbListener(final DataSource dataSource, final JobEventRdbBatchConfiguration batchConfig) throws SQLException {
+        this(dataSource, batchConfig, null);
+    }
+    
+    public JobEventRdbListener(final DataSource dataSource, final JobEventRdbBatchConfiguration batchConfig, final JobEventRdbCompletionOnlyConfiguration completionOnlyConfig) throws SQLException {
+        this(dataSource, batchConfig, completionOnlyConfig, null);
+    }
+    
+    public JobEventRdbListener(final DataSource dataSource, final JobEventRdbBatchConfiguration batchConfig, final JobEventRdbCompletionOnlyConfiguration completionOnlyConfig, 
+                               final JobEventRdbPartitionConfiguration partitionConfig) throws SQLException {
+        repository = new JobEventRdbStorage(dataSource, partitionConfig);
+        if (null == batchConfig) {
+            batchWriter = null;
+        } else {
+            batchWriter = new JobEventRdbBatchWriter(repository, batchConfig);
+            batchWriter.start();
+        }
+        if (null == completionOnlyConfig) {
+            startEventBuffer = null;
+            expirationExecutorService = null;
+        } else {
+            startEventBuffer = new JobEventRdbStartEventBuffer(completionOnlyConfig);
+            expirationExecutorService = startExpiration(completionOnlyConfig.getStartEventTimeoutMilliseconds());
+        }
+    }
+    
+    private ScheduledExecutorService startExpiration(final long startEventTimeoutMilliseconds) {
+        ScheduledExecutorService result = Executors.newSingleThreadScheduledExecutor(
+                new BasicThreadFactory.Builder().namingPattern("job-event-rdb-start-event-expiration-%s").daemon(true).build());
+        result.scheduleWithFixedDelay(new Runnable() {
+            
+            @Override
+            public void run() {
+                writeStartEvents(startEventBuffer.removeExpired(System.currentTimeMillis()));
+            }
+        }, startEventTimeoutMilliseconds, startEventTimeoutMilliseconds, TimeUnit.MILLISECONDS);
+        return result;
     }
     
     @Override
     public void listen(final JobExecutionEvent executionEvent) {
-        repository.addJobExecutionEvent(executionEvent);
+        if (null == startEventBuffer) {
+            write(executionEvent);
+        } else if (null == executionEvent.getCompleteTime()) {
+            writeStartEvents(startEventBuffer.add(executionEvent));
+        } else {
+            JobExecutionEvent startEvent = startEventBuffer.remove(executionEvent.getId());
+            if (null == startEvent) {
+                write(executionEvent);
+            } else {
+                writeComplete(startEvent, executionEvent);
+            }
+        }
+    }
+    
+    private void writeStartEvents(final List<JobExecutionEvent> startEvents) {
+        for (JobExecutionEvent each : startEvents) {
+            write(each);
+        }
+    }
+    
+    private void write(final JobExecutionEvent executionEvent) {
+        if (null == batchWriter) {
+            repository.addJobExecutionEvent(executionEvent);
+        } else {
+            batchWriter.add(executionEvent);
+        }
+    }
+    
+    private void writeComplete(final JobExecutionEvent startEvent, final JobExecutionEvent completeEvent) {
+        if (null == batchWriter) {
+            repository.addCompleteJobExecutionEvent(completeEvent);
+        } else {
+            batchWriter.add(startEvent);
+            batchWriter.add(completeEvent);
+        }
     }
     
     @Override
     public void listen(final JobStatusTraceEvent jobStatusTraceEvent) {
-        repository.addJobStatusTraceEvent(jobStatusTraceEvent);
+        if (null == batchWriter) {
+            repository.addJobStatusTraceEvent(jobStatusTraceEvent);
+        } else {
+            batchWriter.add(jobStatusTraceEvent);
+        }
+    }
+    
+    @Override
+    public void close() {
+        if (null != startEventBuffer) {
+            expirationExecutorService.shutdown();
+            writeStartEvents(startEventBuffer.removeAll());
+        }
+        if (null != batchWriter) {
+            batchWriter.close();
+        }
     }
 }
@@ -0,0 +1,85 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.event.rdb;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 任务主键与原任务主键对照缓存.
+ * 
+ * <p>
+ * 缓存数量超过上限时移除最久未访问的任务.
+ * </p>
+ *
+ * @author caohao
+ */
+final class JobEventRdbOriginalTaskIdCache {
+    
+    private final Map<String, String> originalTaskIds;
+    
+    JobEventRdbOriginalTaskIdCache(final int maxSize) {
+        originalTaskIds = new LinkedHashMap<String, String>(16, 0.75F, true) {
+            
+            private static final long serialVersionUID = -5513358787426245813L;
+            
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, String> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+    
+    /**
+     * 缓存原任务主键.
+     * 
+     * @param taskId 任务主键
+     * @param originalTaskId 原任务主键
+     */
+    synchronized void put(final String taskId, final String originalTaskId) {
+        originalTaskIds.put(taskId, originalTaskId);
+    }
+    
+    /**
+     * 获取缓存的原任务主键.
+     * 
+     * @param taskId 任务主键
+     * @return 原任务主键, 未缓存时返回null
+     */
+    synchronized String get(final String taskId) {
+        return originalTaskIds.get(taskId);
+    }
+    
+    /**
+     * 移除缓存的原任务主键.
+     * 
+     * @param taskId 任务主键
+     */
+    synchronized void remove(final String taskId) {
+        originalTaskIds.remove(taskId);
+    }
+    
+    /**
+     * 获取缓存的任务数量.
+     * 
+     * @return 缓存的任务数量
+     */
+    synchronized int size() {
+        return originalTaskIds.size();
+    }
+}
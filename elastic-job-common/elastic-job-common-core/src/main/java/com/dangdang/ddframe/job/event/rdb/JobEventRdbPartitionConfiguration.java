@@ -0,0 +1,55 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.event.rdb;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * 作业数据库事件按时间分区配置.
+ * 
+ * <p>
+ * 作业执行轨迹按开始执行时间, 作业状态轨迹按记录创建时间写入对应的分区表.
+ * 分区表在写入时按需创建, 超过保留数量的分区表整表删除或归档.
+ * </p>
+ *
+ * @author caohao
+ */
+@RequiredArgsConstructor
+@Getter
+public final class JobEventRdbPartitionConfiguration implements Serializable {
+    
+    private static final long serialVersionUID = -6471207282960651377L;
+    
+    /**
+     * 分区粒度.
+     */
+    private final JobEventRdbPartitionGranularity granularity;
+    
+    /**
+     * 保留的分区数量, 配置为0或负数表示保留全部分区.
+     */
+    private final int retentionPartitionCount;
+    
+    /**
+     * 超过保留数量的分区的处理策略.
+     */
+    private final JobEventRdbRetentionPolicy retentionPolicy;
+}
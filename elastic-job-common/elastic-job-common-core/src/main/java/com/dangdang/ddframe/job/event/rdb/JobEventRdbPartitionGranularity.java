@@ -0,0 +1,70 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.event.rdb;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Calendar;
+
+/**
+ * 作业数据库事件分区粒度.
+ *
+ * @author caohao
+ */
+@RequiredArgsConstructor
+@Getter(AccessLevel.PACKAGE)
+public enum JobEventRdbPartitionGranularity {
+    
+    /**
+     * 按天分区, 分区表后缀为yyyyMMdd.
+     */
+    DAY("yyyyMMdd"),
+    
+    /**
+     * 按月分区, 分区表后缀为yyyyMM.
+     */
+    MONTH("yyyyMM");
+    
+    private final String suffixPattern;
+    
+    /**
+     * 将时间截断至所在分区的开始时间.
+     * 
+     * @param calendar 时间
+     */
+    void truncate(final Calendar calendar) {
+        if (MONTH == this) {
+            calendar.set(Calendar.DAY_OF_MONTH, 1);
+        }
+        calendar.set(Calendar.HOUR_OF_DAY, 0);
+        calendar.set(Calendar.MINUTE, 0);
+        calendar.set(Calendar.SECOND, 0);
+        calendar.set(Calendar.MILLISECOND, 0);
+    }
+    
+    /**
+     * 将分区的开始时间移动至下一个分区的开始时间.
+     * 
+     * @param calendar 分区的开始时间
+     */
+    void next(final Calendar calendar) {
+        calendar.add(MONTH == this ? Calendar.MONTH : Calendar.DAY_OF_MONTH, 1);
+    }
+}
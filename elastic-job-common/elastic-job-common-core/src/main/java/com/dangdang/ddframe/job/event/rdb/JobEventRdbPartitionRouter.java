@@ -0,0 +1,196 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.event.rdb;
+
+import lombok.RequiredArgsConstructor;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * 运行痕迹事件分区表路由.
+ * 
+ * <p>
+ * 分区表名称为原表名称加分区后缀, 例如JOB_EXECUTION_LOG_20170101. 未配置分区时路由至原表.
+ * </p>
+ *
+ * @author caohao
+ */
+@RequiredArgsConstructor
+final class JobEventRdbPartitionRouter {
+    
+    private static final String ARCHIVE_INFIX = "_ARCHIVE";
+    
+    private static final int MAX_CACHED_RANGE_COUNT = 16;
+    
+    private final JobEventRdbPartitionConfiguration partitionConfig;
+    
+    private final ConcurrentNavigableMap<Long, PartitionRange> cachedRanges = new ConcurrentSkipListMap<>();
+    
+    /**
+     * 判断是否配置分区.
+     * 
+     * @return 是否配置分区
+     */
+    boolean isPartitioned() {
+        return null != partitionConfig;
+    }
+    
+    /**
+     * 获取时间对应的表名称.
+     * 
+     * @param baseTableName 原表名称
+     * @param time 时间
+     * @return 表名称
+     */
+    String getTableName(final String baseTableName, final Date time) {
+        if (!isPartitioned()) {
+            return baseTableName;
+        }
+        return baseTableName + "_" + getSuffix(time);
+    }
+    
+    /**
+     * 获取分区表的归档表名称.
+     * 
+     * @param baseTableName 原表名称
+     * @param tableName 分区表名称
+     * @return 归档表名称
+     */
+    String getArchiveTableName(final String baseTableName, final String tableName) {
+        return baseTableName + ARCHIVE_INFIX + tableName.substring(baseTableName.length());
+    }
+    
+    /**
+     * 获取表对应的索引名称.
+     * 
+     * <p>
+     * 索引名称在部分数据库中需要全库唯一, 分区表的索引名称加分区后缀.
+     * </p>
+     * 
+     * @param baseTableName 原表名称
+     * @param tableName 表名称
+     * @param baseIndexName 原表的索引名称
+     * @return 索引名称
+     */
+    String getIndexName(final String baseTableName, final String tableName, final String baseIndexName) {
+        return baseIndexName + tableName.substring(baseTableName.length());
+    }
+    
+    /**
+     * 获取全部分区表名称.
+     * 
+     * @param conn 数据库连接
+     * @param baseTableName 原表名称
+     * @return 按时间升序排列的分区表名称, 不包含归档表
+     * @throws SQLException SQL异常
+     */
+    List<String> getPartitionTableNames(final Connection conn, final String baseTableName) throws SQLException {
+        if (!isPartitioned()) {
+            return Collections.singletonList(baseTableName);
+        }
+        Pattern pattern = Pattern.compile(Pattern.quote(baseTableName) + "_\\d{" + partitionConfig.getGranularity().getSuffixPattern().length() + "}", Pattern.CASE_INSENSITIVE);
+        Set<String> result = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        try (ResultSet resultSet = conn.getMetaData().getTables(conn.getCatalog(), null, baseTableName + "%", new String[]{"TABLE"})) {
+            while (resultSet.next()) {
+                String tableName = resultSet.getString("TABLE_NAME");
+                if (pattern.matcher(tableName).matches()) {
+                    result.add(tableName);
+                }
+            }
+        }
+        return new ArrayList<>(result);
+    }
+    
+    /**
+     * 获取与时间范围重叠的表名称.
+     * 
+     * @param conn 数据库连接
+     * @param baseTableName 原表名称
+     * @param startTime 开始时间, 为null时不限制
+     * @param endTime 结束时间, 为null时不限制
+     * @return 按时间升序排列的表名称
+     * @throws SQLException SQL异常
+     */
+    List<String> getTableNames(final Connection conn, final String baseTableName, final Date startTime, final Date endTime) throws SQLException {
+        if (!isPartitioned()) {
+            return Collections.singletonList(baseTableName);
+        }
+        String startTableName = null == startTime ? null : getTableName(baseTableName, startTime);
+        String endTableName = null == endTime ? null : getTableName(baseTableName, endTime);
+        List<String> result = new ArrayList<>();
+        for (String each : getPartitionTableNames(conn, baseTableName)) {
+            if ((null == startTableName || each.compareToIgnoreCase(startTableName) >= 0) && (null == endTableName || each.compareToIgnoreCase(endTableName) <= 0)) {
+                result.add(each);
+            }
+        }
+        return result;
+    }
+    
+    private String getSuffix(final Date time) {
+        Entry<Long, PartitionRange> entry = cachedRanges.floorEntry(time.getTime());
+        if (null != entry && entry.getValue().contains(time.getTime())) {
+            return entry.getValue().suffix;
+        }
+        PartitionRange range = new PartitionRange(partitionConfig.getGranularity(), time);
+        cachedRanges.put(range.beginMillis, range);
+        while (cachedRanges.size() > MAX_CACHED_RANGE_COUNT) {
+            cachedRanges.pollFirstEntry();
+        }
+        return range.suffix;
+    }
+    
+    /**
+     * 分区的时间范围.
+     */
+    private static final class PartitionRange {
+        
+        private final long beginMillis;
+        
+        private final long endMillis;
+        
+        private final String suffix;
+        
+        PartitionRange(final JobEventRdbPartitionGranularity granularity, final Date time) {
+            Calendar calendar = Calendar.getInstance();
+            calendar.setTime(time);
+            granularity.truncate(calendar);
+            beginMillis = calendar.getTimeInMillis();
+            suffix = new SimpleDateFormat(granularity.getSuffixPattern()).format(calendar.getTime());
+            granularity.next(calendar);
+            endMillis = calendar.getTimeInMillis();
+        }
+        
+        boolean contains(final long timeMillis) {
+            return timeMillis >= beginMillis && timeMillis < endMillis;
+        }
+    }
+}
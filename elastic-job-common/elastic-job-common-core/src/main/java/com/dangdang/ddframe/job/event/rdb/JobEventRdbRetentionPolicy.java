@@ -0,0 +1,36 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.event.rdb;
+
+/**
+ * 作业数据库事件分区保留策略.
+ *
+ * @author caohao
+ */
+public enum JobEventRdbRetentionPolicy {
+    
+    /**
+     * 删除过期的分区表.
+     */
+    DROP,
+    
+    /**
+     * 将过期的分区表重命名为归档表, 归档表不再写入和检索.
+     */
+    ARCHIVE
+}
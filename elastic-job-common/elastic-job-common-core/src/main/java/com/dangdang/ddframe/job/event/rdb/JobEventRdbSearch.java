@@ -37,18 +37,23 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
 /**
  * 运行痕迹事件数据库检索.
+ * 
+ * <p>
+ * 支持按页码分页和按(时间, 主键)定位分页两种方式.
+ * 定位分页从上一页最后一条记录的位置继续查询, 查询代价与翻页深度无关.
+ * 配置按时间分区时只检索与查询时间范围重叠的分区表.
+ * </p>
  *
  * @author liguangyun
  */
-@RequiredArgsConstructor
 @Slf4j
 public final class JobEventRdbSearch {
     
@@ -62,8 +67,27 @@ public final class JobEventRdbSearch {
     private static final List<String> FIELDS_JOB_STATUS_TRACE_LOG = 
             Lists.newArrayList("id", "job_name", "original_task_id", "task_id", "slave_id", "source", "execution_type", "sharding_item", "state", "message", "creation_time");
     
+    private static final int STREAM_FETCH_SIZE = 1000;
+    
     private final DataSource dataSource;
     
+    private final JobEventRdbPartitionRouter partitionRouter;
+    
+    public JobEventRdbSearch(final DataSource dataSource) {
+        this(dataSource, null);
+    }
+    
+    /**
+     * 创建检索按时间分区的运行痕迹事件的数据库检索.
+     * 
+     * @param dataSource 数据源
+     * @param partitionConfig 按时间分区配置, 需与写入事件的配置一致, 为null时不分区
+     */
+    public JobEventRdbSearch(final DataSource dataSource, final JobEventRdbPartitionConfiguration partitionConfig) {
+        this.dataSource = dataSource;
+        partitionRouter = new JobEventRdbPartitionRouter(partitionConfig);
+    }
+    
     /**
      * 检索作业运行执行轨迹.
      * 
@@ -84,20 +108,87 @@ public final class JobEventRdbSearch {
         return new Result<>(getEventCount(TABLE_JOB_STATUS_TRACE_LOG, FIELDS_JOB_STATUS_TRACE_LOG, condition), getJobStatusTraceEvents(condition));
     }
     
+    /**
+     * 流式检索作业运行执行轨迹.
+     * 
+     * <p>
+     * 忽略查询条件的分页参数, 逐条处理全部符合条件的记录, 不将结果加载至内存.
+     * 使用MySQL时逐行流式读取, 使用PostgreSQL时在读取期间关闭连接的自动提交以使用游标.
+     * </p>
+     * 
+     * @param condition 查询条件
+     * @param handler 作业执行轨迹处理器
+     * @return 处理的记录数
+     */
+    public int streamJobExecutionEvents(final Condition condition, final EventHandler<JobExecutionEvent> handler) {
+        return fetchJobExecutionEvents(condition, false, handler);
+    }
+    
+    /**
+     * 流式检索作业运行状态轨迹.
+     * 
+     * <p>
+     * 忽略查询条件的分页参数, 逐条处理全部符合条件的记录, 不将结果加载至内存.
+     * 使用MySQL时逐行流式读取, 使用PostgreSQL时在读取期间关闭连接的自动提交以使用游标.
+     * </p>
+     * 
+     * @param condition 查询条件
+     * @param handler 作业状态轨迹处理器
+     * @return 处理的记录数
+     */
+    public int streamJobStatusTraceEvents(final Condition condition, final EventHandler<JobStatusTraceEvent> handler) {
+        return fetchJobStatusTraceEvents(condition, false, handler);
+    }
+    
     private List<JobExecutionEvent> getJobExecutionEvents(final Condition condition) {
-        List<JobExecutionEvent> result = new LinkedList<>();
-        try (
-                Connection conn = dataSource.getConnection();
-                PreparedStatement preparedStatement = createDataPreparedStatement(conn, TABLE_JOB_EXECUTION_LOG, FIELDS_JOB_EXECUTION_LOG, condition);
-                ResultSet resultSet = preparedStatement.executeQuery()
-                ) {
-            while (resultSet.next()) {
-                JobExecutionEvent jobExecutionEvent = new JobExecutionEvent(resultSet.getString(1), resultSet.getString(2), resultSet.getString(3), resultSet.getString(4),
-                        resultSet.getString(5), JobExecutionEvent.ExecutionSource.valueOf(resultSet.getString(6)), Integer.valueOf(resultSet.getString(7)), 
-                        new Date(resultSet.getTimestamp(8).getTime()), resultSet.getTimestamp(9) == null ? null : new Date(resultSet.getTimestamp(9).getTime()), 
-                        resultSet.getBoolean(10), new JobExecutionEventThrowable(null, resultSet.getString(11)) 
-                        );
-                result.add(jobExecutionEvent);
+        final List<JobExecutionEvent> result = new ArrayList<>(condition.getPageSize());
+        fetchJobExecutionEvents(condition, true, new EventHandler<JobExecutionEvent>() {
+            
+            @Override
+            public void handle(final JobExecutionEvent event) {
+                result.add(event);
+            }
+        });
+        return result;
+    }
+    
+    private List<JobStatusTraceEvent> getJobStatusTraceEvents(final Condition condition) {
+        final List<JobStatusTraceEvent> result = new ArrayList<>(condition.getPageSize());
+        fetchJobStatusTraceEvents(condition, true, new EventHandler<JobStatusTraceEvent>() {
+            
+            @Override
+            public void handle(final JobStatusTraceEvent event) {
+                result.add(event);
+            }
+        });
+        return result;
+    }
+    
+    private int fetchJobExecutionEvents(final Condition condition, final boolean paging, final EventHandler<JobExecutionEvent> handler) {
+        int result = 0;
+        try (Connection conn = dataSource.getConnection()) {
+            List<String> tableNames = partitionRouter.getTableNames(conn, TABLE_JOB_EXECUTION_LOG, condition.getStartTime(), condition.getEndTime());
+            if (tableNames.isEmpty()) {
+                return result;
+            }
+            boolean autoCommitDisabled = !paging && disableAutoCommitForStreaming(conn);
+            try (
+                    PreparedStatement preparedStatement = createDataPreparedStatement(conn, TABLE_JOB_EXECUTION_LOG, tableNames, FIELDS_JOB_EXECUTION_LOG, condition, paging);
+                    ResultSet resultSet = preparedStatement.executeQuery()
+                    ) {
+                while (resultSet.next()) {
+                    JobExecutionEvent jobExecutionEvent = new JobExecutionEvent(resultSet.getString(1), resultSet.getString(2), resultSet.getString(3), resultSet.getString(4),
+                            resultSet.getString(5), JobExecutionEvent.ExecutionSource.valueOf(resultSet.getString(6)), Integer.valueOf(resultSet.getString(7)), 
+                            new Date(resultSet.getTimestamp(8).getTime()), resultSet.getTimestamp(9) == null ? null : new Date(resultSet.getTimestamp(9).getTime()), 
+                            resultSet.getBoolean(10), new JobExecutionEventThrowable(null, resultSet.getString(11)) 
+                            );
+                    handler.handle(jobExecutionEvent);
+                    result++;
+                }
+            } finally {
+                if (autoCommitDisabled) {
+                    conn.setAutoCommit(true);
+                }
             }
         } catch (final SQLException ex) {
             // TODO 记录失败直接输出日志,未来可考虑配置化
@@ -106,18 +197,29 @@ public final class JobEventRdbSearch {
         return result;
     }
     
-    private List<JobStatusTraceEvent> getJobStatusTraceEvents(final Condition condition) {
-        List<JobStatusTraceEvent> result = new LinkedList<>();
-        try (
-                Connection conn = dataSource.getConnection();
-                PreparedStatement preparedStatement = createDataPreparedStatement(conn, TABLE_JOB_STATUS_TRACE_LOG, FIELDS_JOB_STATUS_TRACE_LOG, condition);
-                ResultSet resultSet = preparedStatement.executeQuery()
-                ) {
-            while (resultSet.next()) {
-                JobStatusTraceEvent jobStatusTraceEvent = new JobStatusTraceEvent(resultSet.getString(1), resultSet.getString(2), resultSet.getString(3), resultSet.getString(4),
-                        resultSet.getString(5), Source.valueOf(resultSet.getString(6)), ExecutionType.valueOf(resultSet.getString(7)), resultSet.getString(8),
-                        State.valueOf(resultSet.getString(9)), resultSet.getString(10), new Date(resultSet.getTimestamp(11).getTime()));
-                result.add(jobStatusTraceEvent);
+    private int fetchJobStatusTraceEvents(final Condition condition, final boolean paging, final EventHandler<JobStatusTraceEvent> handler) {
+        int result = 0;
+        try (Connection conn = dataSource.getConnection()) {
+            List<String> tableNames = partitionRouter.getTableNames(conn, TABLE_JOB_STATUS_TRACE_LOG, condition.getStartTime(), condition.getEndTime());
+            if (tableNames.isEmpty()) {
+                return result;
+            }
+            boolean autoCommitDisabled = !paging && disableAutoCommitForStreaming(conn);
+            try (
+                    PreparedStatement preparedStatement = createDataPreparedStatement(conn, TABLE_JOB_STATUS_TRACE_LOG, tableNames, FIELDS_JOB_STATUS_TRACE_LOG, condition, paging);
+                    ResultSet resultSet = preparedStatement.executeQuery()
+                    ) {
+                while (resultSet.next()) {
+                    JobStatusTraceEvent jobStatusTraceEvent = new JobStatusTraceEvent(resultSet.getString(1), resultSet.getString(2), resultSet.getString(3), resultSet.getString(4),
+                            resultSet.getString(5), Source.valueOf(resultSet.getString(6)), ExecutionType.valueOf(resultSet.getString(7)), resultSet.getString(8),
+                            State.valueOf(resultSet.getString(9)), resultSet.getString(10), new Date(resultSet.getTimestamp(11).getTime()));
+                    handler.handle(jobStatusTraceEvent);
+                    result++;
+                }
+            } finally {
+                if (autoCommitDisabled) {
+                    conn.setAutoCommit(true);
+                }
             }
         } catch (final SQLException ex) {
             // TODO 记录失败直接输出日志,未来可考虑配置化
@@ -126,15 +228,16 @@ public final class JobEventRdbSearch {
         return result;
     }
     
-    private int getEventCount(final String tableName, final Collection<String> tableFields, final Condition condition) {
+    private int getEventCount(final String baseTableName, final Collection<String> tableFields, final Condition condition) {
         int result = 0;
-        try (
-                Connection conn = dataSource.getConnection();
-                PreparedStatement preparedStatement = createCountPreparedStatement(conn, tableName, tableFields, condition);
-                ResultSet resultSet = preparedStatement.executeQuery()
-                ) {
-            resultSet.next();
-            result = resultSet.getInt(1);
+        try (Connection conn = dataSource.getConnection()) {
+            for (String each : partitionRouter.getTableNames(conn, baseTableName, condition.getStartTime(), condition.getEndTime())) {
+                int maxCount = condition.getMaxCount() > 0 ? condition.getMaxCount() - result : 0;
+                result += getEventCount(conn, baseTableName, each, tableFields, condition, maxCount);
+                if (condition.getMaxCount() > 0 && result >= condition.getMaxCount()) {
+                    break;
+                }
+            }
         } catch (final SQLException ex) {
             // TODO 记录失败直接输出日志,未来可考虑配置化
             log.error("Fetch EventCount from DB error:", ex);
@@ -142,35 +245,114 @@ public final class JobEventRdbSearch {
         return result;
     }
     
-    private PreparedStatement createDataPreparedStatement(final Connection conn, final String tableName, final Collection<String> tableFields, final Condition condition) throws SQLException {
-        String sql = buildDataSql(tableName, tableFields, condition);
-        PreparedStatement preparedStatement = conn.prepareStatement(sql);
-        setBindValue(preparedStatement, tableFields, condition);
+    private int getEventCount(final Connection conn, final String baseTableName, final String tableName, 
+                              final Collection<String> tableFields, final Condition condition, final int maxCount) throws SQLException {
+        if (maxCount > 0 && !isLimitSupported(conn)) {
+            return getEventRowCount(conn, baseTableName, tableName, tableFields, condition, maxCount);
+        }
+        try (
+                PreparedStatement preparedStatement = createCountPreparedStatement(conn, baseTableName, tableName, tableFields, condition, maxCount);
+                ResultSet resultSet = preparedStatement.executeQuery()
+                ) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+    
+    private int getEventRowCount(final Connection conn, final String baseTableName, final String tableName, 
+                                 final Collection<String> tableFields, final Condition condition, final int maxCount) throws SQLException {
+        try (PreparedStatement preparedStatement = conn.prepareStatement(buildSelectOne(tableName) + buildWhere(baseTableName, tableFields, condition))) {
+            preparedStatement.setMaxRows(maxCount);
+            setBindValue(preparedStatement, 1, tableFields, condition);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                int result = 0;
+                while (resultSet.next()) {
+                    result++;
+                }
+                return result;
+            }
+        }
+    }
+    
+    private PreparedStatement createDataPreparedStatement(final Connection conn, final String baseTableName, final List<String> tableNames, 
+                                                          final Collection<String> tableFields, final Condition condition, final boolean paging) throws SQLException {
+        String sql = buildDataSql(baseTableName, tableNames, tableFields, condition, paging);
+        PreparedStatement preparedStatement = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        if (!paging) {
+            preparedStatement.setFetchSize(getStreamFetchSize(conn));
+        }
+        int index = 1;
+        for (int i = 0; i < tableNames.size(); i++) {
+            index = setBindValue(preparedStatement, index, tableFields, condition);
+            index = setSeekBindValue(preparedStatement, index, condition);
+        }
         return preparedStatement;
     }
     
-    private PreparedStatement createCountPreparedStatement(final Connection conn, final String tableName, final Collection<String> tableFields, final Condition condition) throws SQLException {
-        String sql = buildCountSql(tableName, tableFields, condition);
+    private int getStreamFetchSize(final Connection conn) throws SQLException {
+        return DatabaseType.MySQL == getDatabaseType(conn) ? Integer.MIN_VALUE : STREAM_FETCH_SIZE;
+    }
+    
+    private boolean disableAutoCommitForStreaming(final Connection conn) throws SQLException {
+        if (DatabaseType.PostgreSQL != getDatabaseType(conn) || !conn.getAutoCommit()) {
+            return false;
+        }
+        conn.setAutoCommit(false);
+        return true;
+    }
+    
+    private boolean isLimitSupported(final Connection conn) throws SQLException {
+        DatabaseType databaseType = getDatabaseType(conn);
+        return DatabaseType.MySQL == databaseType || DatabaseType.H2 == databaseType || DatabaseType.PostgreSQL == databaseType;
+    }
+    
+    private DatabaseType getDatabaseType(final Connection conn) throws SQLException {
+        return DatabaseType.valueFrom(conn.getMetaData().getDatabaseProductName());
+    }
+    
+    private PreparedStatement createCountPreparedStatement(final Connection conn, final String baseTableName, final String tableName, 
+                                                           final Collection<String> tableFields, final Condition condition, final int maxCount) throws SQLException {
+        String sql = buildCountSql(baseTableName, tableName, tableFields, condition, maxCount);
         PreparedStatement preparedStatement = conn.prepareStatement(sql);
-        setBindValue(preparedStatement, tableFields, condition);
+        setBindValue(preparedStatement, 1, tableFields, condition);
         return preparedStatement;
     }
     
-    private String buildDataSql(final String tableName, final Collection<String> tableFields, final Condition condition) {
+    private String buildDataSql(final String baseTableName, final List<String> tableNames, final Collection<String> tableFields, final Condition condition, final boolean paging) {
         StringBuilder sqlBuilder = new StringBuilder();
-        String selectSql = buildSelect(tableName, tableFields);
-        String whereSql = buildWhere(tableName, tableFields, condition);
-        String orderSql = buildOrder(tableFields, condition.getSort(), condition.getOrder());
-        String limitSql = buildLimit(condition.getPage(), condition.getPerPage());
-        sqlBuilder.append(selectSql).append(whereSql).append(orderSql).append(limitSql);
+        String whereSql = buildWhere(baseTableName, tableFields, condition) + buildSeekWhere(baseTableName, condition);
+        String orderSql = condition.isSeekPagination() ? buildSeekOrder(baseTableName, condition.getOrder()) : buildOrder(tableFields, condition.getSort(), condition.getOrder());
+        String limitSql = paging ? buildLimit(condition) : "";
+        if (1 == tableNames.size()) {
+            sqlBuilder.append(buildSelect(tableNames.get(0), tableFields)).append(whereSql);
+        } else {
+            sqlBuilder.append(buildSelect(buildUnion(tableNames, tableFields, whereSql), tableFields));
+        }
+        sqlBuilder.append(orderSql).append(limitSql);
         return sqlBuilder.toString();
     }
     
-    private String buildCountSql(final String tableName, final Collection<String> tableFields, final Condition condition) {
+    private String buildUnion(final List<String> tableNames, final Collection<String> tableFields, final String whereSql) {
         StringBuilder sqlBuilder = new StringBuilder();
-        String selectSql = buildSelectCount(tableName);
-        String whereSql = buildWhere(tableName, tableFields, condition);
-        sqlBuilder.append(selectSql).append(whereSql);
+        sqlBuilder.append("(");
+        for (String each : tableNames) {
+            if (sqlBuilder.length() > 1) {
+                sqlBuilder.append(" UNION ALL ");
+            }
+            sqlBuilder.append(buildSelect(each, tableFields)).append(whereSql);
+        }
+        sqlBuilder.append(") partitioned_events");
+        return sqlBuilder.toString();
+    }
+    
+    private String buildCountSql(final String baseTableName, final String tableName, final Collection<String> tableFields, final Condition condition, final int maxCount) {
+        StringBuilder sqlBuilder = new StringBuilder();
+        String whereSql = buildWhere(baseTableName, tableFields, condition);
+        if (maxCount > 0) {
+            sqlBuilder.append("SELECT COUNT(1) FROM (").append(buildSelectOne(tableName)).append(whereSql).append(" LIMIT ").append(maxCount).append(") limited_events");
+        } else {
+            sqlBuilder.append(buildSelectCount(tableName)).append(whereSql);
+        }
         return sqlBuilder.toString();
     }
     
@@ -178,6 +360,10 @@ public final class JobEventRdbSearch {
         return String.format("SELECT COUNT(1) FROM %s", tableName);
     }
     
+    private String buildSelectOne(final String tableName) {
+        return String.format("SELECT 1 FROM %s", tableName);
+    }
+    
     private String buildSelect(final String tableName, final Collection<String> tableFields) {
         StringBuilder sqlBuilder = new StringBuilder();
         sqlBuilder.append("SELECT ");
@@ -209,8 +395,17 @@ public final class JobEventRdbSearch {
         return sqlBuilder.toString();
     }
     
-    private void setBindValue(final PreparedStatement preparedStatement, final Collection<String> tableFields, final Condition condition) throws SQLException {
-        int index = 1;
+    private String buildSeekWhere(final String tableName, final Condition condition) {
+        if (!condition.isSeekPagination() || null == condition.getSeekTime() || null == condition.getSeekId()) {
+            return "";
+        }
+        String timeField = getTableTimeField(tableName);
+        String operator = isDescending(condition.getOrder()) ? "<" : ">";
+        return String.format(" AND (%s%s? OR (%s=? AND id%s?))", timeField, operator, timeField, operator);
+    }
+    
+    private int setBindValue(final PreparedStatement preparedStatement, final int startIndex, final Collection<String> tableFields, final Condition condition) throws SQLException {
+        int index = startIndex;
         if (null != condition.getFields() && !condition.getFields().isEmpty()) {
             for (Map.Entry<String, Object> entry : condition.getFields().entrySet()) {
                 String lowerUnderscore = CaseFormat.LOWER_CAMEL.to(CaseFormat.LOWER_UNDERSCORE, entry.getKey());
@@ -218,14 +413,6 @@ public final class JobEventRdbSearch {
                     preparedStatement.setString(index++, String.valueOf(entry.getValue()));
                 }
             }
-            
-            
-//            for (String each : condition.getFields().keySet()) {
-//                String lowerUnderscore = CaseFormat.LOWER_CAMEL.to(CaseFormat.LOWER_UNDERSCORE, each);
-//                if (null != condition.getFields().get(each) && tableFields.contains(lowerUnderscore)) {
-//                    preparedStatement.setString(index++, String.valueOf(condition.getFields().get(each)));
-//                }
-//            }
         }
         if (null != condition.getStartTime()) {
             preparedStatement.setTimestamp(index++, new Timestamp(condition.getStartTime().getTime()));
@@ -233,6 +420,18 @@ public final class JobEventRdbSearch {
         if (null != condition.getEndTime()) {
             preparedStatement.setTimestamp(index++, new Timestamp(condition.getEndTime().getTime()));
         }
+        return index;
+    }
+    
+    private int setSeekBindValue(final PreparedStatement preparedStatement, final int startIndex, final Condition condition) throws SQLException {
+        if (!condition.isSeekPagination() || null == condition.getSeekTime() || null == condition.getSeekId()) {
+            return startIndex;
+        }
+        Timestamp seekTime = new Timestamp(condition.getSeekTime().getTime());
+        preparedStatement.setTimestamp(startIndex, seekTime);
+        preparedStatement.setTimestamp(startIndex + 1, seekTime);
+        preparedStatement.setString(startIndex + 2, condition.getSeekId());
+        return startIndex + 3;
     }
     
     private String getTableTimeField(final String tableName) {
@@ -268,10 +467,21 @@ public final class JobEventRdbSearch {
         return sqlBuilder.toString();
     }
     
-    private String buildLimit(final int page, final int perPage) {
+    private String buildSeekOrder(final String tableName, final String sortOrder) {
+        String direction = isDescending(sortOrder) ? " DESC" : " ASC";
+        return " ORDER BY " + getTableTimeField(tableName) + direction + ", id" + direction;
+    }
+    
+    private boolean isDescending(final String sortOrder) {
+        return "DESC".equalsIgnoreCase(sortOrder);
+    }
+    
+    private String buildLimit(final Condition condition) {
         StringBuilder sqlBuilder = new StringBuilder();
-        if (page > 0 && perPage > 0) {
-            sqlBuilder.append(" LIMIT ").append((page - 1) * perPage).append(",").append(perPage);
+        if (condition.isSeekPagination()) {
+            sqlBuilder.append(" LIMIT ").append(condition.getPageSize());
+        } else if (condition.getPage() > 0 && condition.getPerPage() > 0) {
+            sqlBuilder.append(" LIMIT ").append((condition.getPage() - 1) * condition.getPerPage()).append(",").append(condition.getPerPage());
         } else {
             sqlBuilder.append(" LIMIT ").append(Condition.DEFAULT_PAGE_SIZE);
         }
@@ -302,6 +512,77 @@ public final class JobEventRdbSearch {
         private final Date endTime;
         
         private final Map<String, Object> fields;
+        
+        private boolean seekPagination;
+        
+        private Date seekTime;
+        
+        private String seekId;
+        
+        private int maxCount;
+        
+        /**
+         * 创建按页码分页并限制计数上限的查询条件.
+         * 
+         * @param perPage 每页记录数
+         * @param page 页码
+         * @param sort 排序字段
+         * @param order 排序方式
+         * @param startTime 开始时间
+         * @param endTime 结束时间
+         * @param fields 查询字段
+         * @param maxCount 总数计数的上限, 符合条件的记录数超过上限时总数为上限值, 配置为0表示精确计数.
+         *                 MySQL, H2和PostgreSQL在数据库内以LIMIT子查询计数, 其他数据库通过限制结果集行数计数
+         */
+        public Condition(final int perPage, final int page, final String sort, final String order, 
+                         final Date startTime, final Date endTime, final Map<String, Object> fields, final int maxCount) {
+            this(perPage, page, sort, order, startTime, endTime, fields);
+            this.maxCount = maxCount;
+        }
+        
+        /**
+         * 创建按(时间, 主键)定位分页的查询条件.
+         * 
+         * <p>
+         * 结果按时间和主键排序, 从定位的记录之后开始查询. 查询第一页时定位时间和定位主键为null.
+         * 下一页的定位时间和定位主键为本页最后一条记录的时间和主键.
+         * </p>
+         * 
+         * @param perPage 每页记录数
+         * @param order 排序方式, ASC或DESC
+         * @param startTime 开始时间
+         * @param endTime 结束时间
+         * @param fields 查询字段
+         * @param seekTime 定位时间, 作业执行轨迹为开始执行时间, 作业状态轨迹为记录创建时间
+         * @param seekId 定位主键
+         * @param maxCount 总数计数的上限, 符合条件的记录数超过上限时总数为上限值, 配置为0表示精确计数
+         */
+        public Condition(final int perPage, final String order, final Date startTime, final Date endTime, final Map<String, Object> fields, 
+                         final Date seekTime, final String seekId, final int maxCount) {
+            this(perPage, 0, null, order, startTime, endTime, fields, maxCount);
+            seekPagination = true;
+            this.seekTime = seekTime;
+            this.seekId = seekId;
+        }
+        
+        int getPageSize() {
+            return perPage > 0 && (seekPagination || page > 0) ? perPage : DEFAULT_PAGE_SIZE;
+        }
+    }
+    
+    /**
+     * 运行痕迹事件处理器.
+     * 
+     * @param <T> 运行痕迹事件类型
+     */
+    public interface EventHandler<T> {
+        
+        /**
+         * 处理运行痕迹事件.
+         * 
+         * @param event 运行痕迹事件
+         */
+        void handle(T event);
     }
     
     @RequiredArgsConstructor
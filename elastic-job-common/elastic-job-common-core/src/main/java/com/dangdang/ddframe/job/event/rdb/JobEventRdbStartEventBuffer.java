@@ -0,0 +1,117 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.event.rdb;
+
+import com.dangdang.ddframe.job.event.type.JobExecutionEvent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 暂存作业开始执行事件的缓冲区.
+ * 
+ * <p>
+ * 按事件加入的顺序保存, 超时和超过数量上限的事件从最早加入的开始移除.
+ * </p>
+ *
+ * @author caohao
+ */
+final class JobEventRdbStartEventBuffer {
+    
+    private final JobEventRdbCompletionOnlyConfiguration completionOnlyConfig;
+    
+    private final Map<String, JobExecutionEvent> startEvents = new LinkedHashMap<>();
+    
+    JobEventRdbStartEventBuffer(final JobEventRdbCompletionOnlyConfiguration completionOnlyConfig) {
+        this.completionOnlyConfig = completionOnlyConfig;
+    }
+    
+    /**
+     * 暂存作业开始执行事件.
+     * 
+     * @param startEvent 作业开始执行事件
+     * @return 因超过数量上限而移除的事件
+     */
+    synchronized List<JobExecutionEvent> add(final JobExecutionEvent startEvent) {
+        startEvents.put(startEvent.getId(), startEvent);
+        if (startEvents.size() <= completionOnlyConfig.getMaxPendingStartEvents()) {
+            return Collections.emptyList();
+        }
+        List<JobExecutionEvent> result = new ArrayList<>(startEvents.size() - completionOnlyConfig.getMaxPendingStartEvents());
+        Iterator<JobExecutionEvent> iterator = startEvents.values().iterator();
+        while (startEvents.size() > completionOnlyConfig.getMaxPendingStartEvents()) {
+            result.add(iterator.next());
+            iterator.remove();
+        }
+        return result;
+    }
+    
+    /**
+     * 移除作业开始执行事件.
+     * 
+     * @param id 作业执行事件主键
+     * @return 暂存的作业开始执行事件, 已移除时返回null
+     */
+    synchronized JobExecutionEvent remove(final String id) {
+        return startEvents.remove(id);
+    }
+    
+    /**
+     * 移除超时的作业开始执行事件.
+     * 
+     * @param currentTimeMillis 当前时间毫秒数
+     * @return 超时的作业开始执行事件
+     */
+    synchronized List<JobExecutionEvent> removeExpired(final long currentTimeMillis) {
+        List<JobExecutionEvent> result = new ArrayList<>();
+        Iterator<JobExecutionEvent> iterator = startEvents.values().iterator();
+        while (iterator.hasNext()) {
+            JobExecutionEvent each = iterator.next();
+            if (currentTimeMillis - each.getStartTime().getTime() < completionOnlyConfig.getStartEventTimeoutMilliseconds()) {
+                break;
+            }
+            result.add(each);
+            iterator.remove();
+        }
+        return result;
+    }
+    
+    /**
+     * 移除全部作业开始执行事件.
+     * 
+     * @return 全部作业开始执行事件
+     */
+    synchronized List<JobExecutionEvent> removeAll() {
+        List<JobExecutionEvent> result = new ArrayList<>(startEvents.values());
+        startEvents.clear();
+        return result;
+    }
+    
+    /**
+     * 获取暂存的作业开始执行事件数量.
+     * 
+     * @return 暂存的作业开始执行事件数量
+     */
+    synchronized int size() {
+        return startEvents.size();
+    }
+}
@@ -35,8 +35,18 @@ import java.sql.Timestamp;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 运行痕迹事件数据库存储.
@@ -52,59 +62,151 @@ final class JobEventRdbStorage {
     
     private static final String TASK_ID_STATE_INDEX = "TASK_ID_STATE_INDEX";
     
+    private static final String EXECUTION_JOB_NAME_START_TIME_INDEX = "EXECUTION_JOB_NAME_START_TIME_INDEX";
+    
+    private static final String EXECUTION_IS_SUCCESS_START_TIME_INDEX = "EXECUTION_IS_SUCCESS_START_TIME_INDEX";
+    
+    private static final String EXECUTION_START_TIME_INDEX = "EXECUTION_START_TIME_INDEX";
+    
+    private static final String STATUS_JOB_NAME_CREATION_TIME_INDEX = "STATUS_JOB_NAME_CREATION_TIME_INDEX";
+    
+    private static final String STATUS_CREATION_TIME_INDEX = "STATUS_CREATION_TIME_INDEX";
+    
+    private static final int ORIGINAL_TASK_ID_CACHE_SIZE = 10000;
+    
     private final DataSource dataSource;
     
+    private final JobEventRdbPartitionRouter partitionRouter;
+    
+    private final JobEventRdbPartitionConfiguration partitionConfig;
+    
+    private final Set<String> existedTableNames = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+    
+    private final JobEventRdbOriginalTaskIdCache originalTaskIdCache = new JobEventRdbOriginalTaskIdCache(ORIGINAL_TASK_ID_CACHE_SIZE);
+    
     private DatabaseType databaseType;
     
     JobEventRdbStorage(final DataSource dataSource) throws SQLException {
+        this(dataSource, null);
+    }
+    
+    JobEventRdbStorage(final DataSource dataSource, final JobEventRdbPartitionConfiguration partitionConfig) throws SQLException {
         this.dataSource = dataSource;
+        this.partitionConfig = partitionConfig;
+        partitionRouter = new JobEventRdbPartitionRouter(partitionConfig);
         initTablesAndIndexes();
     }
     
     private void initTablesAndIndexes() throws SQLException {
         try (Connection conn = dataSource.getConnection()) {
-            createJobExecutionTableAndIndexIfNeeded(conn);
-            createJobStatusTraceTableAndIndexIfNeeded(conn);
             databaseType = DatabaseType.valueFrom(conn.getMetaData().getDatabaseProductName());
+            Date now = new Date();
+            createTableAndIndexIfNeeded(conn, TABLE_JOB_EXECUTION_LOG, partitionRouter.getTableName(TABLE_JOB_EXECUTION_LOG, now));
+            createTableAndIndexIfNeeded(conn, TABLE_JOB_STATUS_TRACE_LOG, partitionRouter.getTableName(TABLE_JOB_STATUS_TRACE_LOG, now));
+            removeExpiredPartitions(conn, TABLE_JOB_EXECUTION_LOG);
+            removeExpiredPartitions(conn, TABLE_JOB_STATUS_TRACE_LOG);
         }
     }
     
-    private void createJobExecutionTableAndIndexIfNeeded(final Connection conn) throws SQLException {
-        DatabaseMetaData dbMetaData = conn.getMetaData();
-        try (ResultSet resultSet = dbMetaData.getTables(null, null, TABLE_JOB_EXECUTION_LOG, new String[]{"TABLE"})) {
-            if (!resultSet.next()) {
-                createJobExecutionTable(conn);
+    private Connection getConnection(final String baseTableName, final String tableName) throws SQLException {
+        Connection result = dataSource.getConnection();
+        try {
+            createTableAndIndexIfNeeded(result, baseTableName, tableName);
+        } catch (final SQLException ex) {
+            result.close();
+            throw ex;
+        }
+        return result;
+    }
+    
+    private void createTableAndIndexIfNeeded(final Connection conn, final String baseTableName, final String tableName) throws SQLException {
+        if (existedTableNames.contains(tableName)) {
+            return;
+        }
+        boolean created = false;
+        if (!isTableExisted(conn, tableName)) {
+            try {
+                createTable(conn, baseTableName, tableName);
+                created = true;
+            } catch (final SQLException ex) {
+                if (!isTableExisted(conn, tableName)) {
+                    throw ex;
+                }
             }
         }
+        if (TABLE_JOB_EXECUTION_LOG.equals(baseTableName)) {
+            createIndexIfNeeded(conn, baseTableName, tableName, EXECUTION_JOB_NAME_START_TIME_INDEX, "`job_name`, `start_time`, `id`");
+            createIndexIfNeeded(conn, baseTableName, tableName, EXECUTION_IS_SUCCESS_START_TIME_INDEX, "`is_success`, `start_time`, `id`");
+            createIndexIfNeeded(conn, baseTableName, tableName, EXECUTION_START_TIME_INDEX, "`start_time`, `id`");
+        } else {
+            createIndexIfNeeded(conn, baseTableName, tableName, TASK_ID_STATE_INDEX, "`task_id`, `state`");
+            createIndexIfNeeded(conn, baseTableName, tableName, STATUS_JOB_NAME_CREATION_TIME_INDEX, "`job_name`, `creation_time`, `id`");
+            createIndexIfNeeded(conn, baseTableName, tableName, STATUS_CREATION_TIME_INDEX, "`creation_time`, `id`");
+        }
+        existedTableNames.add(tableName);
+        if (created) {
+            removeExpiredPartitions(conn, baseTableName);
+        }
     }
     
-    private void createJobStatusTraceTableAndIndexIfNeeded(final Connection conn) throws SQLException {
+    private boolean isTableExisted(final Connection conn, final String tableName) throws SQLException {
         DatabaseMetaData dbMetaData = conn.getMetaData();
-        try (ResultSet resultSet = dbMetaData.getTables(null, null, TABLE_JOB_STATUS_TRACE_LOG, new String[]{"TABLE"})) {
-            if (!resultSet.next()) {
-                createJobStatusTraceTable(conn);
+        try (ResultSet resultSet = dbMetaData.getTables(null, null, tableName, new String[]{"TABLE"})) {
+            return resultSet.next();
+        }
+    }
+    
+    private void createTable(final Connection conn, final String baseTableName, final String tableName) throws SQLException {
+        if (TABLE_JOB_EXECUTION_LOG.equals(baseTableName)) {
+            createJobExecutionTable(conn, tableName);
+        } else {
+            createJobStatusTraceTable(conn, tableName);
+        }
+    }
+    
+    private void removeExpiredPartitions(final Connection conn, final String baseTableName) {
+        if (!partitionRouter.isPartitioned() || partitionConfig.getRetentionPartitionCount() <= 0) {
+            return;
+        }
+        List<String> partitionTableNames;
+        try {
+            partitionTableNames = partitionRouter.getPartitionTableNames(conn, baseTableName);
+        } catch (final SQLException ex) {
+            log.error(ex.getMessage());
+            return;
+        }
+        for (int i = 0; i < partitionTableNames.size() - partitionConfig.getRetentionPartitionCount(); i++) {
+            String tableName = partitionTableNames.get(i);
+            String sql = JobEventRdbRetentionPolicy.ARCHIVE == partitionConfig.getRetentionPolicy()
+                    ? "ALTER TABLE " + tableName + " RENAME TO " + partitionRouter.getArchiveTableName(baseTableName, tableName) : "DROP TABLE " + tableName;
+            try (PreparedStatement preparedStatement = conn.prepareStatement(sql)) {
+                preparedStatement.execute();
+                existedTableNames.remove(tableName);
+            } catch (final SQLException ex) {
+                // TODO 记录失败直接输出日志,未来可考虑配置化
+                log.error(ex.getMessage());
             }
         }
-        createTaskIdIndexIfNeeded(conn, TABLE_JOB_STATUS_TRACE_LOG, TASK_ID_STATE_INDEX);
     }
     
-    private void createTaskIdIndexIfNeeded(final Connection conn, final String tableName, final String indexName) throws SQLException {
+    private void createIndexIfNeeded(final Connection conn, final String baseTableName, final String tableName, final String baseIndexName, final String columns) throws SQLException {
+        String indexName = partitionRouter.getIndexName(baseTableName, tableName, baseIndexName);
         DatabaseMetaData dbMetaData = conn.getMetaData();
         try (ResultSet resultSet = dbMetaData.getIndexInfo(null, null, tableName, false, false)) {
-            boolean hasTaskIdIndex = false;
+            boolean hasIndex = false;
             while (resultSet.next()) {
-                if (indexName.equals(resultSet.getString("INDEX_NAME"))) {
-                    hasTaskIdIndex = true;    
+                if (indexName.equalsIgnoreCase(resultSet.getString("INDEX_NAME"))) {
+                    hasIndex = true;    
                 }
             }
-            if (!hasTaskIdIndex) {
-                createTaskIdAndStateIndex(conn, tableName);
+            if (!hasIndex) {
+                createIndex(conn, tableName, indexName, columns);
             }
         }
     }
     
-    private void createJobExecutionTable(final Connection conn) throws SQLException {
-        String dbSchema = "CREATE TABLE `" + TABLE_JOB_EXECUTION_LOG + "` ("
+    private void createJobExecutionTable(final Connection conn, final String tableName) throws SQLException {
+        String dbSchema = "CREATE TABLE `" + tableName + "` ("
                 + "`id` VARCHAR(40) NOT NULL, "
                 + "`job_name` VARCHAR(100) NOT NULL, "
                 + "`task_id` VARCHAR(255) NOT NULL, "
@@ -122,8 +224,8 @@ final class JobEventRdbStorage {
         }
     }
     
-    private void createJobStatusTraceTable(final Connection conn) throws SQLException {
-        String dbSchema = "CREATE TABLE `" + TABLE_JOB_STATUS_TRACE_LOG + "` ("
+    private void createJobStatusTraceTable(final Connection conn, final String tableName) throws SQLException {
+        String dbSchema = "CREATE TABLE `" + tableName + "` ("
                 + "`id` VARCHAR(40) NOT NULL, "
                 + "`job_name` VARCHAR(100) NOT NULL, "
                 + "`original_task_id` VARCHAR(255) NOT NULL, "
@@ -141,8 +243,8 @@ final class JobEventRdbStorage {
         }
     }
     
-    private void createTaskIdAndStateIndex(final Connection conn, final String tableName) throws SQLException {
-        String sql = "CREATE INDEX " + TASK_ID_STATE_INDEX + " ON " + tableName + " (`task_id`, `state`);";
+    private void createIndex(final Connection conn, final String tableName, final String indexName, final String columns) throws SQLException {
+        String sql = "CREATE INDEX " + indexName + " ON " + tableName + " (" + columns + ");";
         try (PreparedStatement preparedStatement = conn.prepareStatement(sql)) {
             preparedStatement.execute();
         }
@@ -160,12 +262,27 @@ final class JobEventRdbStorage {
         }
     }
     
+    /**
+     * 添加已完成的作业执行事件.
+     * 
+     * <p>
+     * 开始事件未写入时直接插入完整的记录, 记录已存在时更新.
+     * </p>
+     * 
+     * @param jobExecutionEvent 已完成的作业执行事件
+     * @return 是否写入成功
+     */
+    boolean addCompleteJobExecutionEvent(final JobExecutionEvent jobExecutionEvent) {
+        return jobExecutionEvent.isSuccess() ? insertJobExecutionEventWhenSuccess(jobExecutionEvent) : insertJobExecutionEventWhenFailure(jobExecutionEvent);
+    }
+    
     private boolean insertJobExecutionEvent(final JobExecutionEvent jobExecutionEvent) {
         boolean result = false;
-        String sql = "INSERT INTO `" + TABLE_JOB_EXECUTION_LOG + "` (`id`, `job_name`, `task_id`, `hostname`, `ip`, `sharding_item`, `execution_source`, `is_success`, `start_time`) "
+        String tableName = partitionRouter.getTableName(TABLE_JOB_EXECUTION_LOG, jobExecutionEvent.getStartTime());
+        String sql = "INSERT INTO `" + tableName + "` (`id`, `job_name`, `task_id`, `hostname`, `ip`, `sharding_item`, `execution_source`, `is_success`, `start_time`) "
                 + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?);";
         try (
-                Connection conn = dataSource.getConnection();
+                Connection conn = getConnection(TABLE_JOB_EXECUTION_LOG, tableName);
                 PreparedStatement preparedStatement = conn.prepareStatement(sql)) {
             preparedStatement.setString(1, jobExecutionEvent.getId());
             preparedStatement.setString(2, jobExecutionEvent.getJobName());
@@ -195,9 +312,10 @@ final class JobEventRdbStorage {
     
     private boolean updateJobExecutionEventWhenSuccess(final JobExecutionEvent jobExecutionEvent) {
         boolean result = false;
-        String sql = "UPDATE `" + TABLE_JOB_EXECUTION_LOG + "` SET `is_success` = ?, `complete_time` = ? WHERE id = ?";
+        String tableName = partitionRouter.getTableName(TABLE_JOB_EXECUTION_LOG, jobExecutionEvent.getStartTime());
+        String sql = "UPDATE `" + tableName + "` SET `is_success` = ?, `complete_time` = ? WHERE id = ?";
         try (
-                Connection conn = dataSource.getConnection();
+                Connection conn = getConnection(TABLE_JOB_EXECUTION_LOG, tableName);
                 PreparedStatement preparedStatement = conn.prepareStatement(sql)) {
             preparedStatement.setBoolean(1, jobExecutionEvent.isSuccess());
             preparedStatement.setTimestamp(2, new Timestamp(jobExecutionEvent.getCompleteTime().getTime()));
@@ -215,10 +333,11 @@ final class JobEventRdbStorage {
     
     private boolean insertJobExecutionEventWhenSuccess(final JobExecutionEvent jobExecutionEvent) {
         boolean result = false;
-        String sql = "INSERT INTO `" + TABLE_JOB_EXECUTION_LOG + "` (`id`, `job_name`, `task_id`, `hostname`, `ip`, `sharding_item`, `execution_source`, `is_success`, `start_time`, `complete_time`) "
+        String tableName = partitionRouter.getTableName(TABLE_JOB_EXECUTION_LOG, jobExecutionEvent.getStartTime());
+        String sql = "INSERT INTO `" + tableName + "` (`id`, `job_name`, `task_id`, `hostname`, `ip`, `sharding_item`, `execution_source`, `is_success`, `start_time`, `complete_time`) "
                 + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?);";
         try (
-                Connection conn = dataSource.getConnection();
+                Connection conn = getConnection(TABLE_JOB_EXECUTION_LOG, tableName);
                 PreparedStatement preparedStatement = conn.prepareStatement(sql)) {
             preparedStatement.setString(1, jobExecutionEvent.getId());
             preparedStatement.setString(2, jobExecutionEvent.getJobName());
@@ -244,9 +363,10 @@ final class JobEventRdbStorage {
     
     private boolean updateJobExecutionEventFailure(final JobExecutionEvent jobExecutionEvent) {
         boolean result = false;
-        String sql = "UPDATE `" + TABLE_JOB_EXECUTION_LOG + "` SET `is_success` = ?, `complete_time` = ?, `failure_cause` = ? WHERE id = ?";
+        String tableName = partitionRouter.getTableName(TABLE_JOB_EXECUTION_LOG, jobExecutionEvent.getStartTime());
+        String sql = "UPDATE `" + tableName + "` SET `is_success` = ?, `complete_time` = ?, `failure_cause` = ? WHERE id = ?";
         try (
-                Connection conn = dataSource.getConnection();
+                Connection conn = getConnection(TABLE_JOB_EXECUTION_LOG, tableName);
                 PreparedStatement preparedStatement = conn.prepareStatement(sql)) {
             preparedStatement.setBoolean(1, jobExecutionEvent.isSuccess());
             preparedStatement.setTimestamp(2, new Timestamp(jobExecutionEvent.getCompleteTime().getTime()));
@@ -265,10 +385,11 @@ final class JobEventRdbStorage {
     
     private boolean insertJobExecutionEventWhenFailure(final JobExecutionEvent jobExecutionEvent) {
         boolean result = false;
-        String sql = "INSERT INTO `" + TABLE_JOB_EXECUTION_LOG + "` (`id`, `job_name`, `task_id`, `hostname`, `ip`, `sharding_item`, `execution_source`, `failure_cause`, `is_success`, `start_time`) "
-                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?);";
+        String tableName = partitionRouter.getTableName(TABLE_JOB_EXECUTION_LOG, jobExecutionEvent.getStartTime());
+        String sql = "INSERT INTO `" + tableName + "` (`id`, `job_name`, `task_id`, `hostname`, `ip`, `sharding_item`, `execution_source`, `failure_cause`, `is_success`, "
+                + "`start_time`, `complete_time`) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?);";
         try (
-                Connection conn = dataSource.getConnection();
+                Connection conn = getConnection(TABLE_JOB_EXECUTION_LOG, tableName);
                 PreparedStatement preparedStatement = conn.prepareStatement(sql)) {
             preparedStatement.setString(1, jobExecutionEvent.getId());
             preparedStatement.setString(2, jobExecutionEvent.getJobName());
@@ -280,6 +401,7 @@ final class JobEventRdbStorage {
             preparedStatement.setString(8, truncateString(jobExecutionEvent.getFailureCause()));
             preparedStatement.setBoolean(9, jobExecutionEvent.isSuccess());
             preparedStatement.setTimestamp(10, new Timestamp(jobExecutionEvent.getStartTime().getTime()));
+            preparedStatement.setTimestamp(11, new Timestamp(jobExecutionEvent.getCompleteTime().getTime()));
             preparedStatement.execute();
             result = true;
         } catch (final SQLException ex) {
@@ -292,16 +414,181 @@ final class JobEventRdbStorage {
         return result;
     }
     
+    /**
+     * 批量添加作业执行事件.
+     * 
+     * <p>
+     * 同一批次中开始和完成的作业执行事件合并为一条记录写入.
+     * 批量写入失败时逐条写入.
+     * </p>
+     * 
+     * @param jobExecutionEvents 作业执行事件
+     * @return 是否全部写入成功
+     */
+    boolean addJobExecutionEvents(final List<JobExecutionEvent> jobExecutionEvents) {
+        Map<String, JobExecutionEvent> startEvents = new LinkedHashMap<>(jobExecutionEvents.size(), 1);
+        List<JobExecutionEvent> completeEvents = new ArrayList<>(jobExecutionEvents.size());
+        for (JobExecutionEvent each : jobExecutionEvents) {
+            if (null == each.getCompleteTime()) {
+                startEvents.put(each.getId(), each);
+            } else {
+                completeEvents.add(each);
+            }
+        }
+        List<JobExecutionEvent> startedAndCompleteEvents = new ArrayList<>(completeEvents.size());
+        List<JobExecutionEvent> onlyCompleteEvents = new ArrayList<>(completeEvents.size());
+        for (JobExecutionEvent each : completeEvents) {
+            if (null == startEvents.remove(each.getId())) {
+                onlyCompleteEvents.add(each);
+            } else {
+                startedAndCompleteEvents.add(each);
+            }
+        }
+        Map<String, List<JobExecutionEvent>> startEventsByTableName = groupByTableName(startEvents.values());
+        Map<String, List<JobExecutionEvent>> startedAndCompleteEventsByTableName = groupByTableName(startedAndCompleteEvents);
+        Map<String, List<JobExecutionEvent>> onlyCompleteEventsByTableName = groupByTableName(onlyCompleteEvents);
+        Set<String> tableNames = new LinkedHashSet<>(startEventsByTableName.keySet());
+        tableNames.addAll(startedAndCompleteEventsByTableName.keySet());
+        tableNames.addAll(onlyCompleteEventsByTableName.keySet());
+        try (Connection conn = dataSource.getConnection()) {
+            boolean result = true;
+            for (String each : tableNames) {
+                createTableAndIndexIfNeeded(conn, TABLE_JOB_EXECUTION_LOG, each);
+                result = insertJobExecutionEvents(conn, each, getJobExecutionEvents(startEventsByTableName, each)) && result;
+                result = insertCompleteJobExecutionEvents(conn, each, getJobExecutionEvents(startedAndCompleteEventsByTableName, each)) && result;
+                result = updateJobExecutionEvents(conn, each, getJobExecutionEvents(onlyCompleteEventsByTableName, each)) && result;
+            }
+            return result;
+        } catch (final SQLException ex) {
+            // TODO 记录失败直接输出日志,未来可考虑配置化
+            log.error(ex.getMessage());
+            return false;
+        }
+    }
+    
+    private Map<String, List<JobExecutionEvent>> groupByTableName(final Collection<JobExecutionEvent> jobExecutionEvents) {
+        Map<String, List<JobExecutionEvent>> result = new LinkedHashMap<>();
+        for (JobExecutionEvent each : jobExecutionEvents) {
+            String tableName = partitionRouter.getTableName(TABLE_JOB_EXECUTION_LOG, each.getStartTime());
+            List<JobExecutionEvent> events = result.get(tableName);
+            if (null == events) {
+                events = new ArrayList<>();
+                result.put(tableName, events);
+            }
+            events.add(each);
+        }
+        return result;
+    }
+    
+    private List<JobExecutionEvent> getJobExecutionEvents(final Map<String, List<JobExecutionEvent>> jobExecutionEventsByTableName, final String tableName) {
+        List<JobExecutionEvent> result = jobExecutionEventsByTableName.get(tableName);
+        return null == result ? Collections.<JobExecutionEvent>emptyList() : result;
+    }
+    
+    private boolean insertJobExecutionEvents(final Connection conn, final String tableName, final List<JobExecutionEvent> jobExecutionEvents) {
+        if (jobExecutionEvents.isEmpty()) {
+            return true;
+        }
+        String sql = "INSERT INTO `" + tableName + "` (`id`, `job_name`, `task_id`, `hostname`, `ip`, `sharding_item`, `execution_source`, `is_success`, `start_time`) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?);";
+        try (PreparedStatement preparedStatement = conn.prepareStatement(sql)) {
+            for (JobExecutionEvent each : jobExecutionEvents) {
+                preparedStatement.setString(1, each.getId());
+                preparedStatement.setString(2, each.getJobName());
+                preparedStatement.setString(3, each.getTaskId());
+                preparedStatement.setString(4, each.getHostname());
+                preparedStatement.setString(5, each.getIp());
+                preparedStatement.setInt(6, each.getShardingItem());
+                preparedStatement.setString(7, each.getSource().toString());
+                preparedStatement.setBoolean(8, each.isSuccess());
+                preparedStatement.setTimestamp(9, new Timestamp(each.getStartTime().getTime()));
+                preparedStatement.addBatch();
+            }
+            preparedStatement.executeBatch();
+            return true;
+        } catch (final SQLException ex) {
+            return addJobExecutionEventsOneByOne(jobExecutionEvents);
+        }
+    }
+    
+    private boolean insertCompleteJobExecutionEvents(final Connection conn, final String tableName, final List<JobExecutionEvent> jobExecutionEvents) {
+        if (jobExecutionEvents.isEmpty()) {
+            return true;
+        }
+        String sql = "INSERT INTO `" + tableName + "` (`id`, `job_name`, `task_id`, `hostname`, `ip`, `sharding_item`, `execution_source`, `failure_cause`, `is_success`, "
+                + "`start_time`, `complete_time`) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?);";
+        try (PreparedStatement preparedStatement = conn.prepareStatement(sql)) {
+            for (JobExecutionEvent each : jobExecutionEvents) {
+                preparedStatement.setString(1, each.getId());
+                preparedStatement.setString(2, each.getJobName());
+                preparedStatement.setString(3, each.getTaskId());
+                preparedStatement.setString(4, each.getHostname());
+                preparedStatement.setString(5, each.getIp());
+                preparedStatement.setInt(6, each.getShardingItem());
+                preparedStatement.setString(7, each.getSource().toString());
+                preparedStatement.setString(8, each.isSuccess() ? null : truncateString(each.getFailureCause()));
+                preparedStatement.setBoolean(9, each.isSuccess());
+                preparedStatement.setTimestamp(10, new Timestamp(each.getStartTime().getTime()));
+                preparedStatement.setTimestamp(11, new Timestamp(each.getCompleteTime().getTime()));
+                preparedStatement.addBatch();
+            }
+            preparedStatement.executeBatch();
+            return true;
+        } catch (final SQLException ex) {
+            return addJobExecutionEventsOneByOne(jobExecutionEvents);
+        }
+    }
+    
+    private boolean updateJobExecutionEvents(final Connection conn, final String tableName, final List<JobExecutionEvent> jobExecutionEvents) {
+        if (jobExecutionEvents.isEmpty()) {
+            return true;
+        }
+        String sql = "UPDATE `" + tableName + "` SET `is_success` = ?, `complete_time` = ?, `failure_cause` = ? WHERE id = ?";
+        int[] updateCounts;
+        try (PreparedStatement preparedStatement = conn.prepareStatement(sql)) {
+            for (JobExecutionEvent each : jobExecutionEvents) {
+                preparedStatement.setBoolean(1, each.isSuccess());
+                preparedStatement.setTimestamp(2, new Timestamp(each.getCompleteTime().getTime()));
+                preparedStatement.setString(3, each.isSuccess() ? null : truncateString(each.getFailureCause()));
+                preparedStatement.setString(4, each.getId());
+                preparedStatement.addBatch();
+            }
+            updateCounts = preparedStatement.executeBatch();
+        } catch (final SQLException ex) {
+            return addJobExecutionEventsOneByOne(jobExecutionEvents);
+        }
+        boolean result = true;
+        for (int i = 0; i < updateCounts.length; i++) {
+            if (0 == updateCounts[i]) {
+                result = addJobExecutionEvent(jobExecutionEvents.get(i)) && result;
+            }
+        }
+        return result;
+    }
+    
+    private boolean addJobExecutionEventsOneByOne(final List<JobExecutionEvent> jobExecutionEvents) {
+        boolean result = true;
+        for (JobExecutionEvent each : jobExecutionEvents) {
+            result = addJobExecutionEvent(each) && result;
+        }
+        return result;
+    }
+    
     boolean addJobStatusTraceEvent(final JobStatusTraceEvent jobStatusTraceEvent) {
         String originalTaskId = jobStatusTraceEvent.getOriginalTaskId();
         if (State.TASK_STAGING != jobStatusTraceEvent.getState()) {
             originalTaskId = getOriginalTaskId(jobStatusTraceEvent.getTaskId());
         }
+        return addJobStatusTraceEvent(jobStatusTraceEvent, originalTaskId);
+    }
+    
+    private boolean addJobStatusTraceEvent(final JobStatusTraceEvent jobStatusTraceEvent, final String originalTaskId) {
         boolean result = false;
-        String sql = "INSERT INTO `" + TABLE_JOB_STATUS_TRACE_LOG + "` (`id`, `job_name`, `original_task_id`, `task_id`, `slave_id`, `source`, `execution_type`, `sharding_item`,  " 
+        String tableName = partitionRouter.getTableName(TABLE_JOB_STATUS_TRACE_LOG, jobStatusTraceEvent.getCreationTime());
+        String sql = "INSERT INTO `" + tableName + "` (`id`, `job_name`, `original_task_id`, `task_id`, `slave_id`, `source`, `execution_type`, `sharding_item`,  " 
                 + "`state`, `message`, `creation_time`) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?);";
         try (
-                Connection conn = dataSource.getConnection();
+                Connection conn = getConnection(TABLE_JOB_STATUS_TRACE_LOG, tableName);
                 PreparedStatement preparedStatement = conn.prepareStatement(sql)) {
             preparedStatement.setString(1, UUID.randomUUID().toString());
             preparedStatement.setString(2, jobStatusTraceEvent.getJobName());
@@ -315,6 +602,7 @@ final class JobEventRdbStorage {
             preparedStatement.setString(10, truncateString(jobStatusTraceEvent.getMessage()));
             preparedStatement.setTimestamp(11, new Timestamp(jobStatusTraceEvent.getCreationTime().getTime()));
             preparedStatement.execute();
+            cacheOriginalTaskId(jobStatusTraceEvent, originalTaskId);
             result = true;
         } catch (final SQLException ex) {
             // TODO 记录失败直接输出日志,未来可考虑配置化
@@ -323,16 +611,129 @@ final class JobEventRdbStorage {
         return result;
     }
     
+    /**
+     * 批量添加作业状态痕迹事件.
+     * 
+     * <p>
+     * 原任务主键优先从同一批次中的TASK_STAGING事件获取.
+     * </p>
+     * 
+     * @param jobStatusTraceEvents 作业状态痕迹事件
+     * @return 是否全部写入成功
+     */
+    boolean addJobStatusTraceEvents(final List<JobStatusTraceEvent> jobStatusTraceEvents) {
+        Map<String, String> stagingOriginalTaskIds = new HashMap<>(jobStatusTraceEvents.size(), 1);
+        for (JobStatusTraceEvent each : jobStatusTraceEvents) {
+            if (State.TASK_STAGING == each.getState()) {
+                stagingOriginalTaskIds.put(each.getTaskId(), each.getOriginalTaskId());
+            }
+        }
+        List<String> originalTaskIds = new ArrayList<>(jobStatusTraceEvents.size());
+        for (JobStatusTraceEvent each : jobStatusTraceEvents) {
+            originalTaskIds.add(getOriginalTaskId(each, stagingOriginalTaskIds));
+        }
+        Map<String, List<Integer>> indexesByTableName = new LinkedHashMap<>();
+        for (int i = 0; i < jobStatusTraceEvents.size(); i++) {
+            String tableName = partitionRouter.getTableName(TABLE_JOB_STATUS_TRACE_LOG, jobStatusTraceEvents.get(i).getCreationTime());
+            List<Integer> indexes = indexesByTableName.get(tableName);
+            if (null == indexes) {
+                indexes = new ArrayList<>();
+                indexesByTableName.put(tableName, indexes);
+            }
+            indexes.add(i);
+        }
+        try (Connection conn = dataSource.getConnection()) {
+            boolean result = true;
+            for (Entry<String, List<Integer>> entry : indexesByTableName.entrySet()) {
+                createTableAndIndexIfNeeded(conn, TABLE_JOB_STATUS_TRACE_LOG, entry.getKey());
+                result = insertJobStatusTraceEvents(conn, entry.getKey(), jobStatusTraceEvents, originalTaskIds, entry.getValue()) && result;
+            }
+            return result;
+        } catch (final SQLException ex) {
+            // TODO 记录失败直接输出日志,未来可考虑配置化
+            log.error(ex.getMessage());
+            return false;
+        }
+    }
+    
+    private boolean insertJobStatusTraceEvents(final Connection conn, final String tableName, 
+                                               final List<JobStatusTraceEvent> jobStatusTraceEvents, final List<String> originalTaskIds, final List<Integer> indexes) {
+        String sql = "INSERT INTO `" + tableName + "` (`id`, `job_name`, `original_task_id`, `task_id`, `slave_id`, `source`, `execution_type`, `sharding_item`,  " 
+                + "`state`, `message`, `creation_time`) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?);";
+        try (PreparedStatement preparedStatement = conn.prepareStatement(sql)) {
+            for (int each : indexes) {
+                JobStatusTraceEvent jobStatusTraceEvent = jobStatusTraceEvents.get(each);
+                preparedStatement.setString(1, UUID.randomUUID().toString());
+                preparedStatement.setString(2, jobStatusTraceEvent.getJobName());
+                preparedStatement.setString(3, originalTaskIds.get(each));
+                preparedStatement.setString(4, jobStatusTraceEvent.getTaskId());
+                preparedStatement.setString(5, jobStatusTraceEvent.getSlaveId());
+                preparedStatement.setString(6, jobStatusTraceEvent.getSource().toString());
+                preparedStatement.setString(7, jobStatusTraceEvent.getExecutionType().name());
+                preparedStatement.setString(8, jobStatusTraceEvent.getShardingItems());
+                preparedStatement.setString(9, jobStatusTraceEvent.getState().toString());
+                preparedStatement.setString(10, truncateString(jobStatusTraceEvent.getMessage()));
+                preparedStatement.setTimestamp(11, new Timestamp(jobStatusTraceEvent.getCreationTime().getTime()));
+                preparedStatement.addBatch();
+            }
+            preparedStatement.executeBatch();
+        } catch (final SQLException ex) {
+            return addJobStatusTraceEventsOneByOne(jobStatusTraceEvents, originalTaskIds, indexes);
+        }
+        for (int each : indexes) {
+            cacheOriginalTaskId(jobStatusTraceEvents.get(each), originalTaskIds.get(each));
+        }
+        return true;
+    }
+    
+    private boolean addJobStatusTraceEventsOneByOne(final List<JobStatusTraceEvent> jobStatusTraceEvents, final List<String> originalTaskIds, final List<Integer> indexes) {
+        boolean result = true;
+        for (int each : indexes) {
+            result = addJobStatusTraceEvent(jobStatusTraceEvents.get(each), originalTaskIds.get(each)) && result;
+        }
+        return result;
+    }
+    
+    private void cacheOriginalTaskId(final JobStatusTraceEvent jobStatusTraceEvent, final String originalTaskId) {
+        if (isTerminalState(jobStatusTraceEvent.getState())) {
+            originalTaskIdCache.remove(jobStatusTraceEvent.getTaskId());
+        } else if (State.TASK_STAGING == jobStatusTraceEvent.getState() || !Strings.isNullOrEmpty(originalTaskId)) {
+            originalTaskIdCache.put(jobStatusTraceEvent.getTaskId(), Strings.nullToEmpty(originalTaskId));
+        }
+    }
+    
+    private boolean isTerminalState(final State state) {
+        return State.TASK_FINISHED == state || State.TASK_KILLED == state || State.TASK_LOST == state || State.TASK_FAILED == state || State.TASK_ERROR == state;
+    }
+    
+    private String getOriginalTaskId(final JobStatusTraceEvent jobStatusTraceEvent, final Map<String, String> stagingOriginalTaskIds) {
+        if (State.TASK_STAGING == jobStatusTraceEvent.getState()) {
+            return jobStatusTraceEvent.getOriginalTaskId();
+        }
+        String result = stagingOriginalTaskIds.get(jobStatusTraceEvent.getTaskId());
+        return null == result ? getOriginalTaskId(jobStatusTraceEvent.getTaskId()) : result;
+    }
+    
     private String getOriginalTaskId(final String taskId) {
-        String sql = String.format("SELECT original_task_id FROM %s WHERE task_id = '%s' and state='%s'", TABLE_JOB_STATUS_TRACE_LOG, taskId, State.TASK_STAGING);
+        String result = originalTaskIdCache.get(taskId);
+        return null == result ? loadOriginalTaskId(taskId) : result;
+    }
+    
+    private String loadOriginalTaskId(final String taskId) {
         String result = "";
-        try (
-                Connection conn = dataSource.getConnection();
-                PreparedStatement preparedStatement = conn.prepareStatement(sql);
-                ResultSet resultSet = preparedStatement.executeQuery()
-        ) {
-            if (resultSet.next()) {
-                return resultSet.getString("original_task_id");
+        try (Connection conn = dataSource.getConnection()) {
+            List<String> tableNames = partitionRouter.getPartitionTableNames(conn, TABLE_JOB_STATUS_TRACE_LOG);
+            for (int i = tableNames.size() - 1; i >= 0; i--) {
+                String sql = "SELECT original_task_id FROM " + tableNames.get(i) + " WHERE task_id = ? and state = ?";
+                try (PreparedStatement preparedStatement = conn.prepareStatement(sql)) {
+                    preparedStatement.setString(1, taskId);
+                    preparedStatement.setString(2, State.TASK_STAGING.name());
+                    try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                        if (resultSet.next()) {
+                            return resultSet.getString("original_task_id");
+                        }
+                    }
+                }
             }
         } catch (final SQLException ex) {
             // TODO 记录失败直接输出日志,未来可考虑配置化
@@ -346,18 +747,21 @@ final class JobEventRdbStorage {
     }
     
     List<JobStatusTraceEvent> getJobStatusTraceEvents(final String taskId) {
-        String sql = String.format("SELECT * FROM %s WHERE task_id = '%s'", TABLE_JOB_STATUS_TRACE_LOG, taskId);
         List<JobStatusTraceEvent> result = new ArrayList<>();
-        try (
-                Connection conn = dataSource.getConnection();
-                PreparedStatement preparedStatement = conn.prepareStatement(sql);
-                ResultSet resultSet = preparedStatement.executeQuery()
-                ) {
-            while (resultSet.next()) {
-                JobStatusTraceEvent jobStatusTraceEvent = new JobStatusTraceEvent(resultSet.getString(1), resultSet.getString(2), resultSet.getString(3), resultSet.getString(4),
-                        resultSet.getString(5), Source.valueOf(resultSet.getString(6)), ExecutionType.valueOf(resultSet.getString(7)), resultSet.getString(8),
-                        State.valueOf(resultSet.getString(9)), resultSet.getString(10), new SimpleDateFormat("yyyy-mm-dd HH:MM:SS").parse(resultSet.getString(11)));
-                result.add(jobStatusTraceEvent);
+        try (Connection conn = dataSource.getConnection()) {
+            for (String each : partitionRouter.getPartitionTableNames(conn, TABLE_JOB_STATUS_TRACE_LOG)) {
+                String sql = String.format("SELECT * FROM %s WHERE task_id = '%s'", each, taskId);
+                try (
+                        PreparedStatement preparedStatement = conn.prepareStatement(sql);
+                        ResultSet resultSet = preparedStatement.executeQuery()
+                        ) {
+                    while (resultSet.next()) {
+                        JobStatusTraceEvent jobStatusTraceEvent = new JobStatusTraceEvent(resultSet.getString(1), resultSet.getString(2), resultSet.getString(3), resultSet.getString(4),
+                                resultSet.getString(5), Source.valueOf(resultSet.getString(6)), ExecutionType.valueOf(resultSet.getString(7)), resultSet.getString(8),
+                                State.valueOf(resultSet.getString(9)), resultSet.getString(10), new SimpleDateFormat("yyyy-mm-dd HH:MM:SS").parse(resultSet.getString(11)));
+                        result.add(jobStatusTraceEvent);
+                    }
+                }
             }
         } catch (final SQLException | ParseException ex) {
             // TODO 记录失败直接输出日志,未来可考虑配置化
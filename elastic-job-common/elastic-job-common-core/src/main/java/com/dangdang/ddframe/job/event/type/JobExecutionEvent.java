@@ -22,27 +22,24 @@ import com.dangdang.ddframe.job.exception.ExceptionUtil;
 import com.dangdang.ddframe.job.util.env.IpUtils;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 
 import java.util.Date;
-import java.util.UUID;
 
 /**
  * 作业执行事件.
  *
  * @author zhangliang
  */
-@RequiredArgsConstructor
 @AllArgsConstructor
 @Getter
 public final class JobExecutionEvent implements JobEvent {
     
-    private String id = UUID.randomUUID().toString();
+    private String id;
     
-    private String hostname = IpUtils.getHostName();
+    private String hostname;
     
-    private String ip = IpUtils.getIp();
+    private String ip;
     
     private final String taskId;
     
@@ -52,7 +49,7 @@ public final class JobExecutionEvent implements JobEvent {
     
     private final int shardingItem;
     
-    private Date startTime = new Date();
+    private Date startTime;
     
     @Setter
     private Date completeTime;
@@ -63,6 +60,10 @@ public final class JobExecutionEvent implements JobEvent {
     @Setter
     private JobExecutionEventThrowable failureCause;
     
+    public JobExecutionEvent(final String taskId, final String jobName, final ExecutionSource source, final int shardingItem) {
+        this(JobEventIdGenerator.generate(), IpUtils.getHostName(), IpUtils.getIp(), taskId, jobName, source, shardingItem, new Date(), null, false, null);
+    }
+    
     /**
      * 作业执行成功.
      * 
@@ -94,6 +95,9 @@ public final class JobExecutionEvent implements JobEvent {
      * @return 失败原因
      */
     public String getFailureCause() {
+        if (null != failureCause && null == failureCause.getThrowable() && null != failureCause.getPlainText()) {
+            return failureCause.getPlainText();
+        }
         return ExceptionUtil.transform(failureCause == null ? null : failureCause.getThrowable());
     }
     
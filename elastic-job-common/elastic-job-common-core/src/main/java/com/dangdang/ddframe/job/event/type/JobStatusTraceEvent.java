@@ -4,28 +4,25 @@ import com.dangdang.ddframe.job.context.ExecutionType;
 import com.dangdang.ddframe.job.event.JobEvent;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 
 import java.util.Date;
-import java.util.UUID;
 
 /**
  * 作业状态痕迹事件.
  *
  * @author caohao
  */
-@RequiredArgsConstructor
 @AllArgsConstructor
 @Getter
 public final class JobStatusTraceEvent implements JobEvent {
     
-    private String id = UUID.randomUUID().toString();
+    private String id;
     
     private final String jobName;
     
     @Setter
-    private String originalTaskId = "";
+    private String originalTaskId;
     
     private final String taskId;
     
@@ -41,7 +38,12 @@ public final class JobStatusTraceEvent implements JobEvent {
     
     private final String message;
     
-    private Date creationTime = new Date();
+    private Date creationTime;
+    
+    public JobStatusTraceEvent(final String jobName, final String taskId, final String slaveId, final Source source, final ExecutionType executionType, 
+                               final String shardingItems, final State state, final String message) {
+        this(JobEventIdGenerator.generate(), jobName, "", taskId, slaveId, source, executionType, shardingItems, state, message, new Date());
+    }
     
     public enum State {
         TASK_STAGING, TASK_RUNNING, TASK_FINISHED, TASK_KILLED, TASK_LOST, TASK_FAILED, TASK_ERROR
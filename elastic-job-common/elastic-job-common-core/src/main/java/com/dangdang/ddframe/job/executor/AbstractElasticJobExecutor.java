@@ -37,6 +37,7 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * 弹性化分布式作业执行器.
@@ -52,8 +53,10 @@ public abstract class AbstractElasticJobExecutor {
     @Getter(AccessLevel.PROTECTED)
     private final JobRootConfiguration jobRootConfig;
     
+    @Getter(AccessLevel.PROTECTED)
     private final String jobName;
     
+    @Getter(AccessLevel.PROTECTED)
     private final ExecutorService executorService;
     
     private final JobExceptionHandler jobExceptionHandler;
@@ -95,6 +98,7 @@ public abstract class AbstractElasticJobExecutor {
      * 执行作业.
      */
     public final void execute() {
+        itemErrorMessages.clear();
         try {
             jobFacade.checkJobExecutionEnvironment();
         } catch (final JobExecutionEnvironmentException cause) {
@@ -177,17 +181,24 @@ public abstract class AbstractElasticJobExecutor {
             if (executorService.isShutdown()) {
                 return;
             }
-            executorService.submit(new Runnable() {
-                
-                @Override
-                public void run() {
-                    try {
-                        process(shardingContexts, each, jobExecutionEvent);
-                    } finally {
-                        latch.countDown();
+            try {
+                executorService.submit(new Runnable() {
+                    
+                    @Override
+                    public void run() {
+                        try {
+                            process(shardingContexts, each, jobExecutionEvent);
+                        } finally {
+                            latch.countDown();
+                        }
                     }
-                }
-            });
+                });
+            } catch (final RejectedExecutionException cause) {
+                latch.countDown();
+                jobFacade.postJobExecutionEvent(jobExecutionEvent.executionFailure(cause));
+                itemErrorMessages.put(each, ExceptionUtil.transform(cause));
+                jobExceptionHandler.handleException(jobName, cause);
+            }
         }
         try {
             latch.await();
@@ -17,6 +17,8 @@
 
 package com.dangdang.ddframe.job.executor.handler;
 
+import com.dangdang.ddframe.job.util.concurrent.ExecutorServiceStatistics;
+import com.dangdang.ddframe.job.util.concurrent.MeteredThreadPoolExecutor;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 
@@ -49,11 +51,27 @@ public final class ExecutorServiceHandlerRegistry {
     }
     
     /**
-     * 从注册表中删除该作业线程池服务.
+     * 获取作业线程池统计.
+     *
+     * @param jobName 作业名称
+     * @return 作业线程池统计, 线程池不存在或不支持统计时返回null
+     */
+    public static synchronized ExecutorServiceStatistics getStatistics(final String jobName) {
+        ExecutorService executorService = REGISTRY.get(jobName);
+        return executorService instanceof MeteredThreadPoolExecutor ? ((MeteredThreadPoolExecutor) executorService).getStatistics() : null;
+    }
+    
+    /**
+     * 从注册表中删除该作业线程池服务并关闭线程池.
+     * 
+     * <p>正在执行和已提交的任务将继续执行完成.</p>
      *
      * @param jobName 作业名称
      */
     public static synchronized void remove(final String jobName) {
-        REGISTRY.remove(jobName);
+        ExecutorService executorService = REGISTRY.remove(jobName);
+        if (null != executorService) {
+            executorService.shutdown();
+        }
     }
 }
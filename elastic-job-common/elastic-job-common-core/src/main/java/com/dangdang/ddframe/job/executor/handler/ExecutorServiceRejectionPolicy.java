@@ -0,0 +1,50 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.executor.handler;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 作业处理线程池的拒绝策略.
+ * 
+ * <p>线程和待执行任务队列均已满时生效.</p>
+ *
+ * @author zhangliang
+ */
+public enum ExecutorServiceRejectionPolicy {
+    
+    /**
+     * 由提交任务的作业调度线程执行分片.
+     */
+    CALLER_RUNS,
+    
+    /**
+     * 拒绝执行分片, 该分片按执行失败处理.
+     */
+    ABORT;
+    
+    /**
+     * 创建拒绝策略处理器.
+     * 
+     * @return 拒绝策略处理器
+     */
+    public RejectedExecutionHandler createRejectedExecutionHandler() {
+        return ABORT == this ? new ThreadPoolExecutor.AbortPolicy() : new ThreadPoolExecutor.CallerRunsPolicy();
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.executor.handler.impl;
+
+import com.dangdang.ddframe.job.executor.handler.ExecutorServiceHandler;
+import com.dangdang.ddframe.job.executor.handler.ExecutorServiceRejectionPolicy;
+import com.dangdang.ddframe.job.util.concurrent.MeteredThreadPoolExecutor;
+import com.google.common.base.Preconditions;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 有界线程池服务处理器.
+ * 
+ * <p>
+ * 每个作业使用独立的线程池, 线程数和待执行任务队列均有上限, 空闲线程超过存活时间后回收.
+ * 可继承该类并在无参构造函数中指定线程池参数, 然后将子类名称配置为作业属性executor_service_handler.
+ * </p>
+ *
+ * @author zhangliang
+ */
+public class BoundedExecutorServiceHandler implements ExecutorServiceHandler {
+    
+    private static final int DEFAULT_QUEUE_CAPACITY = 1000;
+    
+    private static final long DEFAULT_KEEP_ALIVE_MILLISECONDS = TimeUnit.MINUTES.toMillis(5L);
+    
+    private final int maxThreads;
+    
+    private final int queueCapacity;
+    
+    private final long keepAliveMilliseconds;
+    
+    private final ExecutorServiceRejectionPolicy rejectionPolicy;
+    
+    public BoundedExecutorServiceHandler() {
+        this(Runtime.getRuntime().availableProcessors() * 2, DEFAULT_QUEUE_CAPACITY, DEFAULT_KEEP_ALIVE_MILLISECONDS, ExecutorServiceRejectionPolicy.CALLER_RUNS);
+    }
+    
+    /**
+     * 创建有界线程池服务处理器.
+     * 
+     * @param maxThreads 最大线程数
+     * @param queueCapacity 待执行任务队列容量
+     * @param keepAliveMilliseconds 空闲线程的存活毫秒数
+     * @param rejectionPolicy 线程和队列均已满时的拒绝策略
+     */
+    public BoundedExecutorServiceHandler(final int maxThreads, final int queueCapacity, final long keepAliveMilliseconds, final ExecutorServiceRejectionPolicy rejectionPolicy) {
+        Preconditions.checkArgument(maxThreads > 0, "maxThreads should larger than zero.");
+        Preconditions.checkArgument(queueCapacity > 0, "queueCapacity should larger than zero.");
+        Preconditions.checkArgument(keepAliveMilliseconds > 0L, "keepAliveMilliseconds should larger than zero.");
+        Preconditions.checkNotNull(rejectionPolicy, "rejectionPolicy cannot be null.");
+        this.maxThreads = maxThreads;
+        this.queueCapacity = queueCapacity;
+        this.keepAliveMilliseconds = keepAliveMilliseconds;
+        this.rejectionPolicy = rejectionPolicy;
+    }
+    
+    @Override
+    public final ExecutorService createExecutorService(final String jobName) {
+        return new MeteredThreadPoolExecutor("inner-job-" + jobName, maxThreads, queueCapacity, keepAliveMilliseconds, rejectionPolicy.createRejectedExecutionHandler());
+    }
+}
@@ -17,20 +17,12 @@
 
 package com.dangdang.ddframe.job.executor.handler.impl;
 
-import com.dangdang.ddframe.job.executor.handler.ExecutorServiceHandler;
-import com.dangdang.ddframe.job.util.concurrent.ExecutorServiceObject;
-
-import java.util.concurrent.ExecutorService;
-
 /**
  * 默认线程池服务处理器.
  * 
+ * <p>最大线程数为CPU核数的2倍, 待执行任务队列容量为1000, 队列已满时由作业调度线程执行分片.</p>
+ * 
  * @author zhangliang
  */
-public final class DefaultExecutorServiceHandler implements ExecutorServiceHandler {
-    
-    @Override
-    public ExecutorService createExecutorService(final String jobName) {
-        return new ExecutorServiceObject("inner-job-" + jobName, Runtime.getRuntime().availableProcessors() * 2).createExecutorService();
-    }
+public final class DefaultExecutorServiceHandler extends BoundedExecutorServiceHandler {
 }
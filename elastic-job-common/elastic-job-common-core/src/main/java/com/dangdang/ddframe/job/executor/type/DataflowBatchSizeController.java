@@ -0,0 +1,93 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.executor.type;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 数据流作业分片项的自适应批量大小控制器.
+ * 
+ * <p>
+ * 以指数加权平均估算单条数据的处理耗时, 推荐在目标耗时内可处理完成的批量大小, 每次最多增长一倍.
+ * 处理失败时批量大小减半, 推荐值同时按近期失败率等比收缩.
+ * </p>
+ * 
+ * @author zhangliang
+ */
+final class DataflowBatchSizeController {
+    
+    static final int INITIAL_BATCH_SIZE = 16;
+    
+    private static final double SMOOTHING_FACTOR = 0.2;
+    
+    private final long targetProcessLatencyNanos;
+    
+    private final int maxBatchSize;
+    
+    private int batchSize;
+    
+    private double perRecordNanos;
+    
+    private double errorRate;
+    
+    DataflowBatchSizeController(final int targetProcessLatencyMillis, final int maxBatchSize) {
+        targetProcessLatencyNanos = TimeUnit.MILLISECONDS.toNanos(targetProcessLatencyMillis);
+        this.maxBatchSize = maxBatchSize > 0 ? maxBatchSize : Integer.MAX_VALUE;
+        batchSize = Math.min(INITIAL_BATCH_SIZE, this.maxBatchSize);
+    }
+    
+    /**
+     * 获取推荐的批量大小.
+     * 
+     * @return 推荐的批量大小
+     */
+    synchronized int getBatchSize() {
+        return batchSize;
+    }
+    
+    /**
+     * 获取近期处理数据的失败率.
+     * 
+     * @return 近期处理数据的失败率
+     */
+    synchronized double getErrorRate() {
+        return errorRate;
+    }
+    
+    /**
+     * 记录一次数据处理结果并调整批量大小.
+     * 
+     * @param dataSize 处理的数据数量
+     * @param elapsedNanos 处理耗时纳秒数
+     * @param failed 是否处理失败
+     */
+    synchronized void onProcessed(final int dataSize, final long elapsedNanos, final boolean failed) {
+        errorRate += SMOOTHING_FACTOR * ((failed ? 1 : 0) - errorRate);
+        if (failed) {
+            batchSize = Math.max(1, batchSize / 2);
+            return;
+        }
+        if (0 == dataSize) {
+            return;
+        }
+        double currentPerRecordNanos = (double) Math.max(elapsedNanos, 1L) / dataSize;
+        perRecordNanos = 0 == perRecordNanos ? currentPerRecordNanos : perRecordNanos + SMOOTHING_FACTOR * (currentPerRecordNanos - perRecordNanos);
+        long recommendedBatchSize = (long) (targetProcessLatencyNanos / perRecordNanos * (1 - errorRate));
+        batchSize = (int) Math.max(1L, Math.min(Math.min(maxBatchSize, 2L * batchSize), recommendedBatchSize));
+    }
+}
@@ -18,12 +18,34 @@
 package com.dangdang.ddframe.job.executor.type;
 
 import com.dangdang.ddframe.job.api.ShardingContext;
+import com.dangdang.ddframe.job.api.dataflow.AdaptiveDataflowJob;
 import com.dangdang.ddframe.job.api.dataflow.DataflowJob;
+import com.dangdang.ddframe.job.api.dataflow.KeyedDataflowJob;
 import com.dangdang.ddframe.job.config.dataflow.DataflowJobConfiguration;
+import com.dangdang.ddframe.job.exception.JobSystemException;
 import com.dangdang.ddframe.job.executor.AbstractElasticJobExecutor;
 import com.dangdang.ddframe.job.executor.JobFacade;
+import com.google.common.base.Joiner;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.Uninterruptibles;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 数据流作业执行器.
@@ -32,17 +54,39 @@ import java.util.List;
  */
 public final class DataflowJobExecutor extends AbstractElasticJobExecutor {
     
+    private static final long PREFETCH_OFFER_TIMEOUT_MILLISECONDS = 100L;
+    
     private final DataflowJob<Object> dataflowJob;
     
+    private final ExecutorService prefetchExecutorService;
+    
+    private final boolean adaptive;
+    
+    private final ConcurrentMap<Integer, DataflowBatchSizeController> batchSizeControllers = new ConcurrentHashMap<>();
+    
     public DataflowJobExecutor(final DataflowJob<Object> dataflowJob, final JobFacade jobFacade) {
         super(jobFacade);
         this.dataflowJob = dataflowJob;
+        DataflowJobConfiguration dataflowConfig = (DataflowJobConfiguration) getJobRootConfig().getTypeConfig();
+        prefetchExecutorService = isPipelined(dataflowConfig) ? createPrefetchExecutorService() : null;
+        adaptive = dataflowJob instanceof AdaptiveDataflowJob && dataflowConfig.getTargetProcessLatencyMillis() > 0;
+    }
+    
+    private boolean isPipelined(final DataflowJobConfiguration dataflowConfig) {
+        return dataflowConfig.isStreamingProcess() && dataflowConfig.getPrefetchDepth() > 0;
+    }
+    
+    private ExecutorService createPrefetchExecutorService() {
+        String namingPattern = Joiner.on("-").join(getJobName(), "prefetch", "%s");
+        return Executors.newCachedThreadPool(new BasicThreadFactory.Builder().namingPattern(namingPattern).daemon(true).build());
     }
     
     @Override
     protected void process(final ShardingContext shardingContext) {
         DataflowJobConfiguration dataflowConfig = (DataflowJobConfiguration) getJobRootConfig().getTypeConfig();
-        if (dataflowConfig.isStreamingProcess()) {
+        if (isPipelined(dataflowConfig)) {
+            pipelinedStreamingExecute(shardingContext, dataflowConfig.getPrefetchDepth());
+        } else if (dataflowConfig.isStreamingProcess()) {
             streamingExecute(shardingContext);
         } else {
             oneOffExecute(shardingContext);
@@ -60,6 +104,43 @@ public final class DataflowJobExecutor extends AbstractElasticJobExecutor {
         }
     }
     
+    private void pipelinedStreamingExecute(final ShardingContext shardingContext, final int prefetchDepth) {
+        PrefetchTask prefetchTask = new PrefetchTask(shardingContext, prefetchDepth);
+        Future<?> prefetchFuture = prefetchExecutorService.submit(prefetchTask);
+        boolean ineligible = false;
+        boolean prefetchTerminated;
+        try {
+            List<Object> data = prefetchTask.take();
+            while (!data.isEmpty()) {
+                processData(shardingContext, data);
+                if (!getJobFacade().isEligibleForJobRunning()) {
+                    ineligible = true;
+                    break;
+                }
+                data = prefetchTask.take();
+            }
+        } finally {
+            prefetchTask.stop();
+            prefetchTerminated = awaitPrefetchTerminated(prefetchFuture);
+        }
+        if (ineligible && prefetchTerminated) {
+            for (List<Object> each : prefetchTask.drainRemaining()) {
+                processData(shardingContext, each);
+            }
+        }
+    }
+    
+    private boolean awaitPrefetchTerminated(final Future<?> prefetchFuture) {
+        try {
+            prefetchFuture.get();
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (final ExecutionException ignored) {
+        }
+        return true;
+    }
+    
     private void oneOffExecute(final ShardingContext shardingContext) {
         List<Object> data = fetchData(shardingContext);
         if (null != data && !data.isEmpty()) {
@@ -68,10 +149,215 @@ public final class DataflowJobExecutor extends AbstractElasticJobExecutor {
     }
     
     private List<Object> fetchData(final ShardingContext shardingContext) {
+        if (adaptive) {
+            return ((AdaptiveDataflowJob<Object>) dataflowJob).fetchData(shardingContext, getBatchSizeController(shardingContext.getShardingItem()).getBatchSize());
+        }
         return dataflowJob.fetchData(shardingContext);
     }
     
     private void processData(final ShardingContext shardingContext, final List<Object> data) {
-        dataflowJob.processData(shardingContext, data);
+        if (!adaptive) {
+            dispatchProcessData(shardingContext, data);
+            return;
+        }
+        long startNanos = System.nanoTime();
+        boolean failed = true;
+        try {
+            dispatchProcessData(shardingContext, data);
+            failed = false;
+        } finally {
+            getBatchSizeController(shardingContext.getShardingItem()).onProcessed(data.size(), System.nanoTime() - startNanos, failed);
+        }
+    }
+    
+    private DataflowBatchSizeController getBatchSizeController(final int item) {
+        DataflowBatchSizeController result = batchSizeControllers.get(item);
+        if (null == result) {
+            DataflowJobConfiguration dataflowConfig = (DataflowJobConfiguration) getJobRootConfig().getTypeConfig();
+            batchSizeControllers.putIfAbsent(item, new DataflowBatchSizeController(dataflowConfig.getTargetProcessLatencyMillis(), dataflowConfig.getMaxBatchSize()));
+            result = batchSizeControllers.get(item);
+        }
+        return result;
+    }
+    
+    private void dispatchProcessData(final ShardingContext shardingContext, final List<Object> data) {
+        int processParallelism = ((DataflowJobConfiguration) getJobRootConfig().getTypeConfig()).getProcessParallelism();
+        if (processParallelism > 1 && data.size() > 1) {
+            parallelProcessData(shardingContext, splitSubBatches(data, processParallelism));
+        } else {
+            dataflowJob.processData(shardingContext, data);
+        }
+    }
+    
+    private List<List<Object>> splitSubBatches(final List<Object> data, final int processParallelism) {
+        List<List<Object>> result = new ArrayList<>(processParallelism);
+        if (dataflowJob instanceof KeyedDataflowJob) {
+            KeyedDataflowJob<Object> keyedDataflowJob = (KeyedDataflowJob<Object>) dataflowJob;
+            for (int i = 0; i < processParallelism; i++) {
+                result.add(new ArrayList<Object>());
+            }
+            for (Object each : data) {
+                Object orderingKey = keyedDataflowJob.getOrderingKey(each);
+                result.get(null == orderingKey ? 0 : (orderingKey.hashCode() & Integer.MAX_VALUE) % processParallelism).add(each);
+            }
+            Iterator<List<Object>> iterator = result.iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().isEmpty()) {
+                    iterator.remove();
+                }
+            }
+            return result;
+        }
+        for (List<Object> each : Lists.partition(data, (data.size() + processParallelism - 1) / processParallelism)) {
+            result.add(new ArrayList<>(each));
+        }
+        return result;
+    }
+    
+    private void parallelProcessData(final ShardingContext shardingContext, final List<List<Object>> subBatches) {
+        if (1 == subBatches.size()) {
+            dataflowJob.processData(shardingContext, subBatches.get(0));
+            return;
+        }
+        List<FutureTask<Void>> subBatchTasks = new ArrayList<>(subBatches.size() - 1);
+        for (final List<Object> each : subBatches.subList(1, subBatches.size())) {
+            FutureTask<Void> subBatchTask = new FutureTask<>(new Runnable() {
+                
+                @Override
+                public void run() {
+                    dataflowJob.processData(shardingContext, each);
+                }
+            }, null);
+            subBatchTasks.add(subBatchTask);
+            submitSubBatchTask(subBatchTask);
+        }
+        List<Throwable> failures = new LinkedList<>();
+        try {
+            dataflowJob.processData(shardingContext, subBatches.get(0));
+            //CHECKSTYLE:OFF
+        } catch (final Throwable cause) {
+            //CHECKSTYLE:ON
+            failures.add(cause);
+        }
+        for (FutureTask<Void> each : subBatchTasks) {
+            // 尚未被线程池执行的子批次由当前线程执行, 避免线程池被分片任务占满时互相等待
+            each.run();
+            try {
+                Uninterruptibles.getUninterruptibly(each);
+            } catch (final ExecutionException ex) {
+                failures.add(ex.getCause());
+            }
+        }
+        if (!failures.isEmpty()) {
+            JobSystemException ex = new JobSystemException("Job '%s' process data failure in %s of %s sub-batches.", getJobName(), failures.size(), subBatches.size());
+            for (Throwable each : failures) {
+                ex.addSuppressed(each);
+            }
+            throw ex;
+        }
+    }
+    
+    private void submitSubBatchTask(final FutureTask<Void> subBatchTask) {
+        try {
+            getExecutorService().execute(subBatchTask);
+        } catch (final RejectedExecutionException ignored) {
+        }
+    }
+    
+    /**
+     * 流式处理的数据预取任务.
+     * 
+     * <p>
+     * 在独立线程中持续抓取数据并放入容量为预取深度的队列, 以空数据作为结束标记.
+     * 抓取到空数据, 作业不再满足运行条件(如需要重新分片)或被停止时结束抓取.
+     * 因作业不再满足运行条件而结束时, 已预取但未处理的数据(包括停止时正在抓取的数据)由执行线程处理完成后再返回.
+     * </p>
+     */
+    private final class PrefetchTask implements Runnable {
+        
+        private final ShardingContext shardingContext;
+        
+        private final BlockingQueue<List<Object>> queue;
+        
+        private volatile boolean stopped;
+        
+        private volatile Throwable fetchFailure;
+        
+        private volatile List<Object> unqueuedData;
+        
+        PrefetchTask(final ShardingContext shardingContext, final int prefetchDepth) {
+            this.shardingContext = shardingContext;
+            queue = new ArrayBlockingQueue<>(prefetchDepth);
+        }
+        
+        @Override
+        public void run() {
+            try {
+                List<Object> data = fetchData(shardingContext);
+                while (null != data && !data.isEmpty() && offer(data) && getJobFacade().isEligibleForJobRunning()) {
+                    data = fetchData(shardingContext);
+                }
+                //CHECKSTYLE:OFF
+            } catch (final Throwable cause) {
+                //CHECKSTYLE:ON
+                fetchFailure = cause;
+            }
+            offer(Collections.<Object>emptyList());
+        }
+        
+        private boolean offer(final List<Object> data) {
+            try {
+                while (!stopped) {
+                    if (queue.offer(data, PREFETCH_OFFER_TIMEOUT_MILLISECONDS, TimeUnit.MILLISECONDS)) {
+                        return true;
+                    }
+                }
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            if (!data.isEmpty()) {
+                unqueuedData = data;
+            }
+            return false;
+        }
+        
+        List<Object> take() {
+            List<Object> result;
+            try {
+                result = queue.take();
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return Collections.emptyList();
+            }
+            if (result.isEmpty() && null != fetchFailure) {
+                if (fetchFailure instanceof RuntimeException) {
+                    throw (RuntimeException) fetchFailure;
+                }
+                if (fetchFailure instanceof Error) {
+                    throw (Error) fetchFailure;
+                }
+                throw new JobSystemException(fetchFailure);
+            }
+            return result;
+        }
+        
+        void stop() {
+            stopped = true;
+        }
+        
+        List<List<Object>> drainRemaining() {
+            List<List<Object>> result = new ArrayList<>(queue.size() + 1);
+            queue.drainTo(result);
+            if (null != unqueuedData) {
+                result.add(unqueuedData);
+            }
+            Iterator<List<Object>> iterator = result.iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().isEmpty()) {
+                    iterator.remove();
+                }
+            }
+            return result;
+        }
     }
 }
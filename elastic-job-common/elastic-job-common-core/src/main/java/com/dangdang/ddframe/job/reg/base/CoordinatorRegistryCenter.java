@@ -17,7 +17,10 @@
 
 package com.dangdang.ddframe.job.reg.base;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
 
 /**
  * CoordinatorRegistryCenter extends RegistryCenter <br>
@@ -35,6 +38,14 @@ public interface CoordinatorRegistryCenter extends RegistryCenter {
      */
     String getDirectly(String key);
     
+    /**
+     * 直接从注册中心而非本地缓存获取数据是否存在.
+     * 
+     * @param key 键
+     * @return 数据是否存在
+     */
+    boolean isExistedDirectly(String key);
+    
     /**
      * 获取子节点名称集合.
      * 
@@ -43,6 +54,14 @@ public interface CoordinatorRegistryCenter extends RegistryCenter {
      */
     List<String> getChildrenKeys(String key);
     
+    /**
+     * 直接从注册中心而非本地缓存获取子节点名称集合.
+     * 
+     * @param key 键
+     * @return 子节点名称集合
+     */
+    List<String> getChildrenKeysDirectly(String key);
+    
     /**
      * 获取子节点数量.
      *
@@ -51,6 +70,14 @@ public interface CoordinatorRegistryCenter extends RegistryCenter {
      */
     int getNumChildren(String key);
     
+    /**
+     * 直接从注册中心而非本地缓存获取子节点数量.
+     *
+     * @param key 键
+     * @return 子节点数量
+     */
+    int getNumChildrenDirectly(String key);
+    
     /**
      * 持久化临时注册数据.
      * 
@@ -59,6 +86,26 @@ public interface CoordinatorRegistryCenter extends RegistryCenter {
      */
     void persistEphemeral(String key, String value);
     
+    /**
+     * 在后台批量持久化临时注册数据.
+     * 
+     * <p>已存在的键先删除再重新创建, 全部操作以流水线方式提交, 不等待注册中心响应.</p>
+     * 
+     * @param keyValues 键与值的映射
+     * @return 全部操作完成时结束的异步结果
+     */
+    Future<Void> persistEphemeralInBackground(Map<String, String> keyValues);
+    
+    /**
+     * 在后台批量删除注册数据.
+     * 
+     * <p>全部操作以流水线方式提交, 不等待注册中心响应.</p>
+     * 
+     * @param keys 键集合
+     * @return 全部操作完成时结束的异步结果
+     */
+    Future<Void> removeInBackground(Collection<String> keys);
+    
     /**
      * 持久化顺序注册数据.
      *
@@ -0,0 +1,85 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.reg.zookeeper;
+
+import com.dangdang.ddframe.job.reg.exception.RegException;
+import com.google.common.util.concurrent.SettableFuture;
+import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.api.BackgroundCallback;
+import org.apache.curator.framework.api.CuratorEvent;
+import org.apache.zookeeper.KeeperException;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 批量后台操作的回调.
+ * 
+ * <p>
+ * 全部操作响应后结束异步结果.
+ * 节点不存在和节点已存在不视为失败; 连接失效时操作可能未生效, 视为失败以便调用方改用同步操作.
+ * </p>
+ * 
+ * @author zhangliang
+ */
+final class BatchBackgroundCallback implements BackgroundCallback {
+    
+    private final AtomicInteger remainingCount;
+    
+    private final SettableFuture<Void> future = SettableFuture.create();
+    
+    BatchBackgroundCallback(final int operationCount) {
+        remainingCount = new AtomicInteger(operationCount);
+        if (0 == operationCount) {
+            future.set(null);
+        }
+    }
+    
+    @Override
+    public void processResult(final CuratorFramework client, final CuratorEvent event) {
+        KeeperException.Code code = KeeperException.Code.get(event.getResultCode());
+        if (!isIgnoredCode(code)) {
+            future.setException(new RegException(KeeperException.create(code, event.getPath())));
+        }
+        if (0 == remainingCount.decrementAndGet()) {
+            future.set(null);
+        }
+    }
+    
+    private boolean isIgnoredCode(final KeeperException.Code code) {
+        return KeeperException.Code.OK == code || KeeperException.Code.NONODE == code || KeeperException.Code.NODEEXISTS == code;
+    }
+    
+    /**
+     * 操作提交失败时结束异步结果.
+     * 
+     * @param cause 失败原因
+     */
+    void fail(final Exception cause) {
+        future.setException(new RegException(cause));
+    }
+    
+    /**
+     * 获取异步结果.
+     * 
+     * @return 异步结果
+     */
+    Future<Void> getFuture() {
+        return future;
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.reg.zookeeper;
+
+import org.apache.curator.framework.recipes.cache.TreeCache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 按路径首段索引的本地缓存.
+ *
+ * <p>
+ * 根据键的首段路径直接定位候选缓存, 缓存解析的代价与注册的缓存数量无关.
+ * 缓存的注册与移除可以与读取并发进行.
+ * </p>
+ *
+ * @author zhangliang
+ */
+final class TreeCachePathIndex {
+    
+    private static final String PATH_SEPARATOR = "/";
+    
+    private final ConcurrentMap<String, ConcurrentMap<String, TreeCache>> caches = new ConcurrentHashMap<>();
+    
+    /**
+     * 注册缓存.
+     *
+     * @param cachePath 缓存的路径
+     * @param cache 缓存
+     */
+    void put(final String cachePath, final TreeCache cache) {
+        String firstSegment = getFirstSegment(cachePath);
+        ConcurrentMap<String, TreeCache> segmentCaches = caches.get(firstSegment);
+        if (null == segmentCaches) {
+            ConcurrentMap<String, TreeCache> newSegmentCaches = new ConcurrentHashMap<>(1, 1);
+            segmentCaches = caches.putIfAbsent(firstSegment, newSegmentCaches);
+            if (null == segmentCaches) {
+                segmentCaches = newSegmentCaches;
+            }
+        }
+        segmentCaches.put(cachePath + PATH_SEPARATOR, cache);
+    }
+    
+    /**
+     * 移除缓存.
+     *
+     * @param cachePath 缓存的路径
+     * @return 被移除的缓存, 未注册时返回null
+     */
+    TreeCache remove(final String cachePath) {
+        ConcurrentMap<String, TreeCache> segmentCaches = caches.get(getFirstSegment(cachePath));
+        return null == segmentCaches ? null : segmentCaches.remove(cachePath + PATH_SEPARATOR);
+    }
+    
+    /**
+     * 获取指定路径注册的缓存.
+     *
+     * @param cachePath 缓存的路径
+     * @return 缓存, 未注册时返回null
+     */
+    TreeCache get(final String cachePath) {
+        ConcurrentMap<String, TreeCache> segmentCaches = caches.get(getFirstSegment(cachePath));
+        return null == segmentCaches ? null : segmentCaches.get(cachePath + PATH_SEPARATOR);
+    }
+    
+    /**
+     * 查找覆盖键的缓存.
+     *
+     * @param key 键
+     * @return 覆盖键的缓存, 不存在时返回null
+     */
+    TreeCache find(final String key) {
+        ConcurrentMap<String, TreeCache> segmentCaches = caches.get(getFirstSegment(key));
+        if (null == segmentCaches) {
+            return null;
+        }
+        for (Entry<String, TreeCache> entry : segmentCaches.entrySet()) {
+            if (key.startsWith(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * 获取全部已注册的缓存.
+     *
+     * @return 全部已注册的缓存
+     */
+    Collection<TreeCache> values() {
+        Collection<TreeCache> result = new ArrayList<>(caches.size());
+        for (ConcurrentMap<String, TreeCache> each : caches.values()) {
+            result.addAll(each.values());
+        }
+        return result;
+    }
+    
+    private String getFirstSegment(final String path) {
+        int beginIndex = path.startsWith(PATH_SEPARATOR) ? 1 : 0;
+        int endIndex = path.indexOf(PATH_SEPARATOR, beginIndex);
+        return -1 == endIndex ? path.substring(beginIndex) : path.substring(beginIndex, endIndex);
+    }
+}
@@ -31,6 +31,8 @@ import org.apache.curator.framework.CuratorFrameworkFactory;
 import org.apache.curator.framework.api.ACLProvider;
 import org.apache.curator.framework.recipes.cache.ChildData;
 import org.apache.curator.framework.recipes.cache.TreeCache;
+import org.apache.curator.framework.recipes.cache.TreeCacheEvent;
+import org.apache.curator.framework.recipes.cache.TreeCacheListener;
 import org.apache.curator.retry.ExponentialBackoffRetry;
 import org.apache.curator.utils.CloseableUtils;
 import org.apache.zookeeper.CreateMode;
@@ -39,13 +41,18 @@ import org.apache.zookeeper.ZooDefs;
 import org.apache.zookeeper.data.ACL;
 import org.apache.zookeeper.data.Stat;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * 基于Zookeeper的注册中心.
@@ -60,7 +67,13 @@ public final class ZookeeperRegistryCenter implements CoordinatorRegistryCenter
     @Getter(AccessLevel.PROTECTED)
     private ZookeeperConfiguration zkConfig;
     
-    private final Map<String, TreeCache> caches = new HashMap<>();
+    private final TreeCachePathIndex caches = new TreeCachePathIndex();
+    
+    private final Set<TreeCache> initializedCaches = Collections.newSetFromMap(new ConcurrentHashMap<TreeCache, Boolean>());
+    
+    private final AtomicLong localReadCount = new AtomicLong();
+    
+    private final AtomicLong directReadCount = new AtomicLong();
     
     @Getter
     private CuratorFramework client;
@@ -113,9 +126,10 @@ public final class ZookeeperRegistryCenter implements CoordinatorRegistryCenter
     
     @Override
     public void close() {
-        for (Entry<String, TreeCache> each : caches.entrySet()) {
-            each.getValue().close();
+        for (TreeCache each : caches.values()) {
+            each.close();
         }
+        initializedCaches.clear();
         waitForCacheClose();
         CloseableUtils.closeQuietly(client);
     }
@@ -135,28 +149,26 @@ public final class ZookeeperRegistryCenter implements CoordinatorRegistryCenter
     
     @Override
     public String get(final String key) {
-        TreeCache cache = findTreeCache(key);
+        TreeCache cache = caches.find(key);
         if (null == cache) {
             return getDirectly(key);
         }
         ChildData resultInCache = cache.getCurrentData(key);
         if (null != resultInCache) {
+            localReadCount.incrementAndGet();
             return null == resultInCache.getData() ? null : new String(resultInCache.getData(), Charsets.UTF_8);
         }
         return getDirectly(key);
     }
     
-    private TreeCache findTreeCache(final String key) {
-        for (Entry<String, TreeCache> entry : caches.entrySet()) {
-            if (key.startsWith(entry.getKey())) {
-                return entry.getValue();
-            }
-        }
-        return null;
+    private TreeCache findInitializedTreeCache(final String key) {
+        TreeCache result = caches.find(key);
+        return null != result && initializedCaches.contains(result) ? result : null;
     }
     
     @Override
     public String getDirectly(final String key) {
+        directReadCount.incrementAndGet();
         try {
             return new String(client.getData().forPath(key), Charsets.UTF_8);
         //CHECKSTYLE:OFF
@@ -169,16 +181,23 @@ public final class ZookeeperRegistryCenter implements CoordinatorRegistryCenter
     
     @Override
     public List<String> getChildrenKeys(final String key) {
+        TreeCache cache = findInitializedTreeCache(key);
+        if (null == cache) {
+            return getChildrenKeysDirectly(key);
+        }
+        Map<String, ChildData> childrenInCache = cache.getCurrentChildren(key);
+        if (null == childrenInCache) {
+            return getChildrenKeysDirectly(key);
+        }
+        localReadCount.incrementAndGet();
+        return sortChildrenKeys(new ArrayList<>(childrenInCache.keySet()));
+    }
+    
+    @Override
+    public List<String> getChildrenKeysDirectly(final String key) {
+        directReadCount.incrementAndGet();
         try {
-            List<String> result = client.getChildren().forPath(key);
-            Collections.sort(result, new Comparator<String>() {
-                
-                @Override
-                public int compare(final String o1, final String o2) {
-                    return o2.compareTo(o1);
-                }
-            });
-            return result;
+            return sortChildrenKeys(client.getChildren().forPath(key));
          //CHECKSTYLE:OFF
         } catch (final Exception ex) {
         //CHECKSTYLE:ON
@@ -187,8 +206,34 @@ public final class ZookeeperRegistryCenter implements CoordinatorRegistryCenter
         }
     }
     
+    private List<String> sortChildrenKeys(final List<String> childrenKeys) {
+        Collections.sort(childrenKeys, new Comparator<String>() {
+            
+            @Override
+            public int compare(final String o1, final String o2) {
+                return o2.compareTo(o1);
+            }
+        });
+        return childrenKeys;
+    }
+    
     @Override
     public int getNumChildren(final String key) {
+        TreeCache cache = findInitializedTreeCache(key);
+        if (null == cache) {
+            return getNumChildrenDirectly(key);
+        }
+        Map<String, ChildData> childrenInCache = cache.getCurrentChildren(key);
+        if (null == childrenInCache) {
+            return getNumChildrenDirectly(key);
+        }
+        localReadCount.incrementAndGet();
+        return childrenInCache.size();
+    }
+    
+    @Override
+    public int getNumChildrenDirectly(final String key) {
+        directReadCount.incrementAndGet();
         try {
             Stat stat = client.checkExists().forPath(key);
             if (null != stat) {
@@ -204,6 +249,26 @@ public final class ZookeeperRegistryCenter implements CoordinatorRegistryCenter
 
     @Override
     public boolean isExisted(final String key) {
+        TreeCache cache = findInitializedTreeCache(key);
+        if (null == cache) {
+            return isExistedDirectly(key);
+        }
+        if (null != cache.getCurrentData(key)) {
+            localReadCount.incrementAndGet();
+            return true;
+        }
+        int lastSlashIndex = key.lastIndexOf('/');
+        Map<String, ChildData> siblingsInCache = cache.getCurrentChildren(key.substring(0, lastSlashIndex));
+        if (null == siblingsInCache) {
+            return isExistedDirectly(key);
+        }
+        localReadCount.incrementAndGet();
+        return siblingsInCache.containsKey(key.substring(lastSlashIndex + 1));
+    }
+    
+    @Override
+    public boolean isExistedDirectly(final String key) {
+        directReadCount.incrementAndGet();
         try {
         	//这里的forpath会检查路径在不在，如果不在的话会尝试去创建一个namespace
             return null != client.checkExists().forPath(key);
@@ -218,7 +283,7 @@ public final class ZookeeperRegistryCenter implements CoordinatorRegistryCenter
     @Override
     public void persist(final String key, final String value) {
         try {
-            if (!isExisted(key)) {
+            if (!isExistedDirectly(key)) {
                 client.create().creatingParentsIfNeeded().withMode(CreateMode.PERSISTENT).forPath(key, value.getBytes(Charsets.UTF_8));
             } else {
                 update(key, value);
@@ -244,7 +309,7 @@ public final class ZookeeperRegistryCenter implements CoordinatorRegistryCenter
     @Override
     public void persistEphemeral(final String key, final String value) {
         try {
-            if (isExisted(key)) {
+            if (isExistedDirectly(key)) {
                 client.delete().deletingChildrenIfNeeded().forPath(key);
             }
             client.create().creatingParentsIfNeeded().withMode(CreateMode.EPHEMERAL).forPath(key, value.getBytes(Charsets.UTF_8));
@@ -255,6 +320,37 @@ public final class ZookeeperRegistryCenter implements CoordinatorRegistryCenter
         }
     }
     
+    @Override
+    public Future<Void> persistEphemeralInBackground(final Map<String, String> keyValues) {
+        BatchBackgroundCallback callback = new BatchBackgroundCallback(keyValues.size() * 2);
+        try {
+            for (Entry<String, String> entry : keyValues.entrySet()) {
+                client.delete().inBackground(callback).forPath(entry.getKey());
+                client.create().creatingParentsIfNeeded().withMode(CreateMode.EPHEMERAL).inBackground(callback).forPath(entry.getKey(), entry.getValue().getBytes(Charsets.UTF_8));
+            }
+        //CHECKSTYLE:OFF
+        } catch (final Exception ex) {
+        //CHECKSTYLE:ON
+            callback.fail(ex);
+        }
+        return callback.getFuture();
+    }
+    
+    @Override
+    public Future<Void> removeInBackground(final Collection<String> keys) {
+        BatchBackgroundCallback callback = new BatchBackgroundCallback(keys.size());
+        try {
+            for (String each : keys) {
+                client.delete().inBackground(callback).forPath(each);
+            }
+        //CHECKSTYLE:OFF
+        } catch (final Exception ex) {
+        //CHECKSTYLE:ON
+            callback.fail(ex);
+        }
+        return callback.getFuture();
+    }
+    
     @Override
     public String persistSequential(final String key, final String value) {
         try {
@@ -311,7 +407,16 @@ public final class ZookeeperRegistryCenter implements CoordinatorRegistryCenter
     
     @Override
     public void addCacheData(final String cachePath) {
-        TreeCache cache = new TreeCache(client, cachePath);
+        final TreeCache cache = new TreeCache(client, cachePath);
+        cache.getListenable().addListener(new TreeCacheListener() {
+            
+            @Override
+            public void childEvent(final CuratorFramework client, final TreeCacheEvent event) throws Exception {
+                if (TreeCacheEvent.Type.INITIALIZED == event.getType()) {
+                    initializedCaches.add(cache);
+                }
+            }
+        });
         try {
             cache.start();
         //CHECKSTYLE:OFF
@@ -319,19 +424,40 @@ public final class ZookeeperRegistryCenter implements CoordinatorRegistryCenter
         //CHECKSTYLE:ON
             RegExceptionHandler.handleException(ex);
         }
-        caches.put(cachePath + "/", cache);
+        caches.put(cachePath, cache);
     }
     
     @Override
     public void evictCacheData(final String cachePath) {
-        TreeCache cache = caches.remove(cachePath + "/");
+        TreeCache cache = caches.remove(cachePath);
         if (null != cache) {
+            initializedCaches.remove(cache);
             cache.close();
         }
     }
     
     @Override
     public Object getRawCache(final String cachePath) {
-        return caches.get(cachePath + "/");
+        return caches.get(cachePath);
+    }
+    
+    /**
+     * 获取由本地缓存响应的读取次数.
+     * 
+     * <p>仅统计本地缓存完成初始化后命中的读取, 未命中而转为直接读取的不计入.</p>
+     * 
+     * @return 由本地缓存响应的读取次数
+     */
+    public long getLocalReadCount() {
+        return localReadCount.get();
+    }
+    
+    /**
+     * 获取直接从注册中心读取的次数.
+     * 
+     * @return 直接从注册中心读取的次数
+     */
+    public long getDirectReadCount() {
+        return directReadCount.get();
     }
 }
@@ -0,0 +1,84 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.util.concurrent;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * 线程池统计.
+ *
+ * @author zhangliang
+ */
+@RequiredArgsConstructor
+@Getter
+@ToString
+public final class ExecutorServiceStatistics {
+    
+    /**
+     * 当前线程数.
+     */
+    private final int poolSize;
+    
+    /**
+     * 最大线程数.
+     */
+    private final int maxPoolSize;
+    
+    /**
+     * 正在执行任务的线程数.
+     */
+    private final int activeCount;
+    
+    /**
+     * 待执行的任务数量.
+     */
+    private final int queueSize;
+    
+    /**
+     * 待执行任务队列容量.
+     */
+    private final int queueCapacity;
+    
+    /**
+     * 已完成的任务数量.
+     */
+    private final long completedTaskCount;
+    
+    /**
+     * 因线程和队列已满而被拒绝的任务数量, 包含由提交任务的线程执行的任务.
+     */
+    private final long rejectedTaskCount;
+    
+    /**
+     * 任务从提交至执行完成的平均耗时纳秒数.
+     */
+    private final long averageTaskLatencyNanos;
+    
+    /**
+     * 任务从提交至执行完成的最长耗时纳秒数.
+     */
+    private final long maxTaskLatencyNanos;
+    
+    /**
+     * 任务耗时分布, 第i个元素为耗时不超过{@link MeteredThreadPoolExecutor#TASK_LATENCY_BUCKET_MILLISECONDS}第i个值且超过前一个值的任务数量, 
+     * 最后一个元素为耗时超过最大值的任务数量.
+     */
+    private final long[] taskLatencyHistogram;
+}
@@ -0,0 +1,508 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+
+package com.dangdang.ddframe.job.util.concurrent;
+
+import com.dangdang.ddframe.job.exception.JobConfigurationException;
+import com.google.common.base.Joiner;
+import com.google.common.base.Preconditions;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.quartz.CronExpression;
+
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 基于分层时间轮的CRON调度器.
+ * 
+ * <p>
+ * 每个任务只在注册和每次触发后根据CRON表达式计算一次下次触发时间并放入时间轮, 由单一计时线程按刻度推进时间轮, 到期任务提交至分发线程池执行.
+ * 任务回调均在分发线程池中执行, 计时线程不执行任何任务代码. 分发线程池的待执行队列有界, 队列已满时拒绝本次回调并记录拒绝次数. 取消, 暂停和重新调度的任务由计时线程在下一刻度从时间轮中移除.
+ * 触发不会早于计划时间, 最多延迟一个刻度. 同一任务不会并发执行, 触发时上次执行尚未结束则跳过本次触发并在分发线程池中通知任务, 与Quartz的CronTrigger配合withMisfireHandlingInstructionDoNothing的语义一致.
+ * </p>
+ * 
+ * @author zhangliang
+ */
+@Slf4j
+public final class HashedWheelCronScheduler {
+    
+    /**
+     * 默认分发线程池待执行队列容量.
+     */
+    public static final int DEFAULT_DISPATCH_QUEUE_CAPACITY = 1024;
+    
+    private static final long DISPATCH_KEEP_ALIVE_MILLISECONDS = 60 * 1000L;
+    
+    private final long tickMillis;
+    
+    private final HierarchicalTimingWheel<TimerEntry> timingWheel;
+    
+    private final MeteredThreadPoolExecutor dispatchExecutor;
+    
+    private final Thread timerThread;
+    
+    private final ConcurrentMap<String, ScheduledCronTask> tasks = new ConcurrentHashMap<>();
+    
+    private final Queue<TimerEntry> pendingEntries = new ConcurrentLinkedQueue<>();
+    
+    private final Queue<TimerEntry> cancelledEntries = new ConcurrentLinkedQueue<>();
+    
+    private final AtomicBoolean started = new AtomicBoolean();
+    
+    private volatile boolean shutdown;
+    
+    private final AtomicLong firedCount = new AtomicLong();
+    
+    private final AtomicLong totalFireDelayMillis = new AtomicLong();
+    
+    private final AtomicLong maxFireDelayMillis = new AtomicLong();
+    
+    /**
+     * 创建基于分层时间轮的CRON调度器.
+     * 
+     * @param name 调度器名称, 用于线程命名
+     * @param tickMillis 时间轮刻度毫秒数
+     * @param wheelSize 每层时间轮的槽数量
+     * @param dispatchThreadCount 分发线程数量
+     */
+    public HashedWheelCronScheduler(final String name, final long tickMillis, final int wheelSize, final int dispatchThreadCount) {
+        this(name, tickMillis, wheelSize, dispatchThreadCount, DEFAULT_DISPATCH_QUEUE_CAPACITY);
+    }
+    
+    /**
+     * 创建基于分层时间轮的CRON调度器.
+     * 
+     * @param name 调度器名称, 用于线程命名
+     * @param tickMillis 时间轮刻度毫秒数
+     * @param wheelSize 每层时间轮的槽数量
+     * @param dispatchThreadCount 分发线程数量
+     * @param dispatchQueueCapacity 分发线程池待执行队列容量
+     */
+    public HashedWheelCronScheduler(final String name, final long tickMillis, final int wheelSize, final int dispatchThreadCount, final int dispatchQueueCapacity) {
+        Preconditions.checkArgument(tickMillis > 0L, "Tick milliseconds should larger than 0.");
+        Preconditions.checkArgument(wheelSize > 1, "Wheel size should larger than 1.");
+        Preconditions.checkArgument(dispatchThreadCount > 0, "Dispatch thread count should larger than 0.");
+        Preconditions.checkArgument(dispatchQueueCapacity > 0, "Dispatch queue capacity should larger than 0.");
+        this.tickMillis = tickMillis;
+        timingWheel = new HierarchicalTimingWheel<>(tickMillis, wheelSize, System.currentTimeMillis());
+        dispatchExecutor = new MeteredThreadPoolExecutor(
+                Joiner.on("-").join(name, "dispatch"), dispatchThreadCount, dispatchQueueCapacity, DISPATCH_KEEP_ALIVE_MILLISECONDS, new ThreadPoolExecutor.AbortPolicy());
+        timerThread = new BasicThreadFactory.Builder().namingPattern(Joiner.on("-").join(name, "timer")).daemon(true).build().newThread(new TimerLoop());
+    }
+    
+    /**
+     * 启动调度器.
+     */
+    public void start() {
+        Preconditions.checkState(!shutdown, "Scheduler has been shutdown.");
+        if (started.compareAndSet(false, true)) {
+            timerThread.start();
+        }
+    }
+    
+    /**
+     * 调度任务.
+     * 
+     * @param key 任务键
+     * @param cron CRON表达式
+     * @param cronTask 任务
+     * @return 是否调度成功, 任务键已存在时返回false
+     */
+    public boolean schedule(final String key, final String cron, final CronTask cronTask) {
+        ScheduledCronTask scheduledCronTask = new ScheduledCronTask(key, parseCron(cron), cronTask);
+        if (null != tasks.putIfAbsent(key, scheduledCronTask)) {
+            return false;
+        }
+        synchronized (scheduledCronTask) {
+            scheduledCronTask.arm(System.currentTimeMillis());
+        }
+        return true;
+    }
+    
+    /**
+     * 重新调度任务.
+     * 
+     * @param key 任务键
+     * @param cron CRON表达式
+     */
+    public void reschedule(final String key, final String cron) {
+        ScheduledCronTask scheduledCronTask = tasks.get(key);
+        if (null == scheduledCronTask) {
+            return;
+        }
+        synchronized (scheduledCronTask) {
+            if (cron.equals(scheduledCronTask.cronExpression.getCronExpression())) {
+                return;
+            }
+            scheduledCronTask.cronExpression = parseCron(cron);
+            scheduledCronTask.disarm();
+            if (!scheduledCronTask.paused) {
+                scheduledCronTask.arm(System.currentTimeMillis());
+            }
+        }
+    }
+    
+    /**
+     * 取消调度任务.
+     * 
+     * @param key 任务键
+     */
+    public void unschedule(final String key) {
+        ScheduledCronTask scheduledCronTask = tasks.remove(key);
+        if (null != scheduledCronTask) {
+            synchronized (scheduledCronTask) {
+                scheduledCronTask.disarm();
+            }
+        }
+    }
+    
+    /**
+     * 判断任务是否已调度.
+     * 
+     * @param key 任务键
+     * @return 任务是否已调度
+     */
+    public boolean contains(final String key) {
+        return tasks.containsKey(key);
+    }
+    
+    /**
+     * 获取已调度的任务键.
+     * 
+     * @return 已调度的任务键
+     */
+    public Set<String> getKeys() {
+        return new HashSet<>(tasks.keySet());
+    }
+    
+    /**
+     * 获取已调度的任务数量.
+     * 
+     * @return 已调度的任务数量
+     */
+    public int size() {
+        return tasks.size();
+    }
+    
+    /**
+     * 暂停任务.
+     * 
+     * @param key 任务键
+     */
+    public void pause(final String key) {
+        ScheduledCronTask scheduledCronTask = tasks.get(key);
+        if (null == scheduledCronTask) {
+            return;
+        }
+        synchronized (scheduledCronTask) {
+            scheduledCronTask.paused = true;
+            scheduledCronTask.disarm();
+        }
+    }
+    
+    /**
+     * 恢复任务, 暂停期间错过的触发不再补偿.
+     * 
+     * @param key 任务键
+     */
+    public void resume(final String key) {
+        ScheduledCronTask scheduledCronTask = tasks.get(key);
+        if (null == scheduledCronTask) {
+            return;
+        }
+        synchronized (scheduledCronTask) {
+            if (scheduledCronTask.paused) {
+                scheduledCronTask.paused = false;
+                scheduledCronTask.arm(System.currentTimeMillis());
+                if (scheduledCronTask.triggerPending) {
+                    scheduledCronTask.triggerPending = false;
+                    pendingEntries.add(new TimerEntry(scheduledCronTask, System.currentTimeMillis(), false));
+                }
+            }
+        }
+    }
+    
+    /**
+     * 判断任务是否暂停.
+     * 
+     * @param key 任务键
+     * @return 任务是否暂停
+     */
+    public boolean isPaused(final String key) {
+        ScheduledCronTask scheduledCronTask = tasks.get(key);
+        return null != scheduledCronTask && scheduledCronTask.paused;
+    }
+    
+    /**
+     * 立即触发任务一次.
+     * 
+     * <p>
+     * 与Quartz立即触发已暂停的触发器一致, 任务暂停时本次触发延迟至任务恢复时执行, 暂停期间的多次立即触发只执行一次.
+     * </p>
+     * 
+     * @param key 任务键
+     */
+    public void trigger(final String key) {
+        ScheduledCronTask scheduledCronTask = tasks.get(key);
+        if (null == scheduledCronTask) {
+            return;
+        }
+        synchronized (scheduledCronTask) {
+            if (scheduledCronTask.paused) {
+                scheduledCronTask.triggerPending = true;
+                return;
+            }
+        }
+        pendingEntries.add(new TimerEntry(scheduledCronTask, System.currentTimeMillis(), false));
+    }
+    
+    /**
+     * 判断调度器是否已关闭.
+     * 
+     * @return 调度器是否已关闭
+     */
+    public boolean isShutdown() {
+        return shutdown;
+    }
+    
+    /**
+     * 关闭调度器, 不等待正在执行的任务结束.
+     */
+    public void shutdown() {
+        shutdown = true;
+        timerThread.interrupt();
+        dispatchExecutor.shutdown();
+        tasks.clear();
+        pendingEntries.clear();
+        cancelledEntries.clear();
+    }
+    
+    /**
+     * 获取已触发执行的次数.
+     * 
+     * @return 已触发执行的次数
+     */
+    public long getFiredCount() {
+        return firedCount.get();
+    }
+    
+    /**
+     * 获取从计划触发时间至开始执行的平均延迟毫秒数.
+     * 
+     * @return 平均延迟毫秒数
+     */
+    public long getAverageFireDelayMillis() {
+        long fired = firedCount.get();
+        return 0L == fired ? 0L : totalFireDelayMillis.get() / fired;
+    }
+    
+    /**
+     * 获取从计划触发时间至开始执行的最长延迟毫秒数.
+     * 
+     * @return 最长延迟毫秒数
+     */
+    public long getMaxFireDelayMillis() {
+        return maxFireDelayMillis.get();
+    }
+    
+    /**
+     * 获取分发线程池统计.
+     * 
+     * @return 分发线程池统计
+     */
+    public ExecutorServiceStatistics getDispatchStatistics() {
+        return dispatchExecutor.getStatistics();
+    }
+    
+    private CronExpression parseCron(final String cron) {
+        try {
+            return new CronExpression(cron);
+        } catch (final ParseException ex) {
+            throw new JobConfigurationException(ex);
+        }
+    }
+    
+    private void fire(final TimerEntry entry) {
+        final ScheduledCronTask scheduledCronTask = entry.owner;
+        synchronized (scheduledCronTask) {
+            if (entry.cancelled || scheduledCronTask != tasks.get(scheduledCronTask.key)) {
+                return;
+            }
+            if (!entry.periodic && scheduledCronTask.paused) {
+                scheduledCronTask.triggerPending = true;
+                return;
+            }
+            if (entry.periodic) {
+                scheduledCronTask.arm(Math.max(System.currentTimeMillis(), entry.deadlineMillis));
+            }
+        }
+        if (!scheduledCronTask.running.compareAndSet(false, true)) {
+            dispatch(scheduledCronTask, new Runnable() {
+                
+                @Override
+                public void run() {
+                    scheduledCronTask.cronTask.misfired();
+                }
+            });
+            return;
+        }
+        if (!dispatch(scheduledCronTask, new Runnable() {
+            
+            @Override
+            public void run() {
+                recordFireDelay(System.currentTimeMillis() - entry.deadlineMillis);
+                try {
+                    scheduledCronTask.cronTask.execute();
+                } finally {
+                    scheduledCronTask.running.set(false);
+                }
+            }
+        })) {
+            scheduledCronTask.running.set(false);
+        }
+    }
+    
+    private boolean dispatch(final ScheduledCronTask scheduledCronTask, final Runnable runnable) {
+        try {
+            dispatchExecutor.execute(runnable);
+            return true;
+        } catch (final RejectedExecutionException ex) {
+            if (!shutdown) {
+                log.warn("Elastic job: cron task '{}' rejected by dispatch executor.", scheduledCronTask.key);
+            }
+            return false;
+        }
+    }
+    
+    private void recordFireDelay(final long delayMillis) {
+        long delay = Math.max(0L, delayMillis);
+        firedCount.incrementAndGet();
+        totalFireDelayMillis.addAndGet(delay);
+        long currentMax = maxFireDelayMillis.get();
+        while (delay > currentMax && !maxFireDelayMillis.compareAndSet(currentMax, delay)) {
+            currentMax = maxFireDelayMillis.get();
+        }
+    }
+    
+    private final class TimerLoop implements Runnable {
+        
+        @Override
+        public void run() {
+            List<TimerEntry> expired = new ArrayList<>();
+            while (!shutdown) {
+                long sleepMillis = timingWheel.getCurrentTimeMillis() + tickMillis - System.currentTimeMillis();
+                if (sleepMillis > 0L) {
+                    try {
+                        TimeUnit.MILLISECONDS.sleep(sleepMillis);
+                    } catch (final InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+                TimerEntry cancelled;
+                while (null != (cancelled = cancelledEntries.poll())) {
+                    timingWheel.remove(cancelled.deadlineMillis, cancelled);
+                }
+                long now = System.currentTimeMillis();
+                timingWheel.advanceClock(now, expired);
+                TimerEntry pending;
+                while (null != (pending = pendingEntries.poll())) {
+                    if (!pending.cancelled && !timingWheel.add(pending.deadlineMillis, pending)) {
+                        expired.add(pending);
+                    }
+                }
+                for (TimerEntry each : expired) {
+                    fire(each);
+                }
+                expired.clear();
+            }
+        }
+    }
+    
+    private final class ScheduledCronTask {
+        
+        private final String key;
+        
+        private final CronTask cronTask;
+        
+        private final AtomicBoolean running = new AtomicBoolean();
+        
+        private volatile CronExpression cronExpression;
+        
+        private volatile boolean paused;
+        
+        private boolean triggerPending;
+        
+        private TimerEntry currentEntry;
+        
+        ScheduledCronTask(final String key, final CronExpression cronExpression, final CronTask cronTask) {
+            this.key = key;
+            this.cronExpression = cronExpression;
+            this.cronTask = cronTask;
+        }
+        
+        private void arm(final long afterMillis) {
+            Date nextFireTime = cronExpression.getNextValidTimeAfter(new Date(afterMillis));
+            if (null == nextFireTime || shutdown) {
+                currentEntry = null;
+                return;
+            }
+            currentEntry = new TimerEntry(this, nextFireTime.getTime(), true);
+            pendingEntries.add(currentEntry);
+        }
+        
+        private void disarm() {
+            if (null != currentEntry) {
+                currentEntry.cancelled = true;
+                cancelledEntries.add(currentEntry);
+                currentEntry = null;
+            }
+        }
+    }
+    
+    private static final class TimerEntry {
+        
+        private final ScheduledCronTask owner;
+        
+        private final long deadlineMillis;
+        
+        private final boolean periodic;
+        
+        private volatile boolean cancelled;
+        
+        TimerEntry(final ScheduledCronTask owner, final long deadlineMillis, final boolean periodic) {
+            this.owner = owner;
+            this.deadlineMillis = deadlineMillis;
+            this.periodic = periodic;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+
+package com.dangdang.ddframe.job.util.concurrent;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * 分层时间轮.
+ * 
+ * <p>
+ * 每层时间轮有固定数量的槽, 上层时间轮的一个槽跨度等于下层时间轮一圈的跨度, 超出本层跨度的元素放入上层时间轮.
+ * 推进时钟时取出已到达的槽中的元素, 重新放入最底层时间轮以降级至更精确的槽, 到期元素不会早于到期时间取出, 最多延迟一个刻度.
+ * 非线程安全, 由调用方保证只在单一线程中使用.
+ * </p>
+ * 
+ * @param <T> 元素类型
+ * 
+ * @author zhangliang
+ */
+final class HierarchicalTimingWheel<T> {
+    
+    private final long tickMillis;
+    
+    private final int wheelSize;
+    
+    private final List<ArrayDeque<TimerSlot<T>>> buckets;
+    
+    private long currentTimeMillis;
+    
+    private HierarchicalTimingWheel<T> overflowWheel;
+    
+    HierarchicalTimingWheel(final long tickMillis, final int wheelSize, final long startMillis) {
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        buckets = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            buckets.add(new ArrayDeque<TimerSlot<T>>());
+        }
+        currentTimeMillis = startMillis - startMillis % tickMillis;
+    }
+    
+    /**
+     * 获取时间轮当前时间.
+     * 
+     * @return 时间轮当前时间, 为刻度的整数倍
+     */
+    long getCurrentTimeMillis() {
+        return currentTimeMillis;
+    }
+    
+    /**
+     * 添加元素.
+     * 
+     * @param deadlineMillis 到期时间
+     * @param element 元素
+     * @return 是否添加成功, 已到期的元素不添加并返回false
+     */
+    boolean add(final long deadlineMillis, final T element) {
+        return add(new TimerSlot<>(deadlineMillis, element));
+    }
+    
+    private boolean add(final TimerSlot<T> slot) {
+        if (slot.deadlineMillis <= currentTimeMillis) {
+            return false;
+        }
+        long currentTick = currentTimeMillis / tickMillis;
+        long virtualTick = Math.max(slot.deadlineMillis / tickMillis, currentTick + 1);
+        if (virtualTick - currentTick < wheelSize) {
+            buckets.get((int) (virtualTick % wheelSize)).add(slot);
+            return true;
+        }
+        if (null == overflowWheel) {
+            overflowWheel = new HierarchicalTimingWheel<>(tickMillis * wheelSize, wheelSize, currentTimeMillis);
+        }
+        return overflowWheel.add(slot);
+    }
+    
+    /**
+     * 删除元素.
+     * 
+     * @param deadlineMillis 添加元素时的到期时间
+     * @param element 元素
+     * @return 是否删除成功, 元素不在时间轮中时返回false
+     */
+    boolean remove(final long deadlineMillis, final T element) {
+        long deadlineTick = deadlineMillis / tickMillis;
+        if (removeFromBucket(deadlineTick, element) || removeFromBucket(deadlineTick + 1, element)) {
+            return true;
+        }
+        return null != overflowWheel && overflowWheel.remove(deadlineMillis, element);
+    }
+    
+    private boolean removeFromBucket(final long virtualTick, final T element) {
+        Iterator<TimerSlot<T>> iterator = buckets.get((int) (virtualTick % wheelSize)).iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().element == element) {
+                iterator.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * 推进时钟.
+     * 
+     * @param timeMillis 当前时间
+     * @param expired 用于接收到期元素的集合
+     */
+    void advanceClock(final long timeMillis, final Collection<T> expired) {
+        List<TimerSlot<T>> drained = new ArrayList<>();
+        drain(timeMillis, drained);
+        for (TimerSlot<T> each : drained) {
+            if (!add(each)) {
+                expired.add(each.element);
+            }
+        }
+    }
+    
+    private void drain(final long timeMillis, final List<TimerSlot<T>> drained) {
+        long currentTick = currentTimeMillis / tickMillis;
+        long targetTick = timeMillis / tickMillis;
+        if (targetTick <= currentTick) {
+            return;
+        }
+        long steps = Math.min(targetTick - currentTick, wheelSize);
+        for (long i = 1; i <= steps; i++) {
+            ArrayDeque<TimerSlot<T>> bucket = buckets.get((int) ((currentTick + i) % wheelSize));
+            drained.addAll(bucket);
+            bucket.clear();
+        }
+        currentTimeMillis = targetTick * tickMillis;
+        if (null != overflowWheel) {
+            overflowWheel.drain(timeMillis, drained);
+        }
+    }
+    
+    private static final class TimerSlot<T> {
+        
+        private final long deadlineMillis;
+        
+        private final T element;
+        
+        TimerSlot(final long deadlineMillis, final T element) {
+            this.deadlineMillis = deadlineMillis;
+            this.element = element;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.util.concurrent;
+
+import com.google.common.base.Joiner;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 可统计的有界线程池.
+ * 
+ * <p>
+ * 线程数和待执行任务队列均有上限, 空闲线程超过存活时间后回收.
+ * 记录被拒绝的任务数量以及任务从提交至执行完成的耗时分布.
+ * </p>
+ *
+ * @author zhangliang
+ */
+public final class MeteredThreadPoolExecutor extends ThreadPoolExecutor {
+    
+    /**
+     * 任务耗时分布的区间上限毫秒数.
+     */
+    public static final long[] TASK_LATENCY_BUCKET_MILLISECONDS = {1L, 10L, 100L, 1000L, 10000L};
+    
+    private final int queueCapacity;
+    
+    private final AtomicLong rejectedTaskCount;
+    
+    private final AtomicLong meteredTaskCount = new AtomicLong();
+    
+    private final AtomicLong totalTaskLatencyNanos = new AtomicLong();
+    
+    private final AtomicLong maxTaskLatencyNanos = new AtomicLong();
+    
+    private final AtomicLongArray taskLatencyHistogram = new AtomicLongArray(TASK_LATENCY_BUCKET_MILLISECONDS.length + 1);
+    
+    public MeteredThreadPoolExecutor(final String namingPattern, final int maxThreads, final int queueCapacity, 
+                                     final long keepAliveMilliseconds, final RejectedExecutionHandler rejectedExecutionHandler) {
+        this(namingPattern, maxThreads, queueCapacity, keepAliveMilliseconds, rejectedExecutionHandler, new AtomicLong());
+    }
+    
+    private MeteredThreadPoolExecutor(final String namingPattern, final int maxThreads, final int queueCapacity, 
+                                      final long keepAliveMilliseconds, final RejectedExecutionHandler rejectedExecutionHandler, final AtomicLong rejectedTaskCount) {
+        super(maxThreads, maxThreads, keepAliveMilliseconds, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<Runnable>(queueCapacity), 
+                new BasicThreadFactory.Builder().namingPattern(Joiner.on("-").join(namingPattern, "%s")).daemon(true).build(), 
+                new CountingRejectedExecutionHandler(rejectedExecutionHandler, rejectedTaskCount));
+        this.queueCapacity = queueCapacity;
+        this.rejectedTaskCount = rejectedTaskCount;
+        allowCoreThreadTimeOut(true);
+    }
+    
+    @Override
+    public void execute(final Runnable command) {
+        super.execute(new MeteredTask(command, System.nanoTime()));
+    }
+    
+    private void recordTaskLatency(final long latencyNanos) {
+        meteredTaskCount.incrementAndGet();
+        totalTaskLatencyNanos.addAndGet(latencyNanos);
+        long maxLatencyNanos = maxTaskLatencyNanos.get();
+        while (latencyNanos > maxLatencyNanos && !maxTaskLatencyNanos.compareAndSet(maxLatencyNanos, latencyNanos)) {
+            maxLatencyNanos = maxTaskLatencyNanos.get();
+        }
+        long latencyMilliseconds = TimeUnit.NANOSECONDS.toMillis(latencyNanos);
+        int bucket = 0;
+        while (bucket < TASK_LATENCY_BUCKET_MILLISECONDS.length && latencyMilliseconds > TASK_LATENCY_BUCKET_MILLISECONDS[bucket]) {
+            bucket++;
+        }
+        taskLatencyHistogram.incrementAndGet(bucket);
+    }
+    
+    /**
+     * 获取线程池统计.
+     * 
+     * @return 线程池统计
+     */
+    public ExecutorServiceStatistics getStatistics() {
+        long metered = meteredTaskCount.get();
+        long averageTaskLatencyNanos = 0L == metered ? 0L : totalTaskLatencyNanos.get() / metered;
+        long[] histogram = new long[taskLatencyHistogram.length()];
+        for (int i = 0; i < histogram.length; i++) {
+            histogram[i] = taskLatencyHistogram.get(i);
+        }
+        return new ExecutorServiceStatistics(getPoolSize(), getMaximumPoolSize(), getActiveCount(), getQueue().size(), queueCapacity, 
+                getCompletedTaskCount(), rejectedTaskCount.get(), averageTaskLatencyNanos, maxTaskLatencyNanos.get(), histogram);
+    }
+    
+    /**
+     * 记录耗时的任务.
+     */
+    private final class MeteredTask implements Runnable {
+        
+        private final Runnable delegate;
+        
+        private final long submitNanos;
+        
+        MeteredTask(final Runnable delegate, final long submitNanos) {
+            this.delegate = delegate;
+            this.submitNanos = submitNanos;
+        }
+        
+        @Override
+        public void run() {
+            try {
+                delegate.run();
+            } finally {
+                recordTaskLatency(System.nanoTime() - submitNanos);
+            }
+        }
+    }
+    
+    /**
+     * 记录被拒绝任务数量的拒绝策略.
+     */
+    private static final class CountingRejectedExecutionHandler implements RejectedExecutionHandler {
+        
+        private final RejectedExecutionHandler delegate;
+        
+        private final AtomicLong rejectedTaskCount;
+        
+        CountingRejectedExecutionHandler(final RejectedExecutionHandler delegate, final AtomicLong rejectedTaskCount) {
+            this.delegate = delegate;
+            this.rejectedTaskCount = rejectedTaskCount;
+        }
+        
+        @Override
+        public void rejectedExecution(final Runnable task, final ThreadPoolExecutor executor) {
+            rejectedTaskCount.incrementAndGet();
+            delegate.rejectedExecution(task, executor);
+        }
+    }
+}
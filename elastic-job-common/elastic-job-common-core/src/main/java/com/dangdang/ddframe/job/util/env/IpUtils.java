@@ -41,6 +41,8 @@ public final class IpUtils {
     
     private static volatile String cachedIpAddress;
     
+    private static volatile String cachedHostName;
+    
     /**
      * 获取本机IP地址.
      * 
@@ -96,11 +98,19 @@ public final class IpUtils {
     /**
      * 获取本机Host名称.
      * 
+     * <p>
+     * 首次获取后缓存, 避免每次获取都解析本机地址.
+     * </p>
+     * 
      * @return 本机Host名称
      */
     public static String getHostName() {
+        if (null != cachedHostName) {
+            return cachedHostName;
+        }
         try {
-            return InetAddress.getLocalHost().getHostName();
+            cachedHostName = InetAddress.getLocalHost().getHostName();
+            return cachedHostName;
         } catch (final UnknownHostException ex) {
             throw new HostException(ex);
         }
@@ -59,6 +59,10 @@ public abstract class AbstractJobConfigurationGsonTypeAdapter<T extends JobRootC
         JobType jobType = null;
         String jobClass = "";
         boolean streamingProcess = false;
+        int prefetchDepth = 0;
+        int processParallelism = 0;
+        int targetProcessLatencyMillis = 0;
+        int maxBatchSize = 0;
         String scriptCommandLine = "";
         Map<String, Object> customizedValueMap = new HashMap<>(32, 1);
         in.beginObject();
@@ -101,6 +105,18 @@ public abstract class AbstractJobConfigurationGsonTypeAdapter<T extends JobRootC
                 case "streamingProcess":
                     streamingProcess = in.nextBoolean();
                     break;
+                case "prefetchDepth":
+                    prefetchDepth = in.nextInt();
+                    break;
+                case "processParallelism":
+                    processParallelism = in.nextInt();
+                    break;
+                case "targetProcessLatencyMillis":
+                    targetProcessLatencyMillis = in.nextInt();
+                    break;
+                case "maxBatchSize":
+                    maxBatchSize = in.nextInt();
+                    break;
                 case "scriptCommandLine":
                     scriptCommandLine = in.nextString();
                     break;
@@ -112,7 +128,8 @@ public abstract class AbstractJobConfigurationGsonTypeAdapter<T extends JobRootC
         in.endObject();
         JobCoreConfiguration coreConfig = getJobCoreConfiguration(jobName, cron, shardingTotalCount, shardingItemParameters,
                 jobParameter, failover, misfire, description, jobProperties);
-        JobTypeConfiguration typeConfig = getJobTypeConfiguration(coreConfig, jobType, jobClass, streamingProcess, scriptCommandLine);
+        JobTypeConfiguration typeConfig = getJobTypeConfiguration(
+                coreConfig, jobType, jobClass, streamingProcess, prefetchDepth, processParallelism, targetProcessLatencyMillis, maxBatchSize, scriptCommandLine);
         return getJobRootConfiguration(typeConfig, customizedValueMap);
     }
     
@@ -148,8 +165,9 @@ public abstract class AbstractJobConfigurationGsonTypeAdapter<T extends JobRootC
                 .build();
     }
     
-    private JobTypeConfiguration getJobTypeConfiguration(
-            final JobCoreConfiguration coreConfig, final JobType jobType, final String jobClass, final boolean streamingProcess, final String scriptCommandLine) {
+    private JobTypeConfiguration getJobTypeConfiguration(final JobCoreConfiguration coreConfig, final JobType jobType, final String jobClass,
+                                                         final boolean streamingProcess, final int prefetchDepth, final int processParallelism,
+                                                         final int targetProcessLatencyMillis, final int maxBatchSize, final String scriptCommandLine) {
         Preconditions.checkNotNull(jobType, "jobType cannot be null.");
         switch (jobType) {
             case SIMPLE:
@@ -157,7 +175,7 @@ public abstract class AbstractJobConfigurationGsonTypeAdapter<T extends JobRootC
                 return new SimpleJobConfiguration(coreConfig, jobClass);
             case DATAFLOW:
                 Preconditions.checkArgument(!Strings.isNullOrEmpty(jobClass), "jobClass cannot be empty.");
-                return new DataflowJobConfiguration(coreConfig, jobClass, streamingProcess);
+                return new DataflowJobConfiguration(coreConfig, jobClass, streamingProcess, prefetchDepth, processParallelism, targetProcessLatencyMillis, maxBatchSize);
             case SCRIPT:
                 return new ScriptJobConfiguration(coreConfig, scriptCommandLine);
             default:
@@ -184,6 +202,10 @@ public abstract class AbstractJobConfigurationGsonTypeAdapter<T extends JobRootC
         if (value.getTypeConfig().getJobType() == JobType.DATAFLOW) {
             DataflowJobConfiguration dataflowJobConfig = (DataflowJobConfiguration) value.getTypeConfig();
             out.name("streamingProcess").value(dataflowJobConfig.isStreamingProcess());
+            out.name("prefetchDepth").value(dataflowJobConfig.getPrefetchDepth());
+            out.name("processParallelism").value(dataflowJobConfig.getProcessParallelism());
+            out.name("targetProcessLatencyMillis").value(dataflowJobConfig.getTargetProcessLatencyMillis());
+            out.name("maxBatchSize").value(dataflowJobConfig.getMaxBatchSize());
         } else if (value.getTypeConfig().getJobType() == JobType.SCRIPT) {
             ScriptJobConfiguration scriptJobConfig = (ScriptJobConfiguration) value.getTypeConfig();
             out.name("scriptCommandLine").value(scriptJobConfig.getScriptCommandLine());
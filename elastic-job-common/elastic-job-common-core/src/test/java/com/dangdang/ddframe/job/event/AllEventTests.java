@@ -17,10 +17,20 @@
 
 package com.dangdang.ddframe.job.event;
 
+import com.dangdang.ddframe.job.event.file.JobEventFileCodecTest;
+import com.dangdang.ddframe.job.event.file.JobEventFileConfigurationTest;
+import com.dangdang.ddframe.job.event.file.JobEventFileExporterTest;
+import com.dangdang.ddframe.job.event.file.JobEventFileListenerTest;
+import com.dangdang.ddframe.job.event.file.JobEventFileSearchTest;
+import com.dangdang.ddframe.job.event.file.JobEventFileWriterTest;
+import com.dangdang.ddframe.job.event.rdb.JobEventRdbBatchWriterTest;
 import com.dangdang.ddframe.job.event.rdb.JobEventRdbConfigurationTest;
 import com.dangdang.ddframe.job.event.rdb.JobEventRdbIdentityTest;
 import com.dangdang.ddframe.job.event.rdb.JobEventRdbListenerTest;
+import com.dangdang.ddframe.job.event.rdb.JobEventRdbPartitionRouterTest;
 import com.dangdang.ddframe.job.event.rdb.JobEventRdbSearchTest;
+import com.dangdang.ddframe.job.event.rdb.JobEventRdbOriginalTaskIdCacheTest;
+import com.dangdang.ddframe.job.event.rdb.JobEventRdbStartEventBufferTest;
 import com.dangdang.ddframe.job.event.rdb.JobEventRdbStorageTest;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
@@ -29,11 +39,22 @@ import org.junit.runners.Suite;
 @Suite.SuiteClasses({
         JobExecutionEventTest.class, 
         JobEventBusTest.class, 
+        JobEventQueueTest.class, 
         JobEventRdbIdentityTest.class,
         JobEventRdbConfigurationTest.class, 
         JobEventRdbListenerTest.class, 
         JobEventRdbStorageTest.class,
-        JobEventRdbSearchTest.class
+        JobEventRdbBatchWriterTest.class, 
+        JobEventRdbStartEventBufferTest.class, 
+        JobEventRdbOriginalTaskIdCacheTest.class, 
+        JobEventRdbPartitionRouterTest.class, 
+        JobEventRdbSearchTest.class, 
+        JobEventFileConfigurationTest.class, 
+        JobEventFileCodecTest.class, 
+        JobEventFileWriterTest.class, 
+        JobEventFileListenerTest.class, 
+        JobEventFileSearchTest.class, 
+        JobEventFileExporterTest.class
     })
 public final class AllEventTests {
 }
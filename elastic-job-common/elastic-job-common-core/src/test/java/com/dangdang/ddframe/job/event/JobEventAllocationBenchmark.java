@@ -0,0 +1,107 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.event;
+
+import com.dangdang.ddframe.job.context.TaskContext;
+import com.dangdang.ddframe.job.event.type.JobExecutionEvent;
+import com.dangdang.ddframe.job.event.type.JobExecutionEvent.ExecutionSource;
+import com.dangdang.ddframe.job.event.type.JobStatusTraceEvent;
+import com.dangdang.ddframe.job.event.type.JobStatusTraceEvent.Source;
+import com.dangdang.ddframe.job.event.type.JobStatusTraceEvent.State;
+import com.dangdang.ddframe.job.util.env.IpUtils;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * 作业事件创建的基准测试.
+ * 
+ * <p>对比每个分片执行一次时创建作业事件的单次耗时和分配字节数, 原有方式每个事件生成SecureRandom的UUID并解析本机名称, 每个状态事件重复解析任务主键, 需在HotSpot虚拟机上手工运行.</p>
+ */
+public final class JobEventAllocationBenchmark {
+    
+    private static final String TASK_ID = "test_job@-@0@-@READY@-@127.0.0.1@-@1";
+    
+    private static final int WARM_UP_ROUNDS = 20000;
+    
+    private static final int MEASURE_ROUNDS = 200000;
+    
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    
+    private static int sink;
+    
+    public static void main(final String[] args) throws UnknownHostException {
+        TaskContext taskContext = TaskContext.from(TASK_ID);
+        String shardingItems = taskContext.getMetaInfo().getShardingItems().toString();
+        runCurrent(taskContext, shardingItems, WARM_UP_ROUNDS);
+        runLegacy(WARM_UP_ROUNDS);
+        long currentBytes = getAllocatedBytes();
+        long currentNanos = System.nanoTime();
+        runCurrent(taskContext, shardingItems, MEASURE_ROUNDS);
+        currentNanos = System.nanoTime() - currentNanos;
+        currentBytes = getAllocatedBytes() - currentBytes;
+        long legacyBytes = getAllocatedBytes();
+        long legacyNanos = System.nanoTime();
+        runLegacy(MEASURE_ROUNDS);
+        legacyNanos = System.nanoTime() - legacyNanos;
+        legacyBytes = getAllocatedBytes() - legacyBytes;
+        System.out.println(String.format("current=%.1f ns/op, %d bytes/op", (double) currentNanos / MEASURE_ROUNDS, currentBytes / MEASURE_ROUNDS));
+        System.out.println(String.format("legacy=%.1f ns/op, %d bytes/op", (double) legacyNanos / MEASURE_ROUNDS, legacyBytes / MEASURE_ROUNDS));
+        System.out.println(sink);
+    }
+    
+    private static void runCurrent(final TaskContext taskContext, final String shardingItems, final int rounds) {
+        for (int i = 0; i < rounds; i++) {
+            JobStatusTraceEvent runningEvent = new JobStatusTraceEvent(
+                    taskContext.getMetaInfo().getJobName(), TASK_ID, taskContext.getSlaveId(), Source.LITE_EXECUTOR, taskContext.getType(), shardingItems, State.TASK_RUNNING, "");
+            JobExecutionEvent startEvent = new JobExecutionEvent(TASK_ID, "test_job", ExecutionSource.NORMAL_TRIGGER, 0);
+            JobExecutionEvent completeEvent = startEvent.executionSuccess();
+            JobStatusTraceEvent finishedEvent = new JobStatusTraceEvent(
+                    taskContext.getMetaInfo().getJobName(), TASK_ID, taskContext.getSlaveId(), Source.LITE_EXECUTOR, taskContext.getType(), shardingItems, State.TASK_FINISHED, "");
+            sink += runningEvent.getId().length() + completeEvent.getId().length() + finishedEvent.getId().length();
+        }
+    }
+    
+    private static void runLegacy(final int rounds) throws UnknownHostException {
+        for (int i = 0; i < rounds; i++) {
+            JobStatusTraceEvent runningEvent = createLegacyJobStatusTraceEvent(State.TASK_RUNNING);
+            JobExecutionEvent startEvent = new JobExecutionEvent(UUID.randomUUID().toString(), InetAddress.getLocalHost().getHostName(), IpUtils.getIp(), 
+                    TASK_ID, "test_job", ExecutionSource.NORMAL_TRIGGER, 0, new Date(), null, false, null);
+            // 原有复制事件时字段初始化仍会生成UUID并解析本机名称
+            UUID.randomUUID();
+            InetAddress.getLocalHost().getHostName();
+            JobExecutionEvent completeEvent = new JobExecutionEvent(startEvent.getId(), startEvent.getHostname(), startEvent.getIp(), 
+                    TASK_ID, "test_job", ExecutionSource.NORMAL_TRIGGER, 0, startEvent.getStartTime(), new Date(), true, null);
+            JobStatusTraceEvent finishedEvent = createLegacyJobStatusTraceEvent(State.TASK_FINISHED);
+            sink += runningEvent.getId().length() + completeEvent.getId().length() + finishedEvent.getId().length();
+        }
+    }
+    
+    private static JobStatusTraceEvent createLegacyJobStatusTraceEvent(final State state) {
+        TaskContext taskContext = TaskContext.from(TASK_ID);
+        return new JobStatusTraceEvent(UUID.randomUUID().toString(), taskContext.getMetaInfo().getJobName(), "", taskContext.getId(), taskContext.getSlaveId(), 
+                Source.LITE_EXECUTOR, taskContext.getType(), taskContext.getMetaInfo().getShardingItems().toString(), state, "", new Date());
+    }
+    
+    private static long getAllocatedBytes() {
+        return THREAD_MX_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
@@ -32,7 +32,9 @@ import org.mockito.junit.MockitoJUnitRunner;
 import org.unitils.util.ReflectionUtils;
 
 import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -51,12 +53,14 @@ public final class JobEventBusTest {
     public void assertRegisterFailure() throws NoSuchFieldException {
         jobEventBus = new JobEventBus(new TestJobEventFailureConfiguration());
         assertIsRegistered(false);
+        assertFalse(jobEventBus.isEnabled());
     }
     
     @Test
     public void assertPost() throws InterruptedException, NoSuchFieldException {
         jobEventBus = new JobEventBus(new TestJobEventConfiguration(jobEventCaller));
         assertIsRegistered(true);
+        assertTrue(jobEventBus.isEnabled());
         jobEventBus.post(new JobExecutionEvent("fake_task_id", "test_event_bus_job", ExecutionSource.NORMAL_TRIGGER, 0));
         while (!TestJobEventListener.isExecutionEventCalled()) {
             Thread.sleep(100L);
@@ -68,11 +72,56 @@ public final class JobEventBusTest {
     public void assertPostWithoutListener() throws NoSuchFieldException {
         jobEventBus = new JobEventBus();
         assertIsRegistered(false);
+        assertFalse(jobEventBus.isEnabled());
         ReflectionUtils.setFieldValue(jobEventBus, "eventBus", eventBus);
         jobEventBus.post(new JobExecutionEvent("fake_task_id", "test_event_bus_job", ExecutionSource.NORMAL_TRIGGER, 0));
         verify(eventBus, times(0)).post(ArgumentMatchers.<JobEvent>any());
     }
     
+    @Test
+    public void assertGetStatistics() throws InterruptedException {
+        jobEventBus = new JobEventBus(new TestJobEventConfiguration(jobEventCaller), new JobEventBusConfiguration(10, JobEventOverflowPolicy.DROP_NEWEST));
+        jobEventBus.post(new JobExecutionEvent("fake_task_id", "test_event_bus_job", ExecutionSource.NORMAL_TRIGGER, 0));
+        while (0L == jobEventBus.getStatistics().getDeliveredCount()) {
+            Thread.sleep(100L);
+        }
+        JobEventBusStatistics actual = jobEventBus.getStatistics();
+        assertThat(actual.getPostedCount(), is(1L));
+        assertThat(actual.getDeliveredCount(), is(1L));
+        assertThat(actual.getDroppedCount(), is(0L));
+        assertThat(actual.getQueueDepth(), is(0));
+        assertThat(actual.getQueueCapacity(), is(10));
+    }
+    
+    @Test
+    public void assertGetStatisticsWithoutListener() {
+        jobEventBus = new JobEventBus();
+        jobEventBus.post(new JobExecutionEvent("fake_task_id", "test_event_bus_job", ExecutionSource.NORMAL_TRIGGER, 0));
+        JobEventBusStatistics actual = jobEventBus.getStatistics();
+        assertThat(actual.getPostedCount(), is(0L));
+        assertThat(actual.getDeliveredCount(), is(0L));
+        assertThat(actual.getQueueCapacity(), is(0));
+    }
+    
+    @Test
+    public void assertShutdown() throws NoSuchFieldException {
+        jobEventBus = new JobEventBus(new TestJobEventConfiguration(jobEventCaller));
+        jobEventBus.post(new JobExecutionEvent("fake_task_id", "test_event_bus_job", ExecutionSource.NORMAL_TRIGGER, 0));
+        jobEventBus.shutdown();
+        assertFalse(jobEventBus.isEnabled());
+        verify(jobEventCaller).call();
+        assertTrue(((TestJobEventListener) ReflectionUtils.getFieldValue(jobEventBus, JobEventBus.class.getDeclaredField("jobEventListener"))).isClosed());
+        jobEventBus.post(new JobExecutionEvent("fake_task_id", "test_event_bus_job", ExecutionSource.NORMAL_TRIGGER, 1));
+        assertThat(jobEventBus.getStatistics().getPostedCount(), is(1L));
+    }
+    
+    @Test
+    public void assertShutdownWithoutListener() {
+        jobEventBus = new JobEventBus();
+        jobEventBus.shutdown();
+        assertFalse(jobEventBus.isEnabled());
+    }
+    
     private void assertIsRegistered(final boolean actual) throws NoSuchFieldException {
         assertThat((boolean) ReflectionUtils.getFieldValue(jobEventBus, JobEventBus.class.getDeclaredField("isRegistered")), is(actual));
     }
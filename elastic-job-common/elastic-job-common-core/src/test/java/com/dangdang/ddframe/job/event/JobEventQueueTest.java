@@ -0,0 +1,136 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.event;
+
+import com.dangdang.ddframe.job.event.type.JobExecutionEvent;
+import com.dangdang.ddframe.job.event.type.JobExecutionEvent.ExecutionSource;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public final class JobEventQueueTest {
+    
+    @Test
+    public void assertOfferWhenBlock() {
+        JobEventQueue queue = new JobEventQueue(2, JobEventOverflowPolicy.BLOCK);
+        assertTrue(queue.offer(createJobEvent(0)));
+        assertTrue(queue.offer(createJobEvent(1)));
+        assertThat(queue.size(), is(2));
+        assertThat(queue.getDroppedCount(), is(0L));
+    }
+    
+    @Test
+    public void assertOfferWhenBlockAndClosed() throws InterruptedException {
+        final JobEventQueue queue = new JobEventQueue(1, JobEventOverflowPolicy.BLOCK);
+        queue.offer(createJobEvent(0));
+        final AtomicBoolean actual = new AtomicBoolean(true);
+        Thread producer = new Thread() {
+            
+            @Override
+            public void run() {
+                actual.set(queue.offer(createJobEvent(1)));
+            }
+        };
+        producer.start();
+        queue.close();
+        producer.join(5000L);
+        assertFalse(producer.isAlive());
+        assertFalse(actual.get());
+        assertThat(queue.size(), is(1));
+        assertThat(queue.getDroppedCount(), is(1L));
+    }
+    
+    @Test
+    public void assertOfferAfterClosed() throws InterruptedException {
+        JobEventQueue queue = new JobEventQueue(2, JobEventOverflowPolicy.DROP_OLDEST);
+        JobEvent firstEvent = createJobEvent(0);
+        queue.offer(firstEvent);
+        queue.close();
+        assertFalse(queue.offer(createJobEvent(1)));
+        assertThat(queue.getDroppedCount(), is(1L));
+        assertThat(queue.take(), is(firstEvent));
+        assertTrue(queue.isEmpty());
+    }
+    
+    @Test
+    public void assertOfferWhenDropOldest() throws InterruptedException {
+        JobEventQueue queue = new JobEventQueue(2, JobEventOverflowPolicy.DROP_OLDEST);
+        queue.offer(createJobEvent(0));
+        JobEvent secondEvent = createJobEvent(1);
+        queue.offer(secondEvent);
+        assertTrue(queue.offer(createJobEvent(2)));
+        assertThat(queue.size(), is(2));
+        assertThat(queue.getDroppedCount(), is(1L));
+        assertThat(queue.poll(0L, TimeUnit.MILLISECONDS), is(secondEvent));
+    }
+    
+    @Test
+    public void assertOfferWhenDropNewest() throws InterruptedException {
+        JobEventQueue queue = new JobEventQueue(2, JobEventOverflowPolicy.DROP_NEWEST);
+        JobEvent firstEvent = createJobEvent(0);
+        queue.offer(firstEvent);
+        queue.offer(createJobEvent(1));
+        assertFalse(queue.offer(createJobEvent(2)));
+        assertThat(queue.size(), is(2));
+        assertThat(queue.getDroppedCount(), is(1L));
+        assertThat(queue.poll(0L, TimeUnit.MILLISECONDS), is(firstEvent));
+    }
+    
+    @Test
+    public void assertPollWhenEmpty() throws InterruptedException {
+        JobEventQueue queue = new JobEventQueue(2, JobEventOverflowPolicy.DROP_NEWEST);
+        assertTrue(queue.isEmpty());
+        assertNull(queue.poll(0L, TimeUnit.MILLISECONDS));
+    }
+    
+    @Test
+    public void assertOfferWithTimeoutIgnoreOverflowPolicy() throws InterruptedException {
+        JobEventQueue queue = new JobEventQueue(1, JobEventOverflowPolicy.DROP_OLDEST);
+        JobEvent firstEvent = createJobEvent(0);
+        queue.offer(firstEvent);
+        assertFalse(queue.offer(createJobEvent(1), 0L, TimeUnit.MILLISECONDS));
+        assertThat(queue.getDroppedCount(), is(0L));
+        assertThat(queue.take(), is(firstEvent));
+    }
+    
+    @Test
+    public void assertDrainTo() {
+        JobEventQueue queue = new JobEventQueue(3, JobEventOverflowPolicy.DROP_NEWEST);
+        queue.offer(createJobEvent(0));
+        queue.offer(createJobEvent(1));
+        queue.offer(createJobEvent(2));
+        List<JobEvent> actual = new ArrayList<>();
+        assertThat(queue.drainTo(actual, 2), is(2));
+        assertThat(actual.size(), is(2));
+        assertThat(queue.size(), is(1));
+        assertThat(queue.getCapacity(), is(3));
+    }
+    
+    private JobEvent createJobEvent(final int item) {
+        return new JobExecutionEvent("fake_task_id", "test_job", ExecutionSource.NORMAL_TRIGGER, item);
+    }
+}
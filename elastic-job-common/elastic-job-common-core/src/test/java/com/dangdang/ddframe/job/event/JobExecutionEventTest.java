@@ -20,6 +20,9 @@ package com.dangdang.ddframe.job.event;
 import com.dangdang.ddframe.job.event.type.JobExecutionEvent;
 import org.junit.Test;
 
+import java.util.UUID;
+
+import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.startsWith;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertFalse;
@@ -43,12 +46,24 @@ public final class JobExecutionEventTest {
         assertThat(actual.getFailureCause(), is(""));
     }
     
+    @Test
+    public void assertNewJobExecutionEventId() {
+        JobExecutionEvent actual = new JobExecutionEvent("fake_task_id", "test_job", JobExecutionEvent.ExecutionSource.NORMAL_TRIGGER, 0);
+        UUID id = UUID.fromString(actual.getId());
+        assertThat(id.toString(), is(actual.getId()));
+        assertThat(id.version(), is(4));
+        assertThat(id.variant(), is(2));
+        assertThat(new JobExecutionEvent("fake_task_id", "test_job", JobExecutionEvent.ExecutionSource.NORMAL_TRIGGER, 0).getId(), not(actual.getId()));
+    }
+    
     @Test
     public void assertExecutionSuccess() {
         JobExecutionEvent startEvent = new JobExecutionEvent("fake_task_id", "test_job", JobExecutionEvent.ExecutionSource.NORMAL_TRIGGER, 0);
         JobExecutionEvent successEvent = startEvent.executionSuccess();
         assertNotNull(successEvent.getCompleteTime());
         assertTrue(successEvent.isSuccess());
+        assertThat(successEvent.getId(), is(startEvent.getId()));
+        assertThat(successEvent.getStartTime(), is(startEvent.getStartTime()));
     }
     
     @Test
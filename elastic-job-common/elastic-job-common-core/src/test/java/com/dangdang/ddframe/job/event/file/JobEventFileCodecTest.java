@@ -0,0 +1,94 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.event.file;
+
+import com.dangdang.ddframe.job.context.ExecutionType;
+import com.dangdang.ddframe.job.event.type.JobExecutionEvent;
+import com.dangdang.ddframe.job.event.type.JobExecutionEvent.ExecutionSource;
+import com.dangdang.ddframe.job.event.type.JobStatusTraceEvent;
+import com.dangdang.ddframe.job.event.type.JobStatusTraceEvent.Source;
+import com.dangdang.ddframe.job.event.type.JobStatusTraceEvent.State;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+
+public final class JobEventFileCodecTest {
+    
+    @Test
+    public void assertEncodeAndDecodeJobExecutionEvent() {
+        JobExecutionEvent expected = new JobExecutionEvent("fake_task_id", "test_job", ExecutionSource.NORMAL_TRIGGER, 0).executionFailure(new RuntimeException("failure"));
+        ByteBuffer buffer = ByteBuffer.wrap(JobEventFileCodec.encode(expected));
+        JobExecutionEvent actual = (JobExecutionEvent) JobEventFileCodec.decode(buffer);
+        assertThat(actual.getId(), is(expected.getId()));
+        assertThat(actual.getHostname(), is(expected.getHostname()));
+        assertThat(actual.getIp(), is(expected.getIp()));
+        assertThat(actual.getTaskId(), is("fake_task_id"));
+        assertThat(actual.getJobName(), is("test_job"));
+        assertThat(actual.getSource(), is(ExecutionSource.NORMAL_TRIGGER));
+        assertThat(actual.getShardingItem(), is(0));
+        assertThat(actual.getStartTime(), is(expected.getStartTime()));
+        assertThat(actual.getCompleteTime(), is(expected.getCompleteTime()));
+        assertThat(actual.isSuccess(), is(false));
+        assertThat(actual.getFailureCause(), is(expected.getFailureCause()));
+        assertNull(JobEventFileCodec.decode(buffer));
+    }
+    
+    @Test
+    public void assertEncodeAndDecodeJobStatusTraceEvent() {
+        JobStatusTraceEvent expected = new JobStatusTraceEvent("test_job", "fake_task_id", "fake_slave_id", Source.LITE_EXECUTOR, ExecutionType.READY, "0,1", State.TASK_RUNNING, "message");
+        expected.setOriginalTaskId("original_task_id");
+        JobStatusTraceEvent actual = (JobStatusTraceEvent) JobEventFileCodec.decode(ByteBuffer.wrap(JobEventFileCodec.encode(expected)));
+        assertThat(actual.getId(), is(expected.getId()));
+        assertThat(actual.getJobName(), is("test_job"));
+        assertThat(actual.getOriginalTaskId(), is("original_task_id"));
+        assertThat(actual.getTaskId(), is("fake_task_id"));
+        assertThat(actual.getSlaveId(), is("fake_slave_id"));
+        assertThat(actual.getSource(), is(Source.LITE_EXECUTOR));
+        assertThat(actual.getExecutionType(), is(ExecutionType.READY));
+        assertThat(actual.getShardingItems(), is("0,1"));
+        assertThat(actual.getState(), is(State.TASK_RUNNING));
+        assertThat(actual.getMessage(), is("message"));
+        assertThat(actual.getCreationTime(), is(expected.getCreationTime()));
+    }
+    
+    @Test
+    public void assertDecodeWhenRecordIsIncomplete() {
+        byte[] record = JobEventFileCodec.encode(new JobExecutionEvent("fake_task_id", "test_job", ExecutionSource.NORMAL_TRIGGER, 0));
+        ByteBuffer buffer = ByteBuffer.wrap(record, 0, record.length - 1);
+        assertNull(JobEventFileCodec.decode(buffer));
+        assertThat(buffer.position(), is(0));
+    }
+    
+    @Test
+    public void assertDecodeWhenChecksumMismatch() {
+        byte[] record = JobEventFileCodec.encode(new JobExecutionEvent("fake_task_id", "test_job", ExecutionSource.NORMAL_TRIGGER, 0));
+        record[record.length - 1] ^= 1;
+        ByteBuffer buffer = ByteBuffer.wrap(record);
+        assertNull(JobEventFileCodec.decode(buffer));
+        assertThat(buffer.position(), is(0));
+    }
+    
+    @Test
+    public void assertDecodeWhenReachEnd() {
+        assertNull(JobEventFileCodec.decode(ByteBuffer.allocate(64)));
+    }
+}
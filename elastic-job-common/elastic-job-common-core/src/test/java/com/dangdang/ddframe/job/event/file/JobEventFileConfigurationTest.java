@@ -0,0 +1,55 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.event.file;
+
+import com.dangdang.ddframe.job.event.JobEventListenerConfigurationException;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public final class JobEventFileConfigurationTest {
+    
+    @Test
+    public void assertGetDefaultConfiguration() {
+        JobEventFileConfiguration actual = new JobEventFileConfiguration("/tmp/job-event");
+        assertThat(actual.getDirectory(), is("/tmp/job-event"));
+        assertThat(actual.getSegmentSizeBytes(), is(JobEventFileConfiguration.DEFAULT_SEGMENT_SIZE_BYTES));
+        assertThat(actual.getFsyncIntervalMilliseconds(), is(JobEventFileConfiguration.DEFAULT_FSYNC_INTERVAL_MILLISECONDS));
+        assertThat(actual.getMaxSegmentCount(), is(JobEventFileConfiguration.DEFAULT_MAX_SEGMENT_COUNT));
+        assertThat(actual.getIdentity(), is("file"));
+    }
+    
+    @Test
+    public void assertCreateJobEventListenerSuccess() throws IOException, JobEventListenerConfigurationException {
+        File directory = Files.createTempDirectory("job-event-file").toFile();
+        assertThat(new JobEventFileConfiguration(directory.getPath(), 1024, 1000L, 1).createJobEventListener(), instanceOf(JobEventFileListener.class));
+    }
+    
+    @Test(expected = JobEventListenerConfigurationException.class)
+    public void assertCreateJobEventListenerFailure() throws IOException, JobEventListenerConfigurationException {
+        File file = File.createTempFile("job-event-file", ".tmp");
+        file.deleteOnExit();
+        new JobEventFileConfiguration(file.getPath()).createJobEventListener();
+    }
+}
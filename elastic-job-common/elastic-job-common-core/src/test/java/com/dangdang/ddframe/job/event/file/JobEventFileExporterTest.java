@@ -0,0 +1,85 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.event.file;
+
+import com.dangdang.ddframe.job.context.ExecutionType;
+import com.dangdang.ddframe.job.event.type.JobExecutionEvent;
+import com.dangdang.ddframe.job.event.type.JobExecutionEvent.ExecutionSource;
+import com.dangdang.ddframe.job.event.type.JobStatusTraceEvent;
+import com.dangdang.ddframe.job.event.type.JobStatusTraceEvent.Source;
+import com.dangdang.ddframe.job.event.type.JobStatusTraceEvent.State;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public final class JobEventFileExporterTest {
+    
+    private File directory;
+    
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("job-event-file").toFile();
+        JobEventFileWriter writer = new JobEventFileWriter(new JobEventFileConfiguration(directory.getPath()));
+        JobExecutionEvent startEvent = new JobExecutionEvent("fake_task_id", "test_job", ExecutionSource.NORMAL_TRIGGER, 0);
+        writer.append(startEvent);
+        writer.append(startEvent.executionSuccess());
+        writer.append(new JobExecutionEvent("fake_task_id", "test_job", ExecutionSource.MISFIRE, 1));
+        writer.append(new JobStatusTraceEvent("test_job", "fake_task_id", "fake_slave_id", Source.LITE_EXECUTOR, ExecutionType.READY, "0,1", State.TASK_RUNNING, "message, \"quoted\""));
+        writer.close();
+    }
+    
+    @After
+    public void tearDown() {
+        for (File each : JobEventFileWriter.listSegmentFiles(directory)) {
+            each.delete();
+        }
+        directory.delete();
+    }
+    
+    @Test
+    public void assertExportJobExecutionEvents() throws IOException {
+        StringWriter writer = new StringWriter();
+        assertThat(new JobEventFileExporter(directory.getPath()).exportJobExecutionEvents(writer), is(2));
+        String[] lines = writer.toString().split("\n");
+        assertThat(lines.length, is(3));
+        assertThat(lines[0], is("id,hostname,ip,task_id,job_name,execution_source,sharding_item,start_time,complete_time,is_success,failure_cause"));
+        assertTrue(lines[1].contains(",fake_task_id,test_job,NORMAL_TRIGGER,0,"));
+        assertTrue(lines[1].endsWith(",1,"));
+        assertTrue(lines[2].contains(",fake_task_id,test_job,MISFIRE,1,"));
+        assertTrue(lines[2].endsWith(",,0,"));
+    }
+    
+    @Test
+    public void assertExportJobStatusTraceEvents() throws IOException {
+        StringWriter writer = new StringWriter();
+        assertThat(new JobEventFileExporter(directory.getPath()).exportJobStatusTraceEvents(writer), is(1));
+        String[] lines = writer.toString().split("\n");
+        assertThat(lines.length, is(2));
+        assertThat(lines[0], is("id,job_name,original_task_id,task_id,slave_id,source,execution_type,sharding_item,state,message,creation_time"));
+        assertTrue(lines[1].contains(",test_job,,fake_task_id,fake_slave_id,LITE_EXECUTOR,READY,\"0,1\",TASK_RUNNING,\"message, \"\"quoted\"\"\","));
+    }
+}
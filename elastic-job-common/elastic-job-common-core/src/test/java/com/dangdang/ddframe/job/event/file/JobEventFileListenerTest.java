@@ -0,0 +1,72 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.event.file;
+
+import com.dangdang.ddframe.job.event.JobEvent;
+import com.dangdang.ddframe.job.event.type.JobExecutionEvent;
+import com.dangdang.ddframe.job.event.type.JobExecutionEvent.ExecutionSource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public final class JobEventFileListenerTest {
+    
+    private File directory;
+    
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("job-event-file").toFile();
+    }
+    
+    @After
+    public void tearDown() {
+        for (File each : JobEventFileWriter.listSegmentFiles(directory)) {
+            each.delete();
+        }
+        directory.delete();
+    }
+    
+    @Test
+    public void assertCloseTwiceNotReleaseSharedWriter() throws IOException {
+        JobEventFileListener listener = new JobEventFileListener(new JobEventFileConfiguration(directory.getPath()));
+        JobEventFileListener sameDirectoryListener = new JobEventFileListener(new JobEventFileConfiguration(directory.getPath()));
+        listener.close();
+        listener.close();
+        sameDirectoryListener.listen(new JobExecutionEvent("fake_task_id", "test_job", ExecutionSource.NORMAL_TRIGGER, 0));
+        sameDirectoryListener.close();
+        final List<JobEvent> actual = new ArrayList<>();
+        new JobEventFileReader(directory.getPath()).read(new JobEventFileVisitor() {
+            
+            @Override
+            public boolean visit(final JobEvent event) {
+                actual.add(event);
+                return true;
+            }
+        });
+        assertThat(actual.size(), is(1));
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.event.file;
+
+import com.dangdang.ddframe.job.context.ExecutionType;
+import com.dangdang.ddframe.job.event.rdb.JobEventRdbSearch.Condition;
+import com.dangdang.ddframe.job.event.rdb.JobEventRdbSearch.Result;
+import com.dangdang.ddframe.job.event.type.JobExecutionEvent;
+import com.dangdang.ddframe.job.event.type.JobExecutionEvent.ExecutionSource;
+import com.dangdang.ddframe.job.event.type.JobStatusTraceEvent;
+import com.dangdang.ddframe.job.event.type.JobStatusTraceEvent.Source;
+import com.dangdang.ddframe.job.event.type.JobStatusTraceEvent.State;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public final class JobEventFileSearchTest {
+    
+    private static File directory;
+    
+    private static JobEventFileSearch search;
+    
+    @BeforeClass
+    public static void setUpClass() throws IOException {
+        directory = Files.createTempDirectory("job-event-file").toFile();
+        JobEventFileWriter writer = new JobEventFileWriter(new JobEventFileConfiguration(directory.getPath(), 4096, 1000L, -1));
+        for (int i = 1; i <= 50; i++) {
+            JobExecutionEvent startEvent = new JobExecutionEvent("fake_task_id", "test_job_" + i, ExecutionSource.NORMAL_TRIGGER, 0);
+            writer.append(startEvent);
+            if (i % 2 == 0) {
+                writer.append(startEvent.executionSuccess());
+            }
+            writer.append(new JobStatusTraceEvent("test_job_" + i, "fake_failed_failover_task_id", "fake_slave_id", 
+                    Source.LITE_EXECUTOR, ExecutionType.FAILOVER, "0", State.TASK_FAILED, "message is empty."));
+        }
+        writer.close();
+        search = new JobEventFileSearch(directory.getPath());
+    }
+    
+    @AfterClass
+    public static void tearDownClass() {
+        for (File each : JobEventFileWriter.listSegmentFiles(directory)) {
+            each.delete();
+        }
+        directory.delete();
+    }
+    
+    @Test
+    public void assertFindJobExecutionEventsWithPageSizeAndNumber() {
+        Result<JobExecutionEvent> result = search.findJobExecutionEvents(new Condition(10, 1, null, null, null, null, null));
+        assertThat(result.getTotal(), is(50));
+        assertThat(result.getRows().size(), is(10));
+        assertThat(result.getRows().get(0).getJobName(), is("test_job_1"));
+        result = search.findJobExecutionEvents(new Condition(20, 3, null, null, null, null, null));
+        assertThat(result.getTotal(), is(50));
+        assertThat(result.getRows().size(), is(10));
+        assertThat(result.getRows().get(0).getJobName(), is("test_job_41"));
+        result = search.findJobExecutionEvents(new Condition(20, 4, null, null, null, null, null));
+        assertThat(result.getTotal(), is(50));
+        assertThat(result.getRows().size(), is(0));
+    }
+    
+    @Test
+    public void assertFindJobExecutionEventsWithErrorPageSizeAndNumber() {
+        Result<JobExecutionEvent> result = search.findJobExecutionEvents(new Condition(-1, -1, null, null, null, null, null));
+        assertThat(result.getTotal(), is(50));
+        assertThat(result.getRows().size(), is(10));
+    }
+    
+    @Test
+    public void assertFindJobExecutionEventsWithMergedCompleteEvent() {
+        Map<String, Object> fields = new HashMap<>();
+        fields.put("jobName", "test_job_2");
+        Result<JobExecutionEvent> result = search.findJobExecutionEvents(new Condition(10, 1, null, null, null, null, fields));
+        assertThat(result.getTotal(), is(1));
+        assertThat(result.getRows().get(0).isSuccess(), is(true));
+    }
+    
+    @Test
+    public void assertFindJobExecutionEventsWithFields() {
+        Map<String, Object> fields = new HashMap<>();
+        fields.put("isSuccess", "1");
+        Result<JobExecutionEvent> result = search.findJobExecutionEvents(new Condition(10, 1, null, null, null, null, fields));
+        assertThat(result.getTotal(), is(25));
+        fields.put("isSuccess", "0");
+        result = search.findJobExecutionEvents(new Condition(10, 1, null, null, null, null, fields));
+        assertThat(result.getTotal(), is(25));
+        fields.put("jobName", "test_job_1");
+        result = search.findJobExecutionEvents(new Condition(10, 1, null, null, null, null, fields));
+        assertThat(result.getTotal(), is(1));
+        fields.put("notExistField", "some value");
+        result = search.findJobExecutionEvents(new Condition(10, 1, null, null, null, null, fields));
+        assertThat(result.getTotal(), is(1));
+    }
+    
+    @Test
+    public void assertFindJobExecutionEventsWithSort() {
+        Result<JobExecutionEvent> result = search.findJobExecutionEvents(new Condition(10, 1, "jobName", "DESC", null, null, null));
+        assertThat(result.getRows().get(0).getJobName(), is("test_job_9"));
+        result = search.findJobExecutionEvents(new Condition(10, 1, "jobName", "ASC", null, null, null));
+        assertThat(result.getRows().get(0).getJobName(), is("test_job_1"));
+        result = search.findJobExecutionEvents(new Condition(10, 1, "notExistField", "ASC", null, null, null));
+        assertThat(result.getRows().get(0).getJobName(), is("test_job_1"));
+    }
+    
+    @Test
+    public void assertFindJobExecutionEventsWithSortAndPage() {
+        Result<JobExecutionEvent> result = search.findJobExecutionEvents(new Condition(10, 2, "jobName", "ASC", null, null, null));
+        assertThat(result.getTotal(), is(50));
+        assertThat(result.getRows().size(), is(10));
+        assertThat(result.getRows().get(0).getJobName(), is("test_job_19"));
+        assertThat(result.getRows().get(1).getJobName(), is("test_job_2"));
+    }
+    
+    @Test
+    public void assertFindJobExecutionEventsWithMaxCount() {
+        Result<JobExecutionEvent> result = search.findJobExecutionEvents(new Condition(10, 2, null, null, null, null, null, 20));
+        assertThat(result.getTotal(), is(20));
+        assertThat(result.getRows().size(), is(10));
+        assertThat(result.getRows().get(0).getJobName(), is("test_job_11"));
+        assertThat(result.getRows().get(1).isSuccess(), is(true));
+    }
+    
+    @Test
+    public void assertFindJobExecutionEventsWithTime() {
+        Result<JobExecutionEvent> result = search.findJobExecutionEvents(new Condition(10, 1, null, null, new Date(0L), null, null));
+        assertThat(result.getTotal(), is(50));
+        result = search.findJobExecutionEvents(new Condition(10, 1, null, null, null, new Date(0L), null));
+        assertThat(result.getTotal(), is(0));
+        result = search.findJobExecutionEvents(new Condition(10, 1, null, null, new Date(System.currentTimeMillis() + 60 * 60 * 1000L), null, null));
+        assertThat(result.getTotal(), is(0));
+    }
+    
+    @Test
+    public void assertFindJobStatusTraceEvents() {
+        Result<JobStatusTraceEvent> result = search.findJobStatusTraceEvents(new Condition(20, 1, null, null, null, null, null));
+        assertThat(result.getTotal(), is(50));
+        assertThat(result.getRows().size(), is(20));
+        Map<String, Object> fields = new HashMap<>();
+        fields.put("jobName", "test_job_10");
+        fields.put("state", State.TASK_FAILED.name());
+        result = search.findJobStatusTraceEvents(new Condition(10, 1, null, null, null, null, fields));
+        assertThat(result.getTotal(), is(1));
+        assertThat(result.getRows().get(0).getMessage(), is("message is empty."));
+        fields.put("state", State.TASK_RUNNING.name());
+        result = search.findJobStatusTraceEvents(new Condition(10, 1, null, null, null, null, fields));
+        assertThat(result.getTotal(), is(0));
+    }
+    
+    @Test
+    public void assertFindJobStatusTraceEventsWithMaxCount() {
+        Result<JobStatusTraceEvent> result = search.findJobStatusTraceEvents(new Condition(10, 1, null, null, null, null, null, 20));
+        assertThat(result.getTotal(), is(20));
+        assertThat(result.getRows().size(), is(10));
+        assertThat(result.getRows().get(0).getJobName(), is("test_job_1"));
+    }
+    
+    @Test
+    public void assertFindWhenSegmentModifiedBeforeStartTime() throws IOException {
+        File expiredDirectory = Files.createTempDirectory("job-event-file-expired").toFile();
+        JobEventFileWriter writer = new JobEventFileWriter(new JobEventFileConfiguration(expiredDirectory.getPath(), 4096, 1000L, -1));
+        writer.append(new JobExecutionEvent("fake_task_id", "test_job", ExecutionSource.NORMAL_TRIGGER, 0));
+        writer.close();
+        try {
+            for (File each : JobEventFileWriter.listSegmentFiles(expiredDirectory)) {
+                each.setLastModified(System.currentTimeMillis() - 60 * 60 * 1000L);
+            }
+            JobEventFileSearch expiredSearch = new JobEventFileSearch(expiredDirectory.getPath());
+            assertThat(expiredSearch.findJobExecutionEvents(new Condition(10, 1, null, null, null, null, null)).getTotal(), is(1));
+            assertThat(expiredSearch.findJobExecutionEvents(new Condition(10, 1, null, null, new Date(System.currentTimeMillis() - 60 * 1000L), null, null)).getTotal(), is(0));
+        } finally {
+            for (File each : JobEventFileWriter.listSegmentFiles(expiredDirectory)) {
+                each.delete();
+            }
+            expiredDirectory.delete();
+        }
+    }
+    
+    @Test
+    public void assertFindWhenDirectoryNotExisted() {
+        Result<JobExecutionEvent> result = new JobEventFileSearch(new File(directory, "not_existed").getPath()).findJobExecutionEvents(new Condition(10, 1, null, null, null, null, null));
+        assertThat(result.getTotal(), is(0));
+        assertThat(result.getRows().size(), is(0));
+    }
+}
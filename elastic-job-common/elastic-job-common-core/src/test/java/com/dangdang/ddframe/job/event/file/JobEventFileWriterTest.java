@@ -0,0 +1,174 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.event.file;
+
+import com.dangdang.ddframe.job.event.JobEvent;
+import com.dangdang.ddframe.job.event.type.JobExecutionEvent;
+import com.dangdang.ddframe.job.event.type.JobExecutionEvent.ExecutionSource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public final class JobEventFileWriterTest {
+    
+    private File directory;
+    
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("job-event-file").toFile();
+    }
+    
+    @After
+    public void tearDown() {
+        for (File each : JobEventFileWriter.listSegmentFiles(directory)) {
+            each.delete();
+        }
+        directory.delete();
+    }
+    
+    @Test
+    public void assertAppendAndRead() throws IOException {
+        JobEventFileWriter writer = new JobEventFileWriter(new JobEventFileConfiguration(directory.getPath()));
+        for (int i = 0; i < 10; i++) {
+            assertTrue(writer.append(new JobExecutionEvent("fake_task_id", "test_job_" + i, ExecutionSource.NORMAL_TRIGGER, i)));
+        }
+        writer.close();
+        List<JobEvent> actual = readAll();
+        assertThat(actual.size(), is(10));
+        for (int i = 0; i < 10; i++) {
+            assertThat(actual.get(i).getJobName(), is("test_job_" + i));
+        }
+    }
+    
+    @Test
+    public void assertAppendWhenClosed() throws IOException {
+        JobEventFileWriter writer = new JobEventFileWriter(new JobEventFileConfiguration(directory.getPath()));
+        writer.close();
+        assertFalse(writer.append(new JobExecutionEvent("fake_task_id", "test_job", ExecutionSource.NORMAL_TRIGGER, 0)));
+    }
+    
+    @Test
+    public void assertCloseTwice() throws IOException {
+        JobEventFileWriter writer = new JobEventFileWriter(new JobEventFileConfiguration(directory.getPath()));
+        writer.append(new JobExecutionEvent("fake_task_id", "test_job", ExecutionSource.NORMAL_TRIGGER, 0));
+        writer.close();
+        writer.close();
+        writer.force();
+        assertThat(readAll().size(), is(1));
+    }
+    
+    @Test
+    public void assertAcquireSameDirectory() throws IOException {
+        JobEventFileWriter writer = JobEventFileWriter.acquire(new JobEventFileConfiguration(directory.getPath()));
+        JobEventFileWriter sameDirectoryWriter = JobEventFileWriter.acquire(new JobEventFileConfiguration(new File(directory, ".").getPath()));
+        assertThat(sameDirectoryWriter, is(writer));
+        writer.append(new JobExecutionEvent("fake_task_id", "test_job_0", ExecutionSource.NORMAL_TRIGGER, 0));
+        sameDirectoryWriter.append(new JobExecutionEvent("fake_task_id", "test_job_1", ExecutionSource.NORMAL_TRIGGER, 0));
+        writer.release();
+        sameDirectoryWriter.release();
+        assertThat(JobEventFileWriter.listSegmentFiles(directory).size(), is(1));
+        assertThat(readAll().size(), is(2));
+    }
+    
+    @Test
+    public void assertReleaseLastReference() throws IOException {
+        JobEventFileWriter writer = JobEventFileWriter.acquire(new JobEventFileConfiguration(directory.getPath()));
+        JobEventFileWriter.acquire(new JobEventFileConfiguration(directory.getPath()));
+        writer.release();
+        assertTrue(writer.append(new JobExecutionEvent("fake_task_id", "test_job", ExecutionSource.NORMAL_TRIGGER, 0)));
+        writer.release();
+        assertFalse(writer.append(new JobExecutionEvent("fake_task_id", "test_job", ExecutionSource.NORMAL_TRIGGER, 0)));
+        JobEventFileWriter newWriter = JobEventFileWriter.acquire(new JobEventFileConfiguration(directory.getPath()));
+        assertThat(newWriter, not(writer));
+        newWriter.release();
+    }
+    
+    @Test
+    public void assertAppendWhenEventLargerThanSegment() throws IOException {
+        JobEventFileWriter writer = new JobEventFileWriter(new JobEventFileConfiguration(directory.getPath(), 64, 1000L, -1));
+        assertFalse(writer.append(new JobExecutionEvent("fake_task_id", "test_job", ExecutionSource.NORMAL_TRIGGER, 0)));
+        writer.close();
+    }
+    
+    @Test
+    public void assertRotate() throws IOException {
+        JobEventFileWriter writer = new JobEventFileWriter(new JobEventFileConfiguration(directory.getPath(), 1024, 1000L, -1));
+        for (int i = 0; i < 100; i++) {
+            assertTrue(writer.append(new JobExecutionEvent("fake_task_id", "test_job_" + i, ExecutionSource.NORMAL_TRIGGER, i)));
+        }
+        writer.close();
+        assertTrue(JobEventFileWriter.listSegmentFiles(directory).size() > 1);
+        List<JobEvent> actual = readAll();
+        assertThat(actual.size(), is(100));
+        for (int i = 0; i < 100; i++) {
+            assertThat(actual.get(i).getJobName(), is("test_job_" + i));
+        }
+    }
+    
+    @Test
+    public void assertDeleteExpiredSegments() throws IOException {
+        JobEventFileWriter writer = new JobEventFileWriter(new JobEventFileConfiguration(directory.getPath(), 1024, 1000L, 2));
+        for (int i = 0; i < 100; i++) {
+            writer.append(new JobExecutionEvent("fake_task_id", "test_job_" + i, ExecutionSource.NORMAL_TRIGGER, i));
+        }
+        writer.close();
+        assertThat(JobEventFileWriter.listSegmentFiles(directory).size(), is(2));
+        List<JobEvent> actual = readAll();
+        assertThat(actual.get(actual.size() - 1).getJobName(), is("test_job_99"));
+    }
+    
+    @Test
+    public void assertOpenNewSegmentWhenRestart() throws IOException {
+        JobEventFileWriter writer = new JobEventFileWriter(new JobEventFileConfiguration(directory.getPath(), 1024, 1000L, -1));
+        writer.append(new JobExecutionEvent("fake_task_id", "test_job_0", ExecutionSource.NORMAL_TRIGGER, 0));
+        writer.close();
+        writer = new JobEventFileWriter(new JobEventFileConfiguration(directory.getPath(), 1024, 1000L, -1));
+        writer.append(new JobExecutionEvent("fake_task_id", "test_job_1", ExecutionSource.NORMAL_TRIGGER, 0));
+        writer.close();
+        assertThat(JobEventFileWriter.listSegmentFiles(directory).size(), is(2));
+        List<JobEvent> actual = readAll();
+        assertThat(actual.size(), is(2));
+        assertThat(actual.get(0).getJobName(), is("test_job_0"));
+        assertThat(actual.get(1).getJobName(), is("test_job_1"));
+    }
+    
+    private List<JobEvent> readAll() throws IOException {
+        final List<JobEvent> result = new ArrayList<>();
+        new JobEventFileReader(directory.getPath()).read(new JobEventFileVisitor() {
+            
+            @Override
+            public boolean visit(final JobEvent event) {
+                result.add(event);
+                return true;
+            }
+        });
+        return result;
+    }
+}
@@ -23,14 +23,19 @@ import com.dangdang.ddframe.job.event.type.JobStatusTraceEvent;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
+import java.io.Closeable;
+
 @RequiredArgsConstructor
-public final class TestJobEventListener extends TestJobEventIdentity implements JobEventListener {
+public final class TestJobEventListener extends TestJobEventIdentity implements JobEventListener, Closeable {
     
     @Getter
     private static volatile boolean executionEventCalled;
     
     private final JobEventCaller jobEventCaller;
     
+    @Getter
+    private volatile boolean closed;
+    
     @Override
     public void listen(final JobExecutionEvent jobExecutionEvent) {
         jobEventCaller.call();
@@ -42,6 +47,11 @@ public final class TestJobEventListener extends TestJobEventIdentity implements
         jobEventCaller.call();
     }
     
+    @Override
+    public void close() {
+        closed = true;
+    }
+    
     public static void reset() {
         executionEventCalled = false;
     }
@@ -0,0 +1,104 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.event.rdb;
+
+import com.dangdang.ddframe.job.context.ExecutionType;
+import com.dangdang.ddframe.job.event.JobEvent;
+import com.dangdang.ddframe.job.event.JobEventOverflowPolicy;
+import com.dangdang.ddframe.job.event.type.JobExecutionEvent;
+import com.dangdang.ddframe.job.event.type.JobExecutionEvent.ExecutionSource;
+import com.dangdang.ddframe.job.event.type.JobStatusTraceEvent;
+import com.dangdang.ddframe.job.event.type.JobStatusTraceEvent.Source;
+import com.dangdang.ddframe.job.event.type.JobStatusTraceEvent.State;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.verify;
+
+@RunWith(MockitoJUnitRunner.class)
+public final class JobEventRdbBatchWriterTest {
+    
+    @Mock
+    private JobEventRdbStorage storage;
+    
+    @Test
+    public void assertAddWhenBlock() {
+        JobEventRdbBatchWriter batchWriter = new JobEventRdbBatchWriter(storage, new JobEventRdbBatchConfiguration(2, 10, 100L, JobEventOverflowPolicy.BLOCK));
+        batchWriter.add(createJobExecutionEvent());
+        batchWriter.add(createJobExecutionEvent());
+        assertThat(batchWriter.getPendingCount(), is(2));
+        assertThat(batchWriter.getDroppedCount(), is(0L));
+    }
+    
+    @Test
+    public void assertAddWhenDropOldest() {
+        JobEventRdbBatchWriter batchWriter = new JobEventRdbBatchWriter(storage, new JobEventRdbBatchConfiguration(2, 10, 100L, JobEventOverflowPolicy.DROP_OLDEST));
+        JobExecutionEvent oldestEvent = createJobExecutionEvent();
+        batchWriter.add(oldestEvent);
+        batchWriter.add(createJobExecutionEvent());
+        batchWriter.add(createJobExecutionEvent());
+        assertThat(batchWriter.getPendingCount(), is(2));
+        assertThat(batchWriter.getDroppedCount(), is(1L));
+    }
+    
+    @Test
+    public void assertAddWhenDropNewest() {
+        JobEventRdbBatchWriter batchWriter = new JobEventRdbBatchWriter(storage, new JobEventRdbBatchConfiguration(2, 10, 100L, JobEventOverflowPolicy.DROP_NEWEST));
+        batchWriter.add(createJobExecutionEvent());
+        batchWriter.add(createJobExecutionEvent());
+        batchWriter.add(createJobExecutionEvent());
+        assertThat(batchWriter.getPendingCount(), is(2));
+        assertThat(batchWriter.getDroppedCount(), is(1L));
+    }
+    
+    @Test
+    public void assertFlush() {
+        JobEventRdbBatchWriter batchWriter = new JobEventRdbBatchWriter(storage, new JobEventRdbBatchConfiguration(2, 10, 100L, JobEventOverflowPolicy.BLOCK));
+        JobExecutionEvent jobExecutionEvent = createJobExecutionEvent();
+        JobStatusTraceEvent jobStatusTraceEvent = createJobStatusTraceEvent();
+        batchWriter.flush(Arrays.<JobEvent>asList(jobExecutionEvent, jobStatusTraceEvent));
+        verify(storage).addJobExecutionEvents(Collections.singletonList(jobExecutionEvent));
+        verify(storage).addJobStatusTraceEvents(Collections.singletonList(jobStatusTraceEvent));
+    }
+    
+    @Test
+    public void assertCloseWithPendingEvents() {
+        JobEventRdbBatchWriter batchWriter = new JobEventRdbBatchWriter(storage, new JobEventRdbBatchConfiguration(10, 10, 60000L, JobEventOverflowPolicy.BLOCK));
+        JobExecutionEvent jobExecutionEvent = createJobExecutionEvent();
+        batchWriter.add(jobExecutionEvent);
+        batchWriter.start();
+        batchWriter.close();
+        assertThat(batchWriter.getPendingCount(), is(0));
+        verify(storage).addJobExecutionEvents(Collections.singletonList(jobExecutionEvent));
+    }
+    
+    private JobExecutionEvent createJobExecutionEvent() {
+        return new JobExecutionEvent("fake_task_id", "test_job", ExecutionSource.NORMAL_TRIGGER, 0);
+    }
+    
+    private JobStatusTraceEvent createJobStatusTraceEvent() {
+        return new JobStatusTraceEvent("test_job", "fake_task_id", "fake_slave_id", Source.LITE_EXECUTOR, ExecutionType.READY, "0", State.TASK_RUNNING, "message is empty.");
+    }
+}
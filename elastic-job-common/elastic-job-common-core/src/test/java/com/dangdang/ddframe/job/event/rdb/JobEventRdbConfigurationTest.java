@@ -18,6 +18,7 @@
 package com.dangdang.ddframe.job.event.rdb;
 
 import com.dangdang.ddframe.job.event.JobEventListenerConfigurationException;
+import com.dangdang.ddframe.job.event.JobEventOverflowPolicy;
 import org.apache.commons.dbcp.BasicDataSource;
 import org.junit.Test;
 
@@ -47,6 +48,45 @@ public final class JobEventRdbConfigurationTest {
         assertThat(new JobEventRdbConfiguration(dataSource).createJobEventListener(), instanceOf(JobEventRdbListener.class));
     }
     
+    @Test
+    public void assertCreateJobEventListenerWithBatchConfiguration() throws JobEventListenerConfigurationException {
+        BasicDataSource dataSource = new BasicDataSource();
+        dataSource.setDriverClassName(org.h2.Driver.class.getName());
+        dataSource.setUrl("jdbc:h2:mem:job_event_storage");
+        dataSource.setUsername("sa");
+        dataSource.setPassword("");
+        JobEventRdbBatchConfiguration batchConfig = new JobEventRdbBatchConfiguration(1000, 100, 1000L, JobEventOverflowPolicy.DROP_NEWEST);
+        JobEventRdbConfiguration actual = new JobEventRdbConfiguration(dataSource, batchConfig);
+        assertThat(actual.getBatchConfig(), is(batchConfig));
+        assertThat(actual.createJobEventListener(), instanceOf(JobEventRdbListener.class));
+    }
+    
+    @Test
+    public void assertCreateJobEventListenerWithCompletionOnlyConfiguration() throws JobEventListenerConfigurationException {
+        BasicDataSource dataSource = new BasicDataSource();
+        dataSource.setDriverClassName(org.h2.Driver.class.getName());
+        dataSource.setUrl("jdbc:h2:mem:job_event_storage");
+        dataSource.setUsername("sa");
+        dataSource.setPassword("");
+        JobEventRdbCompletionOnlyConfiguration completionOnlyConfig = new JobEventRdbCompletionOnlyConfiguration(60000L, 1000);
+        JobEventRdbConfiguration actual = new JobEventRdbConfiguration(dataSource, null, completionOnlyConfig);
+        assertThat(actual.getCompletionOnlyConfig(), is(completionOnlyConfig));
+        assertThat(actual.createJobEventListener(), instanceOf(JobEventRdbListener.class));
+    }
+    
+    @Test
+    public void assertCreateJobEventListenerWithPartitionConfiguration() throws JobEventListenerConfigurationException {
+        BasicDataSource dataSource = new BasicDataSource();
+        dataSource.setDriverClassName(org.h2.Driver.class.getName());
+        dataSource.setUrl("jdbc:h2:mem:job_event_partition_config");
+        dataSource.setUsername("sa");
+        dataSource.setPassword("");
+        JobEventRdbPartitionConfiguration partitionConfig = new JobEventRdbPartitionConfiguration(JobEventRdbPartitionGranularity.DAY, 30, JobEventRdbRetentionPolicy.DROP);
+        JobEventRdbConfiguration actual = new JobEventRdbConfiguration(dataSource, null, null, partitionConfig);
+        assertThat(actual.getPartitionConfig(), is(partitionConfig));
+        assertThat(actual.createJobEventListener(), instanceOf(JobEventRdbListener.class));
+    }
+    
     @Test(expected = JobEventListenerConfigurationException.class)
     public void assertCreateJobEventListenerFailure() throws JobEventListenerConfigurationException {
         new JobEventRdbConfiguration(new BasicDataSource()).createJobEventListener();
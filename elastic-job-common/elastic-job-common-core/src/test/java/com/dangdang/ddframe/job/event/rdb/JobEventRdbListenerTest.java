@@ -20,6 +20,7 @@ package com.dangdang.ddframe.job.event.rdb;
 import com.dangdang.ddframe.job.context.ExecutionType;
 import com.dangdang.ddframe.job.event.JobEventBus;
 import com.dangdang.ddframe.job.event.JobEventListenerConfigurationException;
+import com.dangdang.ddframe.job.event.JobEventOverflowPolicy;
 import com.dangdang.ddframe.job.event.type.JobExecutionEvent;
 import com.dangdang.ddframe.job.event.type.JobStatusTraceEvent;
 import com.dangdang.ddframe.job.event.type.JobStatusTraceEvent.Source;
@@ -33,8 +34,12 @@ import org.mockito.junit.MockitoJUnitRunner;
 import org.unitils.util.ReflectionUtils;
 
 import java.sql.SQLException;
+import java.util.Collections;
+import java.util.concurrent.ScheduledExecutorService;
 
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -49,11 +54,13 @@ public final class JobEventRdbListenerTest {
     @Mock
     private JobEventRdbStorage repository;
     
+    private BasicDataSource dataSource;
+    
     private JobEventBus jobEventBus;
     
     @Before
     public void setUp() throws JobEventListenerConfigurationException, SQLException, NoSuchFieldException {
-        BasicDataSource dataSource = new BasicDataSource();
+        dataSource = new BasicDataSource();
         dataSource.setDriverClassName(org.h2.Driver.class.getName());
         dataSource.setUrl("jdbc:h2:mem:job_event_storage");
         dataSource.setUsername("sa");
@@ -78,4 +85,39 @@ public final class JobEventRdbListenerTest {
         jobEventBus.post(jobStatusTraceEvent);
         verify(repository, atMost(1)).addJobStatusTraceEvent(jobStatusTraceEvent);
     }
+    
+    @Test
+    public void assertListenWhenCompletionOnly() throws SQLException, NoSuchFieldException {
+        JobEventRdbListener jobEventRdbListener = new JobEventRdbListener(dataSource, null, new JobEventRdbCompletionOnlyConfiguration(60000L, 100));
+        ReflectionUtils.setFieldValue(jobEventRdbListener, "repository", repository);
+        JobExecutionEvent startEvent = new JobExecutionEvent("fake_task_id", JOB_NAME, JobExecutionEvent.ExecutionSource.NORMAL_TRIGGER, 0);
+        JobExecutionEvent completeEvent = startEvent.executionSuccess();
+        jobEventRdbListener.listen(startEvent);
+        jobEventRdbListener.listen(completeEvent);
+        verify(repository, never()).addJobExecutionEvent(startEvent);
+        verify(repository).addCompleteJobExecutionEvent(completeEvent);
+    }
+    
+    @Test
+    public void assertCloseWhenCompletionOnly() throws SQLException, NoSuchFieldException {
+        JobEventRdbListener jobEventRdbListener = new JobEventRdbListener(dataSource, null, new JobEventRdbCompletionOnlyConfiguration(60000L, 100));
+        ReflectionUtils.setFieldValue(jobEventRdbListener, "repository", repository);
+        JobExecutionEvent startEvent = new JobExecutionEvent("fake_task_id", JOB_NAME, JobExecutionEvent.ExecutionSource.NORMAL_TRIGGER, 0);
+        jobEventRdbListener.listen(startEvent);
+        jobEventRdbListener.close();
+        verify(repository).addJobExecutionEvent(startEvent);
+        assertTrue(((ScheduledExecutorService) ReflectionUtils.getFieldValue(jobEventRdbListener, JobEventRdbListener.class.getDeclaredField("expirationExecutorService"))).isShutdown());
+    }
+    
+    @Test
+    public void assertCloseWithBatchWriter() throws SQLException, NoSuchFieldException {
+        JobEventRdbListener jobEventRdbListener = new JobEventRdbListener(dataSource, new JobEventRdbBatchConfiguration(10, 10, 60000L, JobEventOverflowPolicy.BLOCK));
+        JobEventRdbBatchWriter batchWriter = ReflectionUtils.getFieldValue(jobEventRdbListener, JobEventRdbListener.class.getDeclaredField("batchWriter"));
+        ReflectionUtils.setFieldValue(batchWriter, "storage", repository);
+        JobStatusTraceEvent jobStatusTraceEvent = new JobStatusTraceEvent(
+                JOB_NAME, "fake_task_id", "fake_slave_id",  Source.LITE_EXECUTOR, ExecutionType.READY, "0", State.TASK_RUNNING, "message is empty.");
+        jobEventRdbListener.listen(jobStatusTraceEvent);
+        jobEventRdbListener.close();
+        verify(repository).addJobStatusTraceEvents(Collections.singletonList(jobStatusTraceEvent));
+    }
 }
@@ -0,0 +1,58 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.event.rdb;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+
+public final class JobEventRdbOriginalTaskIdCacheTest {
+    
+    private final JobEventRdbOriginalTaskIdCache originalTaskIdCache = new JobEventRdbOriginalTaskIdCache(2);
+    
+    @Test
+    public void assertPutAndGet() {
+        originalTaskIdCache.put("task_id", "original_task_id");
+        assertThat(originalTaskIdCache.get("task_id"), is("original_task_id"));
+    }
+    
+    @Test
+    public void assertGetWhenAbsent() {
+        assertNull(originalTaskIdCache.get("task_id"));
+    }
+    
+    @Test
+    public void assertRemove() {
+        originalTaskIdCache.put("task_id", "original_task_id");
+        originalTaskIdCache.remove("task_id");
+        assertNull(originalTaskIdCache.get("task_id"));
+    }
+    
+    @Test
+    public void assertPutExceedMaxSize() {
+        originalTaskIdCache.put("task_id_0", "original_task_id_0");
+        originalTaskIdCache.put("task_id_1", "original_task_id_1");
+        originalTaskIdCache.get("task_id_0");
+        originalTaskIdCache.put("task_id_2", "original_task_id_2");
+        assertThat(originalTaskIdCache.size(), is(2));
+        assertThat(originalTaskIdCache.get("task_id_0"), is("original_task_id_0"));
+        assertNull(originalTaskIdCache.get("task_id_1"));
+    }
+}
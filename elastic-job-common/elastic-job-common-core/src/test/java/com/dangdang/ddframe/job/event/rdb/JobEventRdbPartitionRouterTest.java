@@ -0,0 +1,117 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.event.rdb;
+
+import org.apache.commons.dbcp.BasicDataSource;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public final class JobEventRdbPartitionRouterTest {
+    
+    private final JobEventRdbPartitionRouter dayRouter = new JobEventRdbPartitionRouter(
+            new JobEventRdbPartitionConfiguration(JobEventRdbPartitionGranularity.DAY, 0, JobEventRdbRetentionPolicy.DROP));
+    
+    @Test
+    public void assertGetTableNameWhenNotPartitioned() throws ParseException {
+        JobEventRdbPartitionRouter router = new JobEventRdbPartitionRouter(null);
+        assertFalse(router.isPartitioned());
+        assertThat(router.getTableName("JOB_EXECUTION_LOG", createDate("2017-01-02 10:00:00")), is("JOB_EXECUTION_LOG"));
+    }
+    
+    @Test
+    public void assertGetTableNameByDay() throws ParseException {
+        assertTrue(dayRouter.isPartitioned());
+        assertThat(dayRouter.getTableName("JOB_EXECUTION_LOG", createDate("2017-01-02 00:00:00")), is("JOB_EXECUTION_LOG_20170102"));
+        assertThat(dayRouter.getTableName("JOB_EXECUTION_LOG", createDate("2017-01-02 23:59:59")), is("JOB_EXECUTION_LOG_20170102"));
+        assertThat(dayRouter.getTableName("JOB_EXECUTION_LOG", createDate("2017-01-03 00:00:00")), is("JOB_EXECUTION_LOG_20170103"));
+        assertThat(dayRouter.getTableName("JOB_EXECUTION_LOG", createDate("2017-01-01 23:59:59")), is("JOB_EXECUTION_LOG_20170101"));
+    }
+    
+    @Test
+    public void assertGetTableNameByDayAlternately() throws ParseException {
+        for (int i = 0; i < 3; i++) {
+            assertThat(dayRouter.getTableName("JOB_EXECUTION_LOG", createDate("2017-01-02 23:59:59")), is("JOB_EXECUTION_LOG_20170102"));
+            assertThat(dayRouter.getTableName("JOB_EXECUTION_LOG", createDate("2017-01-03 00:00:00")), is("JOB_EXECUTION_LOG_20170103"));
+        }
+        for (int i = 1; i <= 20; i++) {
+            assertThat(dayRouter.getTableName("JOB_EXECUTION_LOG", createDate(String.format("2017-02-%02d 12:00:00", i))), is(String.format("JOB_EXECUTION_LOG_201702%02d", i)));
+        }
+        assertThat(dayRouter.getTableName("JOB_EXECUTION_LOG", createDate("2017-01-02 10:00:00")), is("JOB_EXECUTION_LOG_20170102"));
+    }
+    
+    @Test
+    public void assertGetTableNameByMonth() throws ParseException {
+        JobEventRdbPartitionRouter router = new JobEventRdbPartitionRouter(
+                new JobEventRdbPartitionConfiguration(JobEventRdbPartitionGranularity.MONTH, 0, JobEventRdbRetentionPolicy.DROP));
+        assertThat(router.getTableName("JOB_STATUS_TRACE_LOG", createDate("2017-01-31 23:59:59")), is("JOB_STATUS_TRACE_LOG_201701"));
+        assertThat(router.getTableName("JOB_STATUS_TRACE_LOG", createDate("2017-02-01 00:00:00")), is("JOB_STATUS_TRACE_LOG_201702"));
+    }
+    
+    @Test
+    public void assertGetArchiveTableName() {
+        assertThat(dayRouter.getArchiveTableName("JOB_EXECUTION_LOG", "JOB_EXECUTION_LOG_20170102"), is("JOB_EXECUTION_LOG_ARCHIVE_20170102"));
+    }
+    
+    @Test
+    public void assertGetIndexName() {
+        assertThat(dayRouter.getIndexName("JOB_EXECUTION_LOG", "JOB_EXECUTION_LOG_20170102", "EXECUTION_START_TIME_INDEX"), is("EXECUTION_START_TIME_INDEX_20170102"));
+        assertThat(dayRouter.getIndexName("JOB_EXECUTION_LOG", "JOB_EXECUTION_LOG", "EXECUTION_START_TIME_INDEX"), is("EXECUTION_START_TIME_INDEX"));
+    }
+    
+    @Test
+    public void assertGetTableNames() throws SQLException, ParseException {
+        BasicDataSource dataSource = new BasicDataSource();
+        dataSource.setDriverClassName(org.h2.Driver.class.getName());
+        dataSource.setUrl("jdbc:h2:mem:job_event_partition_router");
+        dataSource.setUsername("sa");
+        dataSource.setPassword("");
+        try (Connection conn = dataSource.getConnection()) {
+            for (String each : Arrays.asList("JOB_EXECUTION_LOG", "JOB_EXECUTION_LOG_20170103", "JOB_EXECUTION_LOG_20170101", "JOB_EXECUTION_LOG_20170102", 
+                    "JOB_EXECUTION_LOG_ARCHIVE_20161231", "JOB_STATUS_TRACE_LOG_20170101")) {
+                try (PreparedStatement preparedStatement = conn.prepareStatement("CREATE TABLE " + each + " (id VARCHAR(40) NOT NULL)")) {
+                    preparedStatement.execute();
+                }
+            }
+            assertThat(dayRouter.getPartitionTableNames(conn, "JOB_EXECUTION_LOG"), 
+                    is(Arrays.asList("JOB_EXECUTION_LOG_20170101", "JOB_EXECUTION_LOG_20170102", "JOB_EXECUTION_LOG_20170103")));
+            assertThat(dayRouter.getTableNames(conn, "JOB_EXECUTION_LOG", createDate("2017-01-02 10:00:00"), null), 
+                    is(Arrays.asList("JOB_EXECUTION_LOG_20170102", "JOB_EXECUTION_LOG_20170103")));
+            assertThat(dayRouter.getTableNames(conn, "JOB_EXECUTION_LOG", null, createDate("2017-01-02 10:00:00")), 
+                    is(Arrays.asList("JOB_EXECUTION_LOG_20170101", "JOB_EXECUTION_LOG_20170102")));
+            assertThat(dayRouter.getTableNames(conn, "JOB_EXECUTION_LOG", createDate("2017-02-01 00:00:00"), null), is(Collections.<String>emptyList()));
+            assertThat(new JobEventRdbPartitionRouter(null).getTableNames(conn, "JOB_EXECUTION_LOG", null, null), is(Collections.singletonList("JOB_EXECUTION_LOG")));
+        }
+    }
+    
+    private Date createDate(final String time) throws ParseException {
+        return new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").parse(time);
+    }
+}
@@ -28,14 +28,35 @@ import com.dangdang.ddframe.job.event.type.JobStatusTraceEvent.State;
 import org.apache.commons.dbcp.BasicDataSource;
 import org.junit.BeforeClass;
 import org.junit.Test;
+import org.mockito.InOrder;
 
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Calendar;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class JobEventRdbSearchTest {
     
@@ -43,6 +64,8 @@ public class JobEventRdbSearchTest {
     
     private static JobEventRdbSearch  repository;
     
+    private static JobEventRdbSearch partitionRepository;
+    
     @BeforeClass
     public static void setUpClass() throws SQLException {
         BasicDataSource dataSource = new BasicDataSource();
@@ -53,6 +76,7 @@ public class JobEventRdbSearchTest {
         storage = new JobEventRdbStorage(dataSource);
         repository = new JobEventRdbSearch(dataSource);
         initStorage();
+        initPartitionStorage();
     }
     
     private static void initStorage() {
@@ -69,6 +93,33 @@ public class JobEventRdbSearchTest {
         }
     }
     
+    private static void initPartitionStorage() throws SQLException {
+        BasicDataSource dataSource = new BasicDataSource();
+        dataSource.setDriverClassName(org.h2.Driver.class.getName());
+        dataSource.setUrl("jdbc:h2:mem:job_event_partition_search");
+        dataSource.setUsername("sa");
+        dataSource.setPassword("");
+        JobEventRdbPartitionConfiguration partitionConfig = new JobEventRdbPartitionConfiguration(JobEventRdbPartitionGranularity.DAY, 0, JobEventRdbRetentionPolicy.DROP);
+        JobEventRdbStorage partitionStorage = new JobEventRdbStorage(dataSource, partitionConfig);
+        partitionRepository = new JobEventRdbSearch(dataSource, partitionConfig);
+        for (int day = 1; day <= 3; day++) {
+            for (int item = 0; item < 2; item++) {
+                Date startTime = createPartitionDate(day, item);
+                partitionStorage.addJobExecutionEvent(new JobExecutionEvent("fake_id_" + day + "_" + item, "fake_host", "127.0.0.1", "fake_task_id", "partition_test_job", 
+                        ExecutionSource.NORMAL_TRIGGER, item, startTime, null, false, null));
+            }
+            partitionStorage.addJobStatusTraceEvent(new JobStatusTraceEvent("fake_status_id_" + day, "partition_test_job", "", "fake_task_id", "fake_slave_id", 
+                    Source.LITE_EXECUTOR, ExecutionType.READY, "0", State.TASK_RUNNING, "message is empty.", createPartitionDate(day, 0)));
+        }
+    }
+    
+    private static Date createPartitionDate(final int day, final int hour) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set(2000, Calendar.JANUARY, day, hour, 0, 0);
+        return calendar.getTime();
+    }
+    
     @Test
     public void assertFindJobExecutionEventsWithPageSizeAndNumber() {
         Result<JobExecutionEvent> result = repository.findJobExecutionEvents(new Condition(10, 1, null, null, null, null, null));
@@ -243,4 +294,195 @@ public class JobEventRdbSearchTest {
         assertThat(result.getTotal(), is(500));
         assertThat(result.getRows().size(), is(10));
     }
+    
+    @Test
+    public void assertFindJobExecutionEventsWithMaxCount() {
+        Result<JobExecutionEvent> result = repository.findJobExecutionEvents(new Condition(10, 1, null, null, null, null, null, 100));
+        assertThat(result.getTotal(), is(100));
+        assertThat(result.getRows().size(), is(10));
+        Map<String, Object> fields = new HashMap<>();
+        fields.put("jobName", "test_job_1");
+        result = repository.findJobExecutionEvents(new Condition(10, 1, null, null, null, null, fields, 100));
+        assertThat(result.getTotal(), is(1));
+    }
+    
+    @Test
+    public void assertFindJobExecutionEventsWithSeekPagination() {
+        Set<String> ids = new HashSet<>();
+        Date seekTime = null;
+        String seekId = null;
+        Date previousStartTime = null;
+        for (int i = 0; i < 10; i++) {
+            Result<JobExecutionEvent> result = repository.findJobExecutionEvents(new Condition(50, "DESC", null, null, null, seekTime, seekId, 0));
+            assertThat(result.getTotal(), is(500));
+            assertThat(result.getRows().size(), is(50));
+            for (JobExecutionEvent each : result.getRows()) {
+                assertTrue(ids.add(each.getId()));
+                assertTrue(null == previousStartTime || !each.getStartTime().after(previousStartTime));
+                previousStartTime = each.getStartTime();
+            }
+            JobExecutionEvent last = result.getRows().get(result.getRows().size() - 1);
+            seekTime = last.getStartTime();
+            seekId = last.getId();
+        }
+        assertThat(ids.size(), is(500));
+        Result<JobExecutionEvent> result = repository.findJobExecutionEvents(new Condition(50, "DESC", null, null, null, seekTime, seekId, 0));
+        assertThat(result.getRows().size(), is(0));
+    }
+    
+    @Test
+    public void assertFindJobStatusTraceEventsWithSeekPagination() {
+        Map<String, Object> fields = new HashMap<>();
+        fields.put("jobName", "test_job_1");
+        Result<JobStatusTraceEvent> result = repository.findJobStatusTraceEvents(new Condition(10, "ASC", null, null, fields, null, null, 0));
+        assertThat(result.getTotal(), is(1));
+        assertThat(result.getRows().size(), is(1));
+        JobStatusTraceEvent first = result.getRows().get(0);
+        result = repository.findJobStatusTraceEvents(new Condition(10, "ASC", null, null, fields, first.getCreationTime(), first.getId(), 0));
+        assertThat(result.getTotal(), is(1));
+        assertThat(result.getRows().size(), is(0));
+    }
+    
+    @Test
+    public void assertStreamJobExecutionEvents() {
+        final List<JobExecutionEvent> events = new ArrayList<>();
+        Map<String, Object> fields = new HashMap<>();
+        fields.put("isSuccess", "1");
+        int actual = repository.streamJobExecutionEvents(new Condition(10, 1, null, null, null, null, fields), new JobEventRdbSearch.EventHandler<JobExecutionEvent>() {
+            
+            @Override
+            public void handle(final JobExecutionEvent event) {
+                events.add(event);
+            }
+        });
+        assertThat(actual, is(250));
+        assertThat(events.size(), is(250));
+        for (JobExecutionEvent each : events) {
+            assertTrue(each.isSuccess());
+        }
+    }
+    
+    @Test
+    public void assertStreamJobStatusTraceEvents() {
+        final List<JobStatusTraceEvent> events = new ArrayList<>();
+        int actual = repository.streamJobStatusTraceEvents(new Condition(10, 1, null, null, null, null, null), new JobEventRdbSearch.EventHandler<JobStatusTraceEvent>() {
+            
+            @Override
+            public void handle(final JobStatusTraceEvent event) {
+                events.add(event);
+            }
+        });
+        assertThat(actual, is(500));
+        assertFalse(events.isEmpty());
+    }
+    
+    @Test
+    public void assertStreamJobExecutionEventsWithMySQL() throws SQLException {
+        Connection conn = mockStreamingConnection("MySQL");
+        PreparedStatement preparedStatement = mockStreamingPreparedStatement(conn);
+        new JobEventRdbSearch(mockDataSource(conn)).streamJobExecutionEvents(new Condition(10, 1, null, null, null, null, null), new JobEventRdbSearch.EventHandler<JobExecutionEvent>() {
+            
+            @Override
+            public void handle(final JobExecutionEvent event) {
+            }
+        });
+        verify(preparedStatement).setFetchSize(Integer.MIN_VALUE);
+        verify(conn, never()).setAutoCommit(false);
+    }
+    
+    @Test
+    public void assertStreamJobStatusTraceEventsWithPostgreSQL() throws SQLException {
+        Connection conn = mockStreamingConnection("PostgreSQL");
+        when(conn.getAutoCommit()).thenReturn(true);
+        PreparedStatement preparedStatement = mockStreamingPreparedStatement(conn);
+        new JobEventRdbSearch(mockDataSource(conn)).streamJobStatusTraceEvents(new Condition(10, 1, null, null, null, null, null), new JobEventRdbSearch.EventHandler<JobStatusTraceEvent>() {
+            
+            @Override
+            public void handle(final JobStatusTraceEvent event) {
+            }
+        });
+        verify(preparedStatement).setFetchSize(1000);
+        InOrder inOrder = inOrder(conn, preparedStatement);
+        inOrder.verify(conn).setAutoCommit(false);
+        inOrder.verify(preparedStatement).executeQuery();
+        inOrder.verify(conn).setAutoCommit(true);
+    }
+    
+    @Test
+    public void assertFindJobExecutionEventsWithMaxCountWithoutLimitSupported() throws SQLException {
+        Connection conn = mockStreamingConnection("Oracle");
+        mockStreamingPreparedStatement(conn);
+        PreparedStatement countPreparedStatement = mock(PreparedStatement.class);
+        when(conn.prepareStatement("SELECT 1 FROM JOB_EXECUTION_LOG WHERE 1=1")).thenReturn(countPreparedStatement);
+        ResultSet countResultSet = mock(ResultSet.class);
+        when(countResultSet.next()).thenReturn(true, true, false);
+        when(countPreparedStatement.executeQuery()).thenReturn(countResultSet);
+        Result<JobExecutionEvent> result = new JobEventRdbSearch(mockDataSource(conn)).findJobExecutionEvents(new Condition(10, 1, null, null, null, null, null, 100));
+        assertThat(result.getTotal(), is(2));
+        verify(countPreparedStatement).setMaxRows(100);
+        verify(conn, never()).prepareStatement(contains("LIMIT 100"));
+    }
+    
+    private DataSource mockDataSource(final Connection conn) throws SQLException {
+        DataSource result = mock(DataSource.class);
+        when(result.getConnection()).thenReturn(conn);
+        return result;
+    }
+    
+    private Connection mockStreamingConnection(final String databaseProductName) throws SQLException {
+        Connection result = mock(Connection.class);
+        DatabaseMetaData databaseMetaData = mock(DatabaseMetaData.class);
+        when(databaseMetaData.getDatabaseProductName()).thenReturn(databaseProductName);
+        when(result.getMetaData()).thenReturn(databaseMetaData);
+        return result;
+    }
+    
+    private PreparedStatement mockStreamingPreparedStatement(final Connection conn) throws SQLException {
+        PreparedStatement result = mock(PreparedStatement.class);
+        when(conn.prepareStatement(anyString(), eq(ResultSet.TYPE_FORWARD_ONLY), eq(ResultSet.CONCUR_READ_ONLY))).thenReturn(result);
+        when(result.executeQuery()).thenReturn(mock(ResultSet.class));
+        return result;
+    }
+    
+    @Test
+    public void assertFindJobExecutionEventsWithPartition() {
+        Result<JobExecutionEvent> result = partitionRepository.findJobExecutionEvents(new Condition(4, 1, "startTime", "ASC", null, null, null));
+        assertThat(result.getTotal(), is(6));
+        assertThat(result.getRows().size(), is(4));
+        assertThat(result.getRows().get(0).getId(), is("fake_id_1_0"));
+        assertThat(result.getRows().get(3).getId(), is("fake_id_2_1"));
+        result = partitionRepository.findJobExecutionEvents(new Condition(4, 2, "startTime", "ASC", null, null, null));
+        assertThat(result.getRows().size(), is(2));
+        assertThat(result.getRows().get(1).getId(), is("fake_id_3_1"));
+        result = partitionRepository.findJobExecutionEvents(new Condition(10, 1, null, null, createPartitionDate(2, 0), null, null));
+        assertThat(result.getTotal(), is(4));
+        assertThat(result.getRows().size(), is(4));
+        result = partitionRepository.findJobExecutionEvents(new Condition(10, 1, null, null, createPartitionDate(5, 0), null, null));
+        assertThat(result.getTotal(), is(0));
+        assertThat(result.getRows().size(), is(0));
+        result = partitionRepository.findJobExecutionEvents(new Condition(10, 1, null, null, null, null, null, 3));
+        assertThat(result.getTotal(), is(3));
+    }
+    
+    @Test
+    public void assertFindJobExecutionEventsWithPartitionAndSeekPagination() {
+        Result<JobExecutionEvent> result = partitionRepository.findJobExecutionEvents(new Condition(4, "DESC", null, null, null, null, null, 0));
+        assertThat(result.getRows().size(), is(4));
+        assertThat(result.getRows().get(0).getId(), is("fake_id_3_1"));
+        JobExecutionEvent last = result.getRows().get(3);
+        assertThat(last.getId(), is("fake_id_2_0"));
+        result = partitionRepository.findJobExecutionEvents(new Condition(4, "DESC", null, null, null, last.getStartTime(), last.getId(), 0));
+        assertThat(result.getRows().size(), is(2));
+        assertThat(result.getRows().get(0).getId(), is("fake_id_1_1"));
+        assertThat(result.getRows().get(1).getId(), is("fake_id_1_0"));
+    }
+    
+    @Test
+    public void assertFindJobStatusTraceEventsWithPartition() {
+        Map<String, Object> fields = new HashMap<>();
+        fields.put("jobName", "partition_test_job");
+        Result<JobStatusTraceEvent> result = partitionRepository.findJobStatusTraceEvents(new Condition(10, 1, null, null, null, createPartitionDate(2, 12), fields));
+        assertThat(result.getTotal(), is(2));
+        assertThat(result.getRows().size(), is(2));
+    }
 }
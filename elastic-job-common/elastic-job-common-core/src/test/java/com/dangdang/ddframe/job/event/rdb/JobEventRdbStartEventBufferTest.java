@@ -0,0 +1,79 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.event.rdb;
+
+import com.dangdang.ddframe.job.event.type.JobExecutionEvent;
+import com.dangdang.ddframe.job.event.type.JobExecutionEvent.ExecutionSource;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public final class JobEventRdbStartEventBufferTest {
+    
+    private final JobEventRdbStartEventBuffer startEventBuffer = new JobEventRdbStartEventBuffer(new JobEventRdbCompletionOnlyConfiguration(60000L, 2));
+    
+    @Test
+    public void assertAddWithinLimit() {
+        assertTrue(startEventBuffer.add(createStartEvent(0)).isEmpty());
+        assertTrue(startEventBuffer.add(createStartEvent(1)).isEmpty());
+        assertThat(startEventBuffer.size(), is(2));
+    }
+    
+    @Test
+    public void assertAddExceedLimit() {
+        JobExecutionEvent eldestEvent = createStartEvent(0);
+        startEventBuffer.add(eldestEvent);
+        startEventBuffer.add(createStartEvent(1));
+        assertThat(startEventBuffer.add(createStartEvent(2)), is(Collections.singletonList(eldestEvent)));
+        assertThat(startEventBuffer.size(), is(2));
+    }
+    
+    @Test
+    public void assertRemove() {
+        JobExecutionEvent startEvent = createStartEvent(0);
+        startEventBuffer.add(startEvent);
+        assertThat(startEventBuffer.remove(startEvent.getId()), is(startEvent));
+        assertNull(startEventBuffer.remove(startEvent.getId()));
+    }
+    
+    @Test
+    public void assertRemoveExpired() {
+        JobExecutionEvent startEvent = createStartEvent(0);
+        startEventBuffer.add(startEvent);
+        assertTrue(startEventBuffer.removeExpired(startEvent.getStartTime().getTime() + 59999L).isEmpty());
+        assertThat(startEventBuffer.removeExpired(startEvent.getStartTime().getTime() + 60000L), is(Collections.singletonList(startEvent)));
+        assertThat(startEventBuffer.size(), is(0));
+    }
+    
+    @Test
+    public void assertRemoveAll() {
+        startEventBuffer.add(createStartEvent(0));
+        startEventBuffer.add(createStartEvent(1));
+        assertThat(startEventBuffer.removeAll().size(), is(2));
+        assertThat(startEventBuffer.size(), is(0));
+    }
+    
+    private JobExecutionEvent createStartEvent(final int item) {
+        return new JobExecutionEvent("fake_task_id", "test_job", ExecutionSource.NORMAL_TRIGGER, item);
+    }
+}
@@ -26,11 +26,24 @@ import com.dangdang.ddframe.job.event.type.JobStatusTraceEvent.State;
 import org.apache.commons.dbcp.BasicDataSource;
 import org.junit.Before;
 import org.junit.Test;
+import org.unitils.util.ReflectionUtils;
 
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertNull;
 import static junit.framework.TestCase.assertTrue;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.startsWith;
@@ -38,11 +51,13 @@ import static org.junit.Assert.assertThat;
 
 public class JobEventRdbStorageTest {
     
+    private BasicDataSource dataSource;
+    
     private JobEventRdbStorage storage;
     
     @Before
     public void setup() throws SQLException {
-        BasicDataSource dataSource = new BasicDataSource();
+        dataSource = new BasicDataSource();
         dataSource.setDriverClassName(org.h2.Driver.class.getName());
         dataSource.setUrl("jdbc:h2:mem:job_event_storage");
         dataSource.setUsername("sa");
@@ -50,6 +65,27 @@ public class JobEventRdbStorageTest {
         storage = new JobEventRdbStorage(dataSource);
     }
     
+    @Test
+    public void assertCreateIndexes() throws SQLException {
+        assertTrue(getIndexNames(dataSource, "JOB_EXECUTION_LOG").containsAll(
+                Arrays.asList("EXECUTION_JOB_NAME_START_TIME_INDEX", "EXECUTION_IS_SUCCESS_START_TIME_INDEX", "EXECUTION_START_TIME_INDEX")));
+        assertTrue(getIndexNames(dataSource, "JOB_STATUS_TRACE_LOG").containsAll(
+                Arrays.asList("TASK_ID_STATE_INDEX", "STATUS_JOB_NAME_CREATION_TIME_INDEX", "STATUS_CREATION_TIME_INDEX")));
+    }
+    
+    private Set<String> getIndexNames(final DataSource dataSource, final String tableName) throws SQLException {
+        Set<String> result = new HashSet<>();
+        try (
+                Connection conn = dataSource.getConnection();
+                ResultSet resultSet = conn.getMetaData().getIndexInfo(null, null, tableName, false, false)
+                ) {
+            while (resultSet.next()) {
+                result.add(resultSet.getString("INDEX_NAME"));
+            }
+        }
+        return result;
+    }
+    
     @Test
     public void assertAddJobExecutionEvent() throws SQLException {
         assertTrue(storage.addJobExecutionEvent(new JobExecutionEvent("fake_task_id", "test_job", ExecutionSource.NORMAL_TRIGGER, 0)));
@@ -87,6 +123,25 @@ public class JobEventRdbStorageTest {
         }
     }
     
+    @Test
+    public void assertAddJobStatusTraceEventWithOriginalTaskIdCache() throws SQLException, NoSuchFieldException {
+        JobStatusTraceEvent stagingJobStatusTraceEvent = new JobStatusTraceEvent("test_job", "fake_cached_failover_task_id", "fake_slave_id", Source.LITE_EXECUTOR, ExecutionType.FAILOVER, "0",
+                State.TASK_STAGING, "message is empty.");
+        stagingJobStatusTraceEvent.setOriginalTaskId("original_fake_cached_failover_task_id");
+        storage.addJobStatusTraceEvent(stagingJobStatusTraceEvent);
+        JobEventRdbOriginalTaskIdCache originalTaskIdCache = ReflectionUtils.getFieldValue(storage, JobEventRdbStorage.class.getDeclaredField("originalTaskIdCache"));
+        assertThat(originalTaskIdCache.get("fake_cached_failover_task_id"), is("original_fake_cached_failover_task_id"));
+        storage.addJobStatusTraceEvent(new JobStatusTraceEvent("test_job", "fake_cached_failover_task_id", "fake_slave_id", Source.LITE_EXECUTOR, ExecutionType.FAILOVER, "0",
+                State.TASK_RUNNING, "message is empty."));
+        assertThat(originalTaskIdCache.get("fake_cached_failover_task_id"), is("original_fake_cached_failover_task_id"));
+        storage.addJobStatusTraceEvent(new JobStatusTraceEvent("test_job", "fake_cached_failover_task_id", "fake_slave_id", Source.LITE_EXECUTOR, ExecutionType.FAILOVER, "0",
+                State.TASK_FINISHED, "message is empty."));
+        assertNull(originalTaskIdCache.get("fake_cached_failover_task_id"));
+        for (JobStatusTraceEvent each : storage.getJobStatusTraceEvents("fake_cached_failover_task_id")) {
+            assertThat(each.getOriginalTaskId(), is("original_fake_cached_failover_task_id"));
+        }
+    }
+    
     @Test
     public void assertUpdateJobExecutionEventWhenSuccess() throws SQLException {
         JobExecutionEvent startEvent = new JobExecutionEvent("fake_task_id", "test_job", ExecutionSource.NORMAL_TRIGGER, 0);
@@ -135,8 +190,133 @@ public class JobEventRdbStorageTest {
         assertThat(failEvent.getFailureCause(), startsWith("java.lang.RuntimeException: failure"));
     }
     
+    @Test
+    public void assertAddCompleteJobExecutionEventWhenSuccess() throws SQLException {
+        JobExecutionEvent startEvent = new JobExecutionEvent("fake_task_id", "test_job", ExecutionSource.NORMAL_TRIGGER, 0);
+        assertTrue(storage.addCompleteJobExecutionEvent(startEvent.executionSuccess()));
+        assertFalse(storage.addJobExecutionEvent(startEvent));
+    }
+    
+    @Test
+    public void assertAddCompleteJobExecutionEventWhenFailure() throws SQLException {
+        JobExecutionEvent startEvent = new JobExecutionEvent("fake_task_id", "test_job", ExecutionSource.NORMAL_TRIGGER, 0);
+        assertTrue(storage.addCompleteJobExecutionEvent(startEvent.executionFailure(new RuntimeException("failure"))));
+    }
+    
+    @Test
+    public void assertAddCompleteJobExecutionEventWhenStartEventExisted() throws SQLException {
+        JobExecutionEvent startEvent = new JobExecutionEvent("fake_task_id", "test_job", ExecutionSource.NORMAL_TRIGGER, 0);
+        assertTrue(storage.addJobExecutionEvent(startEvent));
+        assertTrue(storage.addCompleteJobExecutionEvent(startEvent.executionSuccess()));
+    }
+    
+    @Test
+    public void assertAddJobExecutionEvents() throws SQLException {
+        JobExecutionEvent startEvent = new JobExecutionEvent("fake_task_id", "test_job", ExecutionSource.NORMAL_TRIGGER, 0);
+        JobExecutionEvent otherStartEvent = new JobExecutionEvent("fake_task_id", "test_job", ExecutionSource.NORMAL_TRIGGER, 1);
+        assertTrue(storage.addJobExecutionEvents(Arrays.asList(startEvent, otherStartEvent, startEvent.executionSuccess())));
+        assertTrue(storage.addJobExecutionEvents(Collections.singletonList(otherStartEvent.executionFailure(new RuntimeException("failure")))));
+    }
+    
+    @Test
+    public void assertAddJobExecutionEventsWhenOnlyComplete() throws SQLException {
+        JobExecutionEvent startEvent = new JobExecutionEvent("fake_task_id", "test_job", ExecutionSource.NORMAL_TRIGGER, 0);
+        assertTrue(storage.addJobExecutionEvents(Collections.singletonList(startEvent.executionSuccess())));
+        assertFalse(storage.addJobExecutionEvents(Collections.singletonList(startEvent)));
+    }
+    
+    @Test
+    public void assertAddJobStatusTraceEventsWhenFailover() throws SQLException {
+        JobStatusTraceEvent stagingJobStatusTraceEvent = new JobStatusTraceEvent("test_job", "fake_batch_failover_task_id", "fake_slave_id", Source.LITE_EXECUTOR, ExecutionType.FAILOVER, "0",
+                State.TASK_STAGING, "message is empty.");
+        stagingJobStatusTraceEvent.setOriginalTaskId("original_fake_batch_failover_task_id");
+        JobStatusTraceEvent failedJobStatusTraceEvent = new JobStatusTraceEvent("test_job", "fake_batch_failover_task_id", "fake_slave_id", Source.LITE_EXECUTOR, ExecutionType.FAILOVER, "0",
+                State.TASK_FAILED, "message is empty.");
+        assertTrue(storage.addJobStatusTraceEvents(Arrays.asList(stagingJobStatusTraceEvent, failedJobStatusTraceEvent)));
+        List<JobStatusTraceEvent> jobStatusTraceEvents = storage.getJobStatusTraceEvents("fake_batch_failover_task_id");
+        assertThat(jobStatusTraceEvents.size(), is(2));
+        for (JobStatusTraceEvent jobStatusTraceEvent : jobStatusTraceEvents) {
+            assertThat(jobStatusTraceEvent.getOriginalTaskId(), is("original_fake_batch_failover_task_id"));
+        }
+    }
+    
     @Test
     public void assertFindJobExecutionEvent() throws SQLException {
         storage.addJobExecutionEvent(new JobExecutionEvent("fake_task_id", "test_job", ExecutionSource.NORMAL_TRIGGER, 0));
     }
+    
+    @Test
+    public void assertAddEventsWithPartition() throws SQLException, ParseException {
+        BasicDataSource partitionDataSource = createDataSource("jdbc:h2:mem:job_event_partition_storage");
+        JobEventRdbStorage partitionStorage = new JobEventRdbStorage(partitionDataSource, 
+                new JobEventRdbPartitionConfiguration(JobEventRdbPartitionGranularity.DAY, 0, JobEventRdbRetentionPolicy.DROP));
+        JobExecutionEvent startEvent = new JobExecutionEvent("fake_id", "fake_host", "127.0.0.1", "fake_task_id", "test_job", ExecutionSource.NORMAL_TRIGGER, 0, 
+                createDate("2000-01-01 10:00:00"), null, false, null);
+        assertTrue(partitionStorage.addJobExecutionEvent(startEvent));
+        assertTrue(partitionStorage.addJobExecutionEvent(startEvent.executionSuccess()));
+        JobExecutionEvent otherStartEvent = new JobExecutionEvent("other_fake_id", "fake_host", "127.0.0.1", "fake_task_id", "test_job", ExecutionSource.NORMAL_TRIGGER, 1, 
+                createDate("2000-01-02 10:00:00"), null, false, null);
+        assertTrue(partitionStorage.addJobExecutionEvents(Arrays.asList(otherStartEvent, otherStartEvent.executionSuccess())));
+        assertTrue(isTableExisted(partitionDataSource, "JOB_EXECUTION_LOG_20000101"));
+        assertTrue(isTableExisted(partitionDataSource, "JOB_EXECUTION_LOG_20000102"));
+        assertTrue(getIndexNames(partitionDataSource, "JOB_EXECUTION_LOG_20000101").contains("EXECUTION_START_TIME_INDEX_20000101"));
+        assertTrue(partitionStorage.addJobStatusTraceEvent(new JobStatusTraceEvent("fake_status_id", "test_job", "", "fake_partition_task_id", "fake_slave_id", 
+                Source.LITE_EXECUTOR, ExecutionType.READY, "0", State.TASK_STAGING, "message is empty.", createDate("2000-01-01 23:59:59"))));
+        assertTrue(partitionStorage.addJobStatusTraceEvents(Collections.singletonList(new JobStatusTraceEvent("other_fake_status_id", "test_job", "", "fake_partition_task_id", 
+                "fake_slave_id", Source.LITE_EXECUTOR, ExecutionType.READY, "0", State.TASK_RUNNING, "message is empty.", createDate("2000-01-02 00:00:00")))));
+        assertTrue(isTableExisted(partitionDataSource, "JOB_STATUS_TRACE_LOG_20000101"));
+        assertTrue(isTableExisted(partitionDataSource, "JOB_STATUS_TRACE_LOG_20000102"));
+        assertThat(partitionStorage.getJobStatusTraceEvents("fake_partition_task_id").size(), is(2));
+    }
+    
+    @Test
+    public void assertDropExpiredPartitions() throws SQLException {
+        BasicDataSource partitionDataSource = createDataSource("jdbc:h2:mem:job_event_partition_drop");
+        createTable(partitionDataSource, "JOB_EXECUTION_LOG_20000101");
+        createTable(partitionDataSource, "JOB_EXECUTION_LOG_20000102");
+        new JobEventRdbStorage(partitionDataSource, new JobEventRdbPartitionConfiguration(JobEventRdbPartitionGranularity.DAY, 2, JobEventRdbRetentionPolicy.DROP));
+        assertFalse(isTableExisted(partitionDataSource, "JOB_EXECUTION_LOG_20000101"));
+        assertTrue(isTableExisted(partitionDataSource, "JOB_EXECUTION_LOG_20000102"));
+        assertTrue(isTableExisted(partitionDataSource, "JOB_EXECUTION_LOG_" + new SimpleDateFormat("yyyyMMdd").format(new Date())));
+    }
+    
+    @Test
+    public void assertArchiveExpiredPartitions() throws SQLException {
+        BasicDataSource partitionDataSource = createDataSource("jdbc:h2:mem:job_event_partition_archive");
+        createTable(partitionDataSource, "JOB_STATUS_TRACE_LOG_20000101");
+        new JobEventRdbStorage(partitionDataSource, new JobEventRdbPartitionConfiguration(JobEventRdbPartitionGranularity.DAY, 1, JobEventRdbRetentionPolicy.ARCHIVE));
+        assertFalse(isTableExisted(partitionDataSource, "JOB_STATUS_TRACE_LOG_20000101"));
+        assertTrue(isTableExisted(partitionDataSource, "JOB_STATUS_TRACE_LOG_ARCHIVE_20000101"));
+    }
+    
+    private BasicDataSource createDataSource(final String url) {
+        BasicDataSource result = new BasicDataSource();
+        result.setDriverClassName(org.h2.Driver.class.getName());
+        result.setUrl(url);
+        result.setUsername("sa");
+        result.setPassword("");
+        return result;
+    }
+    
+    private void createTable(final DataSource dataSource, final String tableName) throws SQLException {
+        try (
+                Connection conn = dataSource.getConnection();
+                PreparedStatement preparedStatement = conn.prepareStatement("CREATE TABLE " + tableName + " (id VARCHAR(40) NOT NULL)")
+                ) {
+            preparedStatement.execute();
+        }
+    }
+    
+    private boolean isTableExisted(final DataSource dataSource, final String tableName) throws SQLException {
+        try (
+                Connection conn = dataSource.getConnection();
+                ResultSet resultSet = conn.getMetaData().getTables(null, null, tableName, new String[]{"TABLE"})
+                ) {
+            return resultSet.next();
+        }
+    }
+    
+    private Date createDate(final String time) throws ParseException {
+        return new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").parse(time);
+    }
 }
@@ -20,6 +20,7 @@ package com.dangdang.ddframe.job.executor;
 import com.dangdang.ddframe.job.executor.handler.ExecutorServiceHandlerRegistryTest;
 import com.dangdang.ddframe.job.executor.handler.JobPropertiesTest;
 import com.dangdang.ddframe.job.executor.handler.impl.DefaultJobExceptionHandlerTest;
+import com.dangdang.ddframe.job.executor.type.DataflowBatchSizeControllerTest;
 import com.dangdang.ddframe.job.executor.type.DataflowJobExecutorTest;
 import com.dangdang.ddframe.job.executor.type.ScriptJobExecutorTest;
 import com.dangdang.ddframe.job.executor.type.SimpleJobExecutorTest;
@@ -37,6 +38,7 @@ import org.junit.runners.Suite.SuiteClasses;
         SimpleJobExecutorTest.class,
         WrongJobExecutorTest.class,
         DataflowJobExecutorTest.class, 
+        DataflowBatchSizeControllerTest.class, 
         ScriptJobExecutorTest.class
     })
 public final class AllExecutorTests {
@@ -17,7 +17,9 @@
 
 package com.dangdang.ddframe.job.executor.handler;
 
+import com.dangdang.ddframe.job.executor.handler.impl.BoundedExecutorServiceHandler;
 import com.dangdang.ddframe.job.executor.handler.impl.DefaultExecutorServiceHandler;
+import com.dangdang.ddframe.job.util.concurrent.ExecutorServiceStatistics;
 import lombok.RequiredArgsConstructor;
 import org.junit.After;
 import org.junit.Test;
@@ -32,7 +34,9 @@ import java.util.concurrent.Executors;
 
 import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsNot.not;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 
 public final class ExecutorServiceHandlerRegistryTest {
     
@@ -48,6 +52,23 @@ public final class ExecutorServiceHandlerRegistryTest {
         assertThat(actual, not(ExecutorServiceHandlerRegistry.getExecutorServiceHandler("test_job", new DefaultExecutorServiceHandler())));
     }
     
+    @Test
+    public void assertRemoveAndShutdown() {
+        ExecutorService actual = ExecutorServiceHandlerRegistry.getExecutorServiceHandler("test_job", new DefaultExecutorServiceHandler());
+        ExecutorServiceHandlerRegistry.remove("test_job");
+        assertTrue(actual.isShutdown());
+        assertNull(ExecutorServiceHandlerRegistry.getStatistics("test_job"));
+    }
+    
+    @Test
+    public void assertGetStatistics() {
+        assertNull(ExecutorServiceHandlerRegistry.getStatistics("test_job"));
+        ExecutorServiceHandlerRegistry.getExecutorServiceHandler("test_job", new BoundedExecutorServiceHandler(2, 10, 1000L, ExecutorServiceRejectionPolicy.ABORT));
+        ExecutorServiceStatistics actual = ExecutorServiceHandlerRegistry.getStatistics("test_job");
+        assertThat(actual.getMaxPoolSize(), is(2));
+        assertThat(actual.getQueueCapacity(), is(10));
+    }
+    
     @Test
     public void assertGetExecutorServiceHandlerForSameThread() {
         assertThat(ExecutorServiceHandlerRegistry.getExecutorServiceHandler("test_job", new DefaultExecutorServiceHandler()), 
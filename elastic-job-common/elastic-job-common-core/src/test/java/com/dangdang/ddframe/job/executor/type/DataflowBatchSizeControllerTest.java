@@ -0,0 +1,75 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.executor.type;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public final class DataflowBatchSizeControllerTest {
+    
+    @Test
+    public void assertInitialBatchSize() {
+        assertThat(new DataflowBatchSizeController(100, 1000).getBatchSize(), is(DataflowBatchSizeController.INITIAL_BATCH_SIZE));
+        assertThat(new DataflowBatchSizeController(100, 10).getBatchSize(), is(10));
+    }
+    
+    @Test
+    public void assertGrowWhenProcessFasterThanTarget() {
+        DataflowBatchSizeController controller = new DataflowBatchSizeController(100, 1000);
+        controller.onProcessed(16, TimeUnit.MILLISECONDS.toNanos(1L), false);
+        assertThat(controller.getBatchSize(), is(32));
+        controller.onProcessed(32, TimeUnit.MILLISECONDS.toNanos(2L), false);
+        assertThat(controller.getBatchSize(), is(64));
+    }
+    
+    @Test
+    public void assertGrowNotExceedMaxBatchSize() {
+        DataflowBatchSizeController controller = new DataflowBatchSizeController(100, 20);
+        controller.onProcessed(16, TimeUnit.MILLISECONDS.toNanos(1L), false);
+        assertThat(controller.getBatchSize(), is(20));
+    }
+    
+    @Test
+    public void assertShrinkWhenProcessSlowerThanTarget() {
+        DataflowBatchSizeController controller = new DataflowBatchSizeController(100, 1000);
+        controller.onProcessed(16, TimeUnit.MILLISECONDS.toNanos(800L), false);
+        assertThat(controller.getBatchSize(), is(2));
+    }
+    
+    @Test
+    public void assertShrinkWhenProcessFailure() {
+        DataflowBatchSizeController controller = new DataflowBatchSizeController(100, 1000);
+        controller.onProcessed(16, TimeUnit.MILLISECONDS.toNanos(1L), true);
+        assertThat(controller.getBatchSize(), is(8));
+        assertTrue(controller.getErrorRate() > 0);
+        controller.onProcessed(8, TimeUnit.MILLISECONDS.toNanos(80L), false);
+        assertThat(controller.getBatchSize(), is(8));
+    }
+    
+    @Test
+    public void assertKeepBatchSizeWhenProcessEmptyData() {
+        DataflowBatchSizeController controller = new DataflowBatchSizeController(100, 1000);
+        controller.onProcessed(0, TimeUnit.MILLISECONDS.toNanos(1L), false);
+        assertThat(controller.getBatchSize(), is(DataflowBatchSizeController.INITIAL_BATCH_SIZE));
+    }
+}
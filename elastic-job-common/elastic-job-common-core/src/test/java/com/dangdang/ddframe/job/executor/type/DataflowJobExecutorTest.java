@@ -17,23 +17,37 @@
 
 package com.dangdang.ddframe.job.executor.type;
 
+import com.dangdang.ddframe.job.api.dataflow.DataflowJob;
+import com.dangdang.ddframe.job.event.type.JobExecutionEvent;
 import com.dangdang.ddframe.job.executor.JobFacade;
 import com.dangdang.ddframe.job.executor.ShardingContexts;
 import com.dangdang.ddframe.job.fixture.ShardingContextsBuilder;
 import com.dangdang.ddframe.job.fixture.config.TestDataflowJobConfiguration;
 import com.dangdang.ddframe.job.fixture.job.JobCaller;
+import com.dangdang.ddframe.job.fixture.job.TestAdaptiveDataflowJob;
 import com.dangdang.ddframe.job.fixture.job.TestDataflowJob;
+import com.dangdang.ddframe.job.fixture.job.TestKeyedDataflowJob;
 import org.junit.After;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
 
 import java.util.Arrays;
 import java.util.Collections;
 
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -166,11 +180,140 @@ public final class DataflowJobExecutorTest {
         verify(jobCaller).processData(4);
     }
     
+    @SuppressWarnings("unchecked")
+    @Test
+    public void assertExecuteWhenFetchDataIsNotEmptyForPipelinedStreamingProcess() {
+        setUp(true, 2, ShardingContextsBuilder.getMultipleShardingContexts());
+        when(jobFacade.isEligibleForJobRunning()).thenReturn(true);
+        when(jobCaller.fetchData(0)).thenReturn(Collections.<Object>singletonList(1), Collections.<Object>singletonList(2), Collections.emptyList());
+        when(jobCaller.fetchData(1)).thenReturn(Collections.<Object>singletonList(3), Collections.emptyList());
+        dataflowJobExecutor.execute();
+        verify(jobCaller, times(3)).fetchData(0);
+        verify(jobCaller, times(2)).fetchData(1);
+        verify(jobCaller).processData(1);
+        verify(jobCaller).processData(2);
+        verify(jobCaller).processData(3);
+    }
+    
+    @Test
+    public void assertExecuteWhenFetchDataFailureForPipelinedStreamingProcess() {
+        setUp(true, 1, ShardingContextsBuilder.getSingleShardingContexts());
+        when(jobFacade.isEligibleForJobRunning()).thenReturn(true);
+        when(jobCaller.fetchData(0)).thenReturn(Collections.<Object>singletonList(1)).thenThrow(new IllegalStateException());
+        dataflowJobExecutor.execute();
+        verify(jobCaller, times(2)).fetchData(0);
+        verify(jobCaller).processData(1);
+    }
+    
+    @SuppressWarnings("unchecked")
+    @Test
+    public void assertExecuteWhenIsNotEligibleForJobRunningForPipelinedStreamingProcess() {
+        setUp(true, 2, ShardingContextsBuilder.getSingleShardingContexts());
+        when(jobFacade.isEligibleForJobRunning()).thenReturn(false);
+        when(jobCaller.fetchData(0)).thenReturn(Arrays.<Object>asList(1, 2), Collections.<Object>singletonList(3));
+        dataflowJobExecutor.execute();
+        verify(jobCaller).fetchData(0);
+        verify(jobCaller).processData(1);
+        verify(jobCaller).processData(2);
+        verify(jobCaller, never()).processData(3);
+    }
+    
+    @SuppressWarnings("unchecked")
+    @Test
+    public void assertExecuteWhenIsNotEligibleForJobRunningWithPrefetchedDataForPipelinedStreamingProcess() {
+        setUp(true, 2, ShardingContextsBuilder.getSingleShardingContexts());
+        when(jobFacade.isEligibleForJobRunning()).thenAnswer(new Answer<Boolean>() {
+            
+            @Override
+            public Boolean answer(final InvocationOnMock invocation) {
+                return Thread.currentThread().getName().contains("prefetch");
+            }
+        });
+        when(jobCaller.fetchData(0)).thenReturn(Collections.<Object>singletonList(1), Collections.<Object>singletonList(2), Collections.emptyList());
+        dataflowJobExecutor.execute();
+        verify(jobCaller).processData(1);
+        verify(jobCaller).processData(2);
+    }
+    
+    @Test
+    public void assertExecuteWhenProcessDataInParallelSubBatches() {
+        setUp(new TestDataflowJobConfiguration(false, 0, 2), new TestDataflowJob(jobCaller), ShardingContextsBuilder.getSingleShardingContexts());
+        when(jobCaller.fetchData(0)).thenReturn(Arrays.<Object>asList(1, 2, 3, 4));
+        dataflowJobExecutor.execute();
+        verify(jobCaller).fetchData(0);
+        verify(jobCaller).processData(1);
+        verify(jobCaller).processData(2);
+        verify(jobCaller).processData(3);
+        verify(jobCaller).processData(4);
+    }
+    
+    @Test
+    public void assertExecuteWhenProcessDataInParallelSubBatchesWithOrderingKey() {
+        setUp(new TestDataflowJobConfiguration(false, 0, 2), new TestKeyedDataflowJob(jobCaller), ShardingContextsBuilder.getSingleShardingContexts());
+        when(jobCaller.fetchData(0)).thenReturn(Arrays.<Object>asList(1, 2, 3, 4, 5, 6));
+        dataflowJobExecutor.execute();
+        InOrder oddInOrder = inOrder(jobCaller);
+        oddInOrder.verify(jobCaller).processData(1);
+        oddInOrder.verify(jobCaller).processData(3);
+        oddInOrder.verify(jobCaller).processData(5);
+        InOrder evenInOrder = inOrder(jobCaller);
+        evenInOrder.verify(jobCaller).processData(2);
+        evenInOrder.verify(jobCaller).processData(4);
+        evenInOrder.verify(jobCaller).processData(6);
+    }
+    
+    @Test
+    public void assertExecuteWhenProcessDataFailureInParallelSubBatches() {
+        setUp(new TestDataflowJobConfiguration(false, 0, 2), new TestDataflowJob(jobCaller), ShardingContextsBuilder.getSingleShardingContexts());
+        when(jobCaller.fetchData(0)).thenReturn(Arrays.<Object>asList(1, 2, 3, 4));
+        doThrow(new IllegalStateException()).when(jobCaller).processData(2);
+        doThrow(new IllegalStateException()).when(jobCaller).processData(4);
+        dataflowJobExecutor.execute();
+        verify(jobCaller).processData(1);
+        verify(jobCaller).processData(3);
+        ArgumentCaptor<JobExecutionEvent> jobExecutionEventCaptor = ArgumentCaptor.forClass(JobExecutionEvent.class);
+        verify(jobFacade, atLeastOnce()).postJobExecutionEvent(jobExecutionEventCaptor.capture());
+        JobExecutionEvent actual = jobExecutionEventCaptor.getValue();
+        assertFalse(actual.isSuccess());
+        assertThat(actual.getFailureCause(), containsString("process data failure in 2 of 2 sub-batches"));
+    }
+    
+    @SuppressWarnings("unchecked")
+    @Test
+    public void assertExecuteWhenFetchDataWithAdaptiveBatchSize() {
+        setUp(new TestDataflowJobConfiguration(true, 0, 0, 1000, 1000), new TestAdaptiveDataflowJob(jobCaller), ShardingContextsBuilder.getSingleShardingContexts());
+        when(jobFacade.isEligibleForJobRunning()).thenReturn(true);
+        when(jobCaller.fetchData(0, DataflowBatchSizeController.INITIAL_BATCH_SIZE)).thenReturn(Collections.<Object>singletonList(1));
+        when(jobCaller.fetchData(0, DataflowBatchSizeController.INITIAL_BATCH_SIZE * 2)).thenReturn(Collections.emptyList());
+        dataflowJobExecutor.execute();
+        verify(jobCaller).fetchData(0, DataflowBatchSizeController.INITIAL_BATCH_SIZE);
+        verify(jobCaller).fetchData(0, DataflowBatchSizeController.INITIAL_BATCH_SIZE * 2);
+        verify(jobCaller, never()).fetchData(0);
+        verify(jobCaller).processData(1);
+    }
+    
+    @Test
+    public void assertExecuteWhenFetchDataWithoutTargetProcessLatency() {
+        setUp(new TestDataflowJobConfiguration(false), new TestAdaptiveDataflowJob(jobCaller), ShardingContextsBuilder.getSingleShardingContexts());
+        when(jobCaller.fetchData(0)).thenReturn(Collections.<Object>singletonList(1));
+        dataflowJobExecutor.execute();
+        verify(jobCaller).fetchData(0);
+        verify(jobCaller).processData(1);
+    }
+    
     private void setUp(final boolean isStreamingProcess, final ShardingContexts shardingContexts) {
+        setUp(isStreamingProcess, 0, shardingContexts);
+    }
+    
+    private void setUp(final boolean isStreamingProcess, final int prefetchDepth, final ShardingContexts shardingContexts) {
+        setUp(new TestDataflowJobConfiguration(isStreamingProcess, prefetchDepth, 0), new TestDataflowJob(jobCaller), shardingContexts);
+    }
+    
+    private void setUp(final TestDataflowJobConfiguration jobRootConfig, final DataflowJob<Object> dataflowJob, final ShardingContexts shardingContexts) {
         this.shardingContexts = shardingContexts;
-        when(jobFacade.loadJobRootConfiguration(true)).thenReturn(new TestDataflowJobConfiguration(isStreamingProcess));
+        when(jobFacade.loadJobRootConfiguration(true)).thenReturn(jobRootConfig);
         when(jobFacade.getShardingContexts()).thenReturn(shardingContexts);
-        dataflowJobExecutor = new DataflowJobExecutor(new TestDataflowJob(jobCaller), jobFacade);
+        dataflowJobExecutor = new DataflowJobExecutor(dataflowJob, jobFacade);
         ElasticJobVerify.prepareForIsNotMisfire(jobFacade, shardingContexts);
     }
 }
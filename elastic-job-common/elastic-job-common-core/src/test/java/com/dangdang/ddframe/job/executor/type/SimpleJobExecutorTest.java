@@ -166,6 +166,17 @@ public final class SimpleJobExecutorTest {
         verify(jobCaller, times(shardingContexts.getShardingTotalCount())).execute();
     }
     
+    @Test
+    public void assertExecuteWhenReusedAfterFailure() {
+        ShardingContexts shardingContexts = ShardingContextsBuilder.getMultipleShardingContexts();
+        ElasticJobVerify.prepareForIsNotMisfire(jobFacade, shardingContexts);
+        doThrow(RuntimeException.class).doThrow(RuntimeException.class).doNothing().when(jobCaller).execute();
+        simpleJobExecutor.execute();
+        simpleJobExecutor.execute();
+        verify(jobFacade).postJobStatusTraceEvent(shardingContexts.getTaskId(), State.TASK_FINISHED, "");
+        verify(jobCaller, times(4)).execute();
+    }
+    
     @Test
     public void assertExecuteWhenRunOnceWithMisfireIsEmpty() {
         ShardingContexts shardingContexts = ShardingContextsBuilder.getMultipleShardingContexts();
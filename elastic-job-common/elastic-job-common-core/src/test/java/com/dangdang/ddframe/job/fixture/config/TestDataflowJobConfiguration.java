@@ -32,10 +32,26 @@ public final class TestDataflowJobConfiguration implements JobRootConfiguration
     
     private final boolean streamingProcess;
     
+    private final int prefetchDepth;
+    
+    private final int processParallelism;
+    
+    private final int targetProcessLatencyMillis;
+    
+    private final int maxBatchSize;
+    
+    public TestDataflowJobConfiguration(final boolean streamingProcess) {
+        this(streamingProcess, 0, 0);
+    }
+    
+    public TestDataflowJobConfiguration(final boolean streamingProcess, final int prefetchDepth, final int processParallelism) {
+        this(streamingProcess, prefetchDepth, processParallelism, 0, 0);
+    }
+    
     @Override
     public JobTypeConfiguration getTypeConfig() {
         return new DataflowJobConfiguration(JobCoreConfiguration.newBuilder(ShardingContextsBuilder.JOB_NAME, "0/1 * * * * ?", 3)
                 .jobProperties(JobProperties.JobPropertiesEnum.JOB_EXCEPTION_HANDLER.getKey(), IgnoreJobExceptionHandler.class.getCanonicalName()).build(), 
-                TestDataflowJob.class.getCanonicalName(), streamingProcess);
+                TestDataflowJob.class.getCanonicalName(), streamingProcess, prefetchDepth, processParallelism, targetProcessLatencyMillis, maxBatchSize);
     }
 }
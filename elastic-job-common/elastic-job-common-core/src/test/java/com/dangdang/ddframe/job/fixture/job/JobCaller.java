@@ -25,5 +25,7 @@ public interface JobCaller {
     
     List<Object> fetchData(int shardingItem);
     
+    List<Object> fetchData(int shardingItem, int batchSize);
+    
     void processData(Object data);
 }
@@ -18,6 +18,7 @@
 package com.dangdang.ddframe.job.reg;
 
 import com.dangdang.ddframe.job.reg.exception.RegExceptionHandlerTest;
+import com.dangdang.ddframe.job.reg.zookeeper.TreeCachePathIndexTest;
 import com.dangdang.ddframe.job.reg.zookeeper.ZookeeperConfigurationTest;
 import com.dangdang.ddframe.job.reg.zookeeper.ZookeeperElectionServiceTest;
 import com.dangdang.ddframe.job.reg.zookeeper.ZookeeperRegistryCenterForAuthTest;
@@ -41,6 +42,7 @@ import org.junit.runners.Suite.SuiteClasses;
         ZookeeperRegistryCenterModifyTest.class, 
         ZookeeperRegistryCenterMiscellaneousTest.class,
         ZookeeperElectionServiceTest.class,
+        TreeCachePathIndexTest.class,
         RegExceptionHandlerTest.class, 
         ZookeeperRegistryCenterInitFailureTest.class
     })
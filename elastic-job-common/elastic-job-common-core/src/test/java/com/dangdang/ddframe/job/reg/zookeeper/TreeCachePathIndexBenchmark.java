@@ -0,0 +1,104 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.reg.zookeeper;
+
+import org.apache.curator.framework.recipes.cache.TreeCache;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * 本地缓存解析的基准测试.
+ * 
+ * <p>对比按路径首段索引与原有逐项前缀匹配在1, 100, 1000个作业注册时的单次解析耗时, 需手工运行.</p>
+ */
+public final class TreeCachePathIndexBenchmark {
+    
+    private static final int[] JOB_COUNTS = {1, 100, 1000};
+    
+    private static final int WARM_UP_ROUNDS = 200000;
+    
+    private static final int MEASURE_ROUNDS = 2000000;
+    
+    public static void main(final String[] args) {
+        for (int each : JOB_COUNTS) {
+            benchmark(each);
+        }
+    }
+    
+    private static void benchmark(final int jobCount) {
+        TreeCachePathIndex index = new TreeCachePathIndex();
+        Map<String, TreeCache> linearCaches = new HashMap<>(jobCount, 1);
+        String[] keys = new String[jobCount];
+        for (int i = 0; i < jobCount; i++) {
+            TreeCache cache = mock(TreeCache.class);
+            index.put("/test_job_" + i, cache);
+            linearCaches.put("/test_job_" + i + "/", cache);
+            keys[i] = "/test_job_" + i + "/sharding/0/running";
+        }
+        runIndex(index, keys, WARM_UP_ROUNDS);
+        runLinear(linearCaches, keys, WARM_UP_ROUNDS);
+        long indexNanos = runIndex(index, keys, MEASURE_ROUNDS);
+        long linearNanos = runLinear(linearCaches, keys, MEASURE_ROUNDS);
+        System.out.println(String.format("jobs=%d, index=%.1f ns/op, linear=%.1f ns/op", jobCount, (double) indexNanos / MEASURE_ROUNDS, (double) linearNanos / MEASURE_ROUNDS));
+    }
+    
+    private static long runIndex(final TreeCachePathIndex index, final String[] keys, final int rounds) {
+        int found = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            if (null != index.find(keys[i % keys.length])) {
+                found++;
+            }
+        }
+        long result = System.nanoTime() - start;
+        check(found, rounds);
+        return result;
+    }
+    
+    private static long runLinear(final Map<String, TreeCache> caches, final String[] keys, final int rounds) {
+        int found = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            if (null != findLinear(caches, keys[i % keys.length])) {
+                found++;
+            }
+        }
+        long result = System.nanoTime() - start;
+        check(found, rounds);
+        return result;
+    }
+    
+    private static TreeCache findLinear(final Map<String, TreeCache> caches, final String key) {
+        for (Entry<String, TreeCache> entry : caches.entrySet()) {
+            if (key.startsWith(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+    
+    private static void check(final int found, final int rounds) {
+        if (found != rounds) {
+            throw new IllegalStateException(String.format("Expected %d resolved keys, but was %d.", rounds, found));
+        }
+    }
+}
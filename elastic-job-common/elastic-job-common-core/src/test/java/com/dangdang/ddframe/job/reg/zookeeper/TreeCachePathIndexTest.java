@@ -0,0 +1,92 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.reg.zookeeper;
+
+import org.apache.curator.framework.recipes.cache.TreeCache;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+
+public final class TreeCachePathIndexTest {
+    
+    @Test
+    public void assertFindWithOneRegisteredJob() {
+        assertFindWithRegisteredJobs(1);
+    }
+    
+    @Test
+    public void assertFindWithOneHundredRegisteredJobs() {
+        assertFindWithRegisteredJobs(100);
+    }
+    
+    @Test
+    public void assertFindWithOneThousandRegisteredJobs() {
+        assertFindWithRegisteredJobs(1000);
+    }
+    
+    private void assertFindWithRegisteredJobs(final int jobCount) {
+        TreeCachePathIndex index = new TreeCachePathIndex();
+        TreeCache[] caches = new TreeCache[jobCount];
+        for (int i = 0; i < jobCount; i++) {
+            caches[i] = mock(TreeCache.class);
+            index.put("/test_job_" + i, caches[i]);
+        }
+        for (int i = 0; i < jobCount; i++) {
+            assertThat(index.find("/test_job_" + i + "/config"), is(caches[i]));
+            assertThat(index.find("/test_job_" + i + "/sharding/0/instance"), is(caches[i]));
+            assertThat(index.get("/test_job_" + i), is(caches[i]));
+        }
+        assertThat(index.values().size(), is(jobCount));
+    }
+    
+    @Test
+    public void assertFindWhenKeyIsNotCovered() {
+        TreeCachePathIndex index = new TreeCachePathIndex();
+        index.put("/test_job", mock(TreeCache.class));
+        assertNull(index.find("/test_job"));
+        assertNull(index.find("/test_job_other/config"));
+        assertNull(index.find("/other_job/config"));
+    }
+    
+    @Test
+    public void assertFindWithMultipleSegmentCachePath() {
+        TreeCachePathIndex index = new TreeCachePathIndex();
+        TreeCache jobCache = mock(TreeCache.class);
+        TreeCache appCache = mock(TreeCache.class);
+        index.put("/config/job", jobCache);
+        index.put("/config/app", appCache);
+        assertThat(index.find("/config/job/test_job"), is(jobCache));
+        assertThat(index.find("/config/app/test_app"), is(appCache));
+        assertNull(index.find("/config/other/test"));
+    }
+    
+    @Test
+    public void assertRemove() {
+        TreeCachePathIndex index = new TreeCachePathIndex();
+        TreeCache cache = mock(TreeCache.class);
+        index.put("/test_job", cache);
+        assertThat(index.remove("/test_job"), is(cache));
+        assertNull(index.remove("/test_job"));
+        assertNull(index.find("/test_job/config"));
+        assertNull(index.get("/test_job"));
+        assertThat(index.values().size(), is(0));
+    }
+}
@@ -26,7 +26,11 @@ import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.startsWith;
@@ -119,6 +123,24 @@ public final class ZookeeperRegistryCenterModifyTest {
         zkRegCenter.init();
     }
     
+    @Test
+    public void assertPersistEphemeralInBackground() throws Exception {
+        zkRegCenter.persistEphemeral("/background/0", "old_value");
+        Map<String, String> keyValues = new LinkedHashMap<>(2, 1);
+        keyValues.put("/background/0", "value_0");
+        keyValues.put("/background/1", "value_1");
+        zkRegCenter.persistEphemeralInBackground(keyValues).get(5L, TimeUnit.SECONDS);
+        assertThat(zkRegCenter.getDirectly("/background/0"), is("value_0"));
+        assertThat(zkRegCenter.getDirectly("/background/1"), is("value_1"));
+    }
+    
+    @Test
+    public void assertRemoveInBackground() throws Exception {
+        zkRegCenter.persistEphemeral("/background/2", "value_2");
+        zkRegCenter.removeInBackground(Arrays.asList("/background/2", "/background/not_existed")).get(5L, TimeUnit.SECONDS);
+        assertFalse(zkRegCenter.isExistedDirectly("/background/2"));
+    }
+    
     @Test
     public void assertRemove() {
         zkRegCenter.remove("/test");
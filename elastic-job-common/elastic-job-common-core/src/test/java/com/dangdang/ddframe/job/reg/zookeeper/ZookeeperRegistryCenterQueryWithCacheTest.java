@@ -23,9 +23,13 @@ import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.util.Collections;
+
 import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 
 public final class ZookeeperRegistryCenterQueryWithCacheTest {
     
@@ -35,13 +39,22 @@ public final class ZookeeperRegistryCenterQueryWithCacheTest {
     private static ZookeeperRegistryCenter zkRegCenter;
     
     @BeforeClass
-    public static void setUp() {
+    public static void setUp() throws InterruptedException {
         EmbedTestingServer.start();
         zkRegCenter = new ZookeeperRegistryCenter(ZOOKEEPER_CONFIGURATION);
         ZOOKEEPER_CONFIGURATION.setConnectionTimeoutMilliseconds(30000);
         zkRegCenter.init();
         ZookeeperRegistryCenterTestUtil.persist(zkRegCenter);
         zkRegCenter.addCacheData("/test");
+        waitForCacheInitialized();
+    }
+    
+    private static void waitForCacheInitialized() throws InterruptedException {
+        long localReadCount = zkRegCenter.getLocalReadCount();
+        for (int i = 0; i < 500 && localReadCount == zkRegCenter.getLocalReadCount(); i++) {
+            zkRegCenter.getNumChildren("/test/deep");
+            Thread.sleep(10L);
+        }
     }
     
     @AfterClass
@@ -59,4 +72,39 @@ public final class ZookeeperRegistryCenterQueryWithCacheTest {
         assertThat(zkRegCenter.get("/test"), is("test"));
         assertThat(zkRegCenter.get("/test/deep/nested"), is("deepNested"));
     }
+    
+    @Test
+    public void assertIsExistedFromCache() {
+        long localReadCount = zkRegCenter.getLocalReadCount();
+        assertTrue(zkRegCenter.isExisted("/test/deep/nested"));
+        assertFalse(zkRegCenter.isExisted("/test/deep/notExisted"));
+        assertThat(zkRegCenter.getLocalReadCount(), is(localReadCount + 2));
+    }
+    
+    @Test
+    public void assertGetChildrenKeysFromCache() {
+        long localReadCount = zkRegCenter.getLocalReadCount();
+        assertThat(zkRegCenter.getChildrenKeys("/test/deep"), is(Collections.singletonList("nested")));
+        assertThat(zkRegCenter.getChildrenKeys("/test/child"), is(Collections.<String>emptyList()));
+        assertThat(zkRegCenter.getLocalReadCount(), is(localReadCount + 2));
+    }
+    
+    @Test
+    public void assertGetNumChildrenFromCache() {
+        long localReadCount = zkRegCenter.getLocalReadCount();
+        assertThat(zkRegCenter.getNumChildren("/test/deep"), is(1));
+        assertThat(zkRegCenter.getNumChildren("/test/child"), is(0));
+        assertThat(zkRegCenter.getLocalReadCount(), is(localReadCount + 2));
+    }
+    
+    @Test
+    public void assertReadDirectly() {
+        long localReadCount = zkRegCenter.getLocalReadCount();
+        long directReadCount = zkRegCenter.getDirectReadCount();
+        assertTrue(zkRegCenter.isExistedDirectly("/test/deep/nested"));
+        assertThat(zkRegCenter.getChildrenKeysDirectly("/test/deep"), is(Collections.singletonList("nested")));
+        assertThat(zkRegCenter.getNumChildrenDirectly("/test/deep"), is(1));
+        assertThat(zkRegCenter.getLocalReadCount(), is(localReadCount));
+        assertThat(zkRegCenter.getDirectReadCount(), is(directReadCount + 3));
+    }
 }
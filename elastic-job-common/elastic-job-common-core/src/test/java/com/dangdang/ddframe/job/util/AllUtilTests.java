@@ -18,6 +18,9 @@
 package com.dangdang.ddframe.job.util;
 
 import com.dangdang.ddframe.job.util.concurrent.ExecutorServiceObjectTest;
+import com.dangdang.ddframe.job.util.concurrent.HashedWheelCronSchedulerTest;
+import com.dangdang.ddframe.job.util.concurrent.HierarchicalTimingWheelTest;
+import com.dangdang.ddframe.job.util.concurrent.MeteredThreadPoolExecutorTest;
 import com.dangdang.ddframe.job.util.config.ShardingItemParametersTest;
 import com.dangdang.ddframe.job.util.config.ShardingItemsTest;
 import com.dangdang.ddframe.job.util.digest.EncryptionTest;
@@ -35,6 +38,9 @@ import org.junit.runners.Suite.SuiteClasses;
 @RunWith(Suite.class)
 @SuiteClasses({
         ExecutorServiceObjectTest.class, 
+        MeteredThreadPoolExecutorTest.class, 
+        HierarchicalTimingWheelTest.class, 
+        HashedWheelCronSchedulerTest.class, 
         EncryptionTest.class, 
         TimeServiceTest.class, 
         IpUtilsTest.class, 
@@ -0,0 +1,151 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+
+package com.dangdang.ddframe.job.util.concurrent;
+
+import org.quartz.CronScheduleBuilder;
+import org.quartz.Job;
+import org.quartz.JobBuilder;
+import org.quartz.JobExecutionContext;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.TriggerBuilder;
+import org.quartz.impl.StdSchedulerFactory;
+import org.quartz.simpl.SimpleThreadPool;
+
+import java.lang.management.ManagementFactory;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 时间轮CRON调度器的基准测试.
+ * 
+ * <p>对比时间轮与Quartz的CronTrigger在100, 1000, 10000个每秒触发的任务下的触发抖动和进程CPU耗时, 需手工运行.</p>
+ */
+public final class HashedWheelCronSchedulerBenchmark {
+    
+    private static final int[] JOB_COUNTS = {100, 1000, 10000};
+    
+    private static final String CRON = "* * * * * ?";
+    
+    private static final int DISPATCH_THREAD_COUNT = Runtime.getRuntime().availableProcessors() * 2;
+    
+    private static final long MEASURE_SECONDS = 10L;
+    
+    private static final JitterRecorder RECORDER = new JitterRecorder();
+    
+    public static void main(final String[] args) throws SchedulerException, InterruptedException {
+        for (int each : JOB_COUNTS) {
+            benchmarkQuartz(each);
+            benchmarkHashedWheel(each);
+        }
+    }
+    
+    private static void benchmarkQuartz(final int jobCount) throws SchedulerException, InterruptedException {
+        StdSchedulerFactory factory = new StdSchedulerFactory();
+        factory.initialize(getQuartzProperties());
+        Scheduler scheduler = factory.getScheduler();
+        for (int i = 0; i < jobCount; i++) {
+            scheduler.scheduleJob(JobBuilder.newJob(RecordingJob.class).withIdentity("benchmark_job_" + i).build(), 
+                    TriggerBuilder.newTrigger().withIdentity("benchmark_job_" + i).withSchedule(CronScheduleBuilder.cronSchedule(CRON).withMisfireHandlingInstructionDoNothing()).build());
+        }
+        scheduler.start();
+        measure("quartz", jobCount);
+        scheduler.shutdown();
+    }
+    
+    private static void benchmarkHashedWheel(final int jobCount) throws InterruptedException {
+        HashedWheelCronScheduler scheduler = new HashedWheelCronScheduler("benchmark-hashed-wheel", 10L, 512, DISPATCH_THREAD_COUNT);
+        for (int i = 0; i < jobCount; i++) {
+            scheduler.schedule("benchmark_job_" + i, CRON, new RecordingCronTask());
+        }
+        scheduler.start();
+        measure("hashed_wheel", jobCount);
+        scheduler.shutdown();
+    }
+    
+    private static Properties getQuartzProperties() {
+        Properties result = new Properties();
+        result.put("org.quartz.threadPool.class", SimpleThreadPool.class.getName());
+        result.put("org.quartz.threadPool.threadCount", Integer.toString(DISPATCH_THREAD_COUNT));
+        result.put("org.quartz.scheduler.instanceName", "benchmark-quartz");
+        return result;
+    }
+    
+    private static void measure(final String engine, final int jobCount) throws InterruptedException {
+        TimeUnit.SECONDS.sleep(2L);
+        RECORDER.reset();
+        long startCpuNanos = getProcessCpuTime();
+        TimeUnit.SECONDS.sleep(MEASURE_SECONDS);
+        long cpuMillis = TimeUnit.NANOSECONDS.toMillis(getProcessCpuTime() - startCpuNanos);
+        long fired = RECORDER.firedCount.get();
+        System.out.println(String.format("engine=%s, jobs=%d, fired=%d, avgJitter=%.2f ms, maxJitter=%d ms, cpu=%d ms", engine, jobCount, fired, 
+                0L == fired ? 0D : (double) RECORDER.totalJitterMillis.get() / fired, RECORDER.maxJitterMillis.get(), cpuMillis));
+    }
+    
+    private static long getProcessCpuTime() {
+        return ((com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean()).getProcessCpuTime();
+    }
+    
+    public static final class RecordingJob implements Job {
+        
+        @Override
+        public void execute(final JobExecutionContext context) {
+            RECORDER.record();
+        }
+    }
+    
+    private static final class RecordingCronTask implements CronTask {
+        
+        @Override
+        public void execute() {
+            RECORDER.record();
+        }
+        
+        @Override
+        public void misfired() {
+        }
+    }
+    
+    private static final class JitterRecorder {
+        
+        private final AtomicLong firedCount = new AtomicLong();
+        
+        private final AtomicLong totalJitterMillis = new AtomicLong();
+        
+        private final AtomicLong maxJitterMillis = new AtomicLong();
+        
+        void reset() {
+            firedCount.set(0L);
+            totalJitterMillis.set(0L);
+            maxJitterMillis.set(0L);
+        }
+        
+        void record() {
+            // 每秒触发的任务计划触发时间均为整秒, 超出整秒的毫秒数即为触发抖动
+            long jitter = System.currentTimeMillis() % 1000L;
+            firedCount.incrementAndGet();
+            totalJitterMillis.addAndGet(jitter);
+            long currentMax = maxJitterMillis.get();
+            while (jitter > currentMax && !maxJitterMillis.compareAndSet(currentMax, jitter)) {
+                currentMax = maxJitterMillis.get();
+            }
+        }
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+
+package com.dangdang.ddframe.job.util.concurrent;
+
+import com.dangdang.ddframe.job.exception.JobConfigurationException;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public final class HashedWheelCronSchedulerTest {
+    
+    private static final String EVERY_SECOND = "* * * * * ?";
+    
+    private static final String NEVER = "0 0 0 1 1 ? 2099";
+    
+    private final HashedWheelCronScheduler scheduler = new HashedWheelCronScheduler("hashed-wheel-test", 10L, 64, 2);
+    
+    @After
+    public void tearDown() {
+        scheduler.shutdown();
+    }
+    
+    @Test(expected = JobConfigurationException.class)
+    public void assertScheduleWithInvalidCron() {
+        scheduler.schedule("test_job", "invalid", new CountingCronTask(new CountDownLatch(1)));
+    }
+    
+    @Test
+    public void assertScheduleAndUnschedule() {
+        assertTrue(scheduler.schedule("test_job", NEVER, new CountingCronTask(new CountDownLatch(1))));
+        assertFalse(scheduler.schedule("test_job", NEVER, new CountingCronTask(new CountDownLatch(1))));
+        assertTrue(scheduler.contains("test_job"));
+        assertThat(scheduler.size(), is(1));
+        scheduler.unschedule("test_job");
+        assertFalse(scheduler.contains("test_job"));
+        assertThat(scheduler.size(), is(0));
+    }
+    
+    @Test
+    public void assertFireByCron() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(2);
+        scheduler.schedule("test_job", EVERY_SECOND, new CountingCronTask(latch));
+        scheduler.start();
+        assertTrue(latch.await(5L, TimeUnit.SECONDS));
+        assertTrue(scheduler.getFiredCount() >= 2L);
+        assertTrue(scheduler.getMaxFireDelayMillis() >= scheduler.getAverageFireDelayMillis());
+    }
+    
+    @Test
+    public void assertTrigger() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        scheduler.schedule("test_job", NEVER, new CountingCronTask(latch));
+        scheduler.start();
+        scheduler.trigger("test_job");
+        assertTrue(latch.await(5L, TimeUnit.SECONDS));
+    }
+    
+    @Test
+    public void assertTriggerWhenPaused() throws InterruptedException {
+        CountingCronTask cronTask = new CountingCronTask(new CountDownLatch(1));
+        scheduler.schedule("test_job", NEVER, cronTask);
+        scheduler.pause("test_job");
+        scheduler.start();
+        scheduler.trigger("test_job");
+        scheduler.trigger("test_job");
+        TimeUnit.MILLISECONDS.sleep(200L);
+        assertThat(cronTask.executedCount.get(), is(0));
+        scheduler.resume("test_job");
+        assertTrue(cronTask.latch.await(5L, TimeUnit.SECONDS));
+        TimeUnit.MILLISECONDS.sleep(200L);
+        assertThat(cronTask.executedCount.get(), is(1));
+    }
+    
+    @Test
+    public void assertPauseAndResume() throws InterruptedException {
+        CountingCronTask cronTask = new CountingCronTask(new CountDownLatch(1));
+        scheduler.schedule("test_job", EVERY_SECOND, cronTask);
+        scheduler.pause("test_job");
+        assertTrue(scheduler.isPaused("test_job"));
+        scheduler.start();
+        TimeUnit.MILLISECONDS.sleep(1500L);
+        assertThat(cronTask.executedCount.get(), is(0));
+        scheduler.resume("test_job");
+        assertFalse(scheduler.isPaused("test_job"));
+        assertTrue(cronTask.latch.await(5L, TimeUnit.SECONDS));
+    }
+    
+    @Test
+    public void assertReschedule() throws InterruptedException {
+        CountingCronTask cronTask = new CountingCronTask(new CountDownLatch(1));
+        scheduler.schedule("test_job", NEVER, cronTask);
+        scheduler.start();
+        scheduler.reschedule("test_job", EVERY_SECOND);
+        assertTrue(cronTask.latch.await(5L, TimeUnit.SECONDS));
+    }
+    
+    @Test
+    public void assertMisfiredWhenRunning() throws InterruptedException {
+        final CountDownLatch blockLatch = new CountDownLatch(1);
+        final CountDownLatch misfiredLatch = new CountDownLatch(1);
+        final AtomicReference<String> misfiredThreadName = new AtomicReference<>();
+        scheduler.schedule("test_job", EVERY_SECOND, new CronTask() {
+            
+            @Override
+            public void execute() {
+                try {
+                    blockLatch.await();
+                } catch (final InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            
+            @Override
+            public void misfired() {
+                misfiredThreadName.set(Thread.currentThread().getName());
+                misfiredLatch.countDown();
+            }
+        });
+        scheduler.start();
+        try {
+            assertTrue(misfiredLatch.await(5L, TimeUnit.SECONDS));
+            assertTrue(misfiredThreadName.get().startsWith("hashed-wheel-test-dispatch-"));
+        } finally {
+            blockLatch.countDown();
+        }
+    }
+    
+    @Test
+    public void assertRejectWhenDispatchQueueFull() throws InterruptedException {
+        HashedWheelCronScheduler boundedScheduler = new HashedWheelCronScheduler("hashed-wheel-bounded-test", 10L, 64, 1, 1);
+        final CountDownLatch blockLatch = new CountDownLatch(1);
+        boundedScheduler.schedule("test_job", EVERY_SECOND, new CronTask() {
+            
+            @Override
+            public void execute() {
+                try {
+                    blockLatch.await();
+                } catch (final InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            
+            @Override
+            public void misfired() {
+            }
+        });
+        boundedScheduler.start();
+        try {
+            long deadline = System.currentTimeMillis() + 5000L;
+            while (0L == boundedScheduler.getDispatchStatistics().getRejectedTaskCount() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(100L);
+            }
+            assertThat(boundedScheduler.getDispatchStatistics().getQueueCapacity(), is(1));
+            assertTrue(boundedScheduler.getDispatchStatistics().getRejectedTaskCount() > 0L);
+        } finally {
+            blockLatch.countDown();
+            boundedScheduler.shutdown();
+        }
+    }
+    
+    @Test
+    public void assertShutdown() {
+        scheduler.schedule("test_job", NEVER, new CountingCronTask(new CountDownLatch(1)));
+        scheduler.start();
+        scheduler.shutdown();
+        assertTrue(scheduler.isShutdown());
+        assertThat(scheduler.size(), is(0));
+    }
+    
+    private static final class CountingCronTask implements CronTask {
+        
+        private final CountDownLatch latch;
+        
+        private final AtomicInteger executedCount = new AtomicInteger();
+        
+        CountingCronTask(final CountDownLatch latch) {
+            this.latch = latch;
+        }
+        
+        @Override
+        public void execute() {
+            executedCount.incrementAndGet();
+            latch.countDown();
+        }
+        
+        @Override
+        public void misfired() {
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+
+package com.dangdang.ddframe.job.util.concurrent;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public final class HierarchicalTimingWheelTest {
+    
+    private final HierarchicalTimingWheel<String> timingWheel = new HierarchicalTimingWheel<>(10L, 8, 1000L);
+    
+    @Test
+    public void assertAddExpired() {
+        assertFalse(timingWheel.add(1000L, "expired"));
+        assertFalse(timingWheel.add(999L, "expired"));
+    }
+    
+    @Test
+    public void assertAdvanceClockWithinFirstWheel() {
+        assertTrue(timingWheel.add(1030L, "a"));
+        assertThat(advance(1029L), is(Collections.<String>emptyList()));
+        assertThat(advance(1030L), is(Collections.singletonList("a")));
+    }
+    
+    @Test
+    public void assertAdvanceClockNotEarlierThanDeadline() {
+        assertTrue(timingWheel.add(1035L, "a"));
+        assertThat(advance(1035L), is(Collections.<String>emptyList()));
+        assertThat(advance(1040L), is(Collections.singletonList("a")));
+    }
+    
+    @Test
+    public void assertAdvanceClockWithOverflowWheel() {
+        assertTrue(timingWheel.add(1100L, "a"));
+        assertTrue(timingWheel.add(2000L, "b"));
+        assertThat(advance(1090L), is(Collections.<String>emptyList()));
+        assertThat(advance(1100L), is(Collections.singletonList("a")));
+        assertThat(advance(1990L), is(Collections.<String>emptyList()));
+        assertThat(advance(2000L), is(Collections.singletonList("b")));
+    }
+    
+    @Test
+    public void assertAdvanceClockStepByStep() {
+        for (int i = 1; i <= 100; i++) {
+            timingWheel.add(1000L + i * 10L, String.valueOf(i));
+        }
+        for (int i = 1; i <= 100; i++) {
+            assertThat(advance(1000L + i * 10L), is(Collections.singletonList(String.valueOf(i))));
+        }
+    }
+    
+    @Test
+    public void assertAdvanceClockWithLargeJump() {
+        timingWheel.add(1010L, "a");
+        timingWheel.add(1500L, "b");
+        timingWheel.add(50000L, "c");
+        List<String> actual = advance(60000L);
+        Collections.sort(actual);
+        assertThat(actual, is(Arrays.asList("a", "b", "c")));
+        assertThat(timingWheel.getCurrentTimeMillis(), is(60000L));
+    }
+    
+    @Test
+    public void assertRemove() {
+        String element = "a";
+        assertTrue(timingWheel.add(1030L, element));
+        assertTrue(timingWheel.remove(1030L, element));
+        assertFalse(timingWheel.remove(1030L, element));
+        assertThat(advance(1030L), is(Collections.<String>emptyList()));
+    }
+    
+    @Test
+    public void assertRemoveWithinCurrentTick() {
+        String element = "a";
+        assertTrue(timingWheel.add(1005L, element));
+        assertTrue(timingWheel.remove(1005L, element));
+        assertThat(advance(1010L), is(Collections.<String>emptyList()));
+    }
+    
+    @Test
+    public void assertRemoveFromOverflowWheel() {
+        String element = "b";
+        assertTrue(timingWheel.add(1030L, "a"));
+        assertTrue(timingWheel.add(2000L, element));
+        assertTrue(timingWheel.remove(2000L, element));
+        assertThat(advance(1030L), is(Collections.singletonList("a")));
+        assertThat(advance(2000L), is(Collections.<String>emptyList()));
+    }
+    
+    @Test
+    public void assertRemoveAfterCascade() {
+        String element = "a";
+        assertTrue(timingWheel.add(1100L, element));
+        assertThat(advance(1090L), is(Collections.<String>emptyList()));
+        assertTrue(timingWheel.remove(1100L, element));
+        assertThat(advance(1100L), is(Collections.<String>emptyList()));
+    }
+    
+    @Test
+    public void assertRemoveAbsent() {
+        assertFalse(timingWheel.remove(1030L, "absent"));
+    }
+    
+    private List<String> advance(final long timeMillis) {
+        List<String> result = new ArrayList<>();
+        timingWheel.advanceClock(timeMillis, result);
+        return result;
+    }
+}
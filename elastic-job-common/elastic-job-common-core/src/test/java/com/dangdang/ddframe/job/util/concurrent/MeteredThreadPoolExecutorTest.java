@@ -0,0 +1,119 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.util.concurrent;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public final class MeteredThreadPoolExecutorTest {
+    
+    private final CountDownLatch blockLatch = new CountDownLatch(1);
+    
+    private MeteredThreadPoolExecutor executor;
+    
+    @After
+    public void tearDown() {
+        blockLatch.countDown();
+        executor.shutdownNow();
+    }
+    
+    @Test
+    public void assertGetStatistics() throws InterruptedException {
+        executor = new MeteredThreadPoolExecutor("metered-executor-test", 2, 10, 60000L, new ThreadPoolExecutor.AbortPolicy());
+        for (int i = 0; i < 5; i++) {
+            executor.submit(new BlockingTask(new CountDownLatch(0)));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5L, TimeUnit.SECONDS));
+        ExecutorServiceStatistics actual = executor.getStatistics();
+        assertThat(actual.getMaxPoolSize(), is(2));
+        assertThat(actual.getQueueCapacity(), is(10));
+        assertThat(actual.getQueueSize(), is(0));
+        assertThat(actual.getCompletedTaskCount(), is(5L));
+        assertThat(actual.getRejectedTaskCount(), is(0L));
+        assertThat(actual.getTaskLatencyHistogram().length, is(MeteredThreadPoolExecutor.TASK_LATENCY_BUCKET_MILLISECONDS.length + 1));
+        long histogramCount = 0L;
+        for (long each : actual.getTaskLatencyHistogram()) {
+            histogramCount += each;
+        }
+        assertThat(histogramCount, is(5L));
+        assertTrue(actual.getMaxTaskLatencyNanos() >= actual.getAverageTaskLatencyNanos());
+    }
+    
+    @Test
+    public void assertRejectWhenQueueFull() {
+        executor = new MeteredThreadPoolExecutor("metered-executor-test", 1, 1, 60000L, new ThreadPoolExecutor.AbortPolicy());
+        executor.submit(new BlockingTask(blockLatch));
+        executor.submit(new BlockingTask(blockLatch));
+        try {
+            executor.submit(new BlockingTask(blockLatch));
+            fail("Expected RejectedExecutionException.");
+        } catch (final RejectedExecutionException ex) {
+            ExecutorServiceStatistics actual = executor.getStatistics();
+            assertThat(actual.getRejectedTaskCount(), is(1L));
+            assertThat(actual.getActiveCount(), is(1));
+            assertThat(actual.getQueueSize(), is(1));
+        }
+    }
+    
+    @Test
+    public void assertCallerRunsWhenQueueFull() {
+        executor = new MeteredThreadPoolExecutor("metered-executor-test", 1, 1, 60000L, new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.submit(new BlockingTask(blockLatch));
+        executor.submit(new BlockingTask(blockLatch));
+        executor.submit(new BlockingTask(new CountDownLatch(0)));
+        assertThat(executor.getStatistics().getRejectedTaskCount(), is(1L));
+    }
+    
+    @Test
+    public void assertShrinkWhenIdle() {
+        executor = new MeteredThreadPoolExecutor("metered-executor-test", 2, 10, 10L, new ThreadPoolExecutor.AbortPolicy());
+        executor.submit(new BlockingTask(new CountDownLatch(0)));
+        executor.submit(new BlockingTask(new CountDownLatch(0)));
+        BlockUtils.sleep(500L);
+        assertThat(executor.getStatistics().getPoolSize(), is(0));
+    }
+    
+    private static final class BlockingTask implements Runnable {
+        
+        private final CountDownLatch latch;
+        
+        BlockingTask(final CountDownLatch latch) {
+            this.latch = latch;
+        }
+        
+        @Override
+        public void run() {
+            try {
+                latch.await();
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
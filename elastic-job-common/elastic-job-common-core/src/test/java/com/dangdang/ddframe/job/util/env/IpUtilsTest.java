@@ -19,7 +19,9 @@ package com.dangdang.ddframe.job.util.env;
 
 import org.junit.Test;
 
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertThat;
 
 public final class IpUtilsTest {
     
@@ -32,4 +34,9 @@ public final class IpUtilsTest {
     public void assertGetHostName() {
         assertNotNull(IpUtils.getHostName());
     }
+    
+    @Test
+    public void assertGetHostNameFromCache() {
+        assertThat(IpUtils.getHostName(), sameInstance(IpUtils.getHostName()));
+    }
 }
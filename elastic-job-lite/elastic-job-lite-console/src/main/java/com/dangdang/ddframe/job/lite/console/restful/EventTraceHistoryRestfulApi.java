@@ -46,6 +46,12 @@ import java.util.Map;
 
 /**
  * 事件追踪历史记录的RESTful API.
+ * 
+ * <p>
+ * 默认按页码(page, per_page)分页. 传入seek=true或seek_id时按(时间, 主键)定位分页,
+ * seek_time为上一页最后一条记录的时间毫秒数, seek_id为其主键, 查询第一页时两者均不传.
+ * 传入max_count时总数计数不超过该值.
+ * </p>
  *
  * @author zhangxinguo
  */
@@ -124,7 +130,19 @@ public final class EventTraceHistoryRestfulApi {
         if (!Strings.isNullOrEmpty(info.getQueryParameters().getFirst("endTime"))) {
             endTime = simpleDateFormat.parse(info.getQueryParameters().getFirst("endTime"));
         }
-        return new Condition(perPage, page, sort, order, startTime, endTime, fields);
+        int maxCount = 0;
+        if (!Strings.isNullOrEmpty(info.getQueryParameters().getFirst("max_count"))) {
+            maxCount = Integer.parseInt(info.getQueryParameters().getFirst("max_count"));
+        }
+        String seekId = info.getQueryParameters().getFirst("seek_id");
+        if (Boolean.parseBoolean(info.getQueryParameters().getFirst("seek")) || !Strings.isNullOrEmpty(seekId)) {
+            Date seekTime = null;
+            if (!Strings.isNullOrEmpty(info.getQueryParameters().getFirst("seek_time"))) {
+                seekTime = new Date(Long.parseLong(info.getQueryParameters().getFirst("seek_time")));
+            }
+            return new Condition(perPage, order, startTime, endTime, fields, seekTime, Strings.emptyToNull(seekId), maxCount);
+        }
+        return new Condition(perPage, page, sort, order, startTime, endTime, fields, maxCount);
     }
     
     private Map<String, Object> getQueryParameters(final UriInfo info, final String[] params) {
@@ -28,6 +28,10 @@ function bindSubmitJobSettingsForm() {
             var jobParameter = $("#job-parameter").val();
             var cron = $("#cron").val();
             var streamingProcess = $("#streaming-process").prop("checked");
+            var prefetchDepth = $("#prefetch-depth").val();
+            var processParallelism = $("#process-parallelism").val();
+            var targetProcessLatencyMillis = $("#target-process-latency-millis").val();
+            var maxBatchSize = $("#max-batch-size").val();
             var maxTimeDiffSeconds = $("#max-time-diff-seconds").val();
             var monitorPort = $("#monitor-port").val();
             var monitorExecution = $("#monitor-execution").prop("checked");
@@ -45,7 +49,9 @@ function bindSubmitJobSettingsForm() {
             var jobExceptionHandler = $("#job-exception-handler").val();
             var description = $("#description").val();
             var reconcileIntervalMinutes = $("#reconcile-interval-minutes").val();
-            var postJson = {jobName: jobName, jobType : jobType, jobClass : jobClass, shardingTotalCount: shardingTotalCount, jobParameter: jobParameter, cron: cron, streamingProcess: streamingProcess, maxTimeDiffSeconds: maxTimeDiffSeconds, monitorPort: monitorPort, monitorExecution: monitorExecution, failover: failover, misfire: misfire, shardingItemParameters: shardingItemParameters, jobShardingStrategyClass: jobShardingStrategyClass, jobProperties: {"executor_service_handler": executorServiceHandler, "job_exception_handler": jobExceptionHandler}, description: description, scriptCommandLine: scriptCommandLine, reconcileIntervalMinutes:reconcileIntervalMinutes};
+            var jobEventSamplingCount = $("#job-event-sampling-count").val();
+            var maxJobEventSamplingPerSecond = $("#max-job-event-sampling-per-second").val();
+            var postJson = {jobName: jobName, jobType : jobType, jobClass : jobClass, shardingTotalCount: shardingTotalCount, jobParameter: jobParameter, cron: cron, streamingProcess: streamingProcess, prefetchDepth: prefetchDepth, processParallelism: processParallelism, targetProcessLatencyMillis: targetProcessLatencyMillis, maxBatchSize: maxBatchSize, maxTimeDiffSeconds: maxTimeDiffSeconds, monitorPort: monitorPort, monitorExecution: monitorExecution, failover: failover, misfire: misfire, shardingItemParameters: shardingItemParameters, jobShardingStrategyClass: jobShardingStrategyClass, jobProperties: {"executor_service_handler": executorServiceHandler, "job_exception_handler": jobExceptionHandler}, description: description, scriptCommandLine: scriptCommandLine, reconcileIntervalMinutes:reconcileIntervalMinutes, jobEventSamplingCount: jobEventSamplingCount, maxJobEventSamplingPerSecond: maxJobEventSamplingPerSecond};
             var jobParams = getJobParams();
             if (jobParams.monitorExecution !== monitorExecution || jobParams.failover !== failover || jobParams.misfire !== misfire) {
                 showUpdateConfirmModal();
@@ -128,6 +134,28 @@ function validate() {
                         }
                     }
                 }
+            },
+            jobEventSamplingCount: {
+                validators: {
+                    notEmpty: {
+                        message: "作业事件采样率不能为空"
+                    },
+                    regexp: {
+                        regexp: /^\d+$/,
+                        message: "作业事件采样率只能是非负整数"
+                    }
+                }
+            },
+            maxJobEventSamplingPerSecond: {
+                validators: {
+                    notEmpty: {
+                        message: "每秒最多采样次数不能为空"
+                    },
+                    regexp: {
+                        regexp: /^(-?\d+)?$/,
+                        message: "每秒最多采样次数只能是整数"
+                    }
+                }
             }
         }
     });
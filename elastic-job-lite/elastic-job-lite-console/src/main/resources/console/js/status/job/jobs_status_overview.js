@@ -234,16 +234,26 @@ function renderJob(data) {
     $("#failover").attr("checked", data.failover);
     $("#misfire").attr("checked", data.misfire);
     $("#streaming-process").attr("checked", data.streamingProcess);
+    $("#prefetch-depth").attr("value", data.prefetchDepth);
+    $("#process-parallelism").attr("value", data.processParallelism);
+    $("#target-process-latency-millis").attr("value", data.targetProcessLatencyMillis);
+    $("#max-batch-size").attr("value", data.maxBatchSize);
     $("#max-time-diff-seconds").attr("value", data.maxTimeDiffSeconds);
     $("#monitor-port").attr("value", data.monitorPort);
     $("#job-sharding-strategy-class").attr("value", data.jobShardingStrategyClass);
     $("#executor-service-handler").attr("value", data.jobProperties["executor_service_handler"]);
     $("#job-exception-handler").attr("value", data.jobProperties["job_exception_handler"]);
     $("#reconcile-interval-minutes").attr("value", data.reconcileIntervalMinutes);
+    $("#job-event-sampling-count").attr("value", data.jobEventSamplingCount);
+    $("#max-job-event-sampling-per-second").attr("value", data.maxJobEventSamplingPerSecond);
     $("#description").text(data.description);
     $("#script-command-line").attr("value", data.scriptCommandLine);
     if ("DATAFLOW" === $("#job-type").val()) {
         $("#streaming-process-group").show();
+        $("#prefetch-depth-group").show();
+        $("#process-parallelism-group").show();
+        $("#target-process-latency-millis-group").show();
+        $("#max-batch-size-group").show();
     }
     if ("SCRIPT" === $("#job-type").val()) {
         $("#script-commandLine-group").show();
@@ -20,10 +20,13 @@ package com.dangdang.ddframe.job.lite.api;
 import com.dangdang.ddframe.job.api.ElasticJob;
 import com.dangdang.ddframe.job.api.script.ScriptJob;
 import com.dangdang.ddframe.job.event.JobEventBus;
+import com.dangdang.ddframe.job.event.JobEventBusConfiguration;
+import com.dangdang.ddframe.job.event.JobEventBusStatistics;
 import com.dangdang.ddframe.job.event.JobEventConfiguration;
 import com.dangdang.ddframe.job.exception.JobConfigurationException;
 import com.dangdang.ddframe.job.exception.JobSystemException;
 import com.dangdang.ddframe.job.executor.JobFacade;
+import com.dangdang.ddframe.job.executor.handler.ExecutorServiceHandlerRegistry;
 import com.dangdang.ddframe.job.lite.api.listener.AbstractDistributeOnceElasticJobListener;
 import com.dangdang.ddframe.job.lite.api.listener.ElasticJobListener;
 import com.dangdang.ddframe.job.lite.api.strategy.JobInstance;
@@ -35,9 +38,13 @@ import com.dangdang.ddframe.job.lite.internal.schedule.JobShutdownHookPlugin;
 import com.dangdang.ddframe.job.lite.internal.schedule.LiteJob;
 import com.dangdang.ddframe.job.lite.internal.schedule.LiteJobFacade;
 import com.dangdang.ddframe.job.lite.internal.schedule.SchedulerFacade;
+import com.dangdang.ddframe.job.lite.internal.schedule.SharedLiteJob;
 import com.dangdang.ddframe.job.reg.base.CoordinatorRegistryCenter;
+import com.dangdang.ddframe.job.util.concurrent.ExecutorServiceStatistics;
+import com.dangdang.ddframe.job.util.concurrent.HashedWheelCronScheduler;
 import com.google.common.base.Optional;
 import lombok.Getter;
+import org.quartz.Job;
 import org.quartz.JobBuilder;
 import org.quartz.JobDetail;
 import org.quartz.Scheduler;
@@ -74,6 +81,10 @@ public class JobScheduler {
     
     private final JobFacade jobFacade;
     
+    private final JobEventBus jobEventBus;
+    
+    private final SharedSchedulerEngine sharedSchedulerEngine;
+    
     public JobScheduler(final CoordinatorRegistryCenter regCenter, final LiteJobConfiguration liteJobConfig, final ElasticJobListener... elasticJobListeners) {
         this(regCenter, liteJobConfig, new JobEventBus(), elasticJobListeners);
     }
@@ -83,13 +94,54 @@ public class JobScheduler {
         this(regCenter, liteJobConfig, new JobEventBus(jobEventConfig), elasticJobListeners);
     }
     
+    public JobScheduler(final CoordinatorRegistryCenter regCenter, final LiteJobConfiguration liteJobConfig, final JobEventConfiguration jobEventConfig, 
+                        final JobEventBusConfiguration jobEventBusConfig, final ElasticJobListener... elasticJobListeners) {
+        this(regCenter, liteJobConfig, new JobEventBus(jobEventConfig, jobEventBusConfig), elasticJobListeners);
+    }
+    
+    /**
+     * 创建使用共享调度引擎的作业调度器.
+     * 
+     * @param regCenter 注册中心
+     * @param liteJobConfig 作业配置
+     * @param sharedSchedulerEngine 共享调度引擎
+     * @param elasticJobListeners 作业监听器
+     */
+    public JobScheduler(final CoordinatorRegistryCenter regCenter, final LiteJobConfiguration liteJobConfig, final SharedSchedulerEngine sharedSchedulerEngine, 
+                        final ElasticJobListener... elasticJobListeners) {
+        this(regCenter, liteJobConfig, new JobEventBus(), sharedSchedulerEngine, elasticJobListeners);
+    }
+    
+    /**
+     * 创建使用共享调度引擎的作业调度器.
+     * 
+     * @param regCenter 注册中心
+     * @param liteJobConfig 作业配置
+     * @param jobEventConfig 作业事件配置
+     * @param jobEventBusConfig 作业事件总线配置
+     * @param sharedSchedulerEngine 共享调度引擎
+     * @param elasticJobListeners 作业监听器
+     */
+    public JobScheduler(final CoordinatorRegistryCenter regCenter, final LiteJobConfiguration liteJobConfig, final JobEventConfiguration jobEventConfig, 
+                        final JobEventBusConfiguration jobEventBusConfig, final SharedSchedulerEngine sharedSchedulerEngine, final ElasticJobListener... elasticJobListeners) {
+        this(regCenter, liteJobConfig, new JobEventBus(jobEventConfig, jobEventBusConfig), sharedSchedulerEngine, elasticJobListeners);
+    }
+    
     private JobScheduler(final CoordinatorRegistryCenter regCenter, final LiteJobConfiguration liteJobConfig, final JobEventBus jobEventBus, final ElasticJobListener... elasticJobListeners) {
+        this(regCenter, liteJobConfig, jobEventBus, null, elasticJobListeners);
+    }
+    
+    private JobScheduler(final CoordinatorRegistryCenter regCenter, final LiteJobConfiguration liteJobConfig, final JobEventBus jobEventBus, 
+                         final SharedSchedulerEngine sharedSchedulerEngine, final ElasticJobListener... elasticJobListeners) {
         JobRegistry.getInstance().addJobInstance(liteJobConfig.getJobName(), new JobInstance());
+        JobRegistry.getInstance().addJobEventBus(liteJobConfig.getJobName(), jobEventBus);
         this.liteJobConfig = liteJobConfig;
         this.regCenter = regCenter;
+        this.jobEventBus = jobEventBus;
+        this.sharedSchedulerEngine = sharedSchedulerEngine;
         List<ElasticJobListener> elasticJobListenerList = Arrays.asList(elasticJobListeners);
         setGuaranteeServiceForElasticJobListeners(regCenter, elasticJobListenerList);
-        schedulerFacade = new SchedulerFacade(regCenter, liteJobConfig.getJobName(), elasticJobListenerList);
+        schedulerFacade = new SchedulerFacade(regCenter, liteJobConfig.getJobName(), elasticJobListenerList, null == sharedSchedulerEngine ? null : sharedSchedulerEngine.getReconcileExecutor());
         jobFacade = new LiteJobFacade(regCenter, liteJobConfig.getJobName(), Arrays.asList(elasticJobListeners), jobEventBus);
     }
     
@@ -109,8 +161,7 @@ public class JobScheduler {
     	//这里updateJobConfiguration更新操作第一次就会在zk上创建namespace
         LiteJobConfiguration liteJobConfigFromRegCenter = schedulerFacade.updateJobConfiguration(liteJobConfig);
         JobRegistry.getInstance().setCurrentShardingTotalCount(liteJobConfigFromRegCenter.getJobName(), liteJobConfigFromRegCenter.getTypeConfig().getCoreConfig().getShardingTotalCount());
-        JobScheduleController jobScheduleController = new JobScheduleController(
-                createScheduler(), createJobDetail(liteJobConfigFromRegCenter.getTypeConfig().getJobClass()), liteJobConfigFromRegCenter.getJobName());
+        JobScheduleController jobScheduleController = createJobScheduleController(liteJobConfigFromRegCenter);
         
         //这个方法会调用注册类中添加treecache监听的方法，监听该任务treecache
         JobRegistry.getInstance().registerJob(liteJobConfigFromRegCenter.getJobName(), jobScheduleController, regCenter);
@@ -118,9 +169,21 @@ public class JobScheduler {
         schedulerFacade.registerStartUpInfo(!liteJobConfigFromRegCenter.isDisabled());
         jobScheduleController.scheduleJob(liteJobConfigFromRegCenter.getTypeConfig().getCoreConfig().getCron());
     }
+    
+    private JobScheduleController createJobScheduleController(final LiteJobConfiguration liteJobConfigFromRegCenter) {
+        JobDetail jobDetail = createJobDetail(liteJobConfigFromRegCenter.getTypeConfig().getJobClass());
+        HashedWheelCronScheduler cronScheduler = null == sharedSchedulerEngine ? null : sharedSchedulerEngine.getCronScheduler();
+        if (null != cronScheduler) {
+            ElasticJob elasticJob = (ElasticJob) jobDetail.getJobDataMap().get(ELASTIC_JOB_DATA_MAP_KEY);
+            return new JobScheduleController(cronScheduler, liteJobConfigFromRegCenter.getJobName(), schedulerFacade.newLiteCronTask(elasticJob, jobFacade));
+        }
+        return new JobScheduleController(createScheduler(), jobDetail, liteJobConfigFromRegCenter.getJobName(), null != sharedSchedulerEngine);
+    }
+    
     //可以查看这里的JobBuilder.newJob(LiteJob.class)，这里的LiteJob中的有个 JobExecutorFactory.getJobExecutor(elasticJob, jobFacade).execute()，会根据elasticJob返回对应的执行器
     private JobDetail createJobDetail(final String jobClass) {
-        JobDetail result = JobBuilder.newJob(LiteJob.class).withIdentity(liteJobConfig.getJobName()).build();
+        Class<? extends Job> liteJobClass = null == sharedSchedulerEngine ? LiteJob.class : SharedLiteJob.class;
+        JobDetail result = JobBuilder.newJob(liteJobClass).withIdentity(liteJobConfig.getJobName()).build();
         
         result.getJobDataMap().put("test1", "test1chuanru");
         result.getJobDataMap().put("test2", "test2chuanru");
@@ -139,11 +202,33 @@ public class JobScheduler {
         return result;
     }
     
+    /**
+     * 获取运行痕迹事件总线统计.
+     * 
+     * @return 运行痕迹事件总线统计
+     */
+    public JobEventBusStatistics getJobEventBusStatistics() {
+        return jobEventBus.getStatistics();
+    }
+    
+    /**
+     * 获取作业处理线程池统计.
+     * 
+     * @return 作业处理线程池统计, 线程池未创建或不支持统计时返回null
+     */
+    public ExecutorServiceStatistics getExecutorServiceStatistics() {
+        return ExecutorServiceHandlerRegistry.getStatistics(liteJobConfig.getJobName());
+    }
+    
     protected Optional<ElasticJob> createElasticJobInstance() {
         return Optional.absent();
     }
     
     private Scheduler createScheduler() {
+        if (null != sharedSchedulerEngine) {
+            sharedSchedulerEngine.registerTriggerListener(liteJobConfig.getJobName(), schedulerFacade.newJobTriggerListener());
+            return sharedSchedulerEngine.getScheduler();
+        }
         Scheduler result;
         try {
             StdSchedulerFactory factory = new StdSchedulerFactory();
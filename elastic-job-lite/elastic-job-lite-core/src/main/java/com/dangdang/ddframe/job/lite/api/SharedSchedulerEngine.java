@@ -0,0 +1,306 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+
+package com.dangdang.ddframe.job.lite.api;
+
+import com.dangdang.ddframe.job.exception.JobSystemException;
+import com.dangdang.ddframe.job.lite.internal.schedule.JobShutdownHookPlugin;
+import com.dangdang.ddframe.job.util.concurrent.HashedWheelCronScheduler;
+import com.google.common.base.Preconditions;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.quartz.JobExecutionContext;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.Trigger;
+import org.quartz.Trigger.CompletedExecutionInstruction;
+import org.quartz.TriggerKey;
+import org.quartz.TriggerListener;
+import org.quartz.impl.StdSchedulerFactory;
+import org.quartz.impl.matchers.GroupMatcher;
+import org.quartz.impl.matchers.KeyMatcher;
+import org.quartz.simpl.SimpleThreadPool;
+
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 共享调度引擎.
+ * 
+ * <p>
+ * 默认每个作业独占一个Quartz调度器(一个调度线程加一个执行线程)和一个调解线程, 作业数量较多时线程数随作业数线性增长.
+ * 共享调度引擎让同一JVM内的多个作业共用一个Quartz调度器(一个计时线程加固定大小的分发线程池)和一个调解线程,
+ * 作业的暂停, 恢复, 立即触发和重新调度仍然只作用于作业自身.
+ * 同一作业不会被并发执行, 分发线程不足导致的触发延迟超过错过阈值时按错过执行处理.
+ * </p>
+ * 
+ * <p>
+ * 触发引擎可选Quartz或分层时间轮, 时间轮只在作业注册和每次触发后计算一次下次触发时间, 不随作业数量增加扫描开销, 触发精度为{@link #WHEEL_TICK_MILLIS}毫秒.
+ * 两种触发引擎在JVM关闭时均会清理作业的主节点和实例节点并关闭作业事件总线.
+ * </p>
+ * 
+ * @author zhangliang
+ */
+public final class SharedSchedulerEngine {
+    
+    /**
+     * 时间轮刻度毫秒数.
+     */
+    public static final long WHEEL_TICK_MILLIS = 10L;
+    
+    private static final int WHEEL_SIZE = 512;
+    
+    private static final String SCHEDULER_NAME_PREFIX = "ElasticJobSharedScheduler-";
+    
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+    
+    private final int threadCount;
+    
+    private final Scheduler scheduler;
+    
+    private final HashedWheelCronScheduler cronScheduler;
+    
+    private final ScheduledExecutorService reconcileExecutor;
+    
+    private final Thread shutdownHook;
+    
+    private final AtomicLong triggeredCount = new AtomicLong();
+    
+    private final AtomicLong totalTriggerLatencyMillis = new AtomicLong();
+    
+    private final AtomicLong maxTriggerLatencyMillis = new AtomicLong();
+    
+    /**
+     * 创建共享调度引擎.
+     * 
+     * @param threadCount 分发线程数量
+     */
+    public SharedSchedulerEngine(final int threadCount) {
+        this(threadCount, TriggerEngineType.QUARTZ);
+    }
+    
+    /**
+     * 创建共享调度引擎.
+     * 
+     * @param threadCount 分发线程数量
+     * @param triggerEngineType 触发引擎类型
+     */
+    public SharedSchedulerEngine(final int threadCount, final TriggerEngineType triggerEngineType) {
+        Preconditions.checkArgument(threadCount > 0, "Thread count should larger than 0.");
+        Preconditions.checkNotNull(triggerEngineType, "Trigger engine type should not be null.");
+        this.threadCount = threadCount;
+        String schedulerName = SCHEDULER_NAME_PREFIX + SEQUENCE.incrementAndGet();
+        if (TriggerEngineType.HASHED_WHEEL == triggerEngineType) {
+            scheduler = null;
+            cronScheduler = new HashedWheelCronScheduler(schedulerName, WHEEL_TICK_MILLIS, WHEEL_SIZE, threadCount);
+            cronScheduler.start();
+        } else {
+            scheduler = createScheduler(schedulerName);
+            cronScheduler = null;
+        }
+        reconcileExecutor = Executors.newSingleThreadScheduledExecutor(new BasicThreadFactory.Builder().namingPattern(schedulerName + "-reconcile-%s").daemon(true).build());
+        if (null == cronScheduler) {
+            shutdownHook = null;
+        } else {
+            shutdownHook = new Thread(new HashedWheelShutdownHook(), schedulerName + "-shutdown-hook");
+            Runtime.getRuntime().addShutdownHook(shutdownHook);
+        }
+    }
+    
+    private Scheduler createScheduler(final String schedulerName) {
+        try {
+            StdSchedulerFactory factory = new StdSchedulerFactory();
+            factory.initialize(getBaseQuartzProperties(schedulerName));
+            return factory.getScheduler();
+        } catch (final SchedulerException ex) {
+            throw new JobSystemException(ex);
+        }
+    }
+    
+    private Properties getBaseQuartzProperties(final String schedulerName) {
+        Properties result = new Properties();
+        result.put("org.quartz.threadPool.class", SimpleThreadPool.class.getName());
+        result.put("org.quartz.threadPool.threadCount", String.valueOf(threadCount));
+        result.put("org.quartz.scheduler.instanceName", schedulerName);
+        result.put("org.quartz.jobStore.misfireThreshold", "1");
+        result.put("org.quartz.plugin.shutdownhook.class", JobShutdownHookPlugin.class.getName());
+        result.put("org.quartz.plugin.shutdownhook.cleanShutdown", Boolean.TRUE.toString());
+        return result;
+    }
+    
+    Scheduler getScheduler() {
+        return scheduler;
+    }
+    
+    HashedWheelCronScheduler getCronScheduler() {
+        return cronScheduler;
+    }
+    
+    ScheduledExecutorService getReconcileExecutor() {
+        return reconcileExecutor;
+    }
+    
+    Thread getShutdownHook() {
+        return shutdownHook;
+    }
+    
+    /**
+     * 注册作业触发监听器.
+     * 
+     * <p>
+     * 监听器以作业名称命名并只匹配该作业的触发器, 作业终止时由作业调度控制器按作业名称移除.
+     * </p>
+     * 
+     * @param jobName 作业名称
+     * @param triggerListener 作业触发监听器
+     */
+    void registerTriggerListener(final String jobName, final TriggerListener triggerListener) {
+        try {
+            scheduler.getListenerManager().addTriggerListener(new SharedTriggerListener(jobName, triggerListener), KeyMatcher.keyEquals(TriggerKey.triggerKey(jobName)));
+        } catch (final SchedulerException ex) {
+            throw new JobSystemException(ex);
+        }
+    }
+    
+    private void recordTriggerLatency(final JobExecutionContext context) {
+        if (null == context.getScheduledFireTime()) {
+            return;
+        }
+        long latency = Math.max(0L, System.currentTimeMillis() - context.getScheduledFireTime().getTime());
+        triggeredCount.incrementAndGet();
+        totalTriggerLatencyMillis.addAndGet(latency);
+        long currentMax = maxTriggerLatencyMillis.get();
+        while (latency > currentMax && !maxTriggerLatencyMillis.compareAndSet(currentMax, latency)) {
+            currentMax = maxTriggerLatencyMillis.get();
+        }
+    }
+    
+    /**
+     * 获取共享调度引擎统计.
+     * 
+     * @return 共享调度引擎统计
+     */
+    public SharedSchedulerEngineStatistics getStatistics() {
+        if (null != cronScheduler) {
+            return new SharedSchedulerEngineStatistics(cronScheduler.size(), threadCount, cronScheduler.getFiredCount(), cronScheduler.getAverageFireDelayMillis(), cronScheduler.getMaxFireDelayMillis());
+        }
+        long triggered = triggeredCount.get();
+        return new SharedSchedulerEngineStatistics(getJobCount(), threadCount, triggered, 0L == triggered ? 0L : totalTriggerLatencyMillis.get() / triggered, maxTriggerLatencyMillis.get());
+    }
+    
+    private int getJobCount() {
+        try {
+            return scheduler.isShutdown() ? 0 : scheduler.getJobKeys(GroupMatcher.anyJobGroup()).size();
+        } catch (final SchedulerException ex) {
+            throw new JobSystemException(ex);
+        }
+    }
+    
+    /**
+     * 关闭共享调度引擎.
+     * 
+     * <p>
+     * 关闭后所有使用该引擎的作业均停止调度.
+     * </p>
+     */
+    public void shutdown() {
+        if (null != cronScheduler) {
+            removeShutdownHook();
+            cronScheduler.shutdown();
+            reconcileExecutor.shutdown();
+            return;
+        }
+        try {
+            if (!scheduler.isShutdown()) {
+                scheduler.shutdown();
+            }
+        } catch (final SchedulerException ex) {
+            throw new JobSystemException(ex);
+        } finally {
+            reconcileExecutor.shutdown();
+        }
+    }
+    
+    private void removeShutdownHook() {
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (final IllegalStateException ignored) {
+        }
+    }
+    
+    /**
+     * 时间轮触发引擎的JVM关闭钩子.
+     * 
+     * <p>
+     * 与Quartz触发引擎的{@code JobShutdownHookPlugin}一致, 停止调度后清理作业的主节点和实例节点并关闭作业事件总线.
+     * </p>
+     */
+    private final class HashedWheelShutdownHook implements Runnable {
+        
+        @Override
+        public void run() {
+            Set<String> jobNames = cronScheduler.getKeys();
+            cronScheduler.shutdown();
+            reconcileExecutor.shutdown();
+            for (String each : jobNames) {
+                JobShutdownHookPlugin.cleanUp(each);
+            }
+        }
+    }
+    
+    private final class SharedTriggerListener implements TriggerListener {
+        
+        private final String name;
+        
+        private final TriggerListener delegate;
+        
+        SharedTriggerListener(final String name, final TriggerListener delegate) {
+            this.name = name;
+            this.delegate = delegate;
+        }
+        
+        @Override
+        public String getName() {
+            return name;
+        }
+        
+        @Override
+        public void triggerFired(final Trigger trigger, final JobExecutionContext context) {
+            recordTriggerLatency(context);
+            delegate.triggerFired(trigger, context);
+        }
+        
+        @Override
+        public boolean vetoJobExecution(final Trigger trigger, final JobExecutionContext context) {
+            return delegate.vetoJobExecution(trigger, context);
+        }
+        
+        @Override
+        public void triggerMisfired(final Trigger trigger) {
+            delegate.triggerMisfired(trigger);
+        }
+        
+        @Override
+        public void triggerComplete(final Trigger trigger, final JobExecutionContext context, final CompletedExecutionInstruction triggerInstructionCode) {
+            delegate.triggerComplete(trigger, context, triggerInstructionCode);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+
+package com.dangdang.ddframe.job.lite.api;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * 共享调度引擎统计.
+ *
+ * @author zhangliang
+ */
+@RequiredArgsConstructor
+@Getter
+@ToString
+public final class SharedSchedulerEngineStatistics {
+    
+    /**
+     * 使用该引擎调度的作业数量.
+     */
+    private final int jobCount;
+    
+    /**
+     * 分发线程数量.
+     */
+    private final int threadCount;
+    
+    /**
+     * 已触发执行的次数.
+     */
+    private final long triggeredCount;
+    
+    /**
+     * 从计划触发时间至开始执行的平均延迟毫秒数.
+     */
+    private final long averageTriggerLatencyMillis;
+    
+    /**
+     * 从计划触发时间至开始执行的最长延迟毫秒数.
+     */
+    private final long maxTriggerLatencyMillis;
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+
+package com.dangdang.ddframe.job.lite.api;
+
+/**
+ * 共享调度引擎的触发引擎类型.
+ *
+ * @author zhangliang
+ */
+public enum TriggerEngineType {
+    
+    /**
+     * 使用Quartz的CronTrigger触发.
+     */
+    QUARTZ,
+    
+    /**
+     * 使用分层时间轮触发, 每个作业只在注册和每次触发后计算一次下次触发时间, 适用于作业数量较多的场景.
+     */
+    HASHED_WHEEL
+}
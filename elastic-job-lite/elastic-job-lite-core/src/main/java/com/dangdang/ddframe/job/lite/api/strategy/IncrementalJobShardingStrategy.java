@@ -0,0 +1,48 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.lite.api.strategy;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 增量作业分片策略.
+ * 
+ * <p>
+ * 重新分片时根据上次分片结果计算需要变更的分片项, 未变更的分片项不会被重写.
+ * </p>
+ * 
+ * @author zhangliang
+ */
+public interface IncrementalJobShardingStrategy extends JobShardingStrategy {
+    
+    /**
+     * 增量作业分片.
+     * 
+     * <p>
+     * 返回结果需要包含上次分片结果中未分配或分配给不可用作业实例的分片项, 未包含的分片项保持上次分片结果.
+     * </p>
+     * 
+     * @param previousShardingResults 上次分片结果, 可能包含已不可用的作业实例
+     * @param jobInstances 所有参与分片的单元列表
+     * @param jobName 作业名称
+     * @param shardingTotalCount 分片总数
+     * @return 需要变更的分片结果
+     */
+    Map<JobInstance, List<Integer>> sharding(Map<JobInstance, List<Integer>> previousShardingResults, List<JobInstance> jobInstances, String jobName, int shardingTotalCount);
+}
@@ -20,7 +20,6 @@ package com.dangdang.ddframe.job.lite.api.strategy;
 import com.dangdang.ddframe.job.util.env.IpUtils;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 
 import java.lang.management.ManagementFactory;
 
@@ -29,11 +28,15 @@ import java.lang.management.ManagementFactory;
  * 
  * @author zhangliang
  */
-@RequiredArgsConstructor
 @Getter
 @EqualsAndHashCode(of = "jobInstanceId")
 public final class JobInstance {
     
+    /**
+     * 默认权重.
+     */
+    public static final int DEFAULT_WEIGHT = 1;
+    
     private static final String DELIMITER = "@-@";
     
     /**
@@ -41,8 +44,28 @@ public final class JobInstance {
      */
     private final String jobInstanceId;
     
+    /**
+     * 作业实例上报的权重.
+     */
+    private final int weight;
+    
+    /**
+     * 作业实例上报的负载, 为系统平均负载与处理器数量之比.
+     */
+    private final double load;
+    
     public JobInstance() {
-        jobInstanceId = IpUtils.getIp() + DELIMITER + ManagementFactory.getRuntimeMXBean().getName().split("@")[0];
+        this(IpUtils.getIp() + DELIMITER + ManagementFactory.getRuntimeMXBean().getName().split("@")[0]);
+    }
+    
+    public JobInstance(final String jobInstanceId) {
+        this(jobInstanceId, DEFAULT_WEIGHT, 0D);
+    }
+    
+    public JobInstance(final String jobInstanceId, final int weight, final double load) {
+        this.jobInstanceId = jobInstanceId;
+        this.weight = weight;
+        this.load = load;
     }
     
     /**
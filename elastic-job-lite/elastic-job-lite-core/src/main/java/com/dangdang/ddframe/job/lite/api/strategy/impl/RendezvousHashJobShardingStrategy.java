@@ -0,0 +1,223 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.lite.api.strategy.impl;
+
+import com.dangdang.ddframe.job.lite.api.strategy.IncrementalJobShardingStrategy;
+import com.dangdang.ddframe.job.lite.api.strategy.JobInstance;
+import com.google.common.base.Charsets;
+import com.google.common.hash.Hashing;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * 基于最高随机权重(Rendezvous Hashing)算法的分片策略.
+ * 
+ * <p>
+ * 每个分片项优先分配给与其哈希得分最高的作业实例, 同时每台服务器分到的分片数量最多相差1.
+ * 重新分片时已分配给可用作业实例的分片项保持不变, 仅移动下线实例的分片项以及为平衡负载必须移动的分片项.
+ * 如: 10台服务器分成1000片, 增加1台服务器仅移动约91片, 减少1台服务器仅移动该服务器的100片.
+ * </p>
+ * 
+ * @author zhangliang
+ */
+public final class RendezvousHashJobShardingStrategy implements IncrementalJobShardingStrategy {
+    
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    
+    @Override
+    public Map<JobInstance, List<Integer>> sharding(final List<JobInstance> jobInstances, final String jobName, final int shardingTotalCount) {
+        return sharding(Collections.<JobInstance, List<Integer>>emptyMap(), jobInstances, jobName, shardingTotalCount);
+    }
+    
+    @Override
+    public Map<JobInstance, List<Integer>> sharding(
+            final Map<JobInstance, List<Integer>> previousShardingResults, final List<JobInstance> jobInstances, final String jobName, final int shardingTotalCount) {
+        if (jobInstances.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<JobInstance, ShardingUnit> shardingUnits = createShardingUnits(jobInstances, jobName);
+        boolean[] handledItems = new boolean[shardingTotalCount];
+        List<Integer> movingItems = new LinkedList<>();
+        int itemCountPerSharding = shardingTotalCount / shardingUnits.size();
+        int aliquant = shardingTotalCount % shardingUnits.size();
+        List<ShardingUnit> fullShardingUnits = keepPreviousItems(previousShardingResults, shardingUnits, itemCountPerSharding + (0 == aliquant ? 0 : 1), handledItems, movingItems);
+        int remainingAliquant = releaseAliquant(fullShardingUnits, aliquant, movingItems);
+        for (int i = 0; i < shardingTotalCount; i++) {
+            if (!handledItems[i]) {
+                movingItems.add(i);
+            }
+        }
+        Collections.sort(movingItems);
+        Map<JobInstance, List<Integer>> result = new LinkedHashMap<>(shardingUnits.size(), 1);
+        for (int each : movingItems) {
+            ShardingUnit shardingUnit = selectShardingUnit(shardingUnits.values(), each, itemCountPerSharding, remainingAliquant > 0);
+            if (shardingUnit.getItemCount() == itemCountPerSharding) {
+                remainingAliquant--;
+            }
+            shardingUnit.addItem(each);
+            if (!result.containsKey(shardingUnit.getJobInstance())) {
+                result.put(shardingUnit.getJobInstance(), new ArrayList<Integer>());
+            }
+            result.get(shardingUnit.getJobInstance()).add(each);
+        }
+        return result;
+    }
+    
+    private Map<JobInstance, ShardingUnit> createShardingUnits(final List<JobInstance> jobInstances, final String jobName) {
+        List<JobInstance> sortedJobInstances = new ArrayList<>(jobInstances);
+        Collections.sort(sortedJobInstances, new Comparator<JobInstance>() {
+            
+            @Override
+            public int compare(final JobInstance o1, final JobInstance o2) {
+                return o1.getJobInstanceId().compareTo(o2.getJobInstanceId());
+            }
+        });
+        Map<JobInstance, ShardingUnit> result = new LinkedHashMap<>(sortedJobInstances.size(), 1);
+        for (JobInstance each : sortedJobInstances) {
+            result.put(each, new ShardingUnit(each, Hashing.murmur3_128().hashString(jobName + "/" + each.getJobInstanceId(), Charsets.UTF_8).asLong()));
+        }
+        return result;
+    }
+    
+    private List<ShardingUnit> keepPreviousItems(final Map<JobInstance, List<Integer>> previousShardingResults, final Map<JobInstance, ShardingUnit> shardingUnits, 
+                                                 final int maxItemCountPerSharding, final boolean[] handledItems, final List<Integer> movingItems) {
+        List<ShardingUnit> result = new ArrayList<>(shardingUnits.size());
+        for (ShardingUnit each : shardingUnits.values()) {
+            List<Integer> previousItems = previousShardingResults.get(each.getJobInstance());
+            if (null == previousItems) {
+                continue;
+            }
+            List<Integer> sortedItems = new ArrayList<>(previousItems.size());
+            for (int item : previousItems) {
+                if (item < handledItems.length && !handledItems[item]) {
+                    handledItems[item] = true;
+                    sortedItems.add(item);
+                }
+            }
+            Collections.sort(sortedItems, each.getItemComparator());
+            for (int item : sortedItems) {
+                if (each.getItemCount() < maxItemCountPerSharding) {
+                    each.addItem(item);
+                } else {
+                    movingItems.add(item);
+                }
+            }
+            if (maxItemCountPerSharding > 0 && each.getItemCount() == maxItemCountPerSharding) {
+                result.add(each);
+            }
+        }
+        return result;
+    }
+    
+    private int releaseAliquant(final List<ShardingUnit> fullShardingUnits, final int aliquant, final List<Integer> movingItems) {
+        if (0 == aliquant) {
+            return 0;
+        }
+        if (fullShardingUnits.size() <= aliquant) {
+            return aliquant - fullShardingUnits.size();
+        }
+        Collections.sort(fullShardingUnits, new Comparator<ShardingUnit>() {
+            
+            @Override
+            public int compare(final ShardingUnit o1, final ShardingUnit o2) {
+                return Long.compare(o2.getLastItemScore(), o1.getLastItemScore());
+            }
+        });
+        for (ShardingUnit each : fullShardingUnits.subList(aliquant, fullShardingUnits.size())) {
+            movingItems.add(each.removeLastItem());
+        }
+        return 0;
+    }
+    
+    private ShardingUnit selectShardingUnit(final Iterable<ShardingUnit> shardingUnits, final int item, final int itemCountPerSharding, final boolean hasAliquant) {
+        ShardingUnit result = selectShardingUnit(shardingUnits, item, itemCountPerSharding);
+        return null == result && hasAliquant ? selectShardingUnit(shardingUnits, item, itemCountPerSharding + 1) : result;
+    }
+    
+    private ShardingUnit selectShardingUnit(final Iterable<ShardingUnit> shardingUnits, final int item, final int maxItemCountPerSharding) {
+        ShardingUnit result = null;
+        long maxScore = 0L;
+        for (ShardingUnit each : shardingUnits) {
+            if (each.getItemCount() >= maxItemCountPerSharding) {
+                continue;
+            }
+            long score = each.score(item);
+            if (null == result || score > maxScore) {
+                result = each;
+                maxScore = score;
+            }
+        }
+        return result;
+    }
+    
+    private static final class ShardingUnit {
+        
+        @Getter
+        private final JobInstance jobInstance;
+        
+        private final long seed;
+        
+        private final List<Integer> items = new ArrayList<>();
+        
+        ShardingUnit(final JobInstance jobInstance, final long seed) {
+            this.jobInstance = jobInstance;
+            this.seed = seed;
+        }
+        
+        long score(final int item) {
+            long result = (seed ^ item * GOLDEN_GAMMA) + GOLDEN_GAMMA;
+            result = (result ^ (result >>> 30)) * 0xBF58476D1CE4E5B9L;
+            result = (result ^ (result >>> 27)) * 0x94D049BB133111EBL;
+            return result ^ (result >>> 31);
+        }
+        
+        int getItemCount() {
+            return items.size();
+        }
+        
+        void addItem(final int item) {
+            items.add(item);
+        }
+        
+        int removeLastItem() {
+            return items.remove(items.size() - 1);
+        }
+        
+        long getLastItemScore() {
+            return score(items.get(items.size() - 1));
+        }
+        
+        Comparator<Integer> getItemComparator() {
+            return new Comparator<Integer>() {
+                
+                @Override
+                public int compare(final Integer o1, final Integer o2) {
+                    return Long.compare(score(o2), score(o1));
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.lite.api.strategy.impl;
+
+import com.dangdang.ddframe.job.lite.api.strategy.JobInstance;
+import com.dangdang.ddframe.job.lite.api.strategy.JobShardingStrategy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 基于作业实例权重按比例分配的分片策略.
+ * 
+ * <p>
+ * 作业实例上线时上报权重和负载, 权重默认为处理器数量, 负载为系统平均负载与处理器数量之比.
+ * 每台服务器的有效权重为权重/(1+负载), 按有效权重的比例依次分到连续的分片项.
+ * 如: 
+ * 1. 如果有2台服务器, 权重分别为4和12, 分成8片, 则每台服务器分到的分片是: 1=[0,1], 2=[2,3,4,5,6,7].
+ * 2. 如果有2台服务器, 权重均为8, 负载分别为0和1, 分成6片, 则每台服务器分到的分片是: 1=[0,1,2,3], 2=[4,5].
+ * </p>
+ * 
+ * @author zhangliang
+ */
+public final class WeightedJobShardingStrategy implements JobShardingStrategy {
+    
+    @Override
+    public Map<JobInstance, List<Integer>> sharding(final List<JobInstance> jobInstances, final String jobName, final int shardingTotalCount) {
+        if (jobInstances.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        double[] effectiveWeights = new double[jobInstances.size()];
+        double totalEffectiveWeight = 0D;
+        for (int i = 0; i < effectiveWeights.length; i++) {
+            effectiveWeights[i] = getEffectiveWeight(jobInstances.get(i));
+            totalEffectiveWeight += effectiveWeights[i];
+        }
+        Map<JobInstance, List<Integer>> result = new LinkedHashMap<>(jobInstances.size(), 1);
+        double accumulatedEffectiveWeight = 0D;
+        int beginItem = 0;
+        for (int i = 0; i < effectiveWeights.length; i++) {
+            accumulatedEffectiveWeight += effectiveWeights[i];
+            int endItem = i == effectiveWeights.length - 1 ? shardingTotalCount : (int) Math.round(shardingTotalCount * accumulatedEffectiveWeight / totalEffectiveWeight);
+            List<Integer> shardingItems = new ArrayList<>(Math.max(endItem - beginItem, 0));
+            for (int item = beginItem; item < endItem; item++) {
+                shardingItems.add(item);
+            }
+            result.put(jobInstances.get(i), shardingItems);
+            beginItem = Math.max(beginItem, endItem);
+        }
+        return result;
+    }
+    
+    private double getEffectiveWeight(final JobInstance jobInstance) {
+        return Math.max(jobInstance.getWeight(), JobInstance.DEFAULT_WEIGHT) / (1D + Math.max(jobInstance.getLoad(), 0D));
+    }
+}
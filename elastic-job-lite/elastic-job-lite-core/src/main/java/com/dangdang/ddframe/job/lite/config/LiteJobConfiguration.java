@@ -50,6 +50,10 @@ public final class LiteJobConfiguration implements JobRootConfiguration {
     
     private final boolean overwrite;
     
+    private final int jobEventSamplingCount;
+    
+    private final int maxJobEventSamplingPerSecond;
+    
     /**
      * 获取作业名称.
      * 
@@ -96,6 +100,10 @@ public final class LiteJobConfiguration implements JobRootConfiguration {
         private boolean overwrite;
         
         private int reconcileIntervalMinutes = 10;
+        
+        private int jobEventSamplingCount;
+        
+        private int maxJobEventSamplingPerSecond = -1;
     
         /**
          * 设置监控作业执行时状态.
@@ -209,13 +217,48 @@ public final class LiteJobConfiguration implements JobRootConfiguration {
             return this;
         }
         
+        /**
+         * 设置作业事件采样率.
+         * 
+         * <p>
+         * 每N次作业执行记录一次执行成功的作业事件, 执行失败的作业事件总是被记录.
+         * 配置为0或1表示记录全部作业事件.
+         * </p>
+         *
+         * @param jobEventSamplingCount 作业事件采样率
+         *
+         * @return 作业配置构建器
+         */
+        public Builder jobEventSamplingCount(final int jobEventSamplingCount) {
+            this.jobEventSamplingCount = jobEventSamplingCount;
+            return this;
+        }
+        
+        /**
+         * 设置每秒最多采样的作业执行次数.
+         * 
+         * <p>
+         * 超过上限的作业执行不再记录执行成功的作业事件, 执行失败的作业事件总是被记录.
+         * 配置为-1表示不限制.
+         * </p>
+         *
+         * @param maxJobEventSamplingPerSecond 每秒最多采样的作业执行次数
+         *
+         * @return 作业配置构建器
+         */
+        public Builder maxJobEventSamplingPerSecond(final int maxJobEventSamplingPerSecond) {
+            this.maxJobEventSamplingPerSecond = maxJobEventSamplingPerSecond;
+            return this;
+        }
+        
         /**
          * 构建作业配置对象.
          * 
          * @return 作业配置对象
          */
         public final LiteJobConfiguration build() {
-            return new LiteJobConfiguration(jobConfig, monitorExecution, maxTimeDiffSeconds, monitorPort, jobShardingStrategyClass, reconcileIntervalMinutes, disabled, overwrite);
+            return new LiteJobConfiguration(jobConfig, monitorExecution, maxTimeDiffSeconds, monitorPort, jobShardingStrategyClass, reconcileIntervalMinutes, disabled, overwrite,
+                    jobEventSamplingCount, maxJobEventSamplingPerSecond);
         }
     }
 }
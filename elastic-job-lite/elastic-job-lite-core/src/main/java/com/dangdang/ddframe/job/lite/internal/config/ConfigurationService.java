@@ -20,6 +20,7 @@ package com.dangdang.ddframe.job.lite.internal.config;
 import com.dangdang.ddframe.job.exception.JobConfigurationException;
 import com.dangdang.ddframe.job.exception.JobExecutionEnvironmentException;
 import com.dangdang.ddframe.job.lite.config.LiteJobConfiguration;
+import com.dangdang.ddframe.job.lite.internal.schedule.JobRegistry;
 import com.dangdang.ddframe.job.lite.internal.storage.JobNodeStorage;
 import com.dangdang.ddframe.job.reg.base.CoordinatorRegistryCenter;
 import com.dangdang.ddframe.job.util.env.TimeService;
@@ -37,7 +38,10 @@ public final class ConfigurationService {
     
     private final JobNodeStorage jobNodeStorage;
     
+    private final String jobName;
+    
     public ConfigurationService(final CoordinatorRegistryCenter regCenter, final String jobName) {
+        this.jobName = jobName;
         jobNodeStorage = new JobNodeStorage(regCenter, jobName);
         timeService = new TimeService();
     }
@@ -49,16 +53,20 @@ public final class ConfigurationService {
      * @return 作业配置
      */
     public LiteJobConfiguration load(final boolean fromCache) {
-        String result;
-        if (fromCache) {
-            result = jobNodeStorage.getJobNodeData(ConfigurationNode.ROOT);
-            if (null == result) {
-                result = jobNodeStorage.getJobNodeDataDirectly(ConfigurationNode.ROOT);
-            }
-        } else {
-            result = jobNodeStorage.getJobNodeDataDirectly(ConfigurationNode.ROOT);
+        if (!fromCache) {
+            return LiteJobConfigurationGsonFactory.fromJson(jobNodeStorage.getJobNodeDataDirectly(ConfigurationNode.ROOT));
+        }
+        ConfigurationSnapshot snapshot = JobRegistry.getInstance().getConfigurationSnapshot(jobName);
+        if (null == snapshot) {
+            return LiteJobConfigurationGsonFactory.fromJson(getJobNodeDataFromCache());
         }
-        return LiteJobConfigurationGsonFactory.fromJson(result);
+        LiteJobConfiguration result = snapshot.get();
+        return null == result ? snapshot.load(getJobNodeDataFromCache()) : result;
+    }
+    
+    private String getJobNodeDataFromCache() {
+        String result = jobNodeStorage.getJobNodeData(ConfigurationNode.ROOT);
+        return null == result ? jobNodeStorage.getJobNodeDataDirectly(ConfigurationNode.ROOT) : result;
     }
     
     /**
@@ -71,7 +79,7 @@ public final class ConfigurationService {
          checkConflictJob(liteJobConfig);
          
          //如果作业实现类名称一致，则可以将相同的配置进行更新.
-        if (!jobNodeStorage.isJobNodeExisted(ConfigurationNode.ROOT) || liteJobConfig.isOverwrite()) {
+        if (!jobNodeStorage.isJobNodeExistedDirectly(ConfigurationNode.ROOT) || liteJobConfig.isOverwrite()) {
            //这里会更新路径信息，如果没有改路径则创建一个，如果有的话则直接更新内容，主要的config中的配置信息就是在这里第一更新的
         	jobNodeStorage.replaceJobNode(ConfigurationNode.ROOT, LiteJobConfigurationGsonFactory.toJson(liteJobConfig));
         }
@@ -99,7 +107,7 @@ public final class ConfigurationService {
      */
     private Optional<LiteJobConfiguration> find() {
     	//isJobNodeExisted会在zk上创建接口
-        if (!jobNodeStorage.isJobNodeExisted(ConfigurationNode.ROOT)) {
+        if (!jobNodeStorage.isJobNodeExistedDirectly(ConfigurationNode.ROOT)) {
             return Optional.absent();
         }
         LiteJobConfiguration result = LiteJobConfigurationGsonFactory.fromJson(jobNodeStorage.getJobNodeDataDirectly(ConfigurationNode.ROOT));
@@ -0,0 +1,126 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.lite.internal.config;
+
+import com.dangdang.ddframe.job.lite.config.LiteJobConfiguration;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 作业配置快照.
+ * 
+ * <p>
+ * 持有已解析的作业配置, 配置节点变化时由监听器原子替换.
+ * 热点路径直接读取快照, 无需每次反序列化JSON.
+ * </p>
+ * 
+ * @author zhangliang
+ */
+public final class ConfigurationSnapshot {
+    
+    private final AtomicReference<LiteJobConfiguration> liteJobConfig = new AtomicReference<>();
+    
+    private final AtomicLong hitCount = new AtomicLong();
+    
+    private final AtomicLong missCount = new AtomicLong();
+    
+    private final AtomicLong parseCount = new AtomicLong();
+    
+    /**
+     * 获取作业配置快照.
+     * 
+     * @return 作业配置快照, 快照不存在时返回null
+     */
+    public LiteJobConfiguration get() {
+        LiteJobConfiguration result = liteJobConfig.get();
+        if (null == result) {
+            missCount.incrementAndGet();
+        } else {
+            hitCount.incrementAndGet();
+        }
+        return result;
+    }
+    
+    /**
+     * 快照不存在时加载作业配置.
+     * 
+     * <p>如果加载期间快照已被监听器替换, 则保留监听器替换的快照.</p>
+     * 
+     * @param json 作业配置JSON
+     * @return 作业配置
+     */
+    public LiteJobConfiguration load(final String json) {
+        LiteJobConfiguration result = parse(json);
+        if (null != result) {
+            liteJobConfig.compareAndSet(null, result);
+        }
+        return result;
+    }
+    
+    /**
+     * 替换作业配置快照.
+     * 
+     * @param json 作业配置JSON
+     * @return 替换后的作业配置
+     */
+    public LiteJobConfiguration update(final String json) {
+        LiteJobConfiguration result = parse(json);
+        liteJobConfig.set(result);
+        return result;
+    }
+    
+    /**
+     * 清除作业配置快照.
+     */
+    public void clear() {
+        liteJobConfig.set(null);
+    }
+    
+    private LiteJobConfiguration parse(final String json) {
+        parseCount.incrementAndGet();
+        return LiteJobConfigurationGsonFactory.fromJson(json);
+    }
+    
+    /**
+     * 获取命中快照次数.
+     * 
+     * @return 命中快照次数
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+    
+    /**
+     * 获取未命中快照次数.
+     * 
+     * @return 未命中快照次数
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+    
+    /**
+     * 获取解析作业配置JSON次数.
+     * 
+     * @return 解析作业配置JSON次数
+     */
+    public long getParseCount() {
+        return parseCount.get();
+    }
+}
@@ -102,6 +102,12 @@ public final class LiteJobConfigurationGsonFactory {
                 case "overwrite":
                     customizedValueMap.put(jsonName, in.nextBoolean());
                     break;
+                case "jobEventSamplingCount":
+                    customizedValueMap.put(jsonName, in.nextInt());
+                    break;
+                case "maxJobEventSamplingPerSecond":
+                    customizedValueMap.put(jsonName, in.nextInt());
+                    break;
                 default:
                     in.skipValue();
                     break;
@@ -132,6 +138,12 @@ public final class LiteJobConfigurationGsonFactory {
             if (customizedValueMap.containsKey("overwrite")) {
                 builder.overwrite((boolean) customizedValueMap.get("overwrite"));
             }
+            if (customizedValueMap.containsKey("jobEventSamplingCount")) {
+                builder.jobEventSamplingCount((int) customizedValueMap.get("jobEventSamplingCount"));
+            }
+            if (customizedValueMap.containsKey("maxJobEventSamplingPerSecond")) {
+                builder.maxJobEventSamplingPerSecond((int) customizedValueMap.get("maxJobEventSamplingPerSecond"));
+            }
             return builder.build();
         }
         
@@ -144,6 +156,8 @@ public final class LiteJobConfigurationGsonFactory {
             out.name("reconcileIntervalMinutes").value(value.getReconcileIntervalMinutes());
             out.name("disabled").value(value.isDisabled());
             out.name("overwrite").value(value.isOverwrite());
+            out.name("jobEventSamplingCount").value(value.getJobEventSamplingCount());
+            out.name("maxJobEventSamplingPerSecond").value(value.getMaxJobEventSamplingPerSecond());
         }
     }
 }
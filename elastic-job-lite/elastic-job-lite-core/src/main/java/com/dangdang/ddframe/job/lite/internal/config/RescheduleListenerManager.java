@@ -17,6 +17,7 @@
 
 package com.dangdang.ddframe.job.lite.internal.config;
 
+import com.dangdang.ddframe.job.lite.config.LiteJobConfiguration;
 import com.dangdang.ddframe.job.lite.internal.listener.AbstractJobListener;
 import com.dangdang.ddframe.job.lite.internal.listener.AbstractListenerManager;
 import com.dangdang.ddframe.job.lite.internal.schedule.JobRegistry;
@@ -44,14 +45,30 @@ public final class RescheduleListenerManager extends AbstractListenerManager {
     @Override
     public void start() {
         addDataListener(new CronSettingAndJobEventChangedJobListener());
+        JobRegistry.getInstance().addConfigurationSnapshot(jobName, new ConfigurationSnapshot());
     }
     
     class CronSettingAndJobEventChangedJobListener extends AbstractJobListener {
         
         @Override
         protected void dataChanged(final String path, final Type eventType, final String data) {
-            if (configNode.isConfigPath(path) && Type.NODE_UPDATED == eventType && !JobRegistry.getInstance().isShutdown(jobName)) {
-                JobRegistry.getInstance().getJobScheduleController(jobName).rescheduleJob(LiteJobConfigurationGsonFactory.fromJson(data).getTypeConfig().getCoreConfig().getCron());
+            if (!configNode.isConfigPath(path)) {
+                return;
+            }
+            ConfigurationSnapshot snapshot = JobRegistry.getInstance().getConfigurationSnapshot(jobName);
+            if (Type.NODE_REMOVED == eventType) {
+                if (null != snapshot) {
+                    snapshot.clear();
+                }
+                return;
+            }
+            LiteJobConfiguration liteJobConfig = null == snapshot ? LiteJobConfigurationGsonFactory.fromJson(data) : snapshot.update(data);
+            if (Type.NODE_UPDATED != eventType) {
+                return;
+            }
+            JobRegistry.getInstance().evictJobExecutor(jobName);
+            if (!JobRegistry.getInstance().isShutdown(jobName)) {
+                JobRegistry.getInstance().getJobScheduleController(jobName).rescheduleJob(liteJobConfig.getTypeConfig().getCoreConfig().getCron());
             }
         }
     }
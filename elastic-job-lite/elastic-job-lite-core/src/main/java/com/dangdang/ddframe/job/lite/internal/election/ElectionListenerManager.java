@@ -23,6 +23,7 @@ import com.dangdang.ddframe.job.lite.internal.schedule.JobRegistry;
 import com.dangdang.ddframe.job.lite.internal.server.ServerNode;
 import com.dangdang.ddframe.job.lite.internal.server.ServerService;
 import com.dangdang.ddframe.job.lite.internal.server.ServerStatus;
+import com.dangdang.ddframe.job.lite.internal.storage.JobNodeChangeNotifier;
 import com.dangdang.ddframe.job.reg.base.CoordinatorRegistryCenter;
 import org.apache.curator.framework.recipes.cache.TreeCacheEvent.Type;
 
@@ -61,6 +62,7 @@ public final class ElectionListenerManager extends AbstractListenerManager {
     public void start() {
         addDataListener(new LeaderElectionJobListener());
         addDataListener(new LeaderAbdicationJobListener());
+        addDataListener(new LeaderChangedNotificationJobListener());
     }
     
     class LeaderElectionJobListener extends AbstractJobListener {
@@ -135,4 +137,18 @@ public final class ElectionListenerManager extends AbstractListenerManager {
             return serverNode.isLocalServerPath(path) && ServerStatus.DISABLED.name().equals(data);
         }
     }
+    
+    /**
+     * 主节点或作业服务器变化时通知等待主节点选举完成的线程.
+     */
+    class LeaderChangedNotificationJobListener extends AbstractJobListener {
+        
+        @Override
+        protected void dataChanged(final String path, final Type eventType, final String data) {
+            JobNodeChangeNotifier jobNodeChangeNotifier = JobRegistry.getInstance().getJobNodeChangeNotifier(jobName);
+            if (null != jobNodeChangeNotifier && (leaderNode.isLeaderInstancePath(path) || serverNode.isServerPath(path))) {
+                jobNodeChangeNotifier.notifyChanged();
+            }
+        }
+    }
 }
@@ -19,6 +19,7 @@ package com.dangdang.ddframe.job.lite.internal.election;
 
 import com.dangdang.ddframe.job.lite.internal.schedule.JobRegistry;
 import com.dangdang.ddframe.job.lite.internal.server.ServerService;
+import com.dangdang.ddframe.job.lite.internal.storage.JobNodeChangeNotifier;
 import com.dangdang.ddframe.job.lite.internal.storage.JobNodeStorage;
 import com.dangdang.ddframe.job.lite.internal.storage.LeaderExecutionCallback;
 import com.dangdang.ddframe.job.reg.base.CoordinatorRegistryCenter;
@@ -34,6 +35,8 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public final class LeaderService {
     
+    private static final long ELECTION_WAITING_MILLISECONDS = 100L;
+    
     private final String jobName;
     
     private final ServerService serverService;
@@ -62,21 +65,38 @@ public final class LeaderService {
      * <p>
      * 如果主节点正在选举中而导致取不到主节点, 则阻塞至主节点选举完成再返回.
      * leader/election/instance下的ip即为主节点的信息
+     * 主节点产生时由节点变化通知唤醒, 超时仍无主节点则参与选举.
      * </p>
      * 
      * @return 当前节点是否是主节点
      */
     public boolean isLeaderUntilBlock() {
+        long version = getJobNodeChangeVersion();
         while (!hasLeader() && serverService.hasAvailableServers()) {
-            log.info("Leader is electing, waiting for {} ms", 100);
-            BlockUtils.waitingShortTime();
-            if (!JobRegistry.getInstance().isShutdown(jobName) && serverService.isAvailableServer(JobRegistry.getInstance().getJobInstance(jobName).getIp())) {
+            log.info("Leader is electing, waiting for {} ms", ELECTION_WAITING_MILLISECONDS);
+            waitingJobNodeChanged(version);
+            version = getJobNodeChangeVersion();
+            if (!hasLeader() && !JobRegistry.getInstance().isShutdown(jobName) && serverService.isAvailableServer(JobRegistry.getInstance().getJobInstance(jobName).getIp())) {
                 electLeader();
             }
         }
         return isLeader();
     }
     
+    private long getJobNodeChangeVersion() {
+        JobNodeChangeNotifier jobNodeChangeNotifier = JobRegistry.getInstance().getJobNodeChangeNotifier(jobName);
+        return null == jobNodeChangeNotifier ? 0L : jobNodeChangeNotifier.getVersion();
+    }
+    
+    private void waitingJobNodeChanged(final long version) {
+        JobNodeChangeNotifier jobNodeChangeNotifier = JobRegistry.getInstance().getJobNodeChangeNotifier(jobName);
+        if (null == jobNodeChangeNotifier) {
+            BlockUtils.waitingShortTime();
+        } else {
+            jobNodeChangeNotifier.awaitChange(version, ELECTION_WAITING_MILLISECONDS);
+        }
+    }
+    
     /**
      * 判断当前节点是否是主节点.
      *leader/election/instance中的ip即为主节点的信息，instance节点中的数据即是主节点的ip
@@ -107,7 +127,7 @@ public final class LeaderService {
         
         @Override
         public void execute() {
-            if (!hasLeader()) {
+            if (!jobNodeStorage.isJobNodeExistedDirectly(LeaderNode.INSTANCE)) {
             	//这里如果该节点被选举为主节点，则会调用该方法，这个方法则在election下创建一个instance的临时节点，并将当前实例的信息写入到该节点下
                 jobNodeStorage.fillEphemeralJobNode(LeaderNode.INSTANCE, JobRegistry.getInstance().getJobInstance(jobName).getJobInstanceId());
             }
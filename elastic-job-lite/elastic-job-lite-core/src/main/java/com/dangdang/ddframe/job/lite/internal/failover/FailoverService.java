@@ -21,6 +21,7 @@ import com.dangdang.ddframe.job.lite.internal.schedule.JobRegistry;
 import com.dangdang.ddframe.job.lite.internal.schedule.JobScheduleController;
 import com.dangdang.ddframe.job.lite.internal.sharding.ShardingNode;
 import com.dangdang.ddframe.job.lite.internal.sharding.ShardingService;
+import com.dangdang.ddframe.job.lite.internal.sharding.ShardingStateView;
 import com.dangdang.ddframe.job.lite.internal.storage.JobNodeStorage;
 import com.dangdang.ddframe.job.lite.internal.storage.LeaderExecutionCallback;
 import com.dangdang.ddframe.job.reg.base.CoordinatorRegistryCenter;
@@ -103,7 +104,7 @@ public final class FailoverService {
         for (String each : items) {
             int item = Integer.parseInt(each);
             String node = FailoverNode.getExecutionFailoverNode(item);
-            if (jobNodeStorage.isJobNodeExisted(node) && jobInstanceId.equals(jobNodeStorage.getJobNodeDataDirectly(node))) {
+            if (jobNodeStorage.isJobNodeExistedDirectly(node) && jobInstanceId.equals(jobNodeStorage.getJobNodeDataDirectly(node))) {
                 result.add(item);
             }
         }
@@ -131,14 +132,20 @@ public final class FailoverService {
     public List<Integer> getLocalTakeOffItems() {
         List<Integer> shardingItems = shardingService.getLocalShardingItems();
         List<Integer> result = new ArrayList<>(shardingItems.size());
+        ShardingStateView shardingStateView = new ShardingStateView(jobNodeStorage.getJobNodeGrandchildrenData(ShardingNode.ROOT));
         for (int each : shardingItems) {
-            if (jobNodeStorage.isJobNodeExisted(FailoverNode.getExecutionFailoverNode(each))) {
+            if (isTakeOff(shardingStateView, each)) {
                 result.add(each);
             }
         }
         return result;
     }
     
+    private boolean isTakeOff(final ShardingStateView shardingStateView, final int item) {
+        return shardingStateView.containsItem(item)
+                ? shardingStateView.isExisted(item, FailoverNode.FAILOVER) : jobNodeStorage.isJobNodeExisted(FailoverNode.getExecutionFailoverNode(item));
+    }
+    
     /**
      * 删除作业失效转移信息.
      */
@@ -155,7 +162,11 @@ public final class FailoverService {
             if (JobRegistry.getInstance().isShutdown(jobName) || !needFailover()) {
                 return;
             }
-            int crashedItem = Integer.parseInt(jobNodeStorage.getJobNodeChildrenKeys(FailoverNode.ITEMS_ROOT).get(0));
+            List<String> crashedItems = jobNodeStorage.getJobNodeChildrenKeysDirectly(FailoverNode.ITEMS_ROOT);
+            if (crashedItems.isEmpty()) {
+                return;
+            }
+            int crashedItem = Integer.parseInt(crashedItems.get(0));
             log.debug("Failover job '{}' begin, crashed item '{}'", jobName, crashedItem);
             jobNodeStorage.fillEphemeralJobNode(FailoverNode.getExecutionFailoverNode(crashedItem), JobRegistry.getInstance().getJobInstance(jobName).getJobInstanceId());
             jobNodeStorage.removeJobNodeIfExisted(FailoverNode.getItemsNode(crashedItem));
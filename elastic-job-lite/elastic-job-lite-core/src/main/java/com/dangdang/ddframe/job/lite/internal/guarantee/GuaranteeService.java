@@ -56,8 +56,8 @@ public final class GuaranteeService {
      * @return 是否所有的任务均启动完毕
      */
     public boolean isAllStarted() {
-        return jobNodeStorage.isJobNodeExisted(GuaranteeNode.STARTED_ROOT)
-                && configService.load(false).getTypeConfig().getCoreConfig().getShardingTotalCount() == jobNodeStorage.getJobNodeChildrenKeys(GuaranteeNode.STARTED_ROOT).size();
+        return jobNodeStorage.isJobNodeExistedDirectly(GuaranteeNode.STARTED_ROOT)
+                && configService.load(false).getTypeConfig().getCoreConfig().getShardingTotalCount() == jobNodeStorage.getJobNodeChildrenKeysDirectly(GuaranteeNode.STARTED_ROOT).size();
     }
     
     /**
@@ -84,8 +84,8 @@ public final class GuaranteeService {
      * @return 是否所有的任务均执行完毕
      */
     public boolean isAllCompleted() {
-        return jobNodeStorage.isJobNodeExisted(GuaranteeNode.COMPLETED_ROOT)
-                && configService.load(false).getTypeConfig().getCoreConfig().getShardingTotalCount() <= jobNodeStorage.getJobNodeChildrenKeys(GuaranteeNode.COMPLETED_ROOT).size();
+        return jobNodeStorage.isJobNodeExistedDirectly(GuaranteeNode.COMPLETED_ROOT)
+                && configService.load(false).getTypeConfig().getCoreConfig().getShardingTotalCount() <= jobNodeStorage.getJobNodeChildrenKeysDirectly(GuaranteeNode.COMPLETED_ROOT).size();
     }
     
     /**
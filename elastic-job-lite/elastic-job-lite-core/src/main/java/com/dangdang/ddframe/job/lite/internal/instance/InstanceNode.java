@@ -66,6 +66,16 @@ public final class InstanceNode {
         return path.equals(jobNodePath.getFullPath(String.format(INSTANCES, JobRegistry.getInstance().getJobInstance(jobName).getJobInstanceId())));
     }
     
+    /**
+     * 获取作业运行实例节点路径.
+     *
+     * @param jobInstanceId 作业运行实例主键
+     * @return 作业运行实例节点路径
+     */
+    String getInstanceNode(final String jobInstanceId) {
+        return String.format(INSTANCES, jobInstanceId);
+    }
+    
     /**
      * 获取当前节点对应的实例路径.
      *
@@ -73,6 +83,6 @@ public final class InstanceNode {
      * @return 是否为作业运行实例路径
      */
     String getLocalInstanceNode() {
-        return String.format(INSTANCES, JobRegistry.getInstance().getJobInstance(jobName).getJobInstanceId());
+        return getInstanceNode(JobRegistry.getInstance().getJobInstance(jobName).getJobInstanceId());
     }
 }
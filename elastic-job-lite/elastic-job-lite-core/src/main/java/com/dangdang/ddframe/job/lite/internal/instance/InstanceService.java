@@ -21,7 +21,11 @@ import com.dangdang.ddframe.job.lite.api.strategy.JobInstance;
 import com.dangdang.ddframe.job.lite.internal.server.ServerService;
 import com.dangdang.ddframe.job.lite.internal.storage.JobNodeStorage;
 import com.dangdang.ddframe.job.reg.base.CoordinatorRegistryCenter;
+import com.dangdang.ddframe.job.util.json.GsonFactory;
+import com.google.common.base.Strings;
+import com.google.gson.JsonParseException;
 
+import java.lang.management.ManagementFactory;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -46,9 +50,11 @@ public final class InstanceService {
     
     /**
      * 持久化作业运行实例上线相关信息.
+     * 
+     * <p>运行实例节点的数据为当前作业运行实例的权重和负载.</p>
      */
     public void persistOnline() {
-        jobNodeStorage.fillEphemeralJobNode(instanceNode.getLocalInstanceNode(), "");
+        jobNodeStorage.fillEphemeralJobNode(instanceNode.getLocalInstanceNode(), getLocalInstanceData());
     }
     
     /**
@@ -62,11 +68,19 @@ public final class InstanceService {
      * 清理作业触发标记.
      */
     public void clearTriggerFlag() {
-        jobNodeStorage.updateJobNode(instanceNode.getLocalInstanceNode(), "");
+        jobNodeStorage.updateJobNode(instanceNode.getLocalInstanceNode(), getLocalInstanceData());
+    }
+    
+    private String getLocalInstanceData() {
+        int availableProcessors = Runtime.getRuntime().availableProcessors();
+        double systemLoadAverage = ManagementFactory.getOperatingSystemMXBean().getSystemLoadAverage();
+        return GsonFactory.getGson().toJson(new InstanceInfo(availableProcessors, systemLoadAverage < 0 ? 0D : systemLoadAverage / availableProcessors));
     }
     
     /**
      * 获取可分片的作业运行实例.
+     * 
+     * <p>作业运行实例未上报权重时使用默认权重.</p>
      *
      * @return 可分片的作业运行实例
      */
@@ -75,12 +89,26 @@ public final class InstanceService {
         for (String each : jobNodeStorage.getJobNodeChildrenKeys(InstanceNode.ROOT)) {
             JobInstance jobInstance = new JobInstance(each);
             if (serverService.isEnableServer(jobInstance.getIp())) {
-                result.add(new JobInstance(each));
+                result.add(loadJobInstance(each));
             }
         }
         return result;
     }
     
+    private JobInstance loadJobInstance(final String jobInstanceId) {
+        String data = jobNodeStorage.getJobNodeData(instanceNode.getInstanceNode(jobInstanceId));
+        if (Strings.isNullOrEmpty(data) || !data.startsWith("{")) {
+            return new JobInstance(jobInstanceId);
+        }
+        InstanceInfo instanceInfo;
+        try {
+            instanceInfo = GsonFactory.getGson().fromJson(data, InstanceInfo.class);
+        } catch (final JsonParseException ex) {
+            return new JobInstance(jobInstanceId);
+        }
+        return new JobInstance(jobInstanceId, instanceInfo.getWeight(), instanceInfo.getLoad());
+    }
+    
     /**
      * 判断当前作业运行实例的节点是否仍然存在.
      * 
@@ -25,7 +25,9 @@ import com.dangdang.ddframe.job.lite.internal.guarantee.GuaranteeListenerManager
 import com.dangdang.ddframe.job.lite.internal.instance.ShutdownListenerManager;
 import com.dangdang.ddframe.job.lite.internal.instance.TriggerListenerManager;
 import com.dangdang.ddframe.job.lite.internal.sharding.MonitorExecutionListenerManager;
+import com.dangdang.ddframe.job.lite.internal.schedule.JobRegistry;
 import com.dangdang.ddframe.job.lite.internal.sharding.ShardingListenerManager;
+import com.dangdang.ddframe.job.lite.internal.storage.JobNodeChangeNotifier;
 import com.dangdang.ddframe.job.lite.internal.storage.JobNodeStorage;
 import com.dangdang.ddframe.job.reg.base.CoordinatorRegistryCenter;
 
@@ -38,6 +40,8 @@ import java.util.List;
  */
 public final class ListenerManager {
     
+    private final String jobName;
+    
     private final JobNodeStorage jobNodeStorage;
     
     //主要负责选举，当节点处于选举过程的时候参加选举
@@ -60,6 +64,7 @@ public final class ListenerManager {
     private final RegistryCenterConnectionStateListener regCenterConnectionStateListener;
     
     public ListenerManager(final CoordinatorRegistryCenter regCenter, final String jobName, final List<ElasticJobListener> elasticJobListeners) {
+        this.jobName = jobName;
         jobNodeStorage = new JobNodeStorage(regCenter, jobName);
         electionListenerManager = new ElectionListenerManager(regCenter, jobName);
         shardingListenerManager = new ShardingListenerManager(regCenter, jobName);
@@ -76,6 +81,7 @@ public final class ListenerManager {
      * 开启所有监听器.这里只是对应的在的路径上设置监听器，但是并没有创建对应的路径
      */
     public void startAllListeners() {
+        JobRegistry.getInstance().addJobNodeChangeNotifier(jobName, new JobNodeChangeNotifier());
         electionListenerManager.start();
         shardingListenerManager.start();
         failoverListenerManager.start();
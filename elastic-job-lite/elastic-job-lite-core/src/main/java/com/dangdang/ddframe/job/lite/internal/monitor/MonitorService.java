@@ -109,7 +109,7 @@ public final class MonitorService {
     }
     
     private void dumpDirectly(final String path, final List<String> result) {
-        for (String each : regCenter.getChildrenKeys(path)) {
+        for (String each : regCenter.getChildrenKeysDirectly(path)) {
             String zkPath = path + "/" + each;
             String zkValue = regCenter.get(zkPath);
             if (null == zkValue) {
@@ -25,6 +25,7 @@ import com.dangdang.ddframe.job.reg.base.CoordinatorRegistryCenter;
 import com.google.common.util.concurrent.AbstractScheduledService;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -43,7 +44,21 @@ public final class ReconcileService extends AbstractScheduledService {
     
     private final LeaderService leaderService;
     
+    private final ScheduledExecutorService sharedExecutor;
+    
     public ReconcileService(final CoordinatorRegistryCenter regCenter, final String jobName) {
+        this(regCenter, jobName, null);
+    }
+    
+    /**
+     * 创建调解服务.
+     * 
+     * @param regCenter 注册中心
+     * @param jobName 作业名称
+     * @param sharedExecutor 多个作业共用的调解线程池, 为null时使用独占线程
+     */
+    public ReconcileService(final CoordinatorRegistryCenter regCenter, final String jobName, final ScheduledExecutorService sharedExecutor) {
+        this.sharedExecutor = sharedExecutor;
         lastReconcileTime = System.currentTimeMillis();
         configService = new ConfigurationService(regCenter, jobName);
         shardingService = new ShardingService(regCenter, jobName);
@@ -71,6 +86,11 @@ public final class ReconcileService extends AbstractScheduledService {
         }
     }
     
+    @Override
+    protected ScheduledExecutorService executor() {
+        return null == sharedExecutor ? super.executor() : sharedExecutor;
+    }
+    
     @Override
     protected Scheduler scheduler() {
         return Scheduler.newFixedDelaySchedule(0, 1, TimeUnit.MINUTES);
@@ -0,0 +1,134 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.lite.internal.schedule;
+
+import com.dangdang.ddframe.job.event.type.JobExecutionEvent;
+import com.dangdang.ddframe.job.event.type.JobStatusTraceEvent.State;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 作业事件采样器.
+ * 
+ * <p>
+ * 以作业执行为单位采样, 同一次执行的作业事件要么全部记录, 要么全部丢弃.
+ * 作业任务主键在相同分片组合的多次执行间保持不变, 因此每次执行开始的状态都会重新采样, 不沿用上次执行的采样结果.
+ * 执行失败的作业事件不受采样率和每秒上限的限制, 总是被记录.
+ * </p>
+ * 
+ * @author zhangliang
+ */
+final class JobEventSampler {
+    
+    private final ConcurrentMap<String, Boolean> samplingDecisions = new ConcurrentHashMap<>();
+    
+    private long executionCount;
+    
+    private long currentSecond;
+    
+    private int currentSecondSamplingCount;
+    
+    /**
+     * 判断是否记录作业执行事件.
+     * 
+     * @param jobExecutionEvent 作业执行事件
+     * @param samplingCount 作业事件采样率
+     * @param maxSamplingPerSecond 每秒最多采样的作业执行次数
+     * @return 是否记录作业执行事件
+     */
+    boolean isSampled(final JobExecutionEvent jobExecutionEvent, final int samplingCount, final int maxSamplingPerSecond) {
+        if (!isSamplingEnabled(samplingCount, maxSamplingPerSecond) || isExecutionFailure(jobExecutionEvent)) {
+            return true;
+        }
+        return isSampled(jobExecutionEvent.getTaskId(), samplingCount, maxSamplingPerSecond);
+    }
+    
+    /**
+     * 判断是否记录作业状态轨迹事件.
+     * 
+     * <p>
+     * 作业执行开始的状态将重新采样, 作业执行结束的状态将清理该次执行的采样结果.
+     * </p>
+     * 
+     * @param taskId 作业任务主键
+     * @param state 作业状态
+     * @param samplingCount 作业事件采样率
+     * @param maxSamplingPerSecond 每秒最多采样的作业执行次数
+     * @return 是否记录作业状态轨迹事件
+     */
+    boolean isSampled(final String taskId, final State state, final int samplingCount, final int maxSamplingPerSecond) {
+        if (!isSamplingEnabled(samplingCount, maxSamplingPerSecond)) {
+            samplingDecisions.clear();
+            return true;
+        }
+        if (State.TASK_STAGING == state) {
+            samplingDecisions.remove(taskId);
+        }
+        boolean result = isFailureState(state) || isSampled(taskId, samplingCount, maxSamplingPerSecond);
+        if (isCompletedState(state)) {
+            samplingDecisions.remove(taskId);
+        }
+        return result;
+    }
+    
+    private boolean isSamplingEnabled(final int samplingCount, final int maxSamplingPerSecond) {
+        return samplingCount > 1 || maxSamplingPerSecond >= 0;
+    }
+    
+    private boolean isExecutionFailure(final JobExecutionEvent jobExecutionEvent) {
+        return null != jobExecutionEvent.getCompleteTime() && !jobExecutionEvent.isSuccess();
+    }
+    
+    private boolean isFailureState(final State state) {
+        return State.TASK_ERROR == state || State.TASK_FAILED == state || State.TASK_LOST == state;
+    }
+    
+    private boolean isCompletedState(final State state) {
+        return State.TASK_STAGING != state && State.TASK_RUNNING != state;
+    }
+    
+    private boolean isSampled(final String taskId, final int samplingCount, final int maxSamplingPerSecond) {
+        Boolean result = samplingDecisions.get(taskId);
+        if (null != result) {
+            return result;
+        }
+        Boolean decision = decide(samplingCount, maxSamplingPerSecond);
+        result = samplingDecisions.putIfAbsent(taskId, decision);
+        return null == result ? decision : result;
+    }
+    
+    private synchronized boolean decide(final int samplingCount, final int maxSamplingPerSecond) {
+        if (samplingCount > 1 && 0 != executionCount++ % samplingCount) {
+            return false;
+        }
+        if (maxSamplingPerSecond < 0) {
+            return true;
+        }
+        long second = System.currentTimeMillis() / 1000L;
+        if (second != currentSecond) {
+            currentSecond = second;
+            currentSecondSamplingCount = 0;
+        }
+        if (currentSecondSamplingCount >= maxSamplingPerSecond) {
+            return false;
+        }
+        currentSecondSamplingCount++;
+        return true;
+    }
+}
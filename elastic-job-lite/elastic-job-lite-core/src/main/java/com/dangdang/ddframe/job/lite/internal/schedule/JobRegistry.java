@@ -17,7 +17,16 @@
 
 package com.dangdang.ddframe.job.lite.internal.schedule;
 
+import com.dangdang.ddframe.job.api.ElasticJob;
+import com.dangdang.ddframe.job.event.JobEventBus;
+import com.dangdang.ddframe.job.executor.AbstractElasticJobExecutor;
+import com.dangdang.ddframe.job.executor.JobExecutorFactory;
+import com.dangdang.ddframe.job.executor.JobFacade;
+import com.dangdang.ddframe.job.executor.handler.ExecutorServiceHandlerRegistry;
 import com.dangdang.ddframe.job.lite.api.strategy.JobInstance;
+import com.dangdang.ddframe.job.lite.internal.config.ConfigurationSnapshot;
+import com.dangdang.ddframe.job.lite.internal.sharding.ShardingStatistics;
+import com.dangdang.ddframe.job.lite.internal.storage.JobNodeChangeNotifier;
 import com.dangdang.ddframe.job.reg.base.CoordinatorRegistryCenter;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
@@ -41,6 +50,16 @@ import java.util.concurrent.ConcurrentHashMap;
     private Map<String, Boolean> jobRunningMap = new ConcurrentHashMap<>(); <br>
     
     private Map<String, Integer> currentShardingTotalCountMap = new ConcurrentHashMap<>(); <br>
+    
+    private Map<String, AbstractElasticJobExecutor> jobExecutorMap = new ConcurrentHashMap<>(); <br>
+    
+    private Map<String, ConfigurationSnapshot> configSnapshotMap = new ConcurrentHashMap<>(); <br>
+    
+    private Map<String, JobNodeChangeNotifier> jobNodeChangeNotifierMap = new ConcurrentHashMap<>(); <br>
+    
+    private Map<String, ShardingStatistics> shardingStatisticsMap = new ConcurrentHashMap<>(); <br>
+    
+    private Map<String, JobEventBus> jobEventBusMap = new ConcurrentHashMap<>(); <br>
  * @author zhangliang
  * @author caohao
  */
@@ -59,6 +78,16 @@ public final class JobRegistry {
     
     private Map<String, Integer> currentShardingTotalCountMap = new ConcurrentHashMap<>();
     
+    private Map<String, AbstractElasticJobExecutor> jobExecutorMap = new ConcurrentHashMap<>();
+    
+    private Map<String, ConfigurationSnapshot> configSnapshotMap = new ConcurrentHashMap<>();
+    
+    private Map<String, JobNodeChangeNotifier> jobNodeChangeNotifierMap = new ConcurrentHashMap<>();
+    
+    private Map<String, ShardingStatistics> shardingStatisticsMap = new ConcurrentHashMap<>();
+    
+    private Map<String, JobEventBus> jobEventBusMap = new ConcurrentHashMap<>();
+    
     /**
      * 获取作业注册表实例.
      * 单例模式
@@ -170,6 +199,112 @@ public final class JobRegistry {
         currentShardingTotalCountMap.put(jobName, currentShardingTotalCount);
     }
     
+    /**
+     * 添加作业配置快照.
+     *
+     * @param jobName 作业名称
+     * @param configSnapshot 作业配置快照
+     */
+    public void addConfigurationSnapshot(final String jobName, final ConfigurationSnapshot configSnapshot) {
+        configSnapshotMap.put(jobName, configSnapshot);
+    }
+    
+    /**
+     * 获取作业配置快照.
+     *
+     * @param jobName 作业名称
+     * @return 作业配置快照, 作业未开启配置监听时返回null
+     */
+    public ConfigurationSnapshot getConfigurationSnapshot(final String jobName) {
+        return configSnapshotMap.get(jobName);
+    }
+    
+    /**
+     * 添加作业节点变化通知器.
+     *
+     * @param jobName 作业名称
+     * @param jobNodeChangeNotifier 作业节点变化通知器
+     */
+    public void addJobNodeChangeNotifier(final String jobName, final JobNodeChangeNotifier jobNodeChangeNotifier) {
+        jobNodeChangeNotifierMap.put(jobName, jobNodeChangeNotifier);
+    }
+    
+    /**
+     * 获取作业节点变化通知器.
+     *
+     * @param jobName 作业名称
+     * @return 作业节点变化通知器, 作业未开启监听时返回null
+     */
+    public JobNodeChangeNotifier getJobNodeChangeNotifier(final String jobName) {
+        return jobNodeChangeNotifierMap.get(jobName);
+    }
+    
+    /**
+     * 添加作业分片统计.
+     *
+     * @param jobName 作业名称
+     * @param shardingStatistics 作业分片统计
+     */
+    public void addShardingStatistics(final String jobName, final ShardingStatistics shardingStatistics) {
+        shardingStatisticsMap.put(jobName, shardingStatistics);
+    }
+    
+    /**
+     * 获取作业分片统计.
+     *
+     * @param jobName 作业名称
+     * @return 作业分片统计, 作业未开启监听时返回null
+     */
+    public ShardingStatistics getShardingStatistics(final String jobName) {
+        return shardingStatisticsMap.get(jobName);
+    }
+    
+    /**
+     * 添加运行痕迹事件总线.
+     *
+     * @param jobName 作业名称
+     * @param jobEventBus 运行痕迹事件总线
+     */
+    public void addJobEventBus(final String jobName, final JobEventBus jobEventBus) {
+        jobEventBusMap.put(jobName, jobEventBus);
+    }
+    
+    /**
+     * 获取作业执行器.
+     * 
+     * <p>作业执行器按作业名称缓存, 不存在时创建. 作业配置变化时需调用{@link #evictJobExecutor(String)}清除.</p>
+     *
+     * @param jobName 作业名称
+     * @param elasticJob 分布式弹性作业
+     * @param jobFacade 作业内部服务门面服务
+     * @return 作业执行器
+     */
+    public AbstractElasticJobExecutor getJobExecutor(final String jobName, final ElasticJob elasticJob, final JobFacade jobFacade) {
+        AbstractElasticJobExecutor result = jobExecutorMap.get(jobName);
+        if (null != result) {
+            return result;
+        }
+        synchronized (jobExecutorMap) {
+            result = jobExecutorMap.get(jobName);
+            if (null == result) {
+                result = JobExecutorFactory.getJobExecutor(elasticJob, jobFacade);
+                jobExecutorMap.put(jobName, result);
+            }
+            return result;
+        }
+    }
+    
+    /**
+     * 清除缓存的作业执行器.
+     *
+     * @param jobName 作业名称
+     */
+    public void evictJobExecutor(final String jobName) {
+        synchronized (jobExecutorMap) {
+            jobExecutorMap.remove(jobName);
+        }
+    }
+    
     /**
      * 终止任务调度.
      * 这里的jobName在namespace，不会重复，一个任务是一个名称
@@ -187,6 +322,29 @@ public final class JobRegistry {
         jobInstanceMap.remove(jobName);
         jobRunningMap.remove(jobName);
         currentShardingTotalCountMap.remove(jobName);
+        configSnapshotMap.remove(jobName);
+        shardingStatisticsMap.remove(jobName);
+        JobNodeChangeNotifier jobNodeChangeNotifier = jobNodeChangeNotifierMap.remove(jobName);
+        if (null != jobNodeChangeNotifier) {
+            jobNodeChangeNotifier.notifyChanged();
+        }
+        evictJobExecutor(jobName);
+        ExecutorServiceHandlerRegistry.remove(jobName);
+        shutdownJobEventBus(jobName);
+    }
+    
+    /**
+     * 关闭运行痕迹事件总线.
+     * 
+     * <p>队列中剩余的事件分发完成后再关闭, 作业终止或进程退出时调用.</p>
+     *
+     * @param jobName 作业名称
+     */
+    public void shutdownJobEventBus(final String jobName) {
+        JobEventBus jobEventBus = jobEventBusMap.remove(jobName);
+        if (null != jobEventBus) {
+            jobEventBus.shutdown();
+        }
     }
     
     /**
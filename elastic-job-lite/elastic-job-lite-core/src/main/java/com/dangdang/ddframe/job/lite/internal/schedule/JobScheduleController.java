@@ -18,7 +18,8 @@
 package com.dangdang.ddframe.job.lite.internal.schedule;
 
 import com.dangdang.ddframe.job.exception.JobSystemException;
-import lombok.RequiredArgsConstructor;
+import com.dangdang.ddframe.job.util.concurrent.CronTask;
+import com.dangdang.ddframe.job.util.concurrent.HashedWheelCronScheduler;
 import org.quartz.CronScheduleBuilder;
 import org.quartz.CronTrigger;
 import org.quartz.JobDetail;
@@ -31,9 +32,13 @@ import org.quartz.TriggerKey;
 /**
  * 作业调度控制器.
  * 其中包括一个scheduler和jobdetail，相当于一个adapter,这里需要学下quartz中的scheduler
+ * <p>
+ * 使用共享调度引擎时调度器由多个作业共用, 暂停, 恢复和关闭仅作用于当前作业.
+ * 使用时间轮触发引擎时不使用Quartz调度器, 由{@link HashedWheelCronScheduler}按作业名称调度.
+ * </p>
+ * 
  * @author zhangliang
  */
-@RequiredArgsConstructor
 public final class JobScheduleController {
     
     private final Scheduler scheduler;
@@ -42,12 +47,44 @@ public final class JobScheduleController {
     
     private final String triggerIdentity;
     
+    private final boolean sharedScheduler;
+    
+    private final HashedWheelCronScheduler cronScheduler;
+    
+    private final CronTask cronTask;
+    
+    public JobScheduleController(final Scheduler scheduler, final JobDetail jobDetail, final String triggerIdentity) {
+        this(scheduler, jobDetail, triggerIdentity, false);
+    }
+    
+    public JobScheduleController(final Scheduler scheduler, final JobDetail jobDetail, final String triggerIdentity, final boolean sharedScheduler) {
+        this.scheduler = scheduler;
+        this.jobDetail = jobDetail;
+        this.triggerIdentity = triggerIdentity;
+        this.sharedScheduler = sharedScheduler;
+        cronScheduler = null;
+        cronTask = null;
+    }
+    
+    public JobScheduleController(final HashedWheelCronScheduler cronScheduler, final String jobName, final CronTask cronTask) {
+        scheduler = null;
+        jobDetail = null;
+        triggerIdentity = jobName;
+        sharedScheduler = true;
+        this.cronScheduler = cronScheduler;
+        this.cronTask = cronTask;
+    }
+    
     /**
      * 调度作业.
      * 
      * @param cron CRON表达式
      */
     public void scheduleJob(final String cron) {
+        if (null != cronScheduler) {
+            cronScheduler.schedule(triggerIdentity, cron, cronTask);
+            return;
+        }
         try {
         	//判断sheduler中是否已经有了该任务，如果有了已经任务，已经在调度了，就不需要在重新调度
             if (!scheduler.checkExists(jobDetail.getKey())) {
@@ -65,6 +102,12 @@ public final class JobScheduleController {
      * @param cron CRON表达式
      */
     public synchronized void rescheduleJob(final String cron) {
+        if (null != cronScheduler) {
+            if (!cronScheduler.isShutdown()) {
+                cronScheduler.reschedule(triggerIdentity, cron);
+            }
+            return;
+        }
         try {
             CronTrigger trigger = (CronTrigger) scheduler.getTrigger(TriggerKey.triggerKey(triggerIdentity));
             if (!scheduler.isShutdown() && null != trigger && !cron.equals(trigger.getCronExpression())) {
@@ -85,6 +128,9 @@ public final class JobScheduleController {
      * @return 作业是否暂停
      */
     public synchronized boolean isPaused() {
+        if (null != cronScheduler) {
+            return !cronScheduler.isShutdown() && cronScheduler.isPaused(triggerIdentity);
+        }
         try {
             return !scheduler.isShutdown() && Trigger.TriggerState.PAUSED == scheduler.getTriggerState(new TriggerKey(triggerIdentity));
         } catch (final SchedulerException ex) {
@@ -96,8 +142,17 @@ public final class JobScheduleController {
      * 暂停作业.
      */
     public synchronized void pauseJob() {
+        if (null != cronScheduler) {
+            cronScheduler.pause(triggerIdentity);
+            return;
+        }
         try {
-            if (!scheduler.isShutdown()) {
+            if (scheduler.isShutdown()) {
+                return;
+            }
+            if (sharedScheduler) {
+                scheduler.pauseJob(jobDetail.getKey());
+            } else {
                 scheduler.pauseAll();
             }
         } catch (final SchedulerException ex) {
@@ -109,8 +164,17 @@ public final class JobScheduleController {
      * 恢复作业.
      */
     public synchronized void resumeJob() {
+        if (null != cronScheduler) {
+            cronScheduler.resume(triggerIdentity);
+            return;
+        }
         try {
-            if (!scheduler.isShutdown()) {
+            if (scheduler.isShutdown()) {
+                return;
+            }
+            if (sharedScheduler) {
+                scheduler.resumeJob(jobDetail.getKey());
+            } else {
                 scheduler.resumeAll();
             }
         } catch (final SchedulerException ex) {
@@ -122,6 +186,12 @@ public final class JobScheduleController {
      * 立刻启动作业.
      */
     public synchronized void triggerJob() {
+        if (null != cronScheduler) {
+            if (!cronScheduler.isShutdown()) {
+                cronScheduler.trigger(triggerIdentity);
+            }
+            return;
+        }
         try {
             if (!scheduler.isShutdown()) {
                 scheduler.triggerJob(jobDetail.getKey());
@@ -133,10 +203,28 @@ public final class JobScheduleController {
     
     /**
      * 关闭调度器.
+     * 
+     * <p>
+     * 使用共享调度引擎时仅清理当前作业并从调度器中删除, 不关闭共享调度器.
+     * </p>
      */
     public synchronized void shutdown() {
+        if (null != cronScheduler) {
+            if (cronScheduler.contains(triggerIdentity)) {
+                JobShutdownHookPlugin.removeJobInstance(triggerIdentity);
+                cronScheduler.unschedule(triggerIdentity);
+            }
+            return;
+        }
         try {
-            if (!scheduler.isShutdown()) {
+            if (scheduler.isShutdown()) {
+                return;
+            }
+            if (sharedScheduler) {
+                JobShutdownHookPlugin.removeJobInstance(jobDetail.getKey().getName());
+                scheduler.deleteJob(jobDetail.getKey());
+                scheduler.getListenerManager().removeTriggerListener(triggerIdentity);
+            } else {
                 scheduler.shutdown();
             }
         } catch (final SchedulerException ex) {
@@ -3,28 +3,60 @@ package com.dangdang.ddframe.job.lite.internal.schedule;
 import com.dangdang.ddframe.job.lite.internal.election.LeaderService;
 import com.dangdang.ddframe.job.lite.internal.instance.InstanceService;
 import com.dangdang.ddframe.job.reg.base.CoordinatorRegistryCenter;
+import org.quartz.JobDetail;
+import org.quartz.JobKey;
 import org.quartz.Scheduler;
 import org.quartz.SchedulerException;
+import org.quartz.listeners.SchedulerListenerSupport;
 import org.quartz.plugins.management.ShutdownHookPlugin;
 import org.quartz.spi.ClassLoadHelper;
 
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+
 /**
  * 作业关闭钩子.
+ * 
+ * <p>
+ * 调度器关闭时清理调度器内所有作业的主节点和实例节点, 独占调度器的作业名称即为调度器名称, 共享调度器通过调度器监听器记录作业名称.
+ * </p>
  *
  * @author zhangliang
  */
 public final class JobShutdownHookPlugin extends ShutdownHookPlugin {
     
-    private String jobName;
+    private final Set<String> jobNames = new CopyOnWriteArraySet<>();
     
     @Override
     public void initialize(final String name, final Scheduler scheduler, final ClassLoadHelper classLoadHelper) throws SchedulerException {
         super.initialize(name, scheduler, classLoadHelper);
-        jobName = scheduler.getSchedulerName();
+        jobNames.add(scheduler.getSchedulerName());
+        scheduler.getListenerManager().addSchedulerListener(new JobNameTrackingSchedulerListener());
     }
     
     @Override
     public void shutdown() {
+        for (String each : jobNames) {
+            cleanUp(each);
+        }
+    }
+    
+    /**
+     * 清理作业的主节点和实例节点, 并关闭作业事件总线.
+     * 
+     * @param jobName 作业名称
+     */
+    public static void cleanUp(final String jobName) {
+        removeJobInstance(jobName);
+        JobRegistry.getInstance().shutdownJobEventBus(jobName);
+    }
+    
+    /**
+     * 清理作业的主节点和实例节点.
+     * 
+     * @param jobName 作业名称
+     */
+    static void removeJobInstance(final String jobName) {
         CoordinatorRegistryCenter regCenter = JobRegistry.getInstance().getRegCenter(jobName);
         if (null == regCenter) {
             return;
@@ -35,4 +67,17 @@ public final class JobShutdownHookPlugin extends ShutdownHookPlugin {
         }
         new InstanceService(regCenter, jobName).removeInstance();
     }
+    
+    class JobNameTrackingSchedulerListener extends SchedulerListenerSupport {
+        
+        @Override
+        public void jobAdded(final JobDetail jobDetail) {
+            jobNames.add(jobDetail.getKey().getName());
+        }
+        
+        @Override
+        public void jobDeleted(final JobKey jobKey) {
+            jobNames.remove(jobKey.getName());
+        }
+    }
 }
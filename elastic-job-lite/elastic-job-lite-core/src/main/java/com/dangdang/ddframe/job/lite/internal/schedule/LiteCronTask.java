@@ -0,0 +1,58 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.lite.internal.schedule;
+
+import com.dangdang.ddframe.job.api.ElasticJob;
+import com.dangdang.ddframe.job.executor.JobFacade;
+import com.dangdang.ddframe.job.lite.internal.sharding.ExecutionService;
+import com.dangdang.ddframe.job.lite.internal.sharding.ShardingService;
+import com.dangdang.ddframe.job.util.concurrent.CronTask;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 时间轮调度的Lite作业.
+ * 
+ * <p>
+ * 执行逻辑与{@link LiteJob}一致, 触发时上次执行尚未结束则与{@link JobTriggerListener}相同地设置错过执行标记.
+ * </p>
+ *
+ * @author zhangliang
+ */
+@RequiredArgsConstructor
+public final class LiteCronTask implements CronTask {
+    
+    private final String jobName;
+    
+    private final ElasticJob elasticJob;
+    
+    private final JobFacade jobFacade;
+    
+    private final ExecutionService executionService;
+    
+    private final ShardingService shardingService;
+    
+    @Override
+    public void execute() {
+        JobRegistry.getInstance().getJobExecutor(jobName, elasticJob, jobFacade).execute();
+    }
+    
+    @Override
+    public void misfired() {
+        executionService.setMisfire(shardingService.getLocalShardingItems());
+    }
+}
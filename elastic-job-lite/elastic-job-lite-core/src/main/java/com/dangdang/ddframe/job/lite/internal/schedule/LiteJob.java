@@ -1,7 +1,6 @@
 package com.dangdang.ddframe.job.lite.internal.schedule;
 
 import com.dangdang.ddframe.job.api.ElasticJob;
-import com.dangdang.ddframe.job.executor.JobExecutorFactory;
 import com.dangdang.ddframe.job.executor.JobFacade;
 import lombok.Setter;
 import org.quartz.Job;
@@ -30,7 +29,7 @@ public final class LiteJob implements Job {
     
     @Override
     public void execute(final JobExecutionContext context) throws JobExecutionException {
-        JobExecutorFactory.getJobExecutor(elasticJob, jobFacade).execute();
+        JobRegistry.getInstance().getJobExecutor(context.getJobDetail().getKey().getName(), elasticJob, jobFacade).execute();
         System.out.println(test1+"  "+test2);
     }
 }
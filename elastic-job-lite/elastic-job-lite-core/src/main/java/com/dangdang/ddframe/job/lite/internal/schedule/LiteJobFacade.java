@@ -36,6 +36,8 @@ import com.dangdang.ddframe.job.lite.internal.failover.FailoverService;
 import com.dangdang.ddframe.job.lite.internal.sharding.ShardingService;
 import com.dangdang.ddframe.job.reg.base.CoordinatorRegistryCenter;
 import com.google.common.base.Strings;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.Collection;
@@ -63,6 +65,10 @@ public final class LiteJobFacade implements JobFacade {
     
     private final JobEventBus jobEventBus;
     
+    private final JobEventSampler jobEventSampler = new JobEventSampler();
+    
+    private volatile TaskTraceInfo lastTaskTraceInfo;
+    
     public LiteJobFacade(final CoordinatorRegistryCenter regCenter, final String jobName, final List<ElasticJobListener> elasticJobListeners, final JobEventBus jobEventBus) {
         configService = new ConfigurationService(regCenter, jobName);
         shardingService = new ShardingService(regCenter, jobName);
@@ -105,6 +111,14 @@ public final class LiteJobFacade implements JobFacade {
     
     @Override
     public ShardingContexts getShardingContexts() {
+        ShardingContexts result = loadShardingContexts();
+        if (!jobEventBus.isEnabled()) {
+            result.setAllowSendJobEvent(false);
+        }
+        return result;
+    }
+    
+    private ShardingContexts loadShardingContexts() {
         boolean isFailover = configService.load(true).isFailover();
         if (isFailover) {
             List<Integer> failoverShardingItems = failoverService.getLocalFailoverItems();
@@ -166,16 +180,56 @@ public final class LiteJobFacade implements JobFacade {
     
     @Override
     public void postJobExecutionEvent(final JobExecutionEvent jobExecutionEvent) {
-        jobEventBus.post(jobExecutionEvent);
+        if (!jobEventBus.isEnabled()) {
+            return;
+        }
+        LiteJobConfiguration liteJobConfig = configService.load(true);
+        if (jobEventSampler.isSampled(jobExecutionEvent, liteJobConfig.getJobEventSamplingCount(), liteJobConfig.getMaxJobEventSamplingPerSecond())) {
+            jobEventBus.post(jobExecutionEvent);
+        }
     }
     
     @Override
     public void postJobStatusTraceEvent(final String taskId, final State state, final String message) {
-        TaskContext taskContext = TaskContext.from(taskId);
-        jobEventBus.post(new JobStatusTraceEvent(taskContext.getMetaInfo().getJobName(), taskContext.getId(),
-                taskContext.getSlaveId(), Source.LITE_EXECUTOR, taskContext.getType(), taskContext.getMetaInfo().getShardingItems().toString(), state, message));
         if (!Strings.isNullOrEmpty(message)) {
             log.trace(message);
         }
+        if (!jobEventBus.isEnabled()) {
+            return;
+        }
+        LiteJobConfiguration liteJobConfig = configService.load(true);
+        if (jobEventSampler.isSampled(taskId, state, liteJobConfig.getJobEventSamplingCount(), liteJobConfig.getMaxJobEventSamplingPerSecond())) {
+            TaskTraceInfo taskTraceInfo = getTaskTraceInfo(taskId);
+            TaskContext taskContext = taskTraceInfo.getTaskContext();
+            jobEventBus.post(new JobStatusTraceEvent(taskContext.getMetaInfo().getJobName(), taskContext.getId(),
+                    taskContext.getSlaveId(), Source.LITE_EXECUTOR, taskContext.getType(), taskTraceInfo.getShardingItems(), state, message));
+        }
+    }
+    
+    private TaskTraceInfo getTaskTraceInfo(final String taskId) {
+        TaskTraceInfo result = lastTaskTraceInfo;
+        if (null != result && result.getTaskContext().getId().equals(taskId)) {
+            return result;
+        }
+        TaskContext taskContext = TaskContext.from(taskId);
+        result = new TaskTraceInfo(taskContext, taskContext.getMetaInfo().getShardingItems().toString());
+        lastTaskTraceInfo = result;
+        return result;
+    }
+    
+    /**
+     * 解析后的作业任务信息.
+     * 
+     * <p>
+     * Lite作业同一分片组合的任务主键不变, 缓存最近一次的解析结果避免每个状态事件都重复解析任务主键.
+     * </p>
+     */
+    @RequiredArgsConstructor
+    @Getter
+    private static final class TaskTraceInfo {
+        
+        private final TaskContext taskContext;
+        
+        private final String shardingItems;
     }
 }
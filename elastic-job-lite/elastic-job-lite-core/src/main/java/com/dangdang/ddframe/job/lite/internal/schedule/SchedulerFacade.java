@@ -17,6 +17,8 @@
 
 package com.dangdang.ddframe.job.lite.internal.schedule;
 
+import com.dangdang.ddframe.job.api.ElasticJob;
+import com.dangdang.ddframe.job.executor.JobFacade;
 import com.dangdang.ddframe.job.lite.api.listener.ElasticJobListener;
 import com.dangdang.ddframe.job.lite.config.LiteJobConfiguration;
 import com.dangdang.ddframe.job.lite.internal.config.ConfigurationService;
@@ -31,6 +33,7 @@ import com.dangdang.ddframe.job.lite.internal.sharding.ShardingService;
 import com.dangdang.ddframe.job.reg.base.CoordinatorRegistryCenter;
 
 import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
 
 /**
  * 为调度器提供内部服务的门面类.
@@ -83,6 +86,11 @@ public final class SchedulerFacade {
     }
     
     public SchedulerFacade(final CoordinatorRegistryCenter regCenter, final String jobName, final List<ElasticJobListener> elasticJobListeners) {
+        this(regCenter, jobName, elasticJobListeners, null);
+    }
+    
+    public SchedulerFacade(final CoordinatorRegistryCenter regCenter, final String jobName, final List<ElasticJobListener> elasticJobListeners, 
+                           final ScheduledExecutorService reconcileExecutor) {
         this.jobName = jobName;
         configService = new ConfigurationService(regCenter, jobName);
         leaderService = new LeaderService(regCenter, jobName);
@@ -91,7 +99,7 @@ public final class SchedulerFacade {
         shardingService = new ShardingService(regCenter, jobName);
         executionService = new ExecutionService(regCenter, jobName);
         monitorService = new MonitorService(regCenter, jobName);
-        reconcileService = new ReconcileService(regCenter, jobName);
+        reconcileService = new ReconcileService(regCenter, jobName, reconcileExecutor);
         listenerManager = new ListenerManager(regCenter, jobName, elasticJobListeners);
     }
     
@@ -104,6 +112,17 @@ public final class SchedulerFacade {
         return new JobTriggerListener(executionService, shardingService);
     }
     
+    /**
+     * 获取时间轮调度的作业.
+     * 
+     * @param elasticJob 作业
+     * @param jobFacade 作业内部服务门面
+     * @return 时间轮调度的作业
+     */
+    public LiteCronTask newLiteCronTask(final ElasticJob elasticJob, final JobFacade jobFacade) {
+        return new LiteCronTask(jobName, elasticJob, jobFacade, executionService, shardingService);
+    }
+    
     /**
      * 更新作业配置.
      *
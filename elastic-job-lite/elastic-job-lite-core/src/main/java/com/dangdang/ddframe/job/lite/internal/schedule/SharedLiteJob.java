@@ -0,0 +1,50 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.lite.internal.schedule;
+
+import com.dangdang.ddframe.job.api.ElasticJob;
+import com.dangdang.ddframe.job.executor.JobFacade;
+import lombok.Setter;
+import org.quartz.DisallowConcurrentExecution;
+import org.quartz.Job;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+
+/**
+ * 共享调度引擎中的Lite调度作业.
+ * 
+ * <p>
+ * 共享调度器的分发线程由多个作业共用, 禁止同一作业并发执行以保持与独占调度器相同的执行语义.
+ * </p>
+ *
+ * @author zhangliang
+ */
+@DisallowConcurrentExecution
+public final class SharedLiteJob implements Job {
+    
+    @Setter
+    private ElasticJob elasticJob;
+    
+    @Setter
+    private JobFacade jobFacade;
+    
+    @Override
+    public void execute(final JobExecutionContext context) throws JobExecutionException {
+        JobRegistry.getInstance().getJobExecutor(context.getJobDetail().getKey().getName(), elasticJob, jobFacade).execute();
+    }
+}
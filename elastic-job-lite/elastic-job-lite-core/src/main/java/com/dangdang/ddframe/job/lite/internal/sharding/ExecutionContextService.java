@@ -97,8 +97,9 @@ public final class ExecutionContextService {
             return;
         }
         List<Integer> runningShardingItems = new ArrayList<>(shardingItems.size());
+        ShardingStateView shardingStateView = new ShardingStateView(jobNodeStorage.getJobNodeGrandchildrenData(ShardingNode.ROOT));
         for (int each : shardingItems) {
-            if (isRunning(each)) {
+            if (shardingStateView.isRunning(each) && isRunning(each)) {
                 runningShardingItems.add(each);
             }
         }
@@ -114,7 +115,7 @@ public final class ExecutionContextService {
      * @return 分片上下文
      */
     private boolean isRunning(final int shardingItem) {
-        return jobNodeStorage.isJobNodeExisted(ShardingNode.getRunningNode(shardingItem));
+        return jobNodeStorage.isJobNodeExistedDirectly(ShardingNode.getRunningNode(shardingItem));
     }
     
     /**
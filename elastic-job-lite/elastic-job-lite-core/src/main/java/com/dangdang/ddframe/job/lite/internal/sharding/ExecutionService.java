@@ -17,6 +17,7 @@
 
 package com.dangdang.ddframe.job.lite.internal.sharding;
 
+import com.dangdang.ddframe.job.exception.JobSystemException;
 import com.dangdang.ddframe.job.executor.ShardingContexts;
 import com.dangdang.ddframe.job.lite.config.LiteJobConfiguration;
 import com.dangdang.ddframe.job.lite.internal.config.ConfigurationService;
@@ -27,6 +28,8 @@ import com.dangdang.ddframe.job.reg.base.CoordinatorRegistryCenter;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 /**
  * 执行作业的服务.
@@ -51,6 +54,12 @@ public final class ExecutionService {
     /**
      * 注册作业启动信息.
      * 注册分片作业节点，即在javaSimpleJob/sharding创建分片信息，每个分片即为一个永久节点
+     * 
+     * <p>
+     * 全部分片项的运行节点以一次流水线批量写入, 并在执行作业前等待写入完成, 保证其他作业服务器可见.
+     * 批量写入失败(如连接失效)时逐个同步写入运行节点.
+     * </p>
+     * 
      * @param shardingContexts 分片上下文
      */
     public void registerJobBegin(final ShardingContexts shardingContexts) {
@@ -58,14 +67,22 @@ public final class ExecutionService {
         if (!configService.load(true).isMonitorExecution()) {//这里可能的意思是判断没有监听，则可以直接返回，不用创建分片节点
             return;
         }
-        for (int each : shardingContexts.getShardingItemParameters().keySet()) {
-            jobNodeStorage.fillEphemeralJobNode(ShardingNode.getRunningNode(each), "");
+        List<String> runningNodes = getRunningNodes(shardingContexts);
+        if (!await(jobNodeStorage.fillEphemeralJobNodesInBackground(runningNodes, ""))) {
+            for (String each : runningNodes) {
+                jobNodeStorage.fillEphemeralJobNode(each, "");
+            }
         }
     }
     
     /**
      * 注册作业完成信息.
      * 
+     * <p>
+     * 全部分片项的运行节点以一次流水线批量删除, 不等待删除完成.
+     * 同一会话的请求按序处理, 本作业服务器随后的读取可以看到删除结果; 运行节点为临时节点, 会话失效时也会被删除.
+     * </p>
+     * 
      * @param shardingContexts 分片上下文
      */
     public void registerJobCompleted(final ShardingContexts shardingContexts) {
@@ -73,10 +90,26 @@ public final class ExecutionService {
         if (!configService.load(true).isMonitorExecution()) {
             return;
         }
+        jobNodeStorage.removeJobNodesInBackground(getRunningNodes(shardingContexts));
+    }
+    
+    private List<String> getRunningNodes(final ShardingContexts shardingContexts) {
+        List<String> result = new ArrayList<>(shardingContexts.getShardingItemParameters().size());
         for (int each : shardingContexts.getShardingItemParameters().keySet()) {
-            ///javaSimpleJob/sharding/0/instance下的数据都是ip+pid
-        	jobNodeStorage.removeJobNodeIfExisted(ShardingNode.getRunningNode(each));
-            
+            result.add(ShardingNode.getRunningNode(each));
+        }
+        return result;
+    }
+    
+    private boolean await(final Future<Void> future) {
+        try {
+            future.get();
+            return true;
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new JobSystemException(ex);
+        } catch (final ExecutionException ex) {
+            return false;
         }
     }
     
@@ -101,6 +134,7 @@ public final class ExecutionService {
     /**
      * 判断分片项中是否还有执行中的作业.
      *主要在javaSimple/sharding/0/instance下 "sharding/%s/running"
+     * <p>先从分片状态视图中批量判断, 仅对视图中运行中的分片项再从注册中心确认.</p>
      * @param items 需要判断的分片项列表
      * @return 分片项中是否还有执行中的作业
      */
@@ -109,8 +143,9 @@ public final class ExecutionService {
         if (null == jobConfig || !jobConfig.isMonitorExecution()) {
             return false;
         }
+        ShardingStateView shardingStateView = getShardingStateView();
         for (int each : items) {
-            if (jobNodeStorage.isJobNodeExisted(ShardingNode.getRunningNode(each))) {
+            if (shardingStateView.isRunning(each) && jobNodeStorage.isJobNodeExistedDirectly(ShardingNode.getRunningNode(each))) {
                 return true;
             }
         }
@@ -163,13 +198,16 @@ public final class ExecutionService {
     /**
      * 获取标记被错过执行的任务分片项.
      * 
+     * <p>先从分片状态视图中批量判断, 仅对视图中被标记的分片项再从注册中心确认.</p>
+     * 
      * @param items 需要获取标记被错过执行的任务分片项
      * @return 标记被错过执行的任务分片项
      */
     public List<Integer> getMisfiredJobItems(final Collection<Integer> items) {
         List<Integer> result = new ArrayList<>(items.size());
+        ShardingStateView shardingStateView = getShardingStateView();
         for (int each : items) {
-            if (jobNodeStorage.isJobNodeExisted(ShardingNode.getMisfireNode(each))) {
+            if (shardingStateView.isMisfire(each) && jobNodeStorage.isJobNodeExistedDirectly(ShardingNode.getMisfireNode(each))) {
                 result.add(each);
             }
         }
@@ -195,11 +233,20 @@ public final class ExecutionService {
      */
     public List<Integer> getDisabledItems(final List<Integer> items) {
         List<Integer> result = new ArrayList<>(items.size());
+        ShardingStateView shardingStateView = getShardingStateView();
         for (int each : items) {
-            if (jobNodeStorage.isJobNodeExisted(ShardingNode.getDisabledNode(each))) {
+            if (isDisabled(shardingStateView, each)) {
                 result.add(each);
             }
         }
         return result;
     }
+    
+    private boolean isDisabled(final ShardingStateView shardingStateView, final int item) {
+        return shardingStateView.containsItem(item) ? shardingStateView.isDisabled(item) : jobNodeStorage.isJobNodeExisted(ShardingNode.getDisabledNode(item));
+    }
+    
+    private ShardingStateView getShardingStateView() {
+        return new ShardingStateView(jobNodeStorage.getJobNodeGrandchildrenData(ShardingNode.ROOT));
+    }
 }
@@ -24,6 +24,7 @@ import com.dangdang.ddframe.job.lite.internal.listener.AbstractJobListener;
 import com.dangdang.ddframe.job.lite.internal.listener.AbstractListenerManager;
 import com.dangdang.ddframe.job.lite.internal.schedule.JobRegistry;
 import com.dangdang.ddframe.job.lite.internal.server.ServerNode;
+import com.dangdang.ddframe.job.lite.internal.storage.JobNodeChangeNotifier;
 import com.dangdang.ddframe.job.reg.base.CoordinatorRegistryCenter;
 import org.apache.curator.framework.recipes.cache.TreeCacheEvent.Type;
 
@@ -43,6 +44,8 @@ public final class ShardingListenerManager extends AbstractListenerManager {
     
     private final ServerNode serverNode;
     
+    private final ShardingNode shardingNode;
+    
     private final ShardingService shardingService;
     
     public ShardingListenerManager(final CoordinatorRegistryCenter regCenter, final String jobName) {
@@ -51,13 +54,16 @@ public final class ShardingListenerManager extends AbstractListenerManager {
         configNode = new ConfigurationNode(jobName);
         instanceNode = new InstanceNode(jobName);
         serverNode = new ServerNode(jobName);
+        shardingNode = new ShardingNode(jobName);
         shardingService = new ShardingService(regCenter, jobName);
     }
     
     @Override
     public void start() {
+        JobRegistry.getInstance().addShardingStatistics(jobName, new ShardingStatistics());
         addDataListener(new ShardingTotalCountChangedJobListener());
         addDataListener(new ListenServersChangedJobListener());
+        addDataListener(new ShardingCompletedNotificationJobListener());
     }
     
     /**
@@ -102,4 +108,18 @@ public final class ShardingListenerManager extends AbstractListenerManager {
             return serverNode.isServerPath(path);
         }
     }
+    
+    /**
+     * 分片标记或运行状态节点删除时通知等待分片完成或作业执行完成的线程.
+     */
+    class ShardingCompletedNotificationJobListener extends AbstractJobListener {
+        
+        @Override
+        protected void dataChanged(final String path, final Type eventType, final String data) {
+            JobNodeChangeNotifier jobNodeChangeNotifier = JobRegistry.getInstance().getJobNodeChangeNotifier(jobName);
+            if (null != jobNodeChangeNotifier && Type.NODE_REMOVED == eventType && (shardingNode.isShardingFlagPath(path) || null != shardingNode.getItemByRunningItemPath(path))) {
+                jobNodeChangeNotifier.notifyChanged();
+            }
+        }
+    }
 }
@@ -40,9 +40,13 @@ public final class ShardingNode {
     
     static final String RUNNING = ROOT + "/%s/" + RUNNING_APPENDIX;
     
-    static final String MISFIRE = ROOT + "/%s/misfire";
+    static final String MISFIRE_APPENDIX = "misfire";
     
-    static final String DISABLED = ROOT + "/%s/disabled";
+    static final String MISFIRE = ROOT + "/%s/" + MISFIRE_APPENDIX;
+    
+    static final String DISABLED_APPENDIX = "disabled";
+    
+    static final String DISABLED = ROOT + "/%s/" + DISABLED_APPENDIX;
     
     static final String LEADER_ROOT = LeaderNode.ROOT + "/" + ROOT;
     
@@ -91,6 +95,16 @@ public final class ShardingNode {
         return Integer.parseInt(path.substring(jobNodePath.getFullPath(ROOT).length() + 1, path.lastIndexOf(RUNNING_APPENDIX) - 1));
     }
     
+    /**
+     * 判断是否为分片标记路径.
+     *
+     * @param path 节点路径
+     * @return 是否为需要重新分片或分片进行中的标记路径
+     */
+    public boolean isShardingFlagPath(final String path) {
+        return jobNodePath.getFullPath(NECESSARY).equals(path) || jobNodePath.getFullPath(PROCESSING).equals(path);
+    }
+    
     private boolean isRunningItemPath(final String path) {
         return path.startsWith(jobNodePath.getFullPath(ROOT)) && path.endsWith(RUNNING_APPENDIX);
     }
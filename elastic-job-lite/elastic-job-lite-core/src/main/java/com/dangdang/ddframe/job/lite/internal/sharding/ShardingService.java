@@ -17,6 +17,7 @@
 
 package com.dangdang.ddframe.job.lite.internal.sharding;
 
+import com.dangdang.ddframe.job.lite.api.strategy.IncrementalJobShardingStrategy;
 import com.dangdang.ddframe.job.lite.api.strategy.JobInstance;
 import com.dangdang.ddframe.job.lite.api.strategy.JobShardingStrategy;
 import com.dangdang.ddframe.job.lite.api.strategy.JobShardingStrategyFactory;
@@ -27,19 +28,25 @@ import com.dangdang.ddframe.job.lite.internal.instance.InstanceNode;
 import com.dangdang.ddframe.job.lite.internal.instance.InstanceService;
 import com.dangdang.ddframe.job.lite.internal.schedule.JobRegistry;
 import com.dangdang.ddframe.job.lite.internal.server.ServerService;
+import com.dangdang.ddframe.job.lite.internal.storage.JobNodeChangeNotifier;
 import com.dangdang.ddframe.job.lite.internal.storage.JobNodePath;
 import com.dangdang.ddframe.job.lite.internal.storage.JobNodeStorage;
 import com.dangdang.ddframe.job.lite.internal.storage.TransactionExecutionCallback;
 import com.dangdang.ddframe.job.reg.base.CoordinatorRegistryCenter;
 import com.dangdang.ddframe.job.util.concurrent.BlockUtils;
+import com.google.common.base.Objects;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.curator.framework.api.transaction.CuratorTransactionFinal;
 
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
 
 /**
  * 作业分片服务.
@@ -49,6 +56,8 @@ import java.util.Map;
 @Slf4j
 public final class ShardingService {
     
+    private static final long MAX_WAITING_MILLISECONDS = 1000L;
+    
     private final String jobName;
     
     private final JobNodeStorage jobNodeStorage;
@@ -100,8 +109,11 @@ public final class ShardingService {
      * </p>
      */
     public void shardingIfNecessary() {
+        if (!isNeedSharding()) {
+            return;
+        }
         List<JobInstance> availableJobInstances = instanceService.getAvailableJobInstances();
-        if (!isNeedSharding() || availableJobInstances.isEmpty()) {
+        if (availableJobInstances.isEmpty()) {
             return;
         }
         //查看是否是主节点，如果不是，则等待数秒
@@ -114,38 +126,155 @@ public final class ShardingService {
         int shardingTotalCount = liteJobConfig.getTypeConfig().getCoreConfig().getShardingTotalCount();
         log.debug("Job '{}' sharding begin.", jobName);
         jobNodeStorage.fillEphemeralJobNode(ShardingNode.PROCESSING, "");
-        resetShardingInfo(shardingTotalCount);
+        Map<Integer, String> previousAssignments = getAssignments(new ShardingStateView(resetShardingInfo(shardingTotalCount)), shardingTotalCount);
         JobShardingStrategy jobShardingStrategy = JobShardingStrategyFactory.getStrategy(liteJobConfig.getJobShardingStrategyClass());
-        jobNodeStorage.executeInTransaction(new PersistShardingInfoTransactionExecutionCallback(jobShardingStrategy.sharding(availableJobInstances, jobName, shardingTotalCount)));
-        log.debug("Job '{}' sharding complete.", jobName);
+        Map<Integer, String> currentAssignments = sharding(jobShardingStrategy, previousAssignments, availableJobInstances, shardingTotalCount);
+        List<Integer> changedItems = getChangedItems(previousAssignments, currentAssignments, shardingTotalCount);
+        jobNodeStorage.executeInTransaction(new PersistShardingInfoTransactionExecutionCallback(previousAssignments, currentAssignments, changedItems));
+        ShardingStatistics shardingStatistics = JobRegistry.getInstance().getShardingStatistics(jobName);
+        if (null != shardingStatistics) {
+            shardingStatistics.recordResharding(changedItems.size());
+        }
+        log.debug("Job '{}' sharding complete, {} items moved.", jobName, changedItems.size());
     }
     
     private void blockUntilShardingCompleted() {
+        long version = getJobNodeChangeVersion();
         while (!leaderService.isLeaderUntilBlock() && (jobNodeStorage.isJobNodeExisted(ShardingNode.NECESSARY) || jobNodeStorage.isJobNodeExisted(ShardingNode.PROCESSING))) {
-            log.debug("Job '{}' sleep short time until sharding completed.", jobName);
-            BlockUtils.waitingShortTime();
+            log.debug("Job '{}' waiting until sharding completed.", jobName);
+            waitingJobNodeChanged(version);
+            version = getJobNodeChangeVersion();
         }
     }
     
     private void waitingOtherJobCompleted() {
+        long version = getJobNodeChangeVersion();
         while (executionService.hasRunningItems()) {
-            log.debug("Job '{}' sleep short time until other job completed.", jobName);
+            log.debug("Job '{}' waiting until other job completed.", jobName);
+            waitingJobNodeChanged(version);
+            version = getJobNodeChangeVersion();
+        }
+    }
+    
+    private long getJobNodeChangeVersion() {
+        JobNodeChangeNotifier jobNodeChangeNotifier = JobRegistry.getInstance().getJobNodeChangeNotifier(jobName);
+        return null == jobNodeChangeNotifier ? 0L : jobNodeChangeNotifier.getVersion();
+    }
+    
+    private void waitingJobNodeChanged(final long version) {
+        JobNodeChangeNotifier jobNodeChangeNotifier = JobRegistry.getInstance().getJobNodeChangeNotifier(jobName);
+        if (null == jobNodeChangeNotifier) {
             BlockUtils.waitingShortTime();
+        } else {
+            jobNodeChangeNotifier.awaitChange(version, MAX_WAITING_MILLISECONDS);
         }
     }
     
-    //需要debug下这个函数
-    private void resetShardingInfo(final int shardingTotalCount) {
+    private Map<String, Map<String, String>> resetShardingInfo(final int shardingTotalCount) {
+        Map<String, Map<String, String>> itemStates = jobNodeStorage.getJobNodeGrandchildrenDataDirectly(ShardingNode.ROOT);
+        Map<String, Map<String, String>> result = new HashMap<>(itemStates.size(), 1);
+        for (Entry<String, Map<String, String>> entry : itemStates.entrySet()) {
+            //分片总数减少时删除多余的分片项
+            if (Integer.parseInt(entry.getKey()) >= shardingTotalCount) {
+                jobNodeStorage.removeJobNodeIfExisted(ShardingNode.ROOT + "/" + entry.getKey());
+            } else {
+                result.put(entry.getKey(), entry.getValue());
+            }
+        }
+        for (int i = 0; i < shardingTotalCount; i++) {
+            if (!result.containsKey(String.valueOf(i))) {
+                jobNodeStorage.createJobNodeIfNeeded(ShardingNode.ROOT + "/" + i);
+                result.put(String.valueOf(i), Collections.<String, String>emptyMap());
+            }
+        }
+        return result;
+    }
+    
+    private Map<Integer, String> getAssignments(final ShardingStateView shardingStateView, final int shardingTotalCount) {
+        Map<Integer, String> result = new HashMap<>(shardingTotalCount, 1);
+        for (int i = 0; i < shardingTotalCount; i++) {
+            String jobInstanceId = shardingStateView.getInstanceId(i);
+            if (null != jobInstanceId) {
+                result.put(i, jobInstanceId);
+            }
+        }
+        return result;
+    }
+    
+    private Map<Integer, String> sharding(final JobShardingStrategy jobShardingStrategy, 
+                                          final Map<Integer, String> previousAssignments, final List<JobInstance> availableJobInstances, final int shardingTotalCount) {
+        if (!(jobShardingStrategy instanceof IncrementalJobShardingStrategy)) {
+            return getAssignments(jobShardingStrategy.sharding(availableJobInstances, jobName, shardingTotalCount));
+        }
+        Map<Integer, String> result = new HashMap<>(previousAssignments);
+        result.putAll(getAssignments(((IncrementalJobShardingStrategy) jobShardingStrategy).sharding(
+                getShardingResults(previousAssignments), availableJobInstances, jobName, shardingTotalCount)));
+        //策略未返回的分片项若仍属于不可用的作业实例, 则分配给分片项最少的可用实例, 避免持久化后无人执行
+        reassignOrphanItems(result, availableJobInstances, shardingTotalCount);
+        return result;
+    }
+    
+    private void reassignOrphanItems(final Map<Integer, String> assignments, final List<JobInstance> availableJobInstances, final int shardingTotalCount) {
+        Map<String, Integer> itemCounts = new LinkedHashMap<>(availableJobInstances.size(), 1);
+        for (JobInstance each : availableJobInstances) {
+            itemCounts.put(each.getJobInstanceId(), 0);
+        }
+        List<Integer> orphanItems = new LinkedList<>();
         for (int i = 0; i < shardingTotalCount; i++) {
-            jobNodeStorage.removeJobNodeIfExisted(ShardingNode.getInstanceNode(i));
-            jobNodeStorage.createJobNodeIfNeeded(ShardingNode.ROOT + "/" + i);
+            String jobInstanceId = assignments.get(i);
+            if (itemCounts.containsKey(jobInstanceId)) {
+                itemCounts.put(jobInstanceId, itemCounts.get(jobInstanceId) + 1);
+            } else {
+                orphanItems.add(i);
+            }
+        }
+        for (int each : orphanItems) {
+            String jobInstanceId = getLeastAssignedJobInstanceId(itemCounts);
+            assignments.put(each, jobInstanceId);
+            itemCounts.put(jobInstanceId, itemCounts.get(jobInstanceId) + 1);
         }
-        int actualShardingTotalCount = jobNodeStorage.getJobNodeChildrenKeys(ShardingNode.ROOT).size();
-        if (actualShardingTotalCount > shardingTotalCount) {//如果实际的分区信息小于sharding下的节点个数，则需要将多于的删除
-            for (int i = shardingTotalCount; i < actualShardingTotalCount; i++) {
-                jobNodeStorage.removeJobNodeIfExisted(ShardingNode.ROOT + "/" + i);
+    }
+    
+    private String getLeastAssignedJobInstanceId(final Map<String, Integer> itemCounts) {
+        String result = null;
+        for (Entry<String, Integer> entry : itemCounts.entrySet()) {
+            if (null == result || entry.getValue() < itemCounts.get(result)) {
+                result = entry.getKey();
             }
         }
+        return result;
+    }
+    
+    private Map<Integer, String> getAssignments(final Map<JobInstance, List<Integer>> shardingResults) {
+        Map<Integer, String> result = new HashMap<>();
+        for (Entry<JobInstance, List<Integer>> entry : shardingResults.entrySet()) {
+            for (int each : entry.getValue()) {
+                result.put(each, entry.getKey().getJobInstanceId());
+            }
+        }
+        return result;
+    }
+    
+    private Map<JobInstance, List<Integer>> getShardingResults(final Map<Integer, String> assignments) {
+        Map<JobInstance, List<Integer>> result = new LinkedHashMap<>();
+        for (Entry<Integer, String> entry : new TreeMap<>(assignments).entrySet()) {
+            JobInstance jobInstance = new JobInstance(entry.getValue());
+            if (!result.containsKey(jobInstance)) {
+                result.put(jobInstance, new LinkedList<Integer>());
+            }
+            result.get(jobInstance).add(entry.getKey());
+        }
+        return result;
+    }
+    
+    private List<Integer> getChangedItems(final Map<Integer, String> previousAssignments, final Map<Integer, String> currentAssignments, final int shardingTotalCount) {
+        List<Integer> result = new LinkedList<>();
+        for (int i = 0; i < shardingTotalCount; i++) {
+            if (!Objects.equal(previousAssignments.get(i), currentAssignments.get(i))) {
+                result.add(i);
+            }
+        }
+        return result;
     }
     
     /**
@@ -163,8 +292,9 @@ public final class ShardingService {
         List<Integer> result = new LinkedList<>();
         //"sharding/%s/instance"通过jobNodeStorage获取该节点的信息，如果等于当前实例的instanceid则加入list，同属于一个
         int shardingTotalCount = configService.load(true).getTypeConfig().getCoreConfig().getShardingTotalCount();
+        ShardingStateView shardingStateView = new ShardingStateView(jobNodeStorage.getJobNodeGrandchildrenData(ShardingNode.ROOT));
         for (int i = 0; i < shardingTotalCount; i++) {
-            if (jobInstance.getJobInstanceId().equals(jobNodeStorage.getJobNodeData(ShardingNode.getInstanceNode(i)))) {
+            if (jobInstance.getJobInstanceId().equals(getShardingInstanceId(shardingStateView, i))) {
                 result.add(i);
             }
         }
@@ -191,24 +321,43 @@ public final class ShardingService {
     public boolean hasShardingInfoInOfflineServers() {
         List<String> onlineInstances = jobNodeStorage.getJobNodeChildrenKeys(InstanceNode.ROOT);
         int shardingTotalCount = configService.load(true).getTypeConfig().getCoreConfig().getShardingTotalCount();
+        ShardingStateView shardingStateView = new ShardingStateView(jobNodeStorage.getJobNodeGrandchildrenData(ShardingNode.ROOT));
         for (int i = 0; i < shardingTotalCount; i++) {
-            if (!onlineInstances.contains(jobNodeStorage.getJobNodeData(ShardingNode.getInstanceNode(i)))) {
+            if (!onlineInstances.contains(getShardingInstanceId(shardingStateView, i))) {
                 return true;
             }
         }
         return false;
     }
     
+    private String getShardingInstanceId(final ShardingStateView shardingStateView, final int item) {
+        String result = shardingStateView.getInstanceId(item);
+        return null == result ? jobNodeStorage.getJobNodeData(ShardingNode.getInstanceNode(item)) : result;
+    }
+    
+    /**
+     * 仅重写分配发生变化的分片项, 并删除分片标记.
+     */
     @RequiredArgsConstructor
     class PersistShardingInfoTransactionExecutionCallback implements TransactionExecutionCallback {
         
-        private final Map<JobInstance, List<Integer>> shardingResults;
+        private final Map<Integer, String> previousAssignments;
+        
+        private final Map<Integer, String> currentAssignments;
+        
+        private final List<Integer> changedItems;
         
         @Override
         public void execute(final CuratorTransactionFinal curatorTransactionFinal) throws Exception {
-            for (Map.Entry<JobInstance, List<Integer>> entry : shardingResults.entrySet()) {
-                for (int shardingItem : entry.getValue()) {
-                    curatorTransactionFinal.create().forPath(jobNodePath.getFullPath(ShardingNode.getInstanceNode(shardingItem)), entry.getKey().getJobInstanceId().getBytes()).and();
+            for (int each : changedItems) {
+                String instancePath = jobNodePath.getFullPath(ShardingNode.getInstanceNode(each));
+                String jobInstanceId = currentAssignments.get(each);
+                if (null == jobInstanceId) {
+                    curatorTransactionFinal.delete().forPath(instancePath).and();
+                } else if (previousAssignments.containsKey(each)) {
+                    curatorTransactionFinal.setData().forPath(instancePath, jobInstanceId.getBytes()).and();
+                } else {
+                    curatorTransactionFinal.create().forPath(instancePath, jobInstanceId.getBytes()).and();
                 }
             }
             curatorTransactionFinal.delete().forPath(jobNodePath.getFullPath(ShardingNode.NECESSARY)).and();
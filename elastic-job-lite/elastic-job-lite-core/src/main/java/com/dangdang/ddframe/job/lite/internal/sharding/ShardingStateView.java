@@ -0,0 +1,115 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.lite.internal.sharding;
+
+import lombok.RequiredArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * 分片状态视图.
+ * 
+ * <p>
+ * 一次性读取全部分片项的运行实例, 运行中, 错过执行, 禁用以及失效转移状态, 避免按分片项逐个访问注册中心.
+ * </p>
+ * 
+ * @author zhangliang
+ */
+@RequiredArgsConstructor
+public final class ShardingStateView {
+    
+    private final Map<String, Map<String, String>> itemStates;
+    
+    /**
+     * 判断视图中是否包含分片项.
+     * 
+     * <p>
+     * 本地缓存尚未同步到分片项节点时视图中不包含该分片项, 此时其状态应直接读取.
+     * </p>
+     * 
+     * @param item 分片项
+     * @return 视图中是否包含分片项
+     */
+    public boolean containsItem(final int item) {
+        return itemStates.containsKey(String.valueOf(item));
+    }
+    
+    /**
+     * 获取分片项的运行实例主键.
+     * 
+     * @param item 分片项
+     * @return 分片项的运行实例主键, 未分配时返回null
+     */
+    public String getInstanceId(final int item) {
+        return getData(item, ShardingNode.INSTANCE_APPENDIX);
+    }
+    
+    /**
+     * 判断分片项是否运行中.
+     * 
+     * @param item 分片项
+     * @return 分片项是否运行中
+     */
+    public boolean isRunning(final int item) {
+        return isExisted(item, ShardingNode.RUNNING_APPENDIX);
+    }
+    
+    /**
+     * 判断分片项是否被标记为错过执行.
+     * 
+     * @param item 分片项
+     * @return 分片项是否被标记为错过执行
+     */
+    public boolean isMisfire(final int item) {
+        return isExisted(item, ShardingNode.MISFIRE_APPENDIX);
+    }
+    
+    /**
+     * 判断分片项是否被禁用.
+     * 
+     * @param item 分片项
+     * @return 分片项是否被禁用
+     */
+    public boolean isDisabled(final int item) {
+        return isExisted(item, ShardingNode.DISABLED_APPENDIX);
+    }
+    
+    /**
+     * 判断分片项的状态节点是否存在.
+     * 
+     * @param item 分片项
+     * @param stateNodeName 状态节点名称
+     * @return 分片项的状态节点是否存在
+     */
+    public boolean isExisted(final int item, final String stateNodeName) {
+        Map<String, String> states = itemStates.get(String.valueOf(item));
+        return null != states && states.containsKey(stateNodeName);
+    }
+    
+    /**
+     * 获取分片项的状态节点数据.
+     * 
+     * @param item 分片项
+     * @param stateNodeName 状态节点名称
+     * @return 分片项的状态节点数据, 不存在时返回null
+     */
+    public String getData(final int item, final String stateNodeName) {
+        Map<String, String> states = itemStates.get(String.valueOf(item));
+        return null == states ? null : states.get(stateNodeName);
+    }
+}
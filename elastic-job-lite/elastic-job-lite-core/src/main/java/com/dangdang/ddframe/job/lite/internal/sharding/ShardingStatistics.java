@@ -0,0 +1,76 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.lite.internal.sharding;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 作业分片统计.
+ * 
+ * <p>
+ * 记录主节点重新分片的次数以及每次重新分片变更分配的分片项数量.
+ * </p>
+ * 
+ * @author zhangliang
+ */
+public final class ShardingStatistics {
+    
+    private final AtomicLong reshardingCount = new AtomicLong();
+    
+    private final AtomicLong totalMovedItemCount = new AtomicLong();
+    
+    private volatile int lastMovedItemCount;
+    
+    /**
+     * 记录一次重新分片.
+     * 
+     * @param movedItemCount 变更分配的分片项数量
+     */
+    public void recordResharding(final int movedItemCount) {
+        reshardingCount.incrementAndGet();
+        totalMovedItemCount.addAndGet(movedItemCount);
+        lastMovedItemCount = movedItemCount;
+    }
+    
+    /**
+     * 获取重新分片次数.
+     * 
+     * @return 重新分片次数
+     */
+    public long getReshardingCount() {
+        return reshardingCount.get();
+    }
+    
+    /**
+     * 获取累计变更分配的分片项数量.
+     * 
+     * @return 累计变更分配的分片项数量
+     */
+    public long getTotalMovedItemCount() {
+        return totalMovedItemCount.get();
+    }
+    
+    /**
+     * 获取最近一次重新分片变更分配的分片项数量.
+     * 
+     * @return 最近一次重新分片变更分配的分片项数量
+     */
+    public int getLastMovedItemCount() {
+        return lastMovedItemCount;
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.lite.internal.storage;
+
+/**
+ * 作业节点变化通知器.
+ * 
+ * <p>
+ * 由作业节点缓存的监听器在关注的节点变化时通知, 用于替代固定间隔的轮询等待.
+ * 等待方需在判断等待条件前获取版本号, 以免错过判断与等待之间发生的变化.
+ * </p>
+ * 
+ * @author zhangliang
+ */
+public final class JobNodeChangeNotifier {
+    
+    private final Object lock = new Object();
+    
+    private long version;
+    
+    /**
+     * 获取当前版本号.
+     * 
+     * @return 当前版本号
+     */
+    public long getVersion() {
+        synchronized (lock) {
+            return version;
+        }
+    }
+    
+    /**
+     * 通知作业节点已变化.
+     */
+    public void notifyChanged() {
+        synchronized (lock) {
+            version++;
+            lock.notifyAll();
+        }
+    }
+    
+    /**
+     * 等待作业节点自指定版本后发生变化.
+     * 
+     * @param version 等待前获取的版本号
+     * @param timeoutMilliseconds 最长等待毫秒数
+     * @return 是否在超时前发生变化
+     */
+    public boolean awaitChange(final long version, final long timeoutMilliseconds) {
+        long deadline = System.currentTimeMillis() + timeoutMilliseconds;
+        synchronized (lock) {
+            long remaining = timeoutMilliseconds;
+            while (this.version == version && remaining > 0L) {
+                try {
+                    lock.wait(remaining);
+                } catch (final InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return this.version != version;
+                }
+                remaining = deadline - System.currentTimeMillis();
+            }
+            return this.version != version;
+        }
+    }
+}
@@ -20,14 +20,22 @@ package com.dangdang.ddframe.job.lite.internal.storage;
 import com.dangdang.ddframe.job.exception.JobSystemException;
 import com.dangdang.ddframe.job.reg.base.CoordinatorRegistryCenter;
 import com.dangdang.ddframe.job.reg.exception.RegExceptionHandler;
+import com.google.common.base.Charsets;
 import org.apache.curator.framework.CuratorFramework;
 import org.apache.curator.framework.api.transaction.CuratorTransactionFinal;
+import org.apache.curator.framework.recipes.cache.ChildData;
 import org.apache.curator.framework.recipes.cache.TreeCache;
 import org.apache.curator.framework.recipes.cache.TreeCacheListener;
 import org.apache.curator.framework.recipes.leader.LeaderLatch;
 import org.apache.curator.framework.state.ConnectionStateListener;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
 
 /**
  * 作业节点数据访问类.
@@ -62,6 +70,16 @@ public final class JobNodeStorage {
         return regCenter.isExisted(jobNodePath.getFullPath(node));
     }
     
+    /**
+     * 直接从注册中心而非本地缓存判断作业节点是否存在.
+     * 
+     * @param node 作业节点名称
+     * @return 作业节点是否存在
+     */
+    public boolean isJobNodeExistedDirectly(final String node) {
+        return regCenter.isExistedDirectly(jobNodePath.getFullPath(node));
+    }
+    
     /**
      * 获取作业节点数据.
      * 
@@ -92,6 +110,80 @@ public final class JobNodeStorage {
         return regCenter.getChildrenKeys(jobNodePath.getFullPath(node));
     }
     
+    /**
+     * 直接从注册中心而非本地缓存获取作业节点子节点名称列表.
+     * 
+     * @param node 作业节点名称
+     * @return 作业节点子节点名称列表
+     */
+    public List<String> getJobNodeChildrenKeysDirectly(final String node) {
+        return regCenter.getChildrenKeysDirectly(jobNodePath.getFullPath(node));
+    }
+    
+    /**
+     * 获取作业节点下两层子节点的数据.
+     * 
+     * <p>
+     * 优先从本地缓存中一次性读取, 本地缓存不可用时直接从注册中心读取.
+     * </p>
+     * 
+     * @param node 作业节点名称
+     * @return 子节点名称与其子节点数据的映射, 子节点数据的键为子节点的子节点名称
+     */
+    public Map<String, Map<String, String>> getJobNodeGrandchildrenData(final String node) {
+        String fullPath = jobNodePath.getFullPath(node);
+        TreeCache cache = (TreeCache) regCenter.getRawCache("/" + jobName);
+        if (null != cache) {
+            Map<String, ChildData> childrenInCache = cache.getCurrentChildren(fullPath);
+            if (null != childrenInCache) {
+                Map<String, Map<String, String>> result = new HashMap<>(childrenInCache.size(), 1);
+                for (String each : childrenInCache.keySet()) {
+                    result.put(each, getChildrenDataFromCache(cache, fullPath + "/" + each));
+                }
+                return result;
+            }
+        }
+        return getGrandchildrenDataDirectly(fullPath);
+    }
+    
+    private Map<String, String> getChildrenDataFromCache(final TreeCache cache, final String fullPath) {
+        Map<String, ChildData> childrenInCache = cache.getCurrentChildren(fullPath);
+        if (null == childrenInCache) {
+            return new HashMap<>(0, 1);
+        }
+        Map<String, String> result = new HashMap<>(childrenInCache.size(), 1);
+        for (Map.Entry<String, ChildData> entry : childrenInCache.entrySet()) {
+            byte[] data = entry.getValue().getData();
+            result.put(entry.getKey(), null == data ? "" : new String(data, Charsets.UTF_8));
+        }
+        return result;
+    }
+    
+    /**
+     * 直接从注册中心而非本地缓存获取作业节点下两层子节点的数据.
+     * 
+     * @param node 作业节点名称
+     * @return 子节点名称与其子节点数据的映射, 子节点数据的键为子节点的子节点名称
+     */
+    public Map<String, Map<String, String>> getJobNodeGrandchildrenDataDirectly(final String node) {
+        return getGrandchildrenDataDirectly(jobNodePath.getFullPath(node));
+    }
+    
+    private Map<String, Map<String, String>> getGrandchildrenDataDirectly(final String fullPath) {
+        List<String> children = regCenter.getChildrenKeysDirectly(fullPath);
+        Map<String, Map<String, String>> result = new HashMap<>(children.size(), 1);
+        for (String each : children) {
+            String childPath = fullPath + "/" + each;
+            List<String> grandchildren = regCenter.getChildrenKeysDirectly(childPath);
+            Map<String, String> grandchildrenData = new HashMap<>(grandchildren.size(), 1);
+            for (String grandchild : grandchildren) {
+                grandchildrenData.put(grandchild, regCenter.getDirectly(childPath + "/" + grandchild));
+            }
+            result.put(each, grandchildrenData);
+        }
+        return result;
+    }
+    
     /**
      * 如果存在则创建作业节点.
      * 
@@ -100,13 +192,13 @@ public final class JobNodeStorage {
      * @param node 作业节点名称
      */
     public void createJobNodeIfNeeded(final String node) {
-        if (isJobRootNodeExisted() && !isJobNodeExisted(node)) {
+        if (isJobRootNodeExisted() && !isJobNodeExistedDirectly(node)) {
             regCenter.persist(jobNodePath.getFullPath(node), "");
         }
     }
     
     private boolean isJobRootNodeExisted() {
-        return regCenter.isExisted("/" + jobName);
+        return regCenter.isExistedDirectly("/" + jobName);
     }
     
     /**
@@ -115,7 +207,7 @@ public final class JobNodeStorage {
      * @param node 作业节点名称
      */
     public void removeJobNodeIfExisted(final String node) {
-        if (isJobNodeExisted(node)) {
+        if (isJobNodeExistedDirectly(node)) {
             regCenter.remove(jobNodePath.getFullPath(node));
         }
     }
@@ -140,6 +232,35 @@ public final class JobNodeStorage {
         regCenter.persistEphemeral(jobNodePath.getFullPath(node), value.toString());
     }
     
+    /**
+     * 在后台批量填充临时节点数据.
+     * 
+     * @param nodes 作业节点名称集合
+     * @param value 作业节点数据值
+     * @return 全部节点填充完成时结束的异步结果
+     */
+    public Future<Void> fillEphemeralJobNodesInBackground(final Collection<String> nodes, final Object value) {
+        Map<String, String> keyValues = new LinkedHashMap<>(nodes.size(), 1);
+        for (String each : nodes) {
+            keyValues.put(jobNodePath.getFullPath(each), value.toString());
+        }
+        return regCenter.persistEphemeralInBackground(keyValues);
+    }
+    
+    /**
+     * 在后台批量删除作业节点.
+     * 
+     * @param nodes 作业节点名称集合
+     * @return 全部节点删除完成时结束的异步结果
+     */
+    public Future<Void> removeJobNodesInBackground(final Collection<String> nodes) {
+        List<String> keys = new ArrayList<>(nodes.size());
+        for (String each : nodes) {
+            keys.add(jobNodePath.getFullPath(each));
+        }
+        return regCenter.removeInBackground(keys);
+    }
+    
     /**
      * 更新节点数据.
      * 
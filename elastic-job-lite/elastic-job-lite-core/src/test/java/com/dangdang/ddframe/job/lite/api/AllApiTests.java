@@ -26,6 +26,7 @@ import org.junit.runners.Suite.SuiteClasses;
 @RunWith(Suite.class)
 @SuiteClasses({
         JobSchedulerTest.class,
+        SharedSchedulerEngineTest.class,
         AllStrategyTests.class,
         DistributeOnceElasticJobListenerTest.class
     })
@@ -37,6 +37,7 @@ import org.quartz.SchedulerException;
 import org.unitils.util.ReflectionUtils;
 
 import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.verify;
@@ -78,4 +79,10 @@ public final class JobSchedulerTest {
         assertThat(scheduler.getListenerManager().getTriggerListeners().get(0), instanceOf(JobTriggerListener.class));
         assertTrue(scheduler.isStarted());
     }
+    
+    @Test
+    public void assertGetJobEventBusStatisticsWithoutJobEventConfiguration() {
+        assertThat(jobScheduler.getJobEventBusStatistics().getPostedCount(), is(0L));
+        assertThat(jobScheduler.getJobEventBusStatistics().getQueueCapacity(), is(0));
+    }
 }
@@ -0,0 +1,164 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+
+package com.dangdang.ddframe.job.lite.api;
+
+import org.quartz.CronScheduleBuilder;
+import org.quartz.Job;
+import org.quartz.JobBuilder;
+import org.quartz.JobExecutionContext;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.Trigger;
+import org.quartz.TriggerBuilder;
+import org.quartz.impl.StdSchedulerFactory;
+import org.quartz.listeners.TriggerListenerSupport;
+import org.quartz.simpl.SimpleThreadPool;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 共享调度引擎的基准测试.
+ * 
+ * <p>对比每个作业独占调度器与共享调度引擎在10, 100, 1000个每秒触发的作业下的线程数和触发至开始执行的延迟, 需手工运行.</p>
+ */
+public final class SharedSchedulerEngineBenchmark {
+    
+    private static final int[] JOB_COUNTS = {10, 100, 1000};
+    
+    private static final int SHARED_THREAD_COUNT = 10;
+    
+    private static final String CRON = "* * * * * ?";
+    
+    private static final long MEASURE_SECONDS = 10L;
+    
+    public static void main(final String[] args) throws SchedulerException, InterruptedException {
+        for (int each : JOB_COUNTS) {
+            benchmarkDedicated(each);
+            benchmarkShared(each);
+        }
+    }
+    
+    private static void benchmarkDedicated(final int jobCount) throws SchedulerException, InterruptedException {
+        int baseThreadCount = getLiveThreadCount();
+        LatencyTriggerListener listener = new LatencyTriggerListener("benchmark_listener");
+        List<Scheduler> schedulers = new ArrayList<>(jobCount);
+        for (int i = 0; i < jobCount; i++) {
+            StdSchedulerFactory factory = new StdSchedulerFactory();
+            factory.initialize(getDedicatedQuartzProperties("benchmark_dedicated_job_" + i));
+            Scheduler scheduler = factory.getScheduler();
+            scheduler.getListenerManager().addTriggerListener(listener);
+            scheduleJob(scheduler, "benchmark_dedicated_job_" + i);
+            scheduler.start();
+            schedulers.add(scheduler);
+        }
+        TimeUnit.SECONDS.sleep(MEASURE_SECONDS);
+        print("dedicated", jobCount, getLiveThreadCount() - baseThreadCount, listener);
+        for (Scheduler each : schedulers) {
+            each.shutdown();
+        }
+    }
+    
+    private static void benchmarkShared(final int jobCount) throws SchedulerException, InterruptedException {
+        int baseThreadCount = getLiveThreadCount();
+        LatencyTriggerListener listener = new LatencyTriggerListener("benchmark_listener");
+        SharedSchedulerEngine engine = new SharedSchedulerEngine(SHARED_THREAD_COUNT);
+        for (int i = 0; i < jobCount; i++) {
+            engine.registerTriggerListener("benchmark_shared_job_" + i, listener);
+            scheduleJob(engine.getScheduler(), "benchmark_shared_job_" + i);
+        }
+        engine.getScheduler().start();
+        TimeUnit.SECONDS.sleep(MEASURE_SECONDS);
+        print("shared", jobCount, getLiveThreadCount() - baseThreadCount, listener);
+        engine.shutdown();
+    }
+    
+    private static Properties getDedicatedQuartzProperties(final String jobName) {
+        Properties result = new Properties();
+        result.put("org.quartz.threadPool.class", SimpleThreadPool.class.getName());
+        result.put("org.quartz.threadPool.threadCount", "1");
+        result.put("org.quartz.scheduler.instanceName", jobName);
+        result.put("org.quartz.jobStore.misfireThreshold", "1");
+        return result;
+    }
+    
+    private static void scheduleJob(final Scheduler scheduler, final String jobName) throws SchedulerException {
+        scheduler.scheduleJob(JobBuilder.newJob(NoopJob.class).withIdentity(jobName).build(), 
+                TriggerBuilder.newTrigger().withIdentity(jobName).withSchedule(CronScheduleBuilder.cronSchedule(CRON).withMisfireHandlingInstructionDoNothing()).build());
+    }
+    
+    private static int getLiveThreadCount() {
+        return ManagementFactory.getThreadMXBean().getThreadCount();
+    }
+    
+    private static void print(final String mode, final int jobCount, final int threadCount, final LatencyTriggerListener listener) {
+        long triggered = listener.triggeredCount.get();
+        System.out.println(String.format("mode=%s, jobs=%d, threads=%d, triggered=%d, misfired=%d, avgLatency=%.1f ms, maxLatency=%d ms", mode, jobCount, threadCount, 
+                triggered, listener.misfiredCount.get(), 0L == triggered ? 0D : (double) listener.totalLatencyMillis.get() / triggered, listener.maxLatencyMillis.get()));
+    }
+    
+    public static final class NoopJob implements Job {
+        
+        @Override
+        public void execute(final JobExecutionContext context) {
+        }
+    }
+    
+    private static final class LatencyTriggerListener extends TriggerListenerSupport {
+        
+        private final String name;
+        
+        private final AtomicLong triggeredCount = new AtomicLong();
+        
+        private final AtomicLong misfiredCount = new AtomicLong();
+        
+        private final AtomicLong totalLatencyMillis = new AtomicLong();
+        
+        private final AtomicLong maxLatencyMillis = new AtomicLong();
+        
+        LatencyTriggerListener(final String name) {
+            this.name = name;
+        }
+        
+        @Override
+        public String getName() {
+            return name;
+        }
+        
+        @Override
+        public void triggerFired(final Trigger trigger, final JobExecutionContext context) {
+            long latency = Math.max(0L, System.currentTimeMillis() - context.getScheduledFireTime().getTime());
+            triggeredCount.incrementAndGet();
+            totalLatencyMillis.addAndGet(latency);
+            long currentMax = maxLatencyMillis.get();
+            while (latency > currentMax && !maxLatencyMillis.compareAndSet(currentMax, latency)) {
+                currentMax = maxLatencyMillis.get();
+            }
+        }
+        
+        @Override
+        public void triggerMisfired(final Trigger trigger) {
+            misfiredCount.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+
+package com.dangdang.ddframe.job.lite.api;
+
+import com.dangdang.ddframe.job.util.concurrent.CronTask;
+import org.junit.After;
+import org.junit.Test;
+import org.quartz.Job;
+import org.quartz.JobBuilder;
+import org.quartz.JobExecutionContext;
+import org.quartz.SchedulerException;
+import org.quartz.Trigger;
+import org.quartz.TriggerBuilder;
+import org.quartz.TriggerListener;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+public final class SharedSchedulerEngineTest {
+    
+    private final SharedSchedulerEngine sharedSchedulerEngine = new SharedSchedulerEngine(2);
+    
+    @After
+    public void tearDown() {
+        sharedSchedulerEngine.shutdown();
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void assertNewWithInvalidThreadCount() {
+        new SharedSchedulerEngine(0);
+    }
+    
+    @Test
+    public void assertGetStatisticsWithoutJob() {
+        SharedSchedulerEngineStatistics actual = sharedSchedulerEngine.getStatistics();
+        assertThat(actual.getJobCount(), is(0));
+        assertThat(actual.getThreadCount(), is(2));
+        assertThat(actual.getTriggeredCount(), is(0L));
+        assertThat(actual.getAverageTriggerLatencyMillis(), is(0L));
+    }
+    
+    @Test
+    public void assertRecordTriggerLatency() throws SchedulerException {
+        TriggerListener triggerListener = mock(TriggerListener.class);
+        sharedSchedulerEngine.registerTriggerListener("test_job", triggerListener);
+        sharedSchedulerEngine.getScheduler().scheduleJob(JobBuilder.newJob(NoopJob.class).withIdentity("test_job").build(), TriggerBuilder.newTrigger().withIdentity("test_job").startNow().build());
+        sharedSchedulerEngine.getScheduler().start();
+        verify(triggerListener, timeout(5000L)).triggerFired(any(Trigger.class), any(JobExecutionContext.class));
+        SharedSchedulerEngineStatistics actual = sharedSchedulerEngine.getStatistics();
+        assertThat(actual.getTriggeredCount(), is(1L));
+        assertTrue(actual.getMaxTriggerLatencyMillis() >= actual.getAverageTriggerLatencyMillis());
+    }
+    
+    @Test
+    public void assertShutdown() throws SchedulerException {
+        sharedSchedulerEngine.shutdown();
+        assertTrue(sharedSchedulerEngine.getScheduler().isShutdown());
+        assertTrue(sharedSchedulerEngine.getReconcileExecutor().isShutdown());
+        assertThat(sharedSchedulerEngine.getStatistics().getJobCount(), is(0));
+    }
+    
+    @Test
+    public void assertHashedWheelTriggerEngine() {
+        SharedSchedulerEngine actual = new SharedSchedulerEngine(2, TriggerEngineType.HASHED_WHEEL);
+        try {
+            assertNull(actual.getScheduler());
+            assertNotNull(actual.getCronScheduler());
+            SharedSchedulerEngineStatistics statistics = actual.getStatistics();
+            assertThat(statistics.getJobCount(), is(0));
+            assertThat(statistics.getThreadCount(), is(2));
+        } finally {
+            actual.shutdown();
+        }
+        assertTrue(actual.getCronScheduler().isShutdown());
+        assertTrue(actual.getReconcileExecutor().isShutdown());
+    }
+    
+    @Test
+    public void assertHashedWheelShutdownHook() {
+        SharedSchedulerEngine actual = new SharedSchedulerEngine(2, TriggerEngineType.HASHED_WHEEL);
+        try {
+            assertNull(sharedSchedulerEngine.getShutdownHook());
+            assertNotNull(actual.getShutdownHook());
+            actual.getCronScheduler().schedule("test_job", "0 0 0 1 1 ? 2099", mock(CronTask.class));
+            actual.getShutdownHook().run();
+            assertTrue(actual.getCronScheduler().isShutdown());
+            assertTrue(actual.getReconcileExecutor().isShutdown());
+        } finally {
+            actual.shutdown();
+        }
+    }
+    
+    public static final class NoopJob implements Job {
+        
+        @Override
+        public void execute(final JobExecutionContext context) {
+        }
+    }
+}
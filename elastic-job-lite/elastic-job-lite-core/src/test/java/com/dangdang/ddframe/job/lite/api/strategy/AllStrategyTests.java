@@ -19,7 +19,9 @@ package com.dangdang.ddframe.job.lite.api.strategy;
 
 import com.dangdang.ddframe.job.lite.api.strategy.impl.AverageAllocationJobShardingStrategyTest;
 import com.dangdang.ddframe.job.lite.api.strategy.impl.OdevitySortByNameJobShardingStrategyTest;
+import com.dangdang.ddframe.job.lite.api.strategy.impl.RendezvousHashJobShardingStrategyTest;
 import com.dangdang.ddframe.job.lite.api.strategy.impl.RotateServerByNameJobShardingStrategyTest;
+import com.dangdang.ddframe.job.lite.api.strategy.impl.WeightedJobShardingStrategyTest;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
@@ -30,7 +32,9 @@ import org.junit.runners.Suite.SuiteClasses;
         JobShardingStrategyFactoryTest.class, 
         AverageAllocationJobShardingStrategyTest.class, 
         OdevitySortByNameJobShardingStrategyTest.class, 
-        RotateServerByNameJobShardingStrategyTest.class
+        RotateServerByNameJobShardingStrategyTest.class, 
+        RendezvousHashJobShardingStrategyTest.class, 
+        WeightedJobShardingStrategyTest.class
     })
 public final class AllStrategyTests {
 }
@@ -13,6 +13,18 @@ public final class JobInstanceTest {
         assertThat(new JobInstance("127.0.0.1@-@0").getJobInstanceId(), is("127.0.0.1@-@0"));
     }
     
+    @Test
+    public void assertGetDefaultWeightAndLoad() {
+        JobInstance actual = new JobInstance("127.0.0.1@-@0");
+        assertThat(actual.getWeight(), is(JobInstance.DEFAULT_WEIGHT));
+        assertThat(actual.getLoad(), is(0D));
+    }
+    
+    @Test
+    public void assertEqualsIgnoreWeightAndLoad() {
+        assertThat(new JobInstance("127.0.0.1@-@0", 8, 0.5D), is(new JobInstance("127.0.0.1@-@0")));
+    }
+    
     @Test
     public void assertGetIp() {
         assertThat(new JobInstance().getIp(), is(IpUtils.getIp()));
@@ -0,0 +1,127 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.lite.api.strategy;
+
+import com.dangdang.ddframe.job.lite.api.strategy.impl.AverageAllocationJobShardingStrategy;
+import com.dangdang.ddframe.job.lite.api.strategy.impl.OdevitySortByNameJobShardingStrategy;
+import com.dangdang.ddframe.job.lite.api.strategy.impl.RendezvousHashJobShardingStrategy;
+import com.dangdang.ddframe.job.lite.api.strategy.impl.RotateServerByNameJobShardingStrategy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * 作业分片策略的分片项移动报告.
+ * 
+ * <p>对N个作业实例和M个分片项, 统计增加或减少一个作业实例时各分片策略移动的分片项比例以及分片数量的最大差值, 需手工运行.</p>
+ */
+public final class JobShardingStrategyMovementReport {
+    
+    private static final int[] JOB_INSTANCE_COUNTS = {3, 10, 50};
+    
+    private static final int[] SHARDING_TOTAL_COUNTS = {10, 100, 1000};
+    
+    private static final String JOB_NAME = "test_job";
+    
+    public static void main(final String[] args) {
+        List<JobShardingStrategy> jobShardingStrategies = Arrays.asList(new AverageAllocationJobShardingStrategy(), 
+                new OdevitySortByNameJobShardingStrategy(), new RotateServerByNameJobShardingStrategy(), new RendezvousHashJobShardingStrategy());
+        System.out.println(String.format("%-40s %6s %6s %10s %10s %6s", "strategy", "N", "M", "join-moved", "leave-moved", "skew"));
+        for (JobShardingStrategy each : jobShardingStrategies) {
+            for (int jobInstanceCount : JOB_INSTANCE_COUNTS) {
+                for (int shardingTotalCount : SHARDING_TOTAL_COUNTS) {
+                    report(each, jobInstanceCount, shardingTotalCount);
+                }
+            }
+        }
+    }
+    
+    private static void report(final JobShardingStrategy jobShardingStrategy, final int jobInstanceCount, final int shardingTotalCount) {
+        List<JobInstance> jobInstances = new ArrayList<>(jobInstanceCount + 1);
+        for (int i = 0; i < jobInstanceCount; i++) {
+            jobInstances.add(new JobInstance("192.168.0." + i + "@-@0"));
+        }
+        Map<Integer, String> previous = sharding(jobShardingStrategy, new HashMap<Integer, String>(), jobInstances, shardingTotalCount);
+        List<JobInstance> joinedJobInstances = new ArrayList<>(jobInstances);
+        joinedJobInstances.add(new JobInstance("192.168.1.0@-@0"));
+        Map<Integer, String> joined = sharding(jobShardingStrategy, previous, joinedJobInstances, shardingTotalCount);
+        Map<Integer, String> left = sharding(jobShardingStrategy, previous, jobInstances.subList(1, jobInstanceCount), shardingTotalCount);
+        System.out.println(String.format("%-40s %6d %6d %9.2f%% %10.2f%% %6d", jobShardingStrategy.getClass().getSimpleName(), jobInstanceCount, shardingTotalCount, 
+                getMovedPercentage(previous, joined, shardingTotalCount), getMovedPercentage(previous, left, shardingTotalCount), getSkew(joined, joinedJobInstances)));
+    }
+    
+    private static Map<Integer, String> sharding(final JobShardingStrategy jobShardingStrategy, final Map<Integer, String> previous, final List<JobInstance> jobInstances, final int shardingTotalCount) {
+        Map<Integer, String> result = new HashMap<>(previous);
+        Map<JobInstance, List<Integer>> shardingResults;
+        if (jobShardingStrategy instanceof IncrementalJobShardingStrategy) {
+            shardingResults = ((IncrementalJobShardingStrategy) jobShardingStrategy).sharding(getShardingResults(previous), jobInstances, JOB_NAME, shardingTotalCount);
+        } else {
+            result.clear();
+            shardingResults = jobShardingStrategy.sharding(jobInstances, JOB_NAME, shardingTotalCount);
+        }
+        for (Entry<JobInstance, List<Integer>> entry : shardingResults.entrySet()) {
+            for (int each : entry.getValue()) {
+                result.put(each, entry.getKey().getJobInstanceId());
+            }
+        }
+        return result;
+    }
+    
+    private static Map<JobInstance, List<Integer>> getShardingResults(final Map<Integer, String> assignments) {
+        Map<JobInstance, List<Integer>> result = new HashMap<>();
+        for (Entry<Integer, String> entry : assignments.entrySet()) {
+            JobInstance jobInstance = new JobInstance(entry.getValue());
+            if (!result.containsKey(jobInstance)) {
+                result.put(jobInstance, new ArrayList<Integer>());
+            }
+            result.get(jobInstance).add(entry.getKey());
+        }
+        return result;
+    }
+    
+    private static double getMovedPercentage(final Map<Integer, String> previous, final Map<Integer, String> current, final int shardingTotalCount) {
+        int movedCount = 0;
+        for (int i = 0; i < shardingTotalCount; i++) {
+            if (!current.get(i).equals(previous.get(i))) {
+                movedCount++;
+            }
+        }
+        return 100.0 * movedCount / shardingTotalCount;
+    }
+    
+    private static int getSkew(final Map<Integer, String> assignments, final List<JobInstance> jobInstances) {
+        Map<String, Integer> itemCounts = new HashMap<>(jobInstances.size(), 1);
+        for (JobInstance each : jobInstances) {
+            itemCounts.put(each.getJobInstanceId(), 0);
+        }
+        for (String each : assignments.values()) {
+            itemCounts.put(each, itemCounts.get(each) + 1);
+        }
+        int min = Integer.MAX_VALUE;
+        int max = 0;
+        for (int each : itemCounts.values()) {
+            min = Math.min(min, each);
+            max = Math.max(max, each);
+        }
+        return max - min;
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+package com.dangdang.ddframe.job.lite.api.strategy.fixture;
+
+import com.dangdang.ddframe.job.lite.api.strategy.IncrementalJobShardingStrategy;
+import com.dangdang.ddframe.job.lite.api.strategy.JobInstance;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+public final class NoMovementIncrementalJobShardingStrategy implements IncrementalJobShardingStrategy {
+    
+    @Override
+    public Map<JobInstance, List<Integer>> sharding(final List<JobInstance> jobInstances, final String jobName, final int shardingTotalCount) {
+        return Collections.emptyMap();
+    }
+    
+    @Override
+    public Map<JobInstance, List<Integer>> sharding(
+            final Map<JobInstance, List<Integer>> previousShardingResults, final List<JobInstance> jobInstances, final String jobName, final int shardingTotalCount) {
+        return Collections.emptyMap();
+    }
+}
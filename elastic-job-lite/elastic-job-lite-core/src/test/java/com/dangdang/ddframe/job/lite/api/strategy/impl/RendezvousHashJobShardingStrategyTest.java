@@ -0,0 +1,131 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.lite.api.strategy.impl;
+
+import com.dangdang.ddframe.job.lite.api.strategy.JobInstance;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public final class RendezvousHashJobShardingStrategyTest {
+    
+    private final RendezvousHashJobShardingStrategy rendezvousHashJobShardingStrategy = new RendezvousHashJobShardingStrategy();
+    
+    @Test
+    public void assertShardingByEmptyJobInstances() {
+        assertThat(rendezvousHashJobShardingStrategy.sharding(Collections.<JobInstance>emptyList(), "test_job", 3), is(Collections.<JobInstance, List<Integer>>emptyMap()));
+    }
+    
+    @Test
+    public void assertShardingForAliquant() {
+        Map<JobInstance, List<Integer>> actual = rendezvousHashJobShardingStrategy.sharding(createJobInstances(3), "test_job", 10);
+        assertThat(getAssignments(actual).size(), is(10));
+        List<Integer> itemCounts = new ArrayList<>();
+        for (List<Integer> each : actual.values()) {
+            itemCounts.add(each.size());
+        }
+        Collections.sort(itemCounts);
+        assertThat(itemCounts, is(Arrays.asList(3, 3, 4)));
+    }
+    
+    @Test
+    public void assertShardingWhenShardingTotalCountLessThanJobInstances() {
+        Map<JobInstance, List<Integer>> actual = rendezvousHashJobShardingStrategy.sharding(createJobInstances(5), "test_job", 3);
+        assertThat(actual.size(), is(3));
+        for (List<Integer> each : actual.values()) {
+            assertThat(each.size(), is(1));
+        }
+    }
+    
+    @Test
+    public void assertShardingIsIndependentOfJobInstanceOrder() {
+        List<JobInstance> jobInstances = createJobInstances(10);
+        Map<Integer, String> expected = getAssignments(rendezvousHashJobShardingStrategy.sharding(jobInstances, "test_job", 100));
+        Collections.reverse(jobInstances);
+        assertThat(getAssignments(rendezvousHashJobShardingStrategy.sharding(jobInstances, "test_job", 100)), is(expected));
+    }
+    
+    @Test
+    public void assertShardingWhenJobInstanceAdded() {
+        List<JobInstance> jobInstances = createJobInstances(10);
+        Map<JobInstance, List<Integer>> previous = rendezvousHashJobShardingStrategy.sharding(jobInstances, "test_job", 1000);
+        JobInstance addedJobInstance = new JobInstance("192.168.1.1@-@0");
+        jobInstances.add(addedJobInstance);
+        Map<JobInstance, List<Integer>> actual = rendezvousHashJobShardingStrategy.sharding(previous, jobInstances, "test_job", 1000);
+        assertThat(actual.keySet(), is(Collections.singleton(addedJobInstance)));
+        assertThat(actual.get(addedJobInstance).size(), is(90));
+    }
+    
+    @Test
+    public void assertShardingWhenJobInstanceRemoved() {
+        List<JobInstance> jobInstances = createJobInstances(10);
+        Map<JobInstance, List<Integer>> previous = rendezvousHashJobShardingStrategy.sharding(jobInstances, "test_job", 1000);
+        JobInstance removedJobInstance = jobInstances.remove(0);
+        Map<JobInstance, List<Integer>> actual = rendezvousHashJobShardingStrategy.sharding(previous, jobInstances, "test_job", 1000);
+        List<Integer> movedItems = new ArrayList<>(getAssignments(actual).keySet());
+        Collections.sort(movedItems);
+        List<Integer> expected = new ArrayList<>(previous.get(removedJobInstance));
+        Collections.sort(expected);
+        assertThat(movedItems, is(expected));
+        for (List<Integer> each : actual.values()) {
+            assertTrue(each.size() <= 12);
+        }
+    }
+    
+    @Test
+    public void assertShardingWhenShardingTotalCountDecreased() {
+        List<JobInstance> jobInstances = createJobInstances(3);
+        Map<JobInstance, List<Integer>> previous = rendezvousHashJobShardingStrategy.sharding(jobInstances, "test_job", 10);
+        Map<Integer, String> actual = getAssignments(previous);
+        actual.putAll(getAssignments(rendezvousHashJobShardingStrategy.sharding(previous, jobInstances, "test_job", 6)));
+        Map<String, Integer> itemCounts = new HashMap<>();
+        for (int i = 0; i < 6; i++) {
+            Integer itemCount = itemCounts.get(actual.get(i));
+            itemCounts.put(actual.get(i), null == itemCount ? 1 : itemCount + 1);
+        }
+        assertThat(new ArrayList<>(itemCounts.values()), is(Arrays.asList(2, 2, 2)));
+    }
+    
+    private List<JobInstance> createJobInstances(final int count) {
+        List<JobInstance> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(new JobInstance("192.168.0." + i + "@-@0"));
+        }
+        return result;
+    }
+    
+    private Map<Integer, String> getAssignments(final Map<JobInstance, List<Integer>> shardingResults) {
+        Map<Integer, String> result = new HashMap<>();
+        for (Entry<JobInstance, List<Integer>> entry : shardingResults.entrySet()) {
+            for (int each : entry.getValue()) {
+                result.put(each, entry.getKey().getJobInstanceId());
+            }
+        }
+        return result;
+    }
+}
@@ -33,7 +33,8 @@ public final class LiteJobConfigurationTest {
     public void assertBuildAllProperties() {
         LiteJobConfiguration actual = LiteJobConfiguration.newBuilder(
                 new SimpleJobConfiguration(JobCoreConfiguration.newBuilder("test_job", "0/1 * * * * ?", 3).build(), TestSimpleJob.class.getCanonicalName()))
-                .monitorExecution(false).maxTimeDiffSeconds(1000).monitorPort(8888).jobShardingStrategyClass("testClass").disabled(true).overwrite(true).reconcileIntervalMinutes(60).build();
+                .monitorExecution(false).maxTimeDiffSeconds(1000).monitorPort(8888).jobShardingStrategyClass("testClass").disabled(true).overwrite(true).reconcileIntervalMinutes(60)
+                .jobEventSamplingCount(10).maxJobEventSamplingPerSecond(100).build();
         assertFalse(actual.isMonitorExecution());
         assertThat(actual.getMaxTimeDiffSeconds(), is(1000));
         assertThat(actual.getMonitorPort(), is(8888));
@@ -41,6 +42,8 @@ public final class LiteJobConfigurationTest {
         assertTrue(actual.isDisabled());
         assertTrue(actual.isOverwrite());
         assertThat(actual.getReconcileIntervalMinutes(), is(60));
+        assertThat(actual.getJobEventSamplingCount(), is(10));
+        assertThat(actual.getMaxJobEventSamplingPerSecond(), is(100));
     }
     
     @Test
@@ -53,6 +56,8 @@ public final class LiteJobConfigurationTest {
         assertThat(actual.getJobShardingStrategyClass(), is(""));
         assertFalse(actual.isDisabled());
         assertFalse(actual.isOverwrite());
+        assertThat(actual.getJobEventSamplingCount(), is(0));
+        assertThat(actual.getMaxJobEventSamplingPerSecond(), is(-1));
     }
     
     @Test
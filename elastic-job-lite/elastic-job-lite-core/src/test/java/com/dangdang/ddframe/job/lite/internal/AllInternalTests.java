@@ -19,6 +19,7 @@ package com.dangdang.ddframe.job.lite.internal;
 
 import com.dangdang.ddframe.job.lite.internal.config.ConfigurationNodeTest;
 import com.dangdang.ddframe.job.lite.internal.config.ConfigurationServiceTest;
+import com.dangdang.ddframe.job.lite.internal.config.ConfigurationSnapshotTest;
 import com.dangdang.ddframe.job.lite.internal.config.LiteJobConfigurationGsonFactoryTest;
 import com.dangdang.ddframe.job.lite.internal.config.RescheduleListenerManagerTest;
 import com.dangdang.ddframe.job.lite.internal.election.ElectionListenerManagerTest;
@@ -39,6 +40,7 @@ import com.dangdang.ddframe.job.lite.internal.listener.RegistryCenterConnectionS
 import com.dangdang.ddframe.job.lite.internal.monitor.MonitorServiceDisableTest;
 import com.dangdang.ddframe.job.lite.internal.monitor.MonitorServiceEnableTest;
 import com.dangdang.ddframe.job.lite.internal.reconcile.ReconcileServiceTest;
+import com.dangdang.ddframe.job.lite.internal.schedule.JobEventSamplerTest;
 import com.dangdang.ddframe.job.lite.internal.schedule.JobRegistryTest;
 import com.dangdang.ddframe.job.lite.internal.schedule.JobScheduleControllerTest;
 import com.dangdang.ddframe.job.lite.internal.schedule.JobTriggerListenerTest;
@@ -52,6 +54,8 @@ import com.dangdang.ddframe.job.lite.internal.sharding.MonitorExecutionListenerM
 import com.dangdang.ddframe.job.lite.internal.sharding.ShardingListenerManagerTest;
 import com.dangdang.ddframe.job.lite.internal.sharding.ShardingNodeTest;
 import com.dangdang.ddframe.job.lite.internal.sharding.ShardingServiceTest;
+import com.dangdang.ddframe.job.lite.internal.sharding.ShardingStatisticsTest;
+import com.dangdang.ddframe.job.lite.internal.storage.JobNodeChangeNotifierTest;
 import com.dangdang.ddframe.job.lite.internal.storage.JobNodePathTest;
 import com.dangdang.ddframe.job.lite.internal.storage.JobNodeStorageTest;
 import com.dangdang.ddframe.job.lite.internal.util.SensitiveInfoUtilsTest;
@@ -63,9 +67,11 @@ import org.junit.runners.Suite.SuiteClasses;
 @SuiteClasses({
         JobNodePathTest.class,
         JobNodeStorageTest.class,
+        JobNodeChangeNotifierTest.class,
         SensitiveInfoUtilsTest.class,
         ConfigurationServiceTest.class, 
         ConfigurationNodeTest.class,
+        ConfigurationSnapshotTest.class,
         RescheduleListenerManagerTest.class,
         LiteJobConfigurationGsonFactoryTest.class, 
         LeaderServiceTest.class, 
@@ -83,6 +89,7 @@ import org.junit.runners.Suite.SuiteClasses;
         ExecutionServiceTest.class,
         MonitorExecutionListenerManagerTest.class, 
         ShardingNodeTest.class,
+        ShardingStatisticsTest.class,
         FailoverServiceTest.class, 
         FailoverNodeTest.class,
         FailoverListenerManagerTest.class, 
@@ -97,6 +104,7 @@ import org.junit.runners.Suite.SuiteClasses;
         GuaranteeServiceTest.class, 
         SchedulerFacadeTest.class,
         LiteJobFacadeTest.class, 
+        JobEventSamplerTest.class, 
         ReconcileServiceTest.class,
         RegistryCenterConnectionStateListenerTest.class
     })
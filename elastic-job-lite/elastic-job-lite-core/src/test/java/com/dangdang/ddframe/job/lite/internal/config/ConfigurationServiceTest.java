@@ -23,6 +23,7 @@ import com.dangdang.ddframe.job.lite.config.LiteJobConfiguration;
 import com.dangdang.ddframe.job.lite.fixture.LiteJsonConstants;
 import com.dangdang.ddframe.job.lite.internal.storage.JobNodeStorage;
 import com.dangdang.ddframe.job.lite.fixture.util.JobConfigurationUtil;
+import com.dangdang.ddframe.job.lite.internal.schedule.JobRegistry;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
@@ -31,6 +32,7 @@ import org.unitils.util.ReflectionUtils;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -75,14 +77,32 @@ public final class ConfigurationServiceTest {
         assertThat(actual.getTypeConfig().getCoreConfig().getShardingTotalCount(), is(3));
     }
     
+    @Test
+    public void assertLoadFromConfigurationSnapshot() {
+        ConfigurationSnapshot configSnapshot = new ConfigurationSnapshot();
+        JobRegistry.getInstance().addConfigurationSnapshot("test_job", configSnapshot);
+        when(jobNodeStorage.getJobNodeData(ConfigurationNode.ROOT)).thenReturn(LiteJsonConstants.getJobJson());
+        try {
+            LiteJobConfiguration actual = configService.load(true);
+            assertThat(configService.load(true), is(actual));
+            assertThat(actual.getJobName(), is("test_job"));
+            verify(jobNodeStorage, times(1)).getJobNodeData(ConfigurationNode.ROOT);
+            assertThat(configSnapshot.getHitCount(), is(1L));
+            assertThat(configSnapshot.getMissCount(), is(1L));
+            assertThat(configSnapshot.getParseCount(), is(1L));
+        } finally {
+            JobRegistry.getInstance().shutdown("test_job");
+        }
+    }
+    
     @Test(expected = JobConfigurationException.class)
     public void assertPersistJobConfigurationForJobConflict() {
-        when(jobNodeStorage.isJobNodeExisted(ConfigurationNode.ROOT)).thenReturn(true);
+        when(jobNodeStorage.isJobNodeExistedDirectly(ConfigurationNode.ROOT)).thenReturn(true);
         when(jobNodeStorage.getJobNodeDataDirectly(ConfigurationNode.ROOT)).thenReturn(LiteJsonConstants.getJobJson("com.dangdang.ddframe.job.api.script.api.ScriptJob"));
         try {
             configService.persist(JobConfigurationUtil.createSimpleLiteJobConfiguration());
         } finally {
-            verify(jobNodeStorage).isJobNodeExisted(ConfigurationNode.ROOT);
+            verify(jobNodeStorage).isJobNodeExistedDirectly(ConfigurationNode.ROOT);
             verify(jobNodeStorage).getJobNodeDataDirectly(ConfigurationNode.ROOT);
         }
     }
@@ -96,7 +116,7 @@ public final class ConfigurationServiceTest {
     
     @Test
     public void assertPersistExistedJobConfiguration() throws NoSuchFieldException {
-        when(jobNodeStorage.isJobNodeExisted(ConfigurationNode.ROOT)).thenReturn(true);
+        when(jobNodeStorage.isJobNodeExistedDirectly(ConfigurationNode.ROOT)).thenReturn(true);
         when(jobNodeStorage.getJobNodeDataDirectly(ConfigurationNode.ROOT)).thenReturn(LiteJsonConstants.getJobJson());
         LiteJobConfiguration liteJobConfig = JobConfigurationUtil.createSimpleLiteJobConfiguration(true);
         configService.persist(liteJobConfig);
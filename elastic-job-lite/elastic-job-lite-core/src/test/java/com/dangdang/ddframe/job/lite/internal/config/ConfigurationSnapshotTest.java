@@ -0,0 +1,68 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.lite.internal.config;
+
+import com.dangdang.ddframe.job.lite.fixture.LiteJsonConstants;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public final class ConfigurationSnapshotTest {
+    
+    private final ConfigurationSnapshot configSnapshot = new ConfigurationSnapshot();
+    
+    @Test
+    public void assertGetWhenAbsent() {
+        assertThat(configSnapshot.get(), nullValue());
+        assertThat(configSnapshot.getHitCount(), is(0L));
+        assertThat(configSnapshot.getMissCount(), is(1L));
+    }
+    
+    @Test
+    public void assertLoad() {
+        assertThat(configSnapshot.load(LiteJsonConstants.getJobJson()).getJobName(), is("test_job"));
+        assertThat(configSnapshot.get().getJobName(), is("test_job"));
+        assertThat(configSnapshot.get().getMaxTimeDiffSeconds(), is(1000));
+        assertThat(configSnapshot.getHitCount(), is(2L));
+        assertThat(configSnapshot.getParseCount(), is(1L));
+    }
+    
+    @Test
+    public void assertLoadWhenAlreadyUpdated() {
+        configSnapshot.update(LiteJsonConstants.getJobJson(60));
+        assertThat(configSnapshot.load(LiteJsonConstants.getJobJson(1000)).getMaxTimeDiffSeconds(), is(1000));
+        assertThat(configSnapshot.get().getMaxTimeDiffSeconds(), is(60));
+        assertThat(configSnapshot.getParseCount(), is(2L));
+    }
+    
+    @Test
+    public void assertUpdate() {
+        configSnapshot.load(LiteJsonConstants.getJobJson(1000));
+        assertThat(configSnapshot.update(LiteJsonConstants.getJobJson(60)).getMaxTimeDiffSeconds(), is(60));
+        assertThat(configSnapshot.get().getMaxTimeDiffSeconds(), is(60));
+    }
+    
+    @Test
+    public void assertClear() {
+        configSnapshot.update(LiteJsonConstants.getJobJson());
+        configSnapshot.clear();
+        assertThat(configSnapshot.get(), nullValue());
+    }
+}
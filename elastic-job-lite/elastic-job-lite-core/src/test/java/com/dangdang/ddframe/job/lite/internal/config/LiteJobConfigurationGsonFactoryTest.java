@@ -44,30 +44,34 @@ public final class LiteJobConfigurationGsonFactoryTest {
     private String simpleJobJson =  "{\"jobName\":\"test_job\",\"jobClass\":\"com.dangdang.ddframe.job.lite.fixture.TestSimpleJob\",\"jobType\":\"SIMPLE\",\"cron\":\"0/1 * * * * ?\","
             + "\"shardingTotalCount\":3,\"shardingItemParameters\":\"\",\"jobParameter\":\"\",\"failover\":true,\"misfire\":false,\"description\":\"\","
             + "\"jobProperties\":" + JOB_PROPS_JSON + ",\"monitorExecution\":false,\"maxTimeDiffSeconds\":1000,\"monitorPort\":8888,"
-            + "\"jobShardingStrategyClass\":\"testClass\",\"reconcileIntervalMinutes\":15,\"disabled\":true,\"overwrite\":true}";
+            + "\"jobShardingStrategyClass\":\"testClass\",\"reconcileIntervalMinutes\":15,\"disabled\":true,\"overwrite\":true,"
+            + "\"jobEventSamplingCount\":10,\"maxJobEventSamplingPerSecond\":100}";
     
     private String dataflowJobJson = "{\"jobName\":\"test_job\",\"jobClass\":\"com.dangdang.ddframe.job.lite.fixture.TestDataflowJob\",\"jobType\":\"DATAFLOW\",\"cron\":\"0/1 * * * * ?\","
             + "\"shardingTotalCount\":3,\"shardingItemParameters\":\"\",\"jobParameter\":\"\",\"failover\":false,\"misfire\":true,\"description\":\"\","
-            + "\"jobProperties\":" + JOB_PROPS_JSON + ",\"streamingProcess\":true,"
-            + "\"monitorExecution\":true,\"maxTimeDiffSeconds\":-1,\"monitorPort\":-1,\"jobShardingStrategyClass\":\"\",\"reconcileIntervalMinutes\":10,\"disabled\":false,\"overwrite\":false}";
+            + "\"jobProperties\":" + JOB_PROPS_JSON + ",\"streamingProcess\":true,\"prefetchDepth\":2,\"processParallelism\":4,\"targetProcessLatencyMillis\":500,\"maxBatchSize\":1000,"
+            + "\"monitorExecution\":true,\"maxTimeDiffSeconds\":-1,\"monitorPort\":-1,\"jobShardingStrategyClass\":\"\",\"reconcileIntervalMinutes\":10,\"disabled\":false,\"overwrite\":false,"
+            + "\"jobEventSamplingCount\":0,\"maxJobEventSamplingPerSecond\":-1}";
     
     private String scriptJobJson = "{\"jobName\":\"test_job\",\"jobClass\":\"com.dangdang.ddframe.job.api.script.ScriptJob\",\"jobType\":\"SCRIPT\",\"cron\":\"0/1 * * * * ?\","
             + "\"shardingTotalCount\":3,\"shardingItemParameters\":\"\",\"jobParameter\":\"\",\"failover\":false,\"misfire\":true,\"description\":\"\","
             + "\"jobProperties\":" + JOB_PROPS_JSON + ",\"scriptCommandLine\":\"test.sh\",\"monitorExecution\":true,\"maxTimeDiffSeconds\":-1,\"monitorPort\":-1,"
-            + "\"jobShardingStrategyClass\":\"\",\"reconcileIntervalMinutes\":10,\"disabled\":false,\"overwrite\":false}";
+            + "\"jobShardingStrategyClass\":\"\",\"reconcileIntervalMinutes\":10,\"disabled\":false,\"overwrite\":false,"
+            + "\"jobEventSamplingCount\":0,\"maxJobEventSamplingPerSecond\":-1}";
     
     @Test
     public void assertToJsonForSimpleJob() {
         LiteJobConfiguration actual = LiteJobConfiguration.newBuilder(new SimpleJobConfiguration(JobCoreConfiguration.newBuilder("test_job", "0/1 * * * * ?", 3).failover(true).misfire(false).build(), 
                 TestSimpleJob.class.getCanonicalName()))
-                .monitorExecution(false).maxTimeDiffSeconds(1000).monitorPort(8888).jobShardingStrategyClass("testClass").disabled(true).overwrite(true).reconcileIntervalMinutes(15).build();
+                .monitorExecution(false).maxTimeDiffSeconds(1000).monitorPort(8888).jobShardingStrategyClass("testClass").disabled(true).overwrite(true).reconcileIntervalMinutes(15)
+                .jobEventSamplingCount(10).maxJobEventSamplingPerSecond(100).build();
         assertThat(LiteJobConfigurationGsonFactory.toJson(actual), is(simpleJobJson));
     }
     
     @Test
     public void assertToJsonForDataflowJob() {
         LiteJobConfiguration actual = LiteJobConfiguration.newBuilder(new DataflowJobConfiguration(JobCoreConfiguration.newBuilder("test_job", "0/1 * * * * ?", 3).build(), 
-                TestDataflowJob.class.getCanonicalName(), true)).build();
+                TestDataflowJob.class.getCanonicalName(), true, 2, 4, 500, 1000)).build();
         assertThat(LiteJobConfigurationGsonFactory.toJson(actual), is(dataflowJobJson));
     }
     
@@ -100,6 +104,8 @@ public final class LiteJobConfigurationGsonFactoryTest {
         assertThat(actual.getReconcileIntervalMinutes(), is(15));
         assertTrue(actual.isDisabled());
         assertTrue(actual.isOverwrite());
+        assertThat(actual.getJobEventSamplingCount(), is(10));
+        assertThat(actual.getMaxJobEventSamplingPerSecond(), is(100));
     }
     
     @Test
@@ -126,7 +132,13 @@ public final class LiteJobConfigurationGsonFactoryTest {
         assertThat(actual.getReconcileIntervalMinutes(), is(10));
         assertFalse(actual.isDisabled());
         assertFalse(actual.isOverwrite());
+        assertThat(actual.getJobEventSamplingCount(), is(0));
+        assertThat(actual.getMaxJobEventSamplingPerSecond(), is(-1));
         assertTrue(((DataflowJobConfiguration) actual.getTypeConfig()).isStreamingProcess());
+        assertThat(((DataflowJobConfiguration) actual.getTypeConfig()).getPrefetchDepth(), is(2));
+        assertThat(((DataflowJobConfiguration) actual.getTypeConfig()).getProcessParallelism(), is(4));
+        assertThat(((DataflowJobConfiguration) actual.getTypeConfig()).getTargetProcessLatencyMillis(), is(500));
+        assertThat(((DataflowJobConfiguration) actual.getTypeConfig()).getMaxBatchSize(), is(1000));
     }
     
     @Test
@@ -18,8 +18,12 @@
 package com.dangdang.ddframe.job.lite.internal.config;
 
 import com.dangdang.ddframe.job.event.JobEventBus;
+import com.dangdang.ddframe.job.executor.AbstractElasticJobExecutor;
+import com.dangdang.ddframe.job.executor.JobFacade;
 import com.dangdang.ddframe.job.lite.api.strategy.JobInstance;
 import com.dangdang.ddframe.job.lite.fixture.LiteJsonConstants;
+import com.dangdang.ddframe.job.lite.fixture.TestSimpleJob;
+import com.dangdang.ddframe.job.lite.fixture.util.JobConfigurationUtil;
 import com.dangdang.ddframe.job.lite.internal.config.RescheduleListenerManager.CronSettingAndJobEventChangedJobListener;
 import com.dangdang.ddframe.job.lite.internal.schedule.JobRegistry;
 import com.dangdang.ddframe.job.lite.internal.schedule.JobScheduleController;
@@ -33,8 +37,14 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.unitils.util.ReflectionUtils;
 
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public final class RescheduleListenerManagerTest {
     
@@ -50,6 +60,9 @@ public final class RescheduleListenerManagerTest {
     @Mock
     private JobEventBus jobEventBus;
     
+    @Mock
+    private JobFacade jobFacade;
+    
     private final RescheduleListenerManager rescheduleListenerManager = new RescheduleListenerManager(null, "test_job");
     
     @Before
@@ -62,6 +75,8 @@ public final class RescheduleListenerManagerTest {
     public void assertStart() {
         rescheduleListenerManager.start();
         verify(jobNodeStorage).addDataListener(ArgumentMatchers.<CronSettingAndJobEventChangedJobListener>any());
+        assertNotNull(JobRegistry.getInstance().getConfigurationSnapshot("test_job"));
+        JobRegistry.getInstance().shutdown("test_job");
     }
     
     @Test
@@ -90,4 +105,26 @@ public final class RescheduleListenerManagerTest {
         verify(jobScheduleController).rescheduleJob("0/1 * * * * ?");
         JobRegistry.getInstance().shutdown("test_job");
     }
+    
+    @Test
+    public void assertCronSettingChangedJobListenerWhenIsCronPathAndUpdateThenEvictJobExecutor() {
+        when(jobFacade.loadJobRootConfiguration(true)).thenReturn(JobConfigurationUtil.createSimpleLiteJobConfiguration());
+        AbstractElasticJobExecutor jobExecutor = JobRegistry.getInstance().getJobExecutor("test_job", new TestSimpleJob(), jobFacade);
+        rescheduleListenerManager.new CronSettingAndJobEventChangedJobListener().dataChanged("/test_job/config", Type.NODE_UPDATED, LiteJsonConstants.getJobJson());
+        assertThat(JobRegistry.getInstance().getJobExecutor("test_job", new TestSimpleJob(), jobFacade), not(jobExecutor));
+        JobRegistry.getInstance().evictJobExecutor("test_job");
+    }
+    
+    @Test
+    public void assertCronSettingChangedJobListenerWhenIsCronPathThenUpdateConfigurationSnapshot() {
+        ConfigurationSnapshot configSnapshot = new ConfigurationSnapshot();
+        JobRegistry.getInstance().addConfigurationSnapshot("test_job", configSnapshot);
+        rescheduleListenerManager.new CronSettingAndJobEventChangedJobListener().dataChanged("/test_job/config", Type.NODE_ADDED, LiteJsonConstants.getJobJson(60));
+        assertThat(configSnapshot.get().getMaxTimeDiffSeconds(), is(60));
+        rescheduleListenerManager.new CronSettingAndJobEventChangedJobListener().dataChanged("/test_job/config", Type.NODE_UPDATED, LiteJsonConstants.getJobJson(30));
+        assertThat(configSnapshot.get().getMaxTimeDiffSeconds(), is(30));
+        rescheduleListenerManager.new CronSettingAndJobEventChangedJobListener().dataChanged("/test_job/config", Type.NODE_REMOVED, "");
+        assertThat(configSnapshot.get(), nullValue());
+        JobRegistry.getInstance().shutdown("test_job");
+    }
 }
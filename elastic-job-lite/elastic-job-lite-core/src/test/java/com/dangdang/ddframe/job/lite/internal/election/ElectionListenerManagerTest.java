@@ -23,6 +23,7 @@ import com.dangdang.ddframe.job.lite.internal.schedule.JobRegistry;
 import com.dangdang.ddframe.job.lite.internal.schedule.JobScheduleController;
 import com.dangdang.ddframe.job.lite.internal.server.ServerService;
 import com.dangdang.ddframe.job.lite.internal.server.ServerStatus;
+import com.dangdang.ddframe.job.lite.internal.storage.JobNodeChangeNotifier;
 import com.dangdang.ddframe.job.lite.internal.storage.JobNodeStorage;
 import com.dangdang.ddframe.job.reg.base.CoordinatorRegistryCenter;
 import org.apache.curator.framework.recipes.cache.TreeCacheEvent.Type;
@@ -33,6 +34,8 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.unitils.util.ReflectionUtils;
 
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -68,7 +71,7 @@ public final class ElectionListenerManagerTest {
     @Test
     public void assertStart() {
         electionListenerManager.start();
-        verify(jobNodeStorage, times(2)).addDataListener(ArgumentMatchers.<LeaderElectionJobListener>any());
+        verify(jobNodeStorage, times(3)).addDataListener(ArgumentMatchers.<LeaderElectionJobListener>any());
     }
     
     @Test
@@ -138,4 +141,23 @@ public final class ElectionListenerManagerTest {
         electionListenerManager.new LeaderAbdicationJobListener().dataChanged("/test_job/servers/127.0.0.1", Type.NODE_UPDATED, ServerStatus.DISABLED.name());
         verify(leaderService).removeLeader();
     }
+    
+    @Test
+    public void assertLeaderChangedNotificationJobListenerWhenLeaderOrServerChanged() {
+        JobNodeChangeNotifier jobNodeChangeNotifier = new JobNodeChangeNotifier();
+        JobRegistry.getInstance().addJobNodeChangeNotifier("test_job", jobNodeChangeNotifier);
+        electionListenerManager.new LeaderChangedNotificationJobListener().dataChanged("/test_job/leader/election/instance", Type.NODE_ADDED, "127.0.0.1@-@0");
+        electionListenerManager.new LeaderChangedNotificationJobListener().dataChanged("/test_job/servers/127.0.0.1", Type.NODE_UPDATED, "");
+        assertThat(jobNodeChangeNotifier.getVersion(), is(2L));
+        JobRegistry.getInstance().shutdown("test_job");
+    }
+    
+    @Test
+    public void assertLeaderChangedNotificationJobListenerWhenUnrelatedPathChanged() {
+        JobNodeChangeNotifier jobNodeChangeNotifier = new JobNodeChangeNotifier();
+        JobRegistry.getInstance().addJobNodeChangeNotifier("test_job", jobNodeChangeNotifier);
+        electionListenerManager.new LeaderChangedNotificationJobListener().dataChanged("/test_job/sharding/0/running", Type.NODE_REMOVED, "");
+        assertThat(jobNodeChangeNotifier.getVersion(), is(0L));
+        JobRegistry.getInstance().shutdown("test_job");
+    }
 }
@@ -22,6 +22,7 @@ import com.dangdang.ddframe.job.lite.internal.election.LeaderService.LeaderElect
 import com.dangdang.ddframe.job.lite.internal.schedule.JobRegistry;
 import com.dangdang.ddframe.job.lite.internal.schedule.JobScheduleController;
 import com.dangdang.ddframe.job.lite.internal.server.ServerService;
+import com.dangdang.ddframe.job.lite.internal.storage.JobNodeChangeNotifier;
 import com.dangdang.ddframe.job.lite.internal.storage.JobNodeStorage;
 import com.dangdang.ddframe.job.reg.base.CoordinatorRegistryCenter;
 import org.junit.Before;
@@ -96,7 +97,7 @@ public final class LeaderServiceTest {
     @Test
     public void assertIsLeaderUntilBlockWhenHasLeader() {
         JobRegistry.getInstance().registerJob("test_job", jobScheduleController, regCenter);
-        when(jobNodeStorage.isJobNodeExisted("leader/election/instance")).thenReturn(false, true);
+        when(jobNodeStorage.isJobNodeExisted("leader/election/instance")).thenReturn(false, false, true);
         when(serverService.hasAvailableServers()).thenReturn(true);
         when(serverService.isAvailableServer("127.0.0.1")).thenReturn(true);
         when(jobNodeStorage.getJobNodeData("leader/election/instance")).thenReturn("127.0.0.1@-@0");
@@ -105,6 +106,18 @@ public final class LeaderServiceTest {
         JobRegistry.getInstance().shutdown("test_job");
     }
     
+    @Test
+    public void assertIsLeaderUntilBlockWhenLeaderElectedByOthersDuringWaiting() {
+        JobRegistry.getInstance().registerJob("test_job", jobScheduleController, regCenter);
+        JobRegistry.getInstance().addJobNodeChangeNotifier("test_job", new JobNodeChangeNotifier());
+        when(jobNodeStorage.isJobNodeExisted("leader/election/instance")).thenReturn(false, true);
+        when(serverService.hasAvailableServers()).thenReturn(true);
+        when(jobNodeStorage.getJobNodeData("leader/election/instance")).thenReturn("127.0.0.1@-@1");
+        assertFalse(leaderService.isLeaderUntilBlock());
+        verify(jobNodeStorage, times(0)).executeInLeader(eq("leader/election/latch"), ArgumentMatchers.<LeaderElectionExecutionCallback>any());
+        JobRegistry.getInstance().shutdown("test_job");
+    }
+    
     @Test
     public void assertIsLeader() {
         JobRegistry.getInstance().registerJob("test_job", jobScheduleController, regCenter);
@@ -127,7 +140,7 @@ public final class LeaderServiceTest {
     
     @Test
     public void assertElectLeaderExecutionCallbackWithLeader() {
-        when(jobNodeStorage.isJobNodeExisted("leader/election/instance")).thenReturn(true);
+        when(jobNodeStorage.isJobNodeExistedDirectly("leader/election/instance")).thenReturn(true);
         leaderService.new LeaderElectionExecutionCallback().execute();
         verify(jobNodeStorage, times(0)).fillEphemeralJobNode("leader/election/instance", "127.0.0.1@-@0");
     }
@@ -24,6 +24,7 @@ import com.dangdang.ddframe.job.lite.internal.schedule.JobScheduleController;
 import com.dangdang.ddframe.job.lite.internal.sharding.ShardingService;
 import com.dangdang.ddframe.job.lite.internal.storage.JobNodeStorage;
 import com.dangdang.ddframe.job.reg.base.CoordinatorRegistryCenter;
+import com.google.common.collect.ImmutableMap;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.ArgumentMatchers;
@@ -33,6 +34,7 @@ import org.unitils.util.ReflectionUtils;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Map;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
@@ -139,10 +141,12 @@ public final class FailoverServiceTest {
         JobRegistry.getInstance().setJobRunning("test_job", false);
         when(jobNodeStorage.isJobNodeExisted("leader/failover/items")).thenReturn(true);
         when(jobNodeStorage.getJobNodeChildrenKeys("leader/failover/items")).thenReturn(Arrays.asList("0", "1", "2"));
+        when(jobNodeStorage.getJobNodeChildrenKeysDirectly("leader/failover/items")).thenReturn(Arrays.asList("0", "1", "2"));
         JobRegistry.getInstance().registerJob("test_job", jobScheduleController, regCenter);
         failoverService.new FailoverLeaderExecutionCallback().execute();
         verify(jobNodeStorage).isJobNodeExisted("leader/failover/items");
-        verify(jobNodeStorage, times(2)).getJobNodeChildrenKeys("leader/failover/items");
+        verify(jobNodeStorage).getJobNodeChildrenKeys("leader/failover/items");
+        verify(jobNodeStorage).getJobNodeChildrenKeysDirectly("leader/failover/items");
         verify(jobNodeStorage).fillEphemeralJobNode("sharding/0/failover", "127.0.0.1@-@0");
         verify(jobNodeStorage).removeJobNodeIfExisted("leader/failover/items/0");
         verify(jobScheduleController).triggerJob();
@@ -157,19 +161,32 @@ public final class FailoverServiceTest {
         verify(jobNodeStorage).removeJobNodeIfExisted("sharding/1/failover");
     }
     
+    @Test
+    public void assertFailoverLeaderExecutionCallbackWhenItemsAlreadyTaken() {
+        JobRegistry.getInstance().setJobRunning("test_job", false);
+        when(jobNodeStorage.isJobNodeExisted("leader/failover/items")).thenReturn(true);
+        when(jobNodeStorage.getJobNodeChildrenKeys("leader/failover/items")).thenReturn(Collections.singletonList("0"));
+        when(jobNodeStorage.getJobNodeChildrenKeysDirectly("leader/failover/items")).thenReturn(Collections.<String>emptyList());
+        JobRegistry.getInstance().registerJob("test_job", jobScheduleController, regCenter);
+        failoverService.new FailoverLeaderExecutionCallback().execute();
+        verify(jobNodeStorage, times(0)).fillEphemeralJobNode("sharding/0/failover", "127.0.0.1@-@0");
+        verify(jobScheduleController, times(0)).triggerJob();
+        JobRegistry.getInstance().shutdown("test_job");
+    }
+    
     @Test
     public void assertGetFailoverItems() {
         JobRegistry.getInstance().registerJob("test_job", jobScheduleController, regCenter);
         when(jobNodeStorage.getJobNodeChildrenKeys("sharding")).thenReturn(Arrays.asList("0", "1", "2"));
-        when(jobNodeStorage.isJobNodeExisted("sharding/0/failover")).thenReturn(true);
-        when(jobNodeStorage.isJobNodeExisted("sharding/1/failover")).thenReturn(true);
-        when(jobNodeStorage.isJobNodeExisted("sharding/2/failover")).thenReturn(false);
+        when(jobNodeStorage.isJobNodeExistedDirectly("sharding/0/failover")).thenReturn(true);
+        when(jobNodeStorage.isJobNodeExistedDirectly("sharding/1/failover")).thenReturn(true);
+        when(jobNodeStorage.isJobNodeExistedDirectly("sharding/2/failover")).thenReturn(false);
         when(jobNodeStorage.getJobNodeDataDirectly("sharding/0/failover")).thenReturn("127.0.0.1@-@0");
         when(jobNodeStorage.getJobNodeDataDirectly("sharding/1/failover")).thenReturn("127.0.0.1@-@1");
         assertThat(failoverService.getFailoverItems("127.0.0.1@-@1"), is(Collections.singletonList(1)));
         verify(jobNodeStorage).getJobNodeChildrenKeys("sharding");
-        verify(jobNodeStorage).isJobNodeExisted("sharding/0/failover");
-        verify(jobNodeStorage).isJobNodeExisted("sharding/1/failover");
+        verify(jobNodeStorage).isJobNodeExistedDirectly("sharding/0/failover");
+        verify(jobNodeStorage).isJobNodeExistedDirectly("sharding/1/failover");
         verify(jobNodeStorage).getJobNodeDataDirectly("sharding/0/failover");
         verify(jobNodeStorage).getJobNodeDataDirectly("sharding/1/failover");
         JobRegistry.getInstance().shutdown("test_job");
@@ -185,15 +202,15 @@ public final class FailoverServiceTest {
     public void assertGetLocalFailoverItems() {
         JobRegistry.getInstance().registerJob("test_job", jobScheduleController, regCenter);
         when(jobNodeStorage.getJobNodeChildrenKeys("sharding")).thenReturn(Arrays.asList("0", "1", "2"));
-        when(jobNodeStorage.isJobNodeExisted("sharding/0/failover")).thenReturn(true);
-        when(jobNodeStorage.isJobNodeExisted("sharding/1/failover")).thenReturn(true);
-        when(jobNodeStorage.isJobNodeExisted("sharding/2/failover")).thenReturn(false);
+        when(jobNodeStorage.isJobNodeExistedDirectly("sharding/0/failover")).thenReturn(true);
+        when(jobNodeStorage.isJobNodeExistedDirectly("sharding/1/failover")).thenReturn(true);
+        when(jobNodeStorage.isJobNodeExistedDirectly("sharding/2/failover")).thenReturn(false);
         when(jobNodeStorage.getJobNodeDataDirectly("sharding/0/failover")).thenReturn("127.0.0.1@-@0");
         when(jobNodeStorage.getJobNodeDataDirectly("sharding/1/failover")).thenReturn("127.0.0.1@-@1");
         assertThat(failoverService.getLocalFailoverItems(), is(Collections.singletonList(0)));
         verify(jobNodeStorage).getJobNodeChildrenKeys("sharding");
-        verify(jobNodeStorage).isJobNodeExisted("sharding/0/failover");
-        verify(jobNodeStorage).isJobNodeExisted("sharding/1/failover");
+        verify(jobNodeStorage).isJobNodeExistedDirectly("sharding/0/failover");
+        verify(jobNodeStorage).isJobNodeExistedDirectly("sharding/1/failover");
         verify(jobNodeStorage).getJobNodeDataDirectly("sharding/0/failover");
         verify(jobNodeStorage).getJobNodeDataDirectly("sharding/1/failover");
         JobRegistry.getInstance().shutdown("test_job");
@@ -202,14 +219,21 @@ public final class FailoverServiceTest {
     @Test
     public void assertGetLocalTakeOffItems() {
         when(shardingService.getLocalShardingItems()).thenReturn(Arrays.asList(0, 1, 2));
-        when(jobNodeStorage.isJobNodeExisted("sharding/0/failover")).thenReturn(true);
-        when(jobNodeStorage.isJobNodeExisted("sharding/1/failover")).thenReturn(true);
-        when(jobNodeStorage.isJobNodeExisted("sharding/2/failover")).thenReturn(false);
+        when(jobNodeStorage.getJobNodeGrandchildrenData("sharding")).thenReturn(ImmutableMap.<String, Map<String, String>>of(
+                "0", ImmutableMap.of("failover", "127.0.0.1@-@0"), "1", ImmutableMap.of("failover", "127.0.0.1@-@1"), "2", ImmutableMap.of("instance", "127.0.0.1@-@0")));
         assertThat(failoverService.getLocalTakeOffItems(), is(Arrays.asList(0, 1)));
         verify(shardingService).getLocalShardingItems();
-        verify(jobNodeStorage).isJobNodeExisted("sharding/0/failover");
-        verify(jobNodeStorage).isJobNodeExisted("sharding/1/failover");
-        verify(jobNodeStorage).isJobNodeExisted("sharding/2/failover");
+        verify(jobNodeStorage).getJobNodeGrandchildrenData("sharding");
+    }
+    
+    @Test
+    public void assertGetLocalTakeOffItemsWhenCacheIsBehind() {
+        when(shardingService.getLocalShardingItems()).thenReturn(Arrays.asList(0, 1, 2));
+        when(jobNodeStorage.getJobNodeGrandchildrenData("sharding")).thenReturn(ImmutableMap.<String, Map<String, String>>of(
+                "0", ImmutableMap.of("failover", "127.0.0.1@-@0"), "1", ImmutableMap.of("instance", "127.0.0.1@-@0")));
+        when(jobNodeStorage.isJobNodeExisted("sharding/2/failover")).thenReturn(true);
+        assertThat(failoverService.getLocalTakeOffItems(), is(Arrays.asList(0, 2)));
+        verify(jobNodeStorage, times(0)).isJobNodeExisted("sharding/0/failover");
     }
     
     @Test
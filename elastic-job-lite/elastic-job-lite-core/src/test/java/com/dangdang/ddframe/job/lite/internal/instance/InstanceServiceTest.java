@@ -12,10 +12,13 @@ import org.unitils.util.ReflectionUtils;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 
 import static junit.framework.TestCase.assertTrue;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -43,7 +46,7 @@ public final class InstanceServiceTest {
     @Test
     public void assertPersistOnline() {
         instanceService.persistOnline();
-        verify(jobNodeStorage).fillEphemeralJobNode("instances/127.0.0.1@-@0", "");
+        verify(jobNodeStorage).fillEphemeralJobNode(eq("instances/127.0.0.1@-@0"), startsWith("{\"weight\":" + Runtime.getRuntime().availableProcessors() + ",\"load\":"));
     }
         
     @Test
@@ -55,7 +58,7 @@ public final class InstanceServiceTest {
     @Test
     public void assertClearTriggerFlag() {
         instanceService.clearTriggerFlag();
-        jobNodeStorage.updateJobNode("instances/127.0.0.1@-@0", "");
+        verify(jobNodeStorage).updateJobNode(eq("instances/127.0.0.1@-@0"), startsWith("{\"weight\":"));
     }
     
     @Test
@@ -65,6 +68,23 @@ public final class InstanceServiceTest {
         assertThat(instanceService.getAvailableJobInstances(), is(Collections.singletonList(new JobInstance("127.0.0.1@-@0"))));
     }
     
+    @Test
+    public void assertGetAvailableJobInstancesWithWeight() {
+        when(jobNodeStorage.getJobNodeChildrenKeys("instances")).thenReturn(Arrays.asList("127.0.0.1@-@0", "127.0.0.2@-@0", "127.0.0.3@-@0"));
+        when(jobNodeStorage.getJobNodeData("instances/127.0.0.1@-@0")).thenReturn("{\"weight\":8,\"load\":0.5}");
+        when(jobNodeStorage.getJobNodeData("instances/127.0.0.2@-@0")).thenReturn("TRIGGER");
+        when(jobNodeStorage.getJobNodeData("instances/127.0.0.3@-@0")).thenReturn("{\"weight\":");
+        when(serverService.isEnableServer("127.0.0.1")).thenReturn(true);
+        when(serverService.isEnableServer("127.0.0.2")).thenReturn(true);
+        when(serverService.isEnableServer("127.0.0.3")).thenReturn(true);
+        List<JobInstance> actual = instanceService.getAvailableJobInstances();
+        assertThat(actual.size(), is(3));
+        assertThat(actual.get(0).getWeight(), is(8));
+        assertThat(actual.get(0).getLoad(), is(0.5D));
+        assertThat(actual.get(1).getWeight(), is(JobInstance.DEFAULT_WEIGHT));
+        assertThat(actual.get(2).getWeight(), is(JobInstance.DEFAULT_WEIGHT));
+    }
+    
     @Test
     public void assertIsLocalJobInstanceExisted() {
         when(jobNodeStorage.isJobNodeExisted("instances/127.0.0.1@-@0")).thenReturn(true);
@@ -0,0 +1,90 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.lite.internal.schedule;
+
+import com.dangdang.ddframe.job.event.type.JobExecutionEvent;
+import com.dangdang.ddframe.job.event.type.JobExecutionEvent.ExecutionSource;
+import com.dangdang.ddframe.job.event.type.JobStatusTraceEvent.State;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public final class JobEventSamplerTest {
+    
+    private final JobEventSampler jobEventSampler = new JobEventSampler();
+    
+    @Test
+    public void assertIsSampledWhenSamplingDisabled() {
+        for (int i = 0; i < 10; i++) {
+            assertTrue(jobEventSampler.isSampled(new JobExecutionEvent("fake_task_id", "test_job", ExecutionSource.NORMAL_TRIGGER, 0), 0, -1));
+            assertTrue(jobEventSampler.isSampled("fake_task_id", State.TASK_FINISHED, 1, -1));
+        }
+    }
+    
+    @Test
+    public void assertIsSampledWithSamplingCount() {
+        assertExecutionSampled("task_0", true, 3, -1);
+        assertExecutionSampled("task_1", false, 3, -1);
+        assertExecutionSampled("task_2", false, 3, -1);
+        assertExecutionSampled("task_3", true, 3, -1);
+    }
+    
+    @Test
+    public void assertIsSampledWithMaxSamplingPerSecond() {
+        assertExecutionSampled("task_0", true, 0, 1);
+        assertExecutionSampled("task_1", false, 0, 1);
+    }
+    
+    @Test
+    public void assertIsSampledWhenExecutionFailure() {
+        assertExecutionSampled("task_0", true, 2, -1);
+        JobExecutionEvent startEvent = new JobExecutionEvent("task_1", "test_job", ExecutionSource.NORMAL_TRIGGER, 0);
+        assertFalse(jobEventSampler.isSampled("task_1", State.TASK_RUNNING, 2, -1));
+        assertFalse(jobEventSampler.isSampled(startEvent, 2, -1));
+        assertTrue(jobEventSampler.isSampled(startEvent.executionFailure(new RuntimeException("failure")), 2, -1));
+        assertTrue(jobEventSampler.isSampled("task_1", State.TASK_ERROR, 2, -1));
+    }
+    
+    @Test
+    public void assertIsSampledWhenMaxSamplingPerSecondIsZero() {
+        assertFalse(jobEventSampler.isSampled("task_1", State.TASK_STAGING, 0, 0));
+        assertFalse(jobEventSampler.isSampled(new JobExecutionEvent("task_1", "test_job", ExecutionSource.NORMAL_TRIGGER, 0), 0, 0));
+        assertFalse(jobEventSampler.isSampled("task_1", State.TASK_FINISHED, 0, 0));
+    }
+    
+    @Test
+    public void assertIsSampledWithSameTaskIdInConsecutiveExecutions() {
+        assertTrue(jobEventSampler.isSampled("task_0", State.TASK_STAGING, 2, -1));
+        assertTrue(jobEventSampler.isSampled("task_0", State.TASK_RUNNING, 2, -1));
+        assertFalse(jobEventSampler.isSampled("task_0", State.TASK_STAGING, 2, -1));
+        assertFalse(jobEventSampler.isSampled("task_0", State.TASK_RUNNING, 2, -1));
+        assertTrue(jobEventSampler.isSampled("task_0", State.TASK_STAGING, 2, -1));
+        assertTrue(jobEventSampler.isSampled(new JobExecutionEvent("task_0", "test_job", ExecutionSource.NORMAL_TRIGGER, 0), 2, -1));
+    }
+    
+    private void assertExecutionSampled(final String taskId, final boolean expected, final int samplingCount, final int maxSamplingPerSecond) {
+        JobExecutionEvent startEvent = new JobExecutionEvent(taskId, "test_job", ExecutionSource.NORMAL_TRIGGER, 0);
+        assertThat(jobEventSampler.isSampled(taskId, State.TASK_RUNNING, samplingCount, maxSamplingPerSecond), is(expected));
+        assertThat(jobEventSampler.isSampled(startEvent, samplingCount, maxSamplingPerSecond), is(expected));
+        assertThat(jobEventSampler.isSampled(startEvent.executionSuccess(), samplingCount, maxSamplingPerSecond), is(expected));
+        assertThat(jobEventSampler.isSampled(taskId, State.TASK_FINISHED, samplingCount, maxSamplingPerSecond), is(expected));
+    }
+}
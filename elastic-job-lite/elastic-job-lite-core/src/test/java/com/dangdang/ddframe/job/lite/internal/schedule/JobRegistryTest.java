@@ -17,16 +17,28 @@
 
 package com.dangdang.ddframe.job.lite.internal.schedule;
 
+import com.dangdang.ddframe.job.event.JobEventBus;
+import com.dangdang.ddframe.job.executor.AbstractElasticJobExecutor;
+import com.dangdang.ddframe.job.executor.JobFacade;
+import com.dangdang.ddframe.job.executor.handler.ExecutorServiceHandlerRegistry;
+import com.dangdang.ddframe.job.executor.handler.impl.DefaultExecutorServiceHandler;
 import com.dangdang.ddframe.job.lite.api.strategy.JobInstance;
+import com.dangdang.ddframe.job.lite.fixture.TestSimpleJob;
+import com.dangdang.ddframe.job.lite.fixture.util.JobConfigurationUtil;
 import com.dangdang.ddframe.job.reg.base.CoordinatorRegistryCenter;
 import org.junit.Test;
 
+import java.util.concurrent.ExecutorService;
+
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public final class JobRegistryTest {
     
@@ -74,14 +86,40 @@ public final class JobRegistryTest {
         assertThat(JobRegistry.getInstance().getCurrentShardingTotalCount("exist_job_instance"), is(10));
     }
     
+    @Test
+    public void assertGetJobExecutorFromCache() {
+        JobFacade jobFacade = mock(JobFacade.class);
+        when(jobFacade.loadJobRootConfiguration(true)).thenReturn(JobConfigurationUtil.createSimpleLiteJobConfiguration());
+        AbstractElasticJobExecutor actual = JobRegistry.getInstance().getJobExecutor("test_job_for_executor_cache", new TestSimpleJob(), jobFacade);
+        assertThat(JobRegistry.getInstance().getJobExecutor("test_job_for_executor_cache", new TestSimpleJob(), jobFacade), is(actual));
+        verify(jobFacade, times(1)).loadJobRootConfiguration(true);
+        JobRegistry.getInstance().evictJobExecutor("test_job_for_executor_cache");
+    }
+    
+    @Test
+    public void assertEvictJobExecutor() {
+        JobFacade jobFacade = mock(JobFacade.class);
+        when(jobFacade.loadJobRootConfiguration(true)).thenReturn(JobConfigurationUtil.createSimpleLiteJobConfiguration());
+        AbstractElasticJobExecutor actual = JobRegistry.getInstance().getJobExecutor("test_job_for_executor_evict", new TestSimpleJob(), jobFacade);
+        JobRegistry.getInstance().evictJobExecutor("test_job_for_executor_evict");
+        assertThat(JobRegistry.getInstance().getJobExecutor("test_job_for_executor_evict", new TestSimpleJob(), jobFacade), not(actual));
+        verify(jobFacade, times(2)).loadJobRootConfiguration(true);
+        JobRegistry.getInstance().evictJobExecutor("test_job_for_executor_evict");
+    }
+    
     @Test
     public void assertShutdown() {
         JobScheduleController jobScheduleController = mock(JobScheduleController.class);
         CoordinatorRegistryCenter regCenter = mock(CoordinatorRegistryCenter.class);
+        JobEventBus jobEventBus = mock(JobEventBus.class);
         JobRegistry.getInstance().registerJob("test_job_for_shutdown", jobScheduleController, regCenter);
+        JobRegistry.getInstance().addJobEventBus("test_job_for_shutdown", jobEventBus);
+        ExecutorService executorService = ExecutorServiceHandlerRegistry.getExecutorServiceHandler("test_job_for_shutdown", new DefaultExecutorServiceHandler());
         JobRegistry.getInstance().shutdown("test_job_for_shutdown");
         verify(jobScheduleController).shutdown();
         verify(regCenter).evictCacheData("/test_job_for_shutdown");
+        verify(jobEventBus).shutdown();
+        assertTrue(executorService.isShutdown());
     }
     
     @Test
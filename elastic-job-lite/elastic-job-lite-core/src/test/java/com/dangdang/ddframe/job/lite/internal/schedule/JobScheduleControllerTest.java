@@ -18,6 +18,8 @@
 package com.dangdang.ddframe.job.lite.internal.schedule;
 
 import com.dangdang.ddframe.job.exception.JobSystemException;
+import com.dangdang.ddframe.job.util.concurrent.CronTask;
+import com.dangdang.ddframe.job.util.concurrent.HashedWheelCronScheduler;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.ArgumentMatchers;
@@ -25,6 +27,7 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.quartz.JobDetail;
 import org.quartz.JobKey;
+import org.quartz.ListenerManager;
 import org.quartz.Scheduler;
 import org.quartz.SchedulerException;
 import org.quartz.Trigger;
@@ -36,6 +39,7 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -204,6 +208,74 @@ public final class JobScheduleControllerTest {
         verify(scheduler).shutdown();
     }
     
+    @Test
+    public void assertPauseJobWhenSharedScheduler() throws SchedulerException {
+        JobKey jobKey = new JobKey("test_job");
+        when(jobDetail.getKey()).thenReturn(jobKey);
+        new JobScheduleController(scheduler, jobDetail, "test_job", true).pauseJob();
+        verify(scheduler).pauseJob(jobKey);
+        verify(scheduler, times(0)).pauseAll();
+    }
+    
+    @Test
+    public void assertResumeJobWhenSharedScheduler() throws SchedulerException {
+        JobKey jobKey = new JobKey("test_job");
+        when(jobDetail.getKey()).thenReturn(jobKey);
+        new JobScheduleController(scheduler, jobDetail, "test_job", true).resumeJob();
+        verify(scheduler).resumeJob(jobKey);
+        verify(scheduler, times(0)).resumeAll();
+    }
+    
+    @Test
+    public void assertShutdownWhenSharedScheduler() throws SchedulerException {
+        JobKey jobKey = new JobKey("test_shared_job");
+        ListenerManager listenerManager = mock(ListenerManager.class);
+        when(jobDetail.getKey()).thenReturn(jobKey);
+        when(scheduler.getListenerManager()).thenReturn(listenerManager);
+        new JobScheduleController(scheduler, jobDetail, "test_shared_job", true).shutdown();
+        verify(scheduler).deleteJob(jobKey);
+        verify(listenerManager).removeTriggerListener("test_shared_job");
+        verify(scheduler, times(0)).shutdown();
+    }
+    
+    @Test
+    public void assertScheduleJobWhenHashedWheel() {
+        HashedWheelCronScheduler cronScheduler = mock(HashedWheelCronScheduler.class);
+        CronTask cronTask = mock(CronTask.class);
+        new JobScheduleController(cronScheduler, "test_job", cronTask).scheduleJob("0/1 * * * * ?");
+        verify(cronScheduler).schedule("test_job", "0/1 * * * * ?", cronTask);
+    }
+    
+    @Test
+    public void assertPauseAndResumeJobWhenHashedWheel() {
+        HashedWheelCronScheduler cronScheduler = mock(HashedWheelCronScheduler.class);
+        JobScheduleController actual = new JobScheduleController(cronScheduler, "test_job", mock(CronTask.class));
+        when(cronScheduler.isPaused("test_job")).thenReturn(true);
+        actual.pauseJob();
+        assertTrue(actual.isPaused());
+        actual.resumeJob();
+        verify(cronScheduler).pause("test_job");
+        verify(cronScheduler).resume("test_job");
+    }
+    
+    @Test
+    public void assertTriggerAndRescheduleJobWhenHashedWheel() {
+        HashedWheelCronScheduler cronScheduler = mock(HashedWheelCronScheduler.class);
+        JobScheduleController actual = new JobScheduleController(cronScheduler, "test_job", mock(CronTask.class));
+        actual.triggerJob();
+        actual.rescheduleJob("0/2 * * * * ?");
+        verify(cronScheduler).trigger("test_job");
+        verify(cronScheduler).reschedule("test_job", "0/2 * * * * ?");
+    }
+    
+    @Test
+    public void assertShutdownWhenHashedWheel() {
+        HashedWheelCronScheduler cronScheduler = mock(HashedWheelCronScheduler.class);
+        when(cronScheduler.contains("test_wheel_job")).thenReturn(true);
+        new JobScheduleController(cronScheduler, "test_wheel_job", mock(CronTask.class)).shutdown();
+        verify(cronScheduler).unschedule("test_wheel_job");
+    }
+    
     @Test
     public void assertRescheduleJobIfShutdown() throws NoSuchFieldException, SchedulerException {
         ReflectionUtils.setFieldValue(jobScheduleController, "scheduler", scheduler);
@@ -21,6 +21,10 @@ import com.dangdang.ddframe.job.config.JobCoreConfiguration;
 import com.dangdang.ddframe.job.config.dataflow.DataflowJobConfiguration;
 import com.dangdang.ddframe.job.config.simple.SimpleJobConfiguration;
 import com.dangdang.ddframe.job.event.JobEventBus;
+import com.dangdang.ddframe.job.event.type.JobExecutionEvent;
+import com.dangdang.ddframe.job.event.type.JobExecutionEvent.ExecutionSource;
+import com.dangdang.ddframe.job.event.type.JobStatusTraceEvent;
+import com.dangdang.ddframe.job.event.type.JobStatusTraceEvent.State;
 import com.dangdang.ddframe.job.exception.JobExecutionEnvironmentException;
 import com.dangdang.ddframe.job.executor.ShardingContexts;
 import com.dangdang.ddframe.job.lite.api.listener.ElasticJobListener;
@@ -45,7 +49,10 @@ import java.util.Arrays;
 import java.util.Collections;
 
 import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -174,9 +181,22 @@ public class LiteJobFacadeTest {
         when(shardingService.getLocalShardingItems()).thenReturn(Lists.newArrayList(0, 1));
         when(executionContextService.getJobShardingContext(Lists.newArrayList(0, 1))).thenReturn(shardingContexts);
         assertThat(liteJobFacade.getShardingContexts(), is(shardingContexts));
+        assertFalse(shardingContexts.isAllowSendJobEvent());
         verify(shardingService).shardingIfNecessary();
     }
     
+    @Test
+    public void assertGetShardingContextWhenJobEventBusEnabled() {
+        ShardingContexts shardingContexts = new ShardingContexts("fake_task_id", "test_job", 10, "", Collections.<Integer, String>emptyMap());
+        when(configService.load(true)).thenReturn(LiteJobConfiguration.newBuilder(
+                new SimpleJobConfiguration(JobCoreConfiguration.newBuilder("test_job", "0/1 * * * * ?", 3).failover(false).build(), TestSimpleJob.class.getCanonicalName())).build());
+        when(shardingService.getLocalShardingItems()).thenReturn(Lists.newArrayList(0, 1));
+        when(executionContextService.getJobShardingContext(Lists.newArrayList(0, 1))).thenReturn(shardingContexts);
+        when(eventBus.isEnabled()).thenReturn(true);
+        assertThat(liteJobFacade.getShardingContexts(), is(shardingContexts));
+        assertTrue(shardingContexts.isAllowSendJobEvent());
+    }
+    
     @Test
     public void assertGetShardingContextWhenHasDisabledItems() {
         ShardingContexts shardingContexts = new ShardingContexts("fake_task_id", "test_job", 10, "", Collections.<Integer, String>emptyMap());
@@ -248,7 +268,55 @@ public class LiteJobFacadeTest {
     
     @Test
     public void assertPostJobExecutionEvent() {
+        when(eventBus.isEnabled()).thenReturn(true);
+        when(configService.load(true)).thenReturn(LiteJobConfiguration.newBuilder(null).build());
         liteJobFacade.postJobExecutionEvent(null);
         verify(eventBus).post(null);
     }
+    
+    @Test
+    public void assertPostJobExecutionEventWithSampling() {
+        when(eventBus.isEnabled()).thenReturn(true);
+        when(configService.load(true)).thenReturn(LiteJobConfiguration.newBuilder(null).jobEventSamplingCount(2).build());
+        JobExecutionEvent sampledEvent = new JobExecutionEvent("task_0", "test_job", ExecutionSource.NORMAL_TRIGGER, 0);
+        JobExecutionEvent notSampledEvent = new JobExecutionEvent("task_1", "test_job", ExecutionSource.NORMAL_TRIGGER, 0);
+        liteJobFacade.postJobExecutionEvent(sampledEvent);
+        liteJobFacade.postJobExecutionEvent(notSampledEvent);
+        JobExecutionEvent failureEvent = notSampledEvent.executionFailure(new RuntimeException("failure"));
+        liteJobFacade.postJobExecutionEvent(failureEvent);
+        verify(eventBus).post(sampledEvent);
+        verify(eventBus, times(0)).post(notSampledEvent);
+        verify(eventBus).post(failureEvent);
+    }
+    
+    @Test
+    public void assertPostJobStatusTraceEvent() {
+        when(eventBus.isEnabled()).thenReturn(true);
+        when(configService.load(true)).thenReturn(LiteJobConfiguration.newBuilder(null).build());
+        liteJobFacade.postJobStatusTraceEvent("test_job@-@0@-@READY@-@127.0.0.1@-@1", State.TASK_RUNNING, "");
+        verify(eventBus).post(any(JobStatusTraceEvent.class));
+    }
+    
+    @Test
+    public void assertPostJobStatusTraceEventWhenNotSampled() {
+        when(eventBus.isEnabled()).thenReturn(true);
+        when(configService.load(true)).thenReturn(LiteJobConfiguration.newBuilder(null).maxJobEventSamplingPerSecond(0).build());
+        liteJobFacade.postJobStatusTraceEvent("test_job@-@0@-@READY@-@127.0.0.1@-@1", State.TASK_RUNNING, "");
+        verify(eventBus, times(0)).post(any(JobStatusTraceEvent.class));
+        liteJobFacade.postJobStatusTraceEvent("test_job@-@0@-@READY@-@127.0.0.1@-@1", State.TASK_ERROR, "failure");
+        verify(eventBus).post(any(JobStatusTraceEvent.class));
+    }
+    
+    @Test
+    public void assertPostJobExecutionEventWhenJobEventBusDisabled() {
+        liteJobFacade.postJobExecutionEvent(null);
+        verify(eventBus, times(0)).post(null);
+        verify(configService, times(0)).load(true);
+    }
+    
+    @Test
+    public void assertPostJobStatusTraceEventWhenJobEventBusDisabled() {
+        liteJobFacade.postJobStatusTraceEvent("test_job@-@0@-@READY@-@127.0.0.1@-@1", State.TASK_RUNNING, "");
+        verify(eventBus, times(0)).post(any(JobStatusTraceEvent.class));
+    }
 }
@@ -27,6 +27,7 @@ import com.dangdang.ddframe.job.lite.internal.config.ConfigurationService;
 import com.dangdang.ddframe.job.lite.internal.schedule.JobRegistry;
 import com.dangdang.ddframe.job.lite.internal.storage.JobNodeStorage;
 import com.google.common.collect.Lists;
+import com.google.common.collect.ImmutableMap;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
@@ -85,8 +86,8 @@ public final class ExecutionContextServiceTest {
     public void assertGetShardingContextWhenHasRunningItems() {
         when(configService.load(false)).thenReturn(LiteJobConfiguration.newBuilder(new DataflowJobConfiguration(JobCoreConfiguration.newBuilder("test_job", "0/1 * * * * ?", 3)
                 .shardingItemParameters("0=A,1=B,2=C").build(), TestDataflowJob.class.getCanonicalName(), true)).monitorExecution(true).build());
-        when(jobNodeStorage.isJobNodeExisted("sharding/0/running")).thenReturn(false);
-        when(jobNodeStorage.isJobNodeExisted("sharding/1/running")).thenReturn(true);
+        when(jobNodeStorage.getJobNodeGrandchildrenData("sharding")).thenReturn(ImmutableMap.<String, Map<String, String>>of("1", ImmutableMap.of("running", "")));
+        when(jobNodeStorage.isJobNodeExistedDirectly("sharding/1/running")).thenReturn(true);
         Map<Integer, String> map = new HashMap<>(1, 1);
         map.put(0, "A");
         ShardingContexts expected = new ShardingContexts("fake_task_id", "test_job", 3, "", map);
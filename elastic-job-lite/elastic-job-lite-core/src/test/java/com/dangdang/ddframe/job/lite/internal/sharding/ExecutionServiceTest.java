@@ -19,6 +19,7 @@ package com.dangdang.ddframe.job.lite.internal.sharding;
 
 import com.dangdang.ddframe.job.config.JobCoreConfiguration;
 import com.dangdang.ddframe.job.config.simple.SimpleJobConfiguration;
+import com.dangdang.ddframe.job.exception.JobSystemException;
 import com.dangdang.ddframe.job.executor.ShardingContexts;
 import com.dangdang.ddframe.job.lite.config.LiteJobConfiguration;
 import com.dangdang.ddframe.job.lite.fixture.TestSimpleJob;
@@ -26,8 +27,14 @@ import com.dangdang.ddframe.job.lite.internal.config.ConfigurationService;
 import com.dangdang.ddframe.job.lite.internal.schedule.JobRegistry;
 import com.dangdang.ddframe.job.lite.internal.schedule.JobScheduleController;
 import com.dangdang.ddframe.job.lite.internal.storage.JobNodeStorage;
+import com.dangdang.ddframe.job.reg.exception.RegException;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.SettableFuture;
+import org.apache.zookeeper.KeeperException;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.unitils.util.ReflectionUtils;
@@ -41,6 +48,7 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -71,7 +79,7 @@ public final class ExecutionServiceTest {
         when(configService.load(true)).thenReturn(LiteJobConfiguration.newBuilder(
                 new SimpleJobConfiguration(JobCoreConfiguration.newBuilder("test_job", "0/1 * * * * ?", 3).build(), TestSimpleJob.class.getCanonicalName())).monitorExecution(false).build());
         executionService.registerJobBegin(getShardingContext());
-        verify(jobNodeStorage, times(0)).fillEphemeralJobNode((String) any(), any());
+        verify(jobNodeStorage, times(0)).fillEphemeralJobNodesInBackground(ArgumentMatchers.<String>anyCollection(), any());
         assertTrue(JobRegistry.getInstance().isJobRunning("test_job"));
     }
     
@@ -79,6 +87,18 @@ public final class ExecutionServiceTest {
     public void assertRegisterJobBeginWithMonitorExecution() {
         when(configService.load(true)).thenReturn(LiteJobConfiguration.newBuilder(
                 new SimpleJobConfiguration(JobCoreConfiguration.newBuilder("test_job", "0/1 * * * * ?", 3).build(), TestSimpleJob.class.getCanonicalName())).monitorExecution(true).build());
+        when(jobNodeStorage.fillEphemeralJobNodesInBackground(Arrays.asList("sharding/0/running", "sharding/1/running", "sharding/2/running"), "")).thenReturn(Futures.<Void>immediateFuture(null));
+        executionService.registerJobBegin(getShardingContext());
+        verify(jobNodeStorage).fillEphemeralJobNodesInBackground(Arrays.asList("sharding/0/running", "sharding/1/running", "sharding/2/running"), "");
+        assertTrue(JobRegistry.getInstance().isJobRunning("test_job"));
+    }
+    
+    @Test
+    public void assertRegisterJobBeginWhenBackgroundFillFailure() {
+        when(configService.load(true)).thenReturn(LiteJobConfiguration.newBuilder(
+                new SimpleJobConfiguration(JobCoreConfiguration.newBuilder("test_job", "0/1 * * * * ?", 3).build(), TestSimpleJob.class.getCanonicalName())).monitorExecution(true).build());
+        when(jobNodeStorage.fillEphemeralJobNodesInBackground(Arrays.asList("sharding/0/running", "sharding/1/running", "sharding/2/running"), ""))
+                .thenReturn(Futures.<Void>immediateFailedFuture(new RegException(KeeperException.create(KeeperException.Code.CONNECTIONLOSS))));
         executionService.registerJobBegin(getShardingContext());
         verify(jobNodeStorage).fillEphemeralJobNode("sharding/0/running", "");
         verify(jobNodeStorage).fillEphemeralJobNode("sharding/1/running", "");
@@ -86,13 +106,28 @@ public final class ExecutionServiceTest {
         assertTrue(JobRegistry.getInstance().isJobRunning("test_job"));
     }
     
+    @Test
+    public void assertRegisterJobBeginWhenInterrupted() {
+        when(configService.load(true)).thenReturn(LiteJobConfiguration.newBuilder(
+                new SimpleJobConfiguration(JobCoreConfiguration.newBuilder("test_job", "0/1 * * * * ?", 3).build(), TestSimpleJob.class.getCanonicalName())).monitorExecution(true).build());
+        when(jobNodeStorage.fillEphemeralJobNodesInBackground(Arrays.asList("sharding/0/running", "sharding/1/running", "sharding/2/running"), ""))
+                .thenReturn(SettableFuture.<Void>create());
+        Thread.currentThread().interrupt();
+        try {
+            executionService.registerJobBegin(getShardingContext());
+            fail();
+        } catch (final JobSystemException ex) {
+            assertTrue(Thread.interrupted());
+        }
+    }
+    
     @Test
     public void assertRegisterJobCompletedWithoutMonitorExecution() {
         JobRegistry.getInstance().setJobRunning("test_job", true);
         when(configService.load(true)).thenReturn(LiteJobConfiguration.newBuilder(
                 new SimpleJobConfiguration(JobCoreConfiguration.newBuilder("test_job", "0/1 * * * * ?", 3).build(), TestSimpleJob.class.getCanonicalName())).monitorExecution(false).build());
         executionService.registerJobCompleted(new ShardingContexts("fake_task_id", "test_job", 10, "", Collections.<Integer, String>emptyMap()));
-        verify(jobNodeStorage, times(0)).removeJobNodeIfExisted((String) any());
+        verify(jobNodeStorage, times(0)).removeJobNodesInBackground(ArgumentMatchers.<String>anyCollection());
         verify(jobNodeStorage, times(0)).createJobNodeIfNeeded((String) any());
         assertFalse(JobRegistry.getInstance().isJobRunning("test_job"));
     }
@@ -103,9 +138,7 @@ public final class ExecutionServiceTest {
         when(configService.load(true)).thenReturn(LiteJobConfiguration.newBuilder(
                 new SimpleJobConfiguration(JobCoreConfiguration.newBuilder("test_job", "0/1 * * * * ?", 3).build(), TestSimpleJob.class.getCanonicalName())).monitorExecution(true).build());
         executionService.registerJobCompleted(getShardingContext());
-        verify(jobNodeStorage).removeJobNodeIfExisted("sharding/0/running");
-        verify(jobNodeStorage).removeJobNodeIfExisted("sharding/1/running");
-        verify(jobNodeStorage).removeJobNodeIfExisted("sharding/2/running");
+        verify(jobNodeStorage).removeJobNodesInBackground(Arrays.asList("sharding/0/running", "sharding/1/running", "sharding/2/running"));
         assertFalse(JobRegistry.getInstance().isJobRunning("test_job"));
     }
     
@@ -138,8 +171,8 @@ public final class ExecutionServiceTest {
     public void assertHasRunningItemsWithMonitorExecution() {
         when(configService.load(true)).thenReturn(LiteJobConfiguration.newBuilder(
                 new SimpleJobConfiguration(JobCoreConfiguration.newBuilder("test_job", "0/1 * * * * ?", 3).build(), TestSimpleJob.class.getCanonicalName())).monitorExecution(true).build());
-        when(jobNodeStorage.isJobNodeExisted("sharding/0/running")).thenReturn(false);
-        when(jobNodeStorage.isJobNodeExisted("sharding/1/running")).thenReturn(true);
+        when(jobNodeStorage.getJobNodeGrandchildrenData("sharding")).thenReturn(ImmutableMap.<String, Map<String, String>>of("1", ImmutableMap.of("running", "")));
+        when(jobNodeStorage.isJobNodeExistedDirectly("sharding/1/running")).thenReturn(true);
         assertTrue(executionService.hasRunningItems(Arrays.asList(0, 1, 2)));
     }
     
@@ -147,9 +180,9 @@ public final class ExecutionServiceTest {
     public void assertNotHaveRunningItems() {
         when(configService.load(true)).thenReturn(LiteJobConfiguration.newBuilder(
                 new SimpleJobConfiguration(JobCoreConfiguration.newBuilder("test_job", "0/1 * * * * ?", 3).build(), TestSimpleJob.class.getCanonicalName())).monitorExecution(true).build());
-        when(jobNodeStorage.isJobNodeExisted("sharding/0/running")).thenReturn(false);
-        when(jobNodeStorage.isJobNodeExisted("sharding/1/running")).thenReturn(false);
-        when(jobNodeStorage.isJobNodeExisted("sharding/2/running")).thenReturn(false);
+        when(jobNodeStorage.isJobNodeExistedDirectly("sharding/0/running")).thenReturn(false);
+        when(jobNodeStorage.isJobNodeExistedDirectly("sharding/1/running")).thenReturn(false);
+        when(jobNodeStorage.isJobNodeExistedDirectly("sharding/2/running")).thenReturn(false);
         assertFalse(executionService.hasRunningItems(Arrays.asList(0, 1, 2)));
     }
     
@@ -158,8 +191,8 @@ public final class ExecutionServiceTest {
         when(configService.load(true)).thenReturn(
                 LiteJobConfiguration.newBuilder(new SimpleJobConfiguration(JobCoreConfiguration.newBuilder("test_job", "0/1 * * * * ?", 3).build(), TestSimpleJob.class.getCanonicalName())).build());
         when(jobNodeStorage.getJobNodeChildrenKeys("sharding")).thenReturn(Arrays.asList("0", "1", "2"));
-        when(jobNodeStorage.isJobNodeExisted("sharding/0/running")).thenReturn(false);
-        when(jobNodeStorage.isJobNodeExisted("sharding/1/running")).thenReturn(true);
+        when(jobNodeStorage.getJobNodeGrandchildrenData("sharding")).thenReturn(ImmutableMap.<String, Map<String, String>>of("1", ImmutableMap.of("running", "")));
+        when(jobNodeStorage.isJobNodeExistedDirectly("sharding/1/running")).thenReturn(true);
         assertTrue(executionService.hasRunningItems());
     }
     
@@ -167,9 +200,9 @@ public final class ExecutionServiceTest {
     public void assertNotHaveRunningItemsForAll() {
         when(configService.load(true)).thenReturn(
                 LiteJobConfiguration.newBuilder(new SimpleJobConfiguration(JobCoreConfiguration.newBuilder("test_job", "0/1 * * * * ?", 3).build(), TestSimpleJob.class.getCanonicalName())).build());
-        when(jobNodeStorage.isJobNodeExisted("sharding/0/running")).thenReturn(false);
-        when(jobNodeStorage.isJobNodeExisted("sharding/1/running")).thenReturn(false);
-        when(jobNodeStorage.isJobNodeExisted("sharding/2/running")).thenReturn(false);
+        when(jobNodeStorage.isJobNodeExistedDirectly("sharding/0/running")).thenReturn(false);
+        when(jobNodeStorage.isJobNodeExistedDirectly("sharding/1/running")).thenReturn(false);
+        when(jobNodeStorage.isJobNodeExistedDirectly("sharding/2/running")).thenReturn(false);
         assertFalse(executionService.hasRunningItems());
     }
     
@@ -177,9 +210,9 @@ public final class ExecutionServiceTest {
     public void assertMisfireIfNotRunning() {
         when(configService.load(true)).thenReturn(LiteJobConfiguration.newBuilder(
                 new SimpleJobConfiguration(JobCoreConfiguration.newBuilder("test_job", "0/1 * * * * ?", 3).build(), TestSimpleJob.class.getCanonicalName())).monitorExecution(true).build());
-        when(jobNodeStorage.isJobNodeExisted("sharding/0/running")).thenReturn(false);
-        when(jobNodeStorage.isJobNodeExisted("sharding/1/running")).thenReturn(false);
-        when(jobNodeStorage.isJobNodeExisted("sharding/2/running")).thenReturn(false);
+        when(jobNodeStorage.isJobNodeExistedDirectly("sharding/0/running")).thenReturn(false);
+        when(jobNodeStorage.isJobNodeExistedDirectly("sharding/1/running")).thenReturn(false);
+        when(jobNodeStorage.isJobNodeExistedDirectly("sharding/2/running")).thenReturn(false);
         assertFalse(executionService.misfireIfHasRunningItems(Arrays.asList(0, 1, 2)));
     }
     
@@ -187,8 +220,8 @@ public final class ExecutionServiceTest {
     public void assertMisfireIfRunning() {
         when(configService.load(true)).thenReturn(LiteJobConfiguration.newBuilder(new SimpleJobConfiguration(JobCoreConfiguration.newBuilder("test_job", "0/1 * * * * ?", 3).build(),
                 TestSimpleJob.class.getCanonicalName())).monitorExecution(true).build());
-        when(jobNodeStorage.isJobNodeExisted("sharding/0/running")).thenReturn(false);
-        when(jobNodeStorage.isJobNodeExisted("sharding/1/running")).thenReturn(true);
+        when(jobNodeStorage.getJobNodeGrandchildrenData("sharding")).thenReturn(ImmutableMap.<String, Map<String, String>>of("1", ImmutableMap.of("running", "")));
+        when(jobNodeStorage.isJobNodeExistedDirectly("sharding/1/running")).thenReturn(true);
         assertTrue(executionService.misfireIfHasRunningItems(Arrays.asList(0, 1, 2)));
     }
     
@@ -202,10 +235,21 @@ public final class ExecutionServiceTest {
     
     @Test
     public void assertGetMisfiredJobItems() {
-        when(jobNodeStorage.isJobNodeExisted("sharding/0/misfire")).thenReturn(true);
-        when(jobNodeStorage.isJobNodeExisted("sharding/1/misfire")).thenReturn(true);
-        when(jobNodeStorage.isJobNodeExisted("sharding/2/misfire")).thenReturn(false);
+        when(jobNodeStorage.getJobNodeGrandchildrenData("sharding")).thenReturn(ImmutableMap.<String, Map<String, String>>of(
+                "0", ImmutableMap.of("misfire", ""), "1", ImmutableMap.of("misfire", ""), "2", ImmutableMap.of("instance", "127.0.0.1@-@0")));
+        when(jobNodeStorage.isJobNodeExistedDirectly("sharding/0/misfire")).thenReturn(true);
+        when(jobNodeStorage.isJobNodeExistedDirectly("sharding/1/misfire")).thenReturn(true);
         assertThat(executionService.getMisfiredJobItems(Arrays.asList(0, 1, 2)), is(Arrays.asList(0, 1)));
+        verify(jobNodeStorage, times(0)).isJobNodeExistedDirectly("sharding/2/misfire");
+    }
+    
+    @Test
+    public void assertGetMisfiredJobItemsWhenCacheIsStale() {
+        when(jobNodeStorage.getJobNodeGrandchildrenData("sharding")).thenReturn(ImmutableMap.<String, Map<String, String>>of(
+                "0", ImmutableMap.of("misfire", ""), "1", ImmutableMap.of("misfire", "")));
+        when(jobNodeStorage.isJobNodeExistedDirectly("sharding/0/misfire")).thenReturn(true);
+        when(jobNodeStorage.isJobNodeExistedDirectly("sharding/1/misfire")).thenReturn(false);
+        assertThat(executionService.getMisfiredJobItems(Arrays.asList(0, 1, 2)), is(Collections.singletonList(0)));
     }
     
     @Test
@@ -218,12 +262,21 @@ public final class ExecutionServiceTest {
     
     @Test
     public void assertGetDisabledItems() {
-        when(jobNodeStorage.isJobNodeExisted("sharding/0/disabled")).thenReturn(true);
-        when(jobNodeStorage.isJobNodeExisted("sharding/1/disabled")).thenReturn(true);
-        when(jobNodeStorage.isJobNodeExisted("sharding/2/disabled")).thenReturn(false);
+        when(jobNodeStorage.getJobNodeGrandchildrenData("sharding")).thenReturn(ImmutableMap.<String, Map<String, String>>of(
+                "0", ImmutableMap.of("disabled", ""), "1", ImmutableMap.of("disabled", ""), "2", ImmutableMap.of("instance", "127.0.0.1@-@0")));
         assertThat(executionService.getDisabledItems(Arrays.asList(0, 1, 2)), is(Arrays.asList(0, 1)));
     }
     
+    @Test
+    public void assertGetDisabledItemsWhenCacheIsBehind() {
+        when(jobNodeStorage.getJobNodeGrandchildrenData("sharding")).thenReturn(ImmutableMap.<String, Map<String, String>>of(
+                "0", ImmutableMap.of("disabled", ""), "1", ImmutableMap.of("instance", "127.0.0.1@-@0")));
+        when(jobNodeStorage.isJobNodeExisted("sharding/2/disabled")).thenReturn(true);
+        assertThat(executionService.getDisabledItems(Arrays.asList(0, 1, 2)), is(Arrays.asList(0, 2)));
+        verify(jobNodeStorage, times(0)).isJobNodeExisted("sharding/0/disabled");
+        verify(jobNodeStorage, times(0)).isJobNodeExisted("sharding/1/disabled");
+    }
+    
     private ShardingContexts getShardingContext() {
         Map<Integer, String> map = new HashMap<>(3, 1);
         map.put(0, "");
@@ -22,6 +22,7 @@ import com.dangdang.ddframe.job.lite.fixture.LiteJsonConstants;
 import com.dangdang.ddframe.job.lite.internal.listener.AbstractJobListener;
 import com.dangdang.ddframe.job.lite.internal.schedule.JobRegistry;
 import com.dangdang.ddframe.job.lite.internal.schedule.JobScheduleController;
+import com.dangdang.ddframe.job.lite.internal.storage.JobNodeChangeNotifier;
 import com.dangdang.ddframe.job.lite.internal.storage.JobNodeStorage;
 import com.dangdang.ddframe.job.reg.base.CoordinatorRegistryCenter;
 import org.apache.curator.framework.recipes.cache.TreeCacheEvent.Type;
@@ -32,6 +33,9 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.unitils.util.ReflectionUtils;
 
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -63,7 +67,8 @@ public final class ShardingListenerManagerTest {
     @Test
     public void assertStart() {
         shardingListenerManager.start();
-        verify(jobNodeStorage, times(2)).addDataListener(ArgumentMatchers.<AbstractJobListener>any());
+        verify(jobNodeStorage, times(3)).addDataListener(ArgumentMatchers.<AbstractJobListener>any());
+        assertNotNull(JobRegistry.getInstance().getShardingStatistics("test_job"));
     }
     
     @Test
@@ -127,4 +132,33 @@ public final class ShardingListenerManagerTest {
         verify(shardingService).setReshardingFlag();
         JobRegistry.getInstance().shutdown("test_job");
     }
+    
+    @Test
+    public void assertShardingCompletedNotificationJobListenerWhenShardingFlagRemoved() {
+        JobNodeChangeNotifier jobNodeChangeNotifier = new JobNodeChangeNotifier();
+        JobRegistry.getInstance().addJobNodeChangeNotifier("test_job", jobNodeChangeNotifier);
+        shardingListenerManager.new ShardingCompletedNotificationJobListener().dataChanged("/test_job/leader/sharding/necessary", Type.NODE_REMOVED, "");
+        shardingListenerManager.new ShardingCompletedNotificationJobListener().dataChanged("/test_job/leader/sharding/processing", Type.NODE_REMOVED, "");
+        assertThat(jobNodeChangeNotifier.getVersion(), is(2L));
+        JobRegistry.getInstance().shutdown("test_job");
+    }
+    
+    @Test
+    public void assertShardingCompletedNotificationJobListenerWhenRunningItemRemoved() {
+        JobNodeChangeNotifier jobNodeChangeNotifier = new JobNodeChangeNotifier();
+        JobRegistry.getInstance().addJobNodeChangeNotifier("test_job", jobNodeChangeNotifier);
+        shardingListenerManager.new ShardingCompletedNotificationJobListener().dataChanged("/test_job/sharding/0/running", Type.NODE_REMOVED, "");
+        assertThat(jobNodeChangeNotifier.getVersion(), is(1L));
+        JobRegistry.getInstance().shutdown("test_job");
+    }
+    
+    @Test
+    public void assertShardingCompletedNotificationJobListenerWhenNodeAddedOrUnrelated() {
+        JobNodeChangeNotifier jobNodeChangeNotifier = new JobNodeChangeNotifier();
+        JobRegistry.getInstance().addJobNodeChangeNotifier("test_job", jobNodeChangeNotifier);
+        shardingListenerManager.new ShardingCompletedNotificationJobListener().dataChanged("/test_job/leader/sharding/necessary", Type.NODE_ADDED, "");
+        shardingListenerManager.new ShardingCompletedNotificationJobListener().dataChanged("/test_job/sharding/0/instance", Type.NODE_REMOVED, "");
+        assertThat(jobNodeChangeNotifier.getVersion(), is(0L));
+        JobRegistry.getInstance().shutdown("test_job");
+    }
 }
@@ -20,8 +20,10 @@ package com.dangdang.ddframe.job.lite.internal.sharding;
 import org.junit.Test;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 
 public final class ShardingNodeTest {
     
@@ -46,4 +48,11 @@ public final class ShardingNodeTest {
     public void assertGetItemByRunningItemPath() {
         assertThat(shardingNode.getItemByRunningItemPath("/test_job/sharding/0/running"), is(0));
     }
+    
+    @Test
+    public void assertIsShardingFlagPath() {
+        assertTrue(shardingNode.isShardingFlagPath("/test_job/leader/sharding/necessary"));
+        assertTrue(shardingNode.isShardingFlagPath("/test_job/leader/sharding/processing"));
+        assertFalse(shardingNode.isShardingFlagPath("/test_job/leader/sharding"));
+    }
 }
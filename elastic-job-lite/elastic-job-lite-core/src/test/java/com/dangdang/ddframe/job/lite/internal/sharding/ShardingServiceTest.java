@@ -20,6 +20,8 @@ package com.dangdang.ddframe.job.lite.internal.sharding;
 import com.dangdang.ddframe.job.config.JobCoreConfiguration;
 import com.dangdang.ddframe.job.config.simple.SimpleJobConfiguration;
 import com.dangdang.ddframe.job.lite.api.strategy.JobInstance;
+import com.dangdang.ddframe.job.lite.api.strategy.fixture.NoMovementIncrementalJobShardingStrategy;
+import com.dangdang.ddframe.job.lite.api.strategy.fixture.TestIncrementalJobShardingStrategy;
 import com.dangdang.ddframe.job.lite.config.LiteJobConfiguration;
 import com.dangdang.ddframe.job.lite.fixture.TestSimpleJob;
 import com.dangdang.ddframe.job.lite.internal.config.ConfigurationService;
@@ -32,10 +34,12 @@ import com.dangdang.ddframe.job.lite.internal.server.ServerService;
 import com.dangdang.ddframe.job.lite.internal.storage.JobNodeStorage;
 import com.dangdang.ddframe.job.lite.internal.storage.TransactionExecutionCallback;
 import com.dangdang.ddframe.job.reg.base.CoordinatorRegistryCenter;
+import com.google.common.collect.ImmutableMap;
 import org.apache.curator.framework.api.transaction.CuratorTransactionBridge;
 import org.apache.curator.framework.api.transaction.CuratorTransactionFinal;
 import org.apache.curator.framework.api.transaction.TransactionCreateBuilder;
 import org.apache.curator.framework.api.transaction.TransactionDeleteBuilder;
+import org.apache.curator.framework.api.transaction.TransactionSetDataBuilder;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
@@ -45,7 +49,6 @@ import org.unitils.util.ReflectionUtils;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 import static org.hamcrest.CoreMatchers.is;
@@ -141,15 +144,14 @@ public final class ShardingServiceTest {
         when(configService.load(false)).thenReturn(LiteJobConfiguration.newBuilder(
                 new SimpleJobConfiguration(JobCoreConfiguration.newBuilder("test_job", "0/1 * * * * ?", 3).build(), TestSimpleJob.class.getCanonicalName())).monitorExecution(true).build());
         when(executionService.hasRunningItems()).thenReturn(true, false);
-        when(jobNodeStorage.getJobNodeChildrenKeys(ShardingNode.ROOT)).thenReturn(Arrays.asList("0", "1"));
+        when(jobNodeStorage.getJobNodeGrandchildrenDataDirectly(ShardingNode.ROOT)).thenReturn(ImmutableMap.<String, Map<String, String>>of(
+                "0", ImmutableMap.of("instance", "127.0.0.1@-@0"), "1", ImmutableMap.of("instance", "127.0.0.1@-@0")));
         shardingService.shardingIfNecessary();
         verify(executionService, times(2)).hasRunningItems();
-        verify(jobNodeStorage).removeJobNodeIfExisted("sharding/0/instance");
-        verify(jobNodeStorage).createJobNodeIfNeeded("sharding/0");
-        verify(jobNodeStorage).removeJobNodeIfExisted("sharding/1/instance");
-        verify(jobNodeStorage).createJobNodeIfNeeded("sharding/1");
-        verify(jobNodeStorage).removeJobNodeIfExisted("sharding/2/instance");
+        verify(jobNodeStorage, times(0)).createJobNodeIfNeeded("sharding/0");
+        verify(jobNodeStorage, times(0)).createJobNodeIfNeeded("sharding/1");
         verify(jobNodeStorage).createJobNodeIfNeeded("sharding/2");
+        verify(jobNodeStorage, times(0)).removeJobNodeIfExisted("sharding/0/instance");
         verify(jobNodeStorage).fillEphemeralJobNode("leader/sharding/processing", "");
         verify(jobNodeStorage).executeInTransaction(any(TransactionExecutionCallback.class));
     }
@@ -161,20 +163,75 @@ public final class ShardingServiceTest {
         when(leaderService.isLeaderUntilBlock()).thenReturn(true);
         when(configService.load(false)).thenReturn(LiteJobConfiguration.newBuilder(
                 new SimpleJobConfiguration(JobCoreConfiguration.newBuilder("test_job", "0/1 * * * * ?", 3).build(), TestSimpleJob.class.getCanonicalName())).monitorExecution(false).build());
-        when(jobNodeStorage.getJobNodeChildrenKeys(ShardingNode.ROOT)).thenReturn(Arrays.asList("0", "1", "2", "3"));
+        when(jobNodeStorage.getJobNodeGrandchildrenDataDirectly(ShardingNode.ROOT)).thenReturn(ImmutableMap.<String, Map<String, String>>of(
+                "0", Collections.<String, String>emptyMap(), "1", Collections.<String, String>emptyMap(), "2", Collections.<String, String>emptyMap(), "3", Collections.<String, String>emptyMap()));
         shardingService.shardingIfNecessary();
-        verify(jobNodeStorage).removeJobNodeIfExisted("sharding/0/instance");
-        verify(jobNodeStorage).createJobNodeIfNeeded("sharding/0");
-        verify(jobNodeStorage).removeJobNodeIfExisted("sharding/1/instance");
-        verify(jobNodeStorage).createJobNodeIfNeeded("sharding/1");
-        verify(jobNodeStorage).removeJobNodeIfExisted("sharding/2/instance");
-        verify(jobNodeStorage).createJobNodeIfNeeded("sharding/2");
+        verify(jobNodeStorage, times(0)).createJobNodeIfNeeded("sharding/0");
+        verify(jobNodeStorage, times(0)).createJobNodeIfNeeded("sharding/1");
+        verify(jobNodeStorage, times(0)).createJobNodeIfNeeded("sharding/2");
         verify(jobNodeStorage, times(0)).removeJobNodeIfExisted("execution/2");
         verify(jobNodeStorage).removeJobNodeIfExisted("sharding/3");
         verify(jobNodeStorage).fillEphemeralJobNode("leader/sharding/processing", "");
         verify(jobNodeStorage).executeInTransaction(any(TransactionExecutionCallback.class));
     }
-        
+    
+    @Test
+    public void assertShardingNecessaryAndRecordMovedItems() {
+        ShardingStatistics shardingStatistics = new ShardingStatistics();
+        JobRegistry.getInstance().addShardingStatistics("test_job", shardingStatistics);
+        when(instanceService.getAvailableJobInstances()).thenReturn(Arrays.asList(new JobInstance("127.0.0.1@-@0"), new JobInstance("127.0.0.1@-@1")));
+        when(jobNodeStorage.isJobNodeExisted("leader/sharding/necessary")).thenReturn(true);
+        when(leaderService.isLeaderUntilBlock()).thenReturn(true);
+        when(configService.load(false)).thenReturn(LiteJobConfiguration.newBuilder(
+                new SimpleJobConfiguration(JobCoreConfiguration.newBuilder("test_job", "0/1 * * * * ?", 4).build(), TestSimpleJob.class.getCanonicalName())).monitorExecution(false).build());
+        when(jobNodeStorage.getJobNodeGrandchildrenDataDirectly(ShardingNode.ROOT)).thenReturn(ImmutableMap.<String, Map<String, String>>of(
+                "0", ImmutableMap.of("instance", "127.0.0.1@-@0"), "1", ImmutableMap.of("instance", "127.0.0.1@-@0"),
+                "2", ImmutableMap.of("instance", "127.0.0.1@-@0"), "3", ImmutableMap.of("instance", "127.0.0.1@-@0")));
+        shardingService.shardingIfNecessary();
+        verify(jobNodeStorage).executeInTransaction(any(TransactionExecutionCallback.class));
+        assertThat(shardingStatistics.getReshardingCount(), is(1L));
+        assertThat(shardingStatistics.getLastMovedItemCount(), is(2));
+        assertThat(shardingStatistics.getTotalMovedItemCount(), is(2L));
+        JobRegistry.getInstance().shutdown("test_job");
+    }
+    
+    @Test
+    public void assertShardingNecessaryWithIncrementalJobShardingStrategy() {
+        ShardingStatistics shardingStatistics = new ShardingStatistics();
+        JobRegistry.getInstance().addShardingStatistics("test_job", shardingStatistics);
+        when(instanceService.getAvailableJobInstances()).thenReturn(Arrays.asList(new JobInstance("127.0.0.1@-@1"), new JobInstance("127.0.0.1@-@2")));
+        when(jobNodeStorage.isJobNodeExisted("leader/sharding/necessary")).thenReturn(true);
+        when(leaderService.isLeaderUntilBlock()).thenReturn(true);
+        when(configService.load(false)).thenReturn(LiteJobConfiguration.newBuilder(
+                new SimpleJobConfiguration(JobCoreConfiguration.newBuilder("test_job", "0/1 * * * * ?", 3).build(), TestSimpleJob.class.getCanonicalName()))
+                .monitorExecution(false).jobShardingStrategyClass(TestIncrementalJobShardingStrategy.class.getCanonicalName()).build());
+        when(jobNodeStorage.getJobNodeGrandchildrenDataDirectly(ShardingNode.ROOT)).thenReturn(ImmutableMap.<String, Map<String, String>>of(
+                "0", ImmutableMap.of("instance", "127.0.0.1@-@0"), "1", ImmutableMap.of("instance", "127.0.0.1@-@1"), "2", ImmutableMap.of("instance", "127.0.0.1@-@2")));
+        shardingService.shardingIfNecessary();
+        verify(jobNodeStorage).executeInTransaction(any(TransactionExecutionCallback.class));
+        assertThat(shardingStatistics.getLastMovedItemCount(), is(1));
+        JobRegistry.getInstance().shutdown("test_job");
+    }
+    
+    @Test
+    public void assertShardingNecessaryWithIncrementalJobShardingStrategyReassignOfflineItems() {
+        ShardingStatistics shardingStatistics = new ShardingStatistics();
+        JobRegistry.getInstance().addShardingStatistics("test_job", shardingStatistics);
+        when(instanceService.getAvailableJobInstances()).thenReturn(Arrays.asList(new JobInstance("127.0.0.1@-@1"), new JobInstance("127.0.0.1@-@2")));
+        when(jobNodeStorage.isJobNodeExisted("leader/sharding/necessary")).thenReturn(true);
+        when(leaderService.isLeaderUntilBlock()).thenReturn(true);
+        when(configService.load(false)).thenReturn(LiteJobConfiguration.newBuilder(
+                new SimpleJobConfiguration(JobCoreConfiguration.newBuilder("test_job", "0/1 * * * * ?", 4).build(), TestSimpleJob.class.getCanonicalName()))
+                .monitorExecution(false).jobShardingStrategyClass(NoMovementIncrementalJobShardingStrategy.class.getCanonicalName()).build());
+        when(jobNodeStorage.getJobNodeGrandchildrenDataDirectly(ShardingNode.ROOT)).thenReturn(ImmutableMap.<String, Map<String, String>>of(
+                "0", ImmutableMap.of("instance", "127.0.0.1@-@0"), "1", ImmutableMap.of("instance", "127.0.0.1@-@1"), 
+                "2", ImmutableMap.of("instance", "127.0.0.1@-@1"), "3", ImmutableMap.<String, String>of()));
+        shardingService.shardingIfNecessary();
+        verify(jobNodeStorage).executeInTransaction(any(TransactionExecutionCallback.class));
+        assertThat(shardingStatistics.getLastMovedItemCount(), is(2));
+        JobRegistry.getInstance().shutdown("test_job");
+    }
+    
     @Test
     public void assertGetShardingItemsWithNotAvailableServer() {
         assertThat(shardingService.getShardingItems("127.0.0.1@-@0"), is(Collections.<Integer>emptyList()));
@@ -186,10 +243,23 @@ public final class ShardingServiceTest {
         when(serverService.isAvailableServer("127.0.0.1")).thenReturn(true);
         when(configService.load(true)).thenReturn(
                 LiteJobConfiguration.newBuilder(new SimpleJobConfiguration(JobCoreConfiguration.newBuilder("test_job", "0/1 * * * * ?", 3).build(), TestSimpleJob.class.getCanonicalName())).build());
-        when(jobNodeStorage.getJobNodeData("sharding/0/instance")).thenReturn("127.0.0.1@-@0");
-        when(jobNodeStorage.getJobNodeData("sharding/1/instance")).thenReturn("127.0.0.1@-@1");
+        when(jobNodeStorage.getJobNodeGrandchildrenData("sharding")).thenReturn(ImmutableMap.<String, Map<String, String>>of(
+                "0", ImmutableMap.of("instance", "127.0.0.1@-@0"), "1", ImmutableMap.of("instance", "127.0.0.1@-@1"), "2", ImmutableMap.of("instance", "127.0.0.1@-@0")));
+        assertThat(shardingService.getShardingItems("127.0.0.1@-@0"), is(Arrays.asList(0, 2)));
+        JobRegistry.getInstance().shutdown("test_job");
+    }
+    
+    @Test
+    public void assertGetShardingItemsWhenCacheIsBehind() {
+        JobRegistry.getInstance().registerJob("test_job", jobScheduleController, regCenter);
+        when(serverService.isAvailableServer("127.0.0.1")).thenReturn(true);
+        when(configService.load(true)).thenReturn(
+                LiteJobConfiguration.newBuilder(new SimpleJobConfiguration(JobCoreConfiguration.newBuilder("test_job", "0/1 * * * * ?", 3).build(), TestSimpleJob.class.getCanonicalName())).build());
+        when(jobNodeStorage.getJobNodeGrandchildrenData("sharding")).thenReturn(ImmutableMap.<String, Map<String, String>>of(
+                "0", ImmutableMap.of("instance", "127.0.0.1@-@0"), "1", ImmutableMap.of("instance", "127.0.0.1@-@1"), "2", ImmutableMap.<String, String>of()));
         when(jobNodeStorage.getJobNodeData("sharding/2/instance")).thenReturn("127.0.0.1@-@0");
         assertThat(shardingService.getShardingItems("127.0.0.1@-@0"), is(Arrays.asList(0, 2)));
+        verify(jobNodeStorage, times(0)).getJobNodeData("sharding/0/instance");
         JobRegistry.getInstance().shutdown("test_job");
     }
     
@@ -211,9 +281,8 @@ public final class ShardingServiceTest {
         when(serverService.isAvailableServer("127.0.0.1")).thenReturn(true);
         when(configService.load(true)).thenReturn(
                 LiteJobConfiguration.newBuilder(new SimpleJobConfiguration(JobCoreConfiguration.newBuilder("test_job", "0/1 * * * * ?", 3).build(), TestSimpleJob.class.getCanonicalName())).build());
-        when(jobNodeStorage.getJobNodeData("sharding/0/instance")).thenReturn("127.0.0.1@-@0");
-        when(jobNodeStorage.getJobNodeData("sharding/1/instance")).thenReturn("127.0.0.1@-@1");
-        when(jobNodeStorage.getJobNodeData("sharding/2/instance")).thenReturn("127.0.0.1@-@0");
+        when(jobNodeStorage.getJobNodeGrandchildrenData("sharding")).thenReturn(ImmutableMap.<String, Map<String, String>>of(
+                "0", ImmutableMap.of("instance", "127.0.0.1@-@0"), "1", ImmutableMap.of("instance", "127.0.0.1@-@1"), "2", ImmutableMap.of("instance", "127.0.0.1@-@0")));
         assertThat(shardingService.getLocalShardingItems(), is(Arrays.asList(0, 2)));
         JobRegistry.getInstance().shutdown("test_job");
     }
@@ -223,9 +292,8 @@ public final class ShardingServiceTest {
         when(jobNodeStorage.getJobNodeChildrenKeys(InstanceNode.ROOT)).thenReturn(Arrays.asList("host0@-@0", "host0@-@1"));
         when(configService.load(true)).thenReturn(
                 LiteJobConfiguration.newBuilder(new SimpleJobConfiguration(JobCoreConfiguration.newBuilder("test_job", "0/1 * * * * ?", 3).build(), TestSimpleJob.class.getCanonicalName())).build());
-        when(jobNodeStorage.getJobNodeData(ShardingNode.getInstanceNode(0))).thenReturn("host0@-@0");
-        when(jobNodeStorage.getJobNodeData(ShardingNode.getInstanceNode(1))).thenReturn("host0@-@1");
-        when(jobNodeStorage.getJobNodeData(ShardingNode.getInstanceNode(2))).thenReturn("host0@-@2");
+        when(jobNodeStorage.getJobNodeGrandchildrenData("sharding")).thenReturn(ImmutableMap.<String, Map<String, String>>of(
+                "0", ImmutableMap.of("instance", "host0@-@0"), "1", ImmutableMap.of("instance", "host0@-@1"), "2", ImmutableMap.of("instance", "host0@-@2")));
         assertTrue(shardingService.hasShardingInfoInOfflineServers());
     }
     
@@ -234,9 +302,8 @@ public final class ShardingServiceTest {
         when(jobNodeStorage.getJobNodeChildrenKeys(InstanceNode.ROOT)).thenReturn(Arrays.asList("host0@-@0", "host0@-@1"));
         when(configService.load(true)).thenReturn(
                 LiteJobConfiguration.newBuilder(new SimpleJobConfiguration(JobCoreConfiguration.newBuilder("test_job", "0/1 * * * * ?", 3).build(), TestSimpleJob.class.getCanonicalName())).build());
-        when(jobNodeStorage.getJobNodeData(ShardingNode.getInstanceNode(0))).thenReturn("host0@-@0");
-        when(jobNodeStorage.getJobNodeData(ShardingNode.getInstanceNode(1))).thenReturn("host0@-@1");
-        when(jobNodeStorage.getJobNodeData(ShardingNode.getInstanceNode(2))).thenReturn("host0@-@0");
+        when(jobNodeStorage.getJobNodeGrandchildrenData("sharding")).thenReturn(ImmutableMap.<String, Map<String, String>>of(
+                "0", ImmutableMap.of("instance", "host0@-@0"), "1", ImmutableMap.of("instance", "host0@-@1"), "2", ImmutableMap.of("instance", "host0@-@0")));
         assertFalse(shardingService.hasShardingInfoInOfflineServers());
     }
     
@@ -244,27 +311,35 @@ public final class ShardingServiceTest {
     public void assertPersistShardingInfoTransactionExecutionCallback() throws Exception {
         CuratorTransactionFinal curatorTransactionFinal = mock(CuratorTransactionFinal.class);
         TransactionCreateBuilder transactionCreateBuilder = mock(TransactionCreateBuilder.class);
+        TransactionSetDataBuilder transactionSetDataBuilder = mock(TransactionSetDataBuilder.class);
         TransactionDeleteBuilder transactionDeleteBuilder = mock(TransactionDeleteBuilder.class);
         CuratorTransactionBridge curatorTransactionBridge = mock(CuratorTransactionBridge.class);
         when(curatorTransactionFinal.create()).thenReturn(transactionCreateBuilder);
-        when(configService.load(true)).thenReturn(
-                LiteJobConfiguration.newBuilder(new SimpleJobConfiguration(JobCoreConfiguration.newBuilder("test_job", "0/1 * * * * ?", 3).build(), TestSimpleJob.class.getCanonicalName())).build());
-        when(transactionCreateBuilder.forPath("/test_job/sharding/0/instance", "host0@-@0".getBytes())).thenReturn(curatorTransactionBridge);
-        when(transactionCreateBuilder.forPath("/test_job/sharding/1/instance", "host0@-@0".getBytes())).thenReturn(curatorTransactionBridge);
-        when(transactionCreateBuilder.forPath("/test_job/sharding/2/instance", "host0@-@0".getBytes())).thenReturn(curatorTransactionBridge);
-        when(curatorTransactionBridge.and()).thenReturn(curatorTransactionFinal);
+        when(curatorTransactionFinal.setData()).thenReturn(transactionSetDataBuilder);
         when(curatorTransactionFinal.delete()).thenReturn(transactionDeleteBuilder);
+        when(transactionCreateBuilder.forPath("/test_job/sharding/2/instance", "host0@-@0".getBytes())).thenReturn(curatorTransactionBridge);
+        when(transactionSetDataBuilder.forPath("/test_job/sharding/1/instance", "host0@-@0".getBytes())).thenReturn(curatorTransactionBridge);
+        when(transactionDeleteBuilder.forPath("/test_job/sharding/3/instance")).thenReturn(curatorTransactionBridge);
         when(transactionDeleteBuilder.forPath("/test_job/leader/sharding/necessary")).thenReturn(curatorTransactionBridge);
-        when(curatorTransactionBridge.and()).thenReturn(curatorTransactionFinal);
-        when(curatorTransactionFinal.delete()).thenReturn(transactionDeleteBuilder);
         when(transactionDeleteBuilder.forPath("/test_job/leader/sharding/processing")).thenReturn(curatorTransactionBridge);
         when(curatorTransactionBridge.and()).thenReturn(curatorTransactionFinal);
-        Map<JobInstance, List<Integer>> shardingResult = new HashMap<>();
-        shardingResult.put(new JobInstance("host0@-@0"), Arrays.asList(0, 1, 2));
-        ShardingService.PersistShardingInfoTransactionExecutionCallback actual = shardingService.new PersistShardingInfoTransactionExecutionCallback(shardingResult);
+        Map<Integer, String> previousAssignments = new HashMap<>();
+        previousAssignments.put(0, "host0@-@0");
+        previousAssignments.put(1, "host0@-@1");
+        previousAssignments.put(3, "host0@-@1");
+        Map<Integer, String> currentAssignments = new HashMap<>();
+        currentAssignments.put(0, "host0@-@0");
+        currentAssignments.put(1, "host0@-@0");
+        currentAssignments.put(2, "host0@-@0");
+        ShardingService.PersistShardingInfoTransactionExecutionCallback actual = shardingService.new PersistShardingInfoTransactionExecutionCallback(
+                previousAssignments, currentAssignments, Arrays.asList(1, 2, 3));
         actual.execute(curatorTransactionFinal);
-        verify(curatorTransactionFinal, times(3)).create();
-        verify(curatorTransactionFinal, times(2)).delete();
+        verify(curatorTransactionFinal).create();
+        verify(curatorTransactionFinal).setData();
+        verify(curatorTransactionFinal, times(3)).delete();
+        verify(transactionCreateBuilder).forPath("/test_job/sharding/2/instance", "host0@-@0".getBytes());
+        verify(transactionSetDataBuilder).forPath("/test_job/sharding/1/instance", "host0@-@0".getBytes());
+        verify(transactionDeleteBuilder).forPath("/test_job/sharding/3/instance");
         verify(transactionDeleteBuilder).forPath("/test_job/leader/sharding/necessary");
         verify(transactionDeleteBuilder).forPath("/test_job/leader/sharding/processing");
         verify(curatorTransactionBridge, times(5)).and();
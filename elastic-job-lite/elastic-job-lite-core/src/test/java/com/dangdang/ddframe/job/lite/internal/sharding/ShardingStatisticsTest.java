@@ -0,0 +1,44 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.lite.internal.sharding;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public final class ShardingStatisticsTest {
+    
+    private final ShardingStatistics shardingStatistics = new ShardingStatistics();
+    
+    @Test
+    public void assertGetWhenNeverResharding() {
+        assertThat(shardingStatistics.getReshardingCount(), is(0L));
+        assertThat(shardingStatistics.getTotalMovedItemCount(), is(0L));
+        assertThat(shardingStatistics.getLastMovedItemCount(), is(0));
+    }
+    
+    @Test
+    public void assertRecordResharding() {
+        shardingStatistics.recordResharding(10);
+        shardingStatistics.recordResharding(3);
+        assertThat(shardingStatistics.getReshardingCount(), is(2L));
+        assertThat(shardingStatistics.getTotalMovedItemCount(), is(13L));
+        assertThat(shardingStatistics.getLastMovedItemCount(), is(3));
+    }
+}
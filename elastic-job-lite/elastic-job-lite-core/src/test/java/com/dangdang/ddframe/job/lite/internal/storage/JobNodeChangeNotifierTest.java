@@ -0,0 +1,73 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.lite.internal.storage;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public final class JobNodeChangeNotifierTest {
+    
+    private final JobNodeChangeNotifier jobNodeChangeNotifier = new JobNodeChangeNotifier();
+    
+    @Test
+    public void assertNotifyChanged() {
+        jobNodeChangeNotifier.notifyChanged();
+        jobNodeChangeNotifier.notifyChanged();
+        assertThat(jobNodeChangeNotifier.getVersion(), is(2L));
+    }
+    
+    @Test
+    public void assertAwaitChangeWhenChangedBeforeWaiting() {
+        long version = jobNodeChangeNotifier.getVersion();
+        jobNodeChangeNotifier.notifyChanged();
+        assertTrue(jobNodeChangeNotifier.awaitChange(version, 10000L));
+    }
+    
+    @Test
+    public void assertAwaitChangeWhenChangedDuringWaiting() throws InterruptedException {
+        final CountDownLatch waitingLatch = new CountDownLatch(1);
+        Thread notifyThread = new Thread() {
+            
+            @Override
+            public void run() {
+                try {
+                    waitingLatch.await();
+                } catch (final InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                jobNodeChangeNotifier.notifyChanged();
+            }
+        };
+        notifyThread.start();
+        long version = jobNodeChangeNotifier.getVersion();
+        waitingLatch.countDown();
+        assertTrue(jobNodeChangeNotifier.awaitChange(version, 10000L));
+        notifyThread.join();
+    }
+    
+    @Test
+    public void assertAwaitChangeTimeout() {
+        assertFalse(jobNodeChangeNotifier.awaitChange(jobNodeChangeNotifier.getVersion(), 10L));
+    }
+}
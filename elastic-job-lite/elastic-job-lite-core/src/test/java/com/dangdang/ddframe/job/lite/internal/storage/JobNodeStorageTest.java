@@ -25,6 +25,7 @@ import org.apache.curator.framework.api.transaction.CuratorTransactionFinal;
 import org.apache.curator.framework.api.transaction.TransactionCheckBuilder;
 import org.apache.curator.framework.api.transaction.TransactionCreateBuilder;
 import org.apache.curator.framework.listen.Listenable;
+import org.apache.curator.framework.recipes.cache.ChildData;
 import org.apache.curator.framework.recipes.cache.TreeCache;
 import org.apache.curator.framework.recipes.cache.TreeCacheListener;
 import org.apache.curator.framework.state.ConnectionStateListener;
@@ -35,6 +36,10 @@ import org.mockito.MockitoAnnotations;
 import org.unitils.util.ReflectionUtils;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
@@ -85,49 +90,88 @@ public final class JobNodeStorageTest {
         verify(regCenter).getChildrenKeys("/test_job/servers");
     }
     
+    @Test
+    public void assertGetJobNodeGrandchildrenDataFromCache() {
+        TreeCache treeCache = mock(TreeCache.class);
+        when(regCenter.getRawCache("/test_job")).thenReturn(treeCache);
+        when(treeCache.getCurrentChildren("/test_job/sharding")).thenReturn(Collections.singletonMap("0", new ChildData("/test_job/sharding/0", null, null)));
+        Map<String, ChildData> itemChildren = new HashMap<>(2, 1);
+        itemChildren.put("instance", new ChildData("/test_job/sharding/0/instance", null, "host0".getBytes()));
+        itemChildren.put("running", new ChildData("/test_job/sharding/0/running", null, null));
+        when(treeCache.getCurrentChildren("/test_job/sharding/0")).thenReturn(itemChildren);
+        Map<String, Map<String, String>> actual = jobNodeStorage.getJobNodeGrandchildrenData("sharding");
+        assertThat(actual.size(), is(1));
+        assertThat(actual.get("0").get("instance"), is("host0"));
+        assertThat(actual.get("0").get("running"), is(""));
+        verify(regCenter, times(0)).getChildrenKeys("/test_job/sharding");
+    }
+    
+    @Test
+    public void assertGetJobNodeGrandchildrenDataWithoutCache() {
+        when(regCenter.getChildrenKeysDirectly("/test_job/sharding")).thenReturn(Collections.singletonList("0"));
+        when(regCenter.getChildrenKeysDirectly("/test_job/sharding/0")).thenReturn(Collections.singletonList("instance"));
+        when(regCenter.getDirectly("/test_job/sharding/0/instance")).thenReturn("host0");
+        Map<String, Map<String, String>> actual = jobNodeStorage.getJobNodeGrandchildrenData("sharding");
+        assertThat(actual.size(), is(1));
+        assertThat(actual.get("0").get("instance"), is("host0"));
+    }
+    
+    @Test
+    public void assertGetJobNodeGrandchildrenDataDirectly() {
+        TreeCache treeCache = mock(TreeCache.class);
+        when(regCenter.getRawCache("/test_job")).thenReturn(treeCache);
+        when(regCenter.getChildrenKeysDirectly("/test_job/sharding")).thenReturn(Collections.singletonList("0"));
+        when(regCenter.getChildrenKeysDirectly("/test_job/sharding/0")).thenReturn(Collections.singletonList("instance"));
+        when(regCenter.getDirectly("/test_job/sharding/0/instance")).thenReturn("host0");
+        Map<String, Map<String, String>> actual = jobNodeStorage.getJobNodeGrandchildrenDataDirectly("sharding");
+        assertThat(actual.size(), is(1));
+        assertThat(actual.get("0").get("instance"), is("host0"));
+        verify(treeCache, times(0)).getCurrentChildren("/test_job/sharding");
+    }
+    
     @Test
     public void assertCreateJobNodeIfNeeded() {
-        when(regCenter.isExisted("/test_job")).thenReturn(true);
-        when(regCenter.isExisted("/test_job/config")).thenReturn(false);
+        when(regCenter.isExistedDirectly("/test_job")).thenReturn(true);
+        when(regCenter.isExistedDirectly("/test_job/config")).thenReturn(false);
         jobNodeStorage.createJobNodeIfNeeded("config");
-        verify(regCenter).isExisted("/test_job");
-        verify(regCenter).isExisted("/test_job/config");
+        verify(regCenter).isExistedDirectly("/test_job");
+        verify(regCenter).isExistedDirectly("/test_job/config");
         verify(regCenter).persist("/test_job/config", "");
     }
     
     @Test
     public void assertCreateJobNodeIfRootJobNodeIsNotExist() {
-        when(regCenter.isExisted("/test_job")).thenReturn(false);
-        when(regCenter.isExisted("/test_job/config")).thenReturn(true);
+        when(regCenter.isExistedDirectly("/test_job")).thenReturn(false);
+        when(regCenter.isExistedDirectly("/test_job/config")).thenReturn(true);
         jobNodeStorage.createJobNodeIfNeeded("config");
-        verify(regCenter).isExisted("/test_job");
-        verify(regCenter, times(0)).isExisted("/test_job/config");
+        verify(regCenter).isExistedDirectly("/test_job");
+        verify(regCenter, times(0)).isExistedDirectly("/test_job/config");
         verify(regCenter, times(0)).persist("/test_job/config", "");
     }
     
     @Test
     public void assertCreateJobNodeIfNotNeeded() {
-        when(regCenter.isExisted("/test_job")).thenReturn(true);
-        when(regCenter.isExisted("/test_job/config")).thenReturn(true);
+        when(regCenter.isExistedDirectly("/test_job")).thenReturn(true);
+        when(regCenter.isExistedDirectly("/test_job/config")).thenReturn(true);
         jobNodeStorage.createJobNodeIfNeeded("config");
-        verify(regCenter).isExisted("/test_job");
-        verify(regCenter).isExisted("/test_job/config");
+        verify(regCenter).isExistedDirectly("/test_job");
+        verify(regCenter).isExistedDirectly("/test_job/config");
         verify(regCenter, times(0)).persist("/test_job/config", "");
     }
     
     @Test
     public void assertRemoveJobNodeIfNeeded() {
-        when(regCenter.isExisted("/test_job/config")).thenReturn(true);
+        when(regCenter.isExistedDirectly("/test_job/config")).thenReturn(true);
         jobNodeStorage.removeJobNodeIfExisted("config");
-        verify(regCenter).isExisted("/test_job/config");
+        verify(regCenter).isExistedDirectly("/test_job/config");
         verify(regCenter).remove("/test_job/config");
     }
     
     @Test
     public void assertRemoveJobNodeIfNotNeeded() {
-        when(regCenter.isExisted("/test_job/config")).thenReturn(false);
+        when(regCenter.isExistedDirectly("/test_job/config")).thenReturn(false);
         jobNodeStorage.removeJobNodeIfExisted("config");
-        verify(regCenter).isExisted("/test_job/config");
+        verify(regCenter).isExistedDirectly("/test_job/config");
         verify(regCenter, times(0)).remove("/test_job/config");
     }
     
@@ -143,6 +187,21 @@ public final class JobNodeStorageTest {
         verify(regCenter).persistEphemeral("/test_job/config/cron", "0/1 * * * * ?");
     }
     
+    @Test
+    public void assertFillEphemeralJobNodesInBackground() {
+        Map<String, String> expected = new LinkedHashMap<>(2, 1);
+        expected.put("/test_job/sharding/0/running", "");
+        expected.put("/test_job/sharding/1/running", "");
+        jobNodeStorage.fillEphemeralJobNodesInBackground(Arrays.asList("sharding/0/running", "sharding/1/running"), "");
+        verify(regCenter).persistEphemeralInBackground(expected);
+    }
+    
+    @Test
+    public void assertRemoveJobNodesInBackground() {
+        jobNodeStorage.removeJobNodesInBackground(Arrays.asList("sharding/0/running", "sharding/1/running"));
+        verify(regCenter).removeInBackground(Arrays.asList("/test_job/sharding/0/running", "/test_job/sharding/1/running"));
+    }
+    
     @Test
     public void assertUpdateJobNode() {
         jobNodeStorage.updateJobNode("config/cron", "0/1 * * * * ?");
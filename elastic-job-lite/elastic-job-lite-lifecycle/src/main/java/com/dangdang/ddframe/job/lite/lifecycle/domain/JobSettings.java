@@ -54,6 +54,14 @@ public final class JobSettings implements Serializable {
     
     private boolean streamingProcess;
     
+    private int prefetchDepth;
+    
+    private int processParallelism;
+    
+    private int targetProcessLatencyMillis;
+    
+    private int maxBatchSize;
+    
     private int maxTimeDiffSeconds;
     
     private int monitorPort = -1;
@@ -71,4 +79,8 @@ public final class JobSettings implements Serializable {
     private String scriptCommandLine;
     
     private int reconcileIntervalMinutes;
+    
+    private int jobEventSamplingCount;
+    
+    private int maxJobEventSamplingPerSecond = -1;
 }
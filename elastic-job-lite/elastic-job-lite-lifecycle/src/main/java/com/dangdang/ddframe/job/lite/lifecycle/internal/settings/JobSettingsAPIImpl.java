@@ -74,6 +74,8 @@ public final class JobSettingsAPIImpl implements JobSettingsAPI {
         result.setJobShardingStrategyClass(liteJobConfig.getJobShardingStrategyClass());
         result.setDescription(liteJobConfig.getTypeConfig().getCoreConfig().getDescription());
         result.setReconcileIntervalMinutes(liteJobConfig.getReconcileIntervalMinutes());
+        result.setJobEventSamplingCount(liteJobConfig.getJobEventSamplingCount());
+        result.setMaxJobEventSamplingPerSecond(liteJobConfig.getMaxJobEventSamplingPerSecond());
         result.getJobProperties().put(JobPropertiesEnum.EXECUTOR_SERVICE_HANDLER.getKey(),
                 liteJobConfig.getTypeConfig().getCoreConfig().getJobProperties().get(JobPropertiesEnum.EXECUTOR_SERVICE_HANDLER));
         result.getJobProperties().put(JobPropertiesEnum.JOB_EXCEPTION_HANDLER.getKey(), liteJobConfig.getTypeConfig().getCoreConfig().getJobProperties().get(JobPropertiesEnum.JOB_EXCEPTION_HANDLER));
@@ -81,6 +83,10 @@ public final class JobSettingsAPIImpl implements JobSettingsAPI {
     
     private void buildDataflowJobSettings(final JobSettings result, final DataflowJobConfiguration config) {
         result.setStreamingProcess(config.isStreamingProcess());
+        result.setPrefetchDepth(config.getPrefetchDepth());
+        result.setProcessParallelism(config.getProcessParallelism());
+        result.setTargetProcessLatencyMillis(config.getTargetProcessLatencyMillis());
+        result.setMaxBatchSize(config.getMaxBatchSize());
     }
     
     private void buildScriptJobSettings(final JobSettings result, final ScriptJobConfiguration config) {
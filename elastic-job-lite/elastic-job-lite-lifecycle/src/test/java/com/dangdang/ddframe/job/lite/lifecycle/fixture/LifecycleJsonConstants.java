@@ -36,7 +36,7 @@ public final class LifecycleJsonConstants {
     private static final String DATAFLOW_JOB_JSON =  "{\"jobName\":\"test_job\",\"jobClass\":\"com.dangdang.ddframe.job.lite.fixture.TestDataflowJob\",\"jobType\":\"DATAFLOW\","
             + "\"cron\":\"0/1 * * * * ?\",\"shardingTotalCount\":3,\"shardingItemParameters\":\"\",\"jobParameter\":\"param\",\"failover\":false,\"misfire\":true,\"description\":\"\","
             + "\"jobProperties\":" + JOB_PROPS_JSON + ",\"monitorExecution\":true,\"maxTimeDiffSeconds\":-1,\"monitorPort\":8888,\"jobShardingStrategyClass\":\"\",\"disabled\":false,"
-            + "\"overwrite\":false,\"streamingProcess\":true}";
+            + "\"overwrite\":false,\"streamingProcess\":true,\"prefetchDepth\":2,\"processParallelism\":4,\"targetProcessLatencyMillis\":500,\"maxBatchSize\":1000}";
     
     private static final String SCRIPT_JOB_JSON =  "{\"jobName\":\"%s\",\"jobClass\":\"com.dangdang.ddframe.job.api.script.ScriptJob\",\"jobType\":\"SCRIPT\",\"cron\":\"0/1 * * * * ?\","
             + "\"shardingTotalCount\":3,\"shardingItemParameters\":\"\",\"jobParameter\":\"param\",\"failover\":false,\"misfire\":true,\"description\":\"\","
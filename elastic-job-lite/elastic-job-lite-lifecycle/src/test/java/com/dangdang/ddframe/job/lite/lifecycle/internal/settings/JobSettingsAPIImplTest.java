@@ -85,6 +85,10 @@ public class JobSettingsAPIImplTest {
         assertThat(jobSettings.getDescription(), is(""));
         if ("DATAFLOW".equals(jobType)) {
             assertTrue(jobSettings.isStreamingProcess());
+            assertThat(jobSettings.getPrefetchDepth(), is(2));
+            assertThat(jobSettings.getProcessParallelism(), is(4));
+            assertThat(jobSettings.getTargetProcessLatencyMillis(), is(500));
+            assertThat(jobSettings.getMaxBatchSize(), is(1000));
         }
         if ("SCRIPT".equals(jobType)) {
             assertThat(jobSettings.getScriptCommandLine(), is("test.sh"));
@@ -109,10 +113,10 @@ public class JobSettingsAPIImplTest {
         jobSettings.setReconcileIntervalMinutes(70);
         jobSettingsAPI.updateJobSettings(jobSettings);
         verify(regCenter).update("/test_job/config", "{\"jobName\":\"test_job\",\"jobClass\":\"com.dangdang.ddframe.job.lite.fixture.TestDataflowJob\","
-                + "\"cron\":\"0/1 * * * * ?\",\"shardingTotalCount\":10,\"monitorExecution\":true,\"streamingProcess\":true,"
+                + "\"cron\":\"0/1 * * * * ?\",\"shardingTotalCount\":10,\"monitorExecution\":true,\"streamingProcess\":true,\"prefetchDepth\":0,\"processParallelism\":0,\"targetProcessLatencyMillis\":0,\"maxBatchSize\":0,"
                 + "\"maxTimeDiffSeconds\":-1,\"monitorPort\":-1,\"failover\":false,\"misfire\":true,"
                 + "\"jobProperties\":{\"executor_service_handler\":\"" + DefaultExecutorServiceHandler.class.getCanonicalName() + "\","
-                + "\"job_exception_handler\":\"" + DefaultJobExceptionHandler.class.getCanonicalName() + "\"},\"reconcileIntervalMinutes\":70}");
+                + "\"job_exception_handler\":\"" + DefaultJobExceptionHandler.class.getCanonicalName() + "\"},\"reconcileIntervalMinutes\":70,\"jobEventSamplingCount\":0,\"maxJobEventSamplingPerSecond\":-1}");
     }
     
     @Test(expected = IllegalArgumentException.class)
@@ -73,4 +73,8 @@ public final class BaseJobBeanDefinitionParserTag {
     public static final String EVENT_TRACE_RDB_DATA_SOURCE_ATTRIBUTE = "event-trace-rdb-data-source";
     
     public static final String RECONCILE_INTERVAL_MINUTES = "reconcile-interval-minutes";
+    
+    public static final String JOB_EVENT_SAMPLING_COUNT_ATTRIBUTE = "job-event-sampling-count";
+    
+    public static final String MAX_JOB_EVENT_SAMPLING_PER_SECOND_ATTRIBUTE = "max-job-event-sampling-per-second";
 }
@@ -28,7 +28,8 @@ import org.junit.runners.Suite.SuiteClasses;
         JobSpringNamespaceWithListenerTest.class,
         JobSpringNamespaceWithListenerAndJdkDynamicProxyTest.class,
         JobSpringNamespaceWithListenerAndCglibTest.class,
-        JobSpringNamespaceWithEventTraceRdbTest.class
+        JobSpringNamespaceWithEventTraceRdbTest.class,
+        JobSpringNamespaceWithStreamingProcessTest.class
     })
 public final class AllSpringIntegrateTests {
 }
@@ -0,0 +1,50 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.job.lite.spring.job;
+
+import com.dangdang.ddframe.job.config.dataflow.DataflowJobConfiguration;
+import com.dangdang.ddframe.job.lite.internal.config.LiteJobConfigurationGsonFactory;
+import com.dangdang.ddframe.job.reg.base.CoordinatorRegistryCenter;
+import org.junit.Test;
+import org.springframework.test.context.ContextConfiguration;
+
+import javax.annotation.Resource;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+@ContextConfiguration(locations = "classpath:META-INF/job/withStreamingProcess.xml")
+public final class JobSpringNamespaceWithStreamingProcessTest extends AbstractJobSpringIntegrateTest {
+    
+    @Resource
+    private CoordinatorRegistryCenter regCenter;
+    
+    public JobSpringNamespaceWithStreamingProcessTest() {
+        super("simpleElasticJob_namespace_streaming_process", "dataflowElasticJob_namespace_streaming_process");
+    }
+    
+    @Test
+    public void assertStreamingProcessAttributes() {
+        DataflowJobConfiguration actual = (DataflowJobConfiguration) LiteJobConfigurationGsonFactory.fromJson(
+                regCenter.get("/dataflowElasticJob_namespace_streaming_process/config")).getTypeConfig();
+        assertTrue(actual.isStreamingProcess());
+        assertThat(actual.getPrefetchDepth(), is(2));
+        assertThat(actual.getProcessParallelism(), is(2));
+    }
+}